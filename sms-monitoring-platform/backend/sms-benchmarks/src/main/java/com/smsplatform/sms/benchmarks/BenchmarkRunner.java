@@ -0,0 +1,70 @@
+package com.smsplatform.sms.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Benchmark Runner
+ * 
+ * Entry point of benchmarks.jar. Accepts the usual JMH command line and adds
+ * two defaults so every run can be tracked per commit: the GC profiler (for
+ * gc.alloc.rate and gc.alloc.rate.norm) and a JSON result file at
+ * target/jmh/jmh-result-&lt;commit&gt;.json. The commit comes from
+ * -Dbenchmark.commit, then GIT_COMMIT, then git rev-parse.
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions commandLine = new CommandLineOptions(args);
+        if (commandLine.shouldHelp() || commandLine.shouldList() || commandLine.shouldListWithParams()
+                || commandLine.shouldListProfilers() || commandLine.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine);
+
+        if (!commandLine.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!commandLine.getResult().hasValue()) {
+            File resultDir = new File("target/jmh");
+            resultDir.mkdirs();
+            options.result(new File(resultDir, "jmh-result-" + commitId() + ".json").getPath());
+        }
+        if (commandLine.getProfilers().isEmpty()) {
+            options.addProfiler(GCProfiler.class);
+        }
+
+        new Runner(options.build()).run();
+    }
+
+    private static String commitId() {
+        String commit = System.getProperty("benchmark.commit", System.getenv("GIT_COMMIT"));
+        if (commit != null && !commit.isBlank()) {
+            return commit;
+        }
+        try {
+            Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD").start();
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line = reader.readLine();
+                if (process.waitFor() == 0 && line != null && !line.isBlank()) {
+                    return line.trim();
+                }
+            }
+        } catch (Exception e) {
+            // Not a git checkout or git not installed
+        }
+        return "local";
+    }
+}
@@ -0,0 +1,78 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.service.NetworkSimulationService;
+import com.smsplatform.sms.simulation.NetworkScenario;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.core.io.DefaultResourceLoader;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Success-rate decision in NetworkSimulationService (default scenario, fixed
+ * seed), without the simulated network sleep. The contended variant shares one
+ * service instance across dispatch-like threads, as the singleton bean is in
+ * the running service.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DeliveryDecisionBenchmark {
+
+    private NetworkSimulationService networkSimulationService;
+    private SmsMessage[] messages;
+
+    @Setup
+    public void setUp() {
+        networkSimulationService = new NetworkSimulationService(new ObjectMapper(), new DefaultResourceLoader());
+        networkSimulationService.activateScenario(NetworkScenario.defaultScenario(), 42L);
+
+        SmsMessage.SmsPriority[] priorities = SmsMessage.SmsPriority.values();
+        messages = new SmsMessage[64];
+        for (int i = 0; i < messages.length; i++) {
+            SmsMessage message = new SmsMessage();
+            message.setPriority(priorities[i % priorities.length]);
+            message.setOperatorId(i % 7 == 0 ? null : (long) (i % 5));
+            message.setSenderNumber("+15550000001");
+            message.setRecipientNumber(String.format("+1555%07d", i));
+            message.setMessageContent("Benchmark message " + i);
+            messages[i] = message;
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        int next;
+    }
+
+    @Benchmark
+    public double successRate(Cursor cursor) {
+        SmsMessage message = messages[cursor.next++ & 63];
+        return networkSimulationService.getSuccessRate(message.getPriority(), message.getOperatorId());
+    }
+
+    @Benchmark
+    public boolean decideDelivery(Cursor cursor) {
+        return networkSimulationService.decideDelivery(messages[cursor.next++ & 63]);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public boolean decideDeliveryContended(Cursor cursor) {
+        return networkSimulationService.decideDelivery(messages[cursor.next++ & 63]);
+    }
+}
@@ -0,0 +1,36 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.smsplatform.sms.service.SmsMessageService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Message ID generation on ingest, single-threaded and under the contention
+ * of concurrent submitters (UUID.randomUUID draws from a shared SecureRandom)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MessageIdBenchmark {
+
+    @Benchmark
+    public String generateMessageId() {
+        return SmsMessageService.generateMessageId();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String generateMessageIdContended() {
+        return SmsMessageService.generateMessageId();
+    }
+}
@@ -0,0 +1,77 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.model.SmsMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Jackson serialization of a Page&lt;SmsMessageDto&gt; as returned by GET /messages,
+ * using an ObjectMapper built the way Spring Boot builds the MVC one
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PageSerializationBenchmark {
+
+    @Param({"20", "100"})
+    private int pageSize;
+
+    private ObjectMapper objectMapper;
+    private Page<SmsMessageDto> page;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        LocalDateTime now = LocalDateTime.now();
+        SmsMessage.SmsStatus[] statuses = SmsMessage.SmsStatus.values();
+        List<SmsMessageDto> content = new ArrayList<>(pageSize);
+        for (int i = 0; i < pageSize; i++) {
+            SmsMessageDto dto = new SmsMessageDto();
+            dto.setId((long) i + 1);
+            dto.setMessageId(String.format("SMS-%08X", i));
+            dto.setOperatorId((long) (i % 5) + 1);
+            dto.setSenderNumber("+15550000001");
+            dto.setRecipientNumber(String.format("+1555%07d", i));
+            dto.setMessageContent("Benchmark message " + i + " with a typical notification length body text.");
+            dto.setStatus(statuses[i % statuses.length]);
+            dto.setPriority(SmsMessage.SmsPriority.NORMAL);
+            dto.setSentAt(now.minusSeconds(3));
+            dto.setDeliveredAt(now.minusSeconds(1));
+            dto.setCreatedAt(now.minusSeconds(5));
+            dto.setUpdatedAt(now);
+            content.add(dto);
+        }
+        page = new PageImpl<>(content, PageRequest.of(0, pageSize, Sort.by("createdAt").descending()), 10_000L);
+    }
+
+    @Benchmark
+    public byte[] serializePage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
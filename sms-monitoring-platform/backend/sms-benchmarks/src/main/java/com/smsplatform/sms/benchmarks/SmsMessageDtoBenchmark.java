@@ -0,0 +1,61 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.model.SmsMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity/DTO mapping on every read and write of the message API
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class SmsMessageDtoBenchmark {
+
+    private SmsMessage entity;
+    private SmsMessageDto dto;
+
+    @Setup
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        entity = new SmsMessage();
+        entity.setId(42L);
+        entity.setMessageId("SMS-1A2B3C4D");
+        entity.setOperatorId(3L);
+        entity.setSenderNumber("+15550000001");
+        entity.setRecipientNumber("+15550000002");
+        entity.setMessageContent("Your verification code is 123456. It expires in 10 minutes.");
+        entity.setStatus(SmsMessage.SmsStatus.DELIVERED);
+        entity.setPriority(SmsMessage.SmsPriority.HIGH);
+        entity.setSentAt(now.minusSeconds(3));
+        entity.setDeliveredAt(now.minusSeconds(1));
+        entity.setCreatedAt(now.minusSeconds(5));
+        entity.setUpdatedAt(now);
+        dto = SmsMessageDto.fromEntity(entity);
+    }
+
+    @Benchmark
+    public SmsMessageDto fromEntity() {
+        return SmsMessageDto.fromEntity(entity);
+    }
+
+    @Benchmark
+    public SmsMessage toEntity() {
+        return dto.toEntity();
+    }
+}
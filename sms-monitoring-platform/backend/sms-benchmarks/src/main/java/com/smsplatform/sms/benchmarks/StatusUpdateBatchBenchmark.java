@@ -0,0 +1,151 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.smsplatform.sms.model.SmsMessage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Status-update batching against an in-memory H2 copy of sms_messages.
+ * Each invocation moves one batch of messages to SENT:
+ * - perRowCommit: one UPDATE and one commit per message, as dispatch does today
+ * - jdbcBatch: one JDBC batch in a single transaction
+ * - setBased: one UPDATE ... WHERE id IN (...) statement
+ * Scores are batches per second; multiply by batchSize for rows per second.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class StatusUpdateBatchBenchmark {
+
+    private static final int ROWS = 20_000;
+
+    private static final String UPDATE_STATUS_SQL =
+            "UPDATE sms_messages SET status = ?, sent_at = ?, updated_at = ? WHERE id = ?";
+
+    @Param({"50", "500"})
+    private int batchSize;
+
+    private SingleConnectionDataSource dataSource;
+    private JdbcTemplate jdbcTemplate;
+    private TransactionTemplate transactionTemplate;
+    private List<List<Long>> batches;
+    private String setBasedSql;
+    private int nextBatch;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:mem:status_batch;MODE=MySQL;DB_CLOSE_DELAY=-1", "sa", "", true);
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        jdbcTemplate.execute("DROP TABLE IF EXISTS sms_messages");
+        jdbcTemplate.execute("CREATE TABLE sms_messages (" +
+                "id BIGINT AUTO_INCREMENT PRIMARY KEY, " +
+                "message_id VARCHAR(255) NOT NULL UNIQUE, " +
+                "operator_id BIGINT, " +
+                "sender_number VARCHAR(20) NOT NULL, " +
+                "recipient_number VARCHAR(20) NOT NULL, " +
+                "message_content TEXT NOT NULL, " +
+                "status VARCHAR(20) NOT NULL, " +
+                "priority VARCHAR(20) NOT NULL, " +
+                "scheduled_at TIMESTAMP, " +
+                "sent_at TIMESTAMP, " +
+                "delivered_at TIMESTAMP, " +
+                "created_at TIMESTAMP NOT NULL, " +
+                "updated_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX idx_status ON sms_messages (status)");
+
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            rows.add(new Object[]{String.format("SMS-%08X", i), (long) (i % 5) + 1, "+15550000001",
+                    String.format("+1555%07d", i), "Benchmark message " + i,
+                    SmsMessage.SmsStatus.PENDING.name(), SmsMessage.SmsPriority.NORMAL.name(), now, now});
+        }
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(
+                "INSERT INTO sms_messages (message_id, operator_id, sender_number, recipient_number, " +
+                "message_content, status, priority, created_at, updated_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows));
+
+        List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM sms_messages ORDER BY id", Long.class);
+        batches = new ArrayList<>();
+        for (int from = 0; from + batchSize <= ids.size(); from += batchSize) {
+            batches.add(ids.subList(from, from + batchSize));
+        }
+        setBasedSql = "UPDATE sms_messages SET status = ?, sent_at = ?, updated_at = ? WHERE id IN (" +
+                String.join(", ", Collections.nCopies(batchSize, "?")) + ")";
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        jdbcTemplate.execute("DROP TABLE sms_messages");
+        dataSource.destroy();
+    }
+
+    private List<Long> nextBatch() {
+        List<Long> batch = batches.get(nextBatch);
+        nextBatch = (nextBatch + 1) % batches.size();
+        return batch;
+    }
+
+    @Benchmark
+    public int perRowCommit() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        int updated = 0;
+        for (Long id : nextBatch()) {
+            updated += jdbcTemplate.update(UPDATE_STATUS_SQL, SmsMessage.SmsStatus.SENT.name(), now, now, id);
+        }
+        return updated;
+    }
+
+    @Benchmark
+    public int[] jdbcBatch() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Long> batch = nextBatch();
+        List<Object[]> args = new ArrayList<>(batch.size());
+        for (Long id : batch) {
+            args.add(new Object[]{SmsMessage.SmsStatus.SENT.name(), now, now, id});
+        }
+        return transactionTemplate.execute(status -> jdbcTemplate.batchUpdate(UPDATE_STATUS_SQL, args));
+    }
+
+    @Benchmark
+    public int setBased() {
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Long> batch = nextBatch();
+        Object[] args = new Object[batch.size() + 3];
+        args[0] = SmsMessage.SmsStatus.SENT.name();
+        args[1] = now;
+        args[2] = now;
+        for (int i = 0; i < batch.size(); i++) {
+            args[i + 3] = batch.get(i);
+        }
+        Integer updated = transactionTemplate.execute(status -> jdbcTemplate.update(setBasedSql, args));
+        return updated != null ? updated : 0;
+    }
+}
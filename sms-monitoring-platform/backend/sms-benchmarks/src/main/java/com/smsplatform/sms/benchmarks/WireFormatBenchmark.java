@@ -0,0 +1,118 @@
+package com.smsplatform.sms.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.model.SmsMessage;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writing and reading a batch of SmsMessageDto in each wire format the API
+ * negotiates (JSON, Smile, CBOR), with mappers built the way
+ * BinaryFormatConfig builds them. Scores are per message (the batch is one
+ * invocation of batchSize operations), so gc.alloc.rate.norm is also bytes
+ * allocated per message. The encoded size per message is reported as the
+ * secondary result wireBytesPerMessage (an auxiliary counter, so it is part of
+ * the JSON results).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class WireFormatBenchmark {
+
+    private static final TypeReference<List<SmsMessageDto>> BATCH = new TypeReference<>() {};
+
+    // Must match @OperationsPerInvocation below
+    private static final int BATCH_SIZE = 100;
+
+    @Param({"json", "smile", "cbor"})
+    private String format;
+
+    private ObjectMapper objectMapper;
+    private List<SmsMessageDto> batch;
+    private byte[] encoded;
+    private double wireBytesPerMessage;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = Jackson2ObjectMapperBuilder.json();
+        switch (format) {
+            case "smile" -> builder.factory(new SmileFactory());
+            case "cbor" -> builder.factory(new CBORFactory());
+            default -> { }
+        }
+        objectMapper = builder.build();
+
+        LocalDateTime now = LocalDateTime.now();
+        SmsMessage.SmsStatus[] statuses = SmsMessage.SmsStatus.values();
+        batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            SmsMessageDto dto = new SmsMessageDto();
+            dto.setId((long) i + 1);
+            dto.setMessageId(String.format("SMS-%08X", i));
+            dto.setOperatorId((long) (i % 5) + 1);
+            dto.setSenderNumber("+15550000001");
+            dto.setRecipientNumber(String.format("+1555%07d", i));
+            dto.setMessageContent("Benchmark message " + i + " with a typical notification length body text.");
+            dto.setStatus(statuses[i % statuses.length]);
+            dto.setPriority(SmsMessage.SmsPriority.NORMAL);
+            dto.setSentAt(now.minusSeconds(3));
+            dto.setDeliveredAt(now.minusSeconds(1));
+            dto.setCreatedAt(now.minusSeconds(5));
+            dto.setUpdatedAt(now);
+            batch.add(dto);
+        }
+        encoded = objectMapper.writeValueAsBytes(batch);
+        wireBytesPerMessage = encoded.length / (double) BATCH_SIZE;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public byte[] write(WireSize wireSize) throws IOException {
+        wireSize.wireBytesPerMessage = wireBytesPerMessage;
+        return objectMapper.writeValueAsBytes(batch);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public List<SmsMessageDto> read(WireSize wireSize) throws IOException {
+        wireSize.wireBytesPerMessage = wireBytesPerMessage;
+        return objectMapper.readValue(encoded, BATCH);
+    }
+
+    /**
+     * Encoded size of the batch per message, reported with each iteration's results. JMH zeroes
+     * auxiliary counters before every iteration, so the benchmarks set it on each invocation
+     */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class WireSize {
+
+        // Public fields are the reported counters
+        public double wireBytesPerMessage;
+    }
+}
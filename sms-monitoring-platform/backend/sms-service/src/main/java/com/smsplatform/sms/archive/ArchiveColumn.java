@@ -0,0 +1,41 @@
+package com.smsplatform.sms.archive;
+
+/**
+ * Archive Column
+ *
+ * Columns of an archived sms_messages slice, in file order, with how each
+ * is encoded before compression:
+ * - ID: zigzag varint delta from the previous row
+ * - timestamps: epoch milliseconds (wall clock, UTC) as zigzag varint delta
+ *   from the previous non-null value plus one; 0 marks null
+ * - OPERATOR_ID: varint value plus one; 0 marks null
+ * - STATUS and PRIORITY: one byte, the enum ordinal
+ * - strings: varint UTF-8 length followed by the bytes
+ */
+public enum ArchiveColumn {
+    ID(Encoding.DELTA),
+    MESSAGE_ID(Encoding.STRING),
+    OPERATOR_ID(Encoding.OPTIONAL_LONG),
+    SENDER_NUMBER(Encoding.STRING),
+    RECIPIENT_NUMBER(Encoding.STRING),
+    MESSAGE_CONTENT(Encoding.STRING),
+    STATUS(Encoding.BYTE),
+    PRIORITY(Encoding.BYTE),
+    SCHEDULED_AT(Encoding.TIME),
+    SENT_AT(Encoding.TIME),
+    DELIVERED_AT(Encoding.TIME),
+    CREATED_AT(Encoding.TIME),
+    UPDATED_AT(Encoding.TIME);
+
+    public enum Encoding { DELTA, TIME, OPTIONAL_LONG, BYTE, STRING }
+
+    private final Encoding encoding;
+
+    ArchiveColumn(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+}
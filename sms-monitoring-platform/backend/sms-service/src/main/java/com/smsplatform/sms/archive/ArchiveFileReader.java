@@ -0,0 +1,286 @@
+package com.smsplatform.sms.archive;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Archive File Reader
+ *
+ * Reads an archive slice: the footer alone, single columns, or whole rows.
+ * Only the requested column blocks are read and decompressed.
+ */
+public final class ArchiveFileReader {
+
+    private static final SmsMessage.SmsStatus[] STATUSES = SmsMessage.SmsStatus.values();
+    private static final SmsMessage.SmsPriority[] PRIORITIES = SmsMessage.SmsPriority.values();
+    private static final ArchiveColumn[] COLUMNS = ArchiveColumn.values();
+
+    private ArchiveFileReader() {
+    }
+
+    /**
+     * Visitor over the columns statistics need
+     */
+    @FunctionalInterface
+    public interface SummaryVisitor {
+        void visit(LocalDateTime createdAt, Long operatorId, SmsMessage.SmsStatus status, SmsMessage.SmsPriority priority);
+    }
+
+    public static ArchiveFooter readFooter(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < ArchiveFormat.HEADER_LENGTH + ArchiveFormat.TRAILER_LENGTH) {
+                throw new IOException("Not an archive file: " + file);
+            }
+            ByteBuffer trailer = readFully(channel, size - ArchiveFormat.TRAILER_LENGTH, ArchiveFormat.TRAILER_LENGTH);
+            int footerLength = trailer.getInt();
+            if (trailer.getInt() != ArchiveFormat.MAGIC || footerLength <= 0
+                    || footerLength > size - ArchiveFormat.HEADER_LENGTH - ArchiveFormat.TRAILER_LENGTH) {
+                throw new IOException("Not an archive file or truncated: " + file);
+            }
+            ByteBuffer header = readFully(channel, 0, ArchiveFormat.HEADER_LENGTH);
+            if (header.getInt() != ArchiveFormat.MAGIC || header.get() != ArchiveFormat.VERSION) {
+                throw new IOException("Unsupported archive file: " + file);
+            }
+            ByteBuffer footer = readFully(channel, size - ArchiveFormat.TRAILER_LENGTH - footerLength, footerLength);
+            return parseFooter(new DataInputStream(new ByteArrayInputStream(footer.array())));
+        }
+    }
+
+    private static ArchiveFooter parseFooter(DataInputStream in) throws IOException {
+        int rowCount = in.readInt();
+        LocalDateTime minCreatedAt = ArchiveFormat.readTime(in);
+        LocalDateTime maxCreatedAt = ArchiveFormat.readTime(in);
+        long minId = in.readLong();
+        long maxId = in.readLong();
+        int blockCount = in.readUnsignedByte();
+        Map<ArchiveColumn, long[]> blocks = new EnumMap<>(ArchiveColumn.class);
+        for (int i = 0; i < blockCount; i++) {
+            int ordinal = in.readUnsignedByte();
+            long[] block = {in.readLong(), in.readLong(), in.readLong()};
+            if (ordinal < COLUMNS.length) {
+                blocks.put(COLUMNS[ordinal], block);
+            }
+        }
+        int numBits = in.readInt();
+        int numHashes = in.readInt();
+        long[] words = new long[in.readInt()];
+        for (int i = 0; i < words.length; i++) {
+            words[i] = in.readLong();
+        }
+        return new ArchiveFooter(rowCount, minCreatedAt, maxCreatedAt, minId, maxId, blocks,
+                new BloomFilter(words, numBits, numHashes));
+    }
+
+    public static long[] readIds(Path file, ArchiveFooter footer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = open(channel, footer, ArchiveColumn.ID)) {
+            return readDeltas(in, footer.getRowCount());
+        }
+    }
+
+    public static String[] readMessageIds(Path file, ArchiveFooter footer) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ);
+             InputStream in = open(channel, footer, ArchiveColumn.MESSAGE_ID)) {
+            return readStrings(in, footer.getRowCount());
+        }
+    }
+
+    /**
+     * Visit created_at, operator, status and priority of every row; other columns stay compressed on disk
+     */
+    public static void forEachSummary(Path file, ArchiveFooter footer, SummaryVisitor visitor) throws IOException {
+        int rows = footer.getRowCount();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            LocalDateTime[] createdAt;
+            Long[] operatorIds;
+            byte[] statuses;
+            byte[] priorities;
+            try (InputStream in = open(channel, footer, ArchiveColumn.CREATED_AT)) {
+                createdAt = readTimes(in, rows);
+            }
+            try (InputStream in = open(channel, footer, ArchiveColumn.OPERATOR_ID)) {
+                operatorIds = readOptionals(in, rows);
+            }
+            try (InputStream in = open(channel, footer, ArchiveColumn.STATUS)) {
+                statuses = readBytes(in, rows);
+            }
+            try (InputStream in = open(channel, footer, ArchiveColumn.PRIORITY)) {
+                priorities = readBytes(in, rows);
+            }
+            for (int i = 0; i < rows; i++) {
+                visitor.visit(createdAt[i], operatorIds[i], STATUSES[statuses[i]], PRIORITIES[priorities[i]]);
+            }
+        }
+    }
+
+    /**
+     * Materialize the rows at the given positions
+     */
+    public static List<SmsMessage> readRows(Path file, ArchiveFooter footer, int[] positions) throws IOException {
+        int rows = footer.getRowCount();
+        Map<ArchiveColumn, Object> values = new EnumMap<>(ArchiveColumn.class);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            for (ArchiveColumn column : COLUMNS) {
+                try (InputStream in = open(channel, footer, column)) {
+                    switch (column.getEncoding()) {
+                        case DELTA -> values.put(column, readDeltas(in, rows));
+                        case TIME -> values.put(column, readTimes(in, rows));
+                        case OPTIONAL_LONG -> values.put(column, readOptionals(in, rows));
+                        case BYTE -> values.put(column, readBytes(in, rows));
+                        default -> values.put(column, readStrings(in, rows));
+                    }
+                }
+            }
+        }
+
+        List<SmsMessage> messages = new ArrayList<>(positions.length);
+        for (int i : positions) {
+            SmsMessage message = new SmsMessage();
+            message.setId(((long[]) values.get(ArchiveColumn.ID))[i]);
+            message.setMessageId(((String[]) values.get(ArchiveColumn.MESSAGE_ID))[i]);
+            message.setOperatorId(((Long[]) values.get(ArchiveColumn.OPERATOR_ID))[i]);
+            message.setSenderNumber(((String[]) values.get(ArchiveColumn.SENDER_NUMBER))[i]);
+            message.setRecipientNumber(((String[]) values.get(ArchiveColumn.RECIPIENT_NUMBER))[i]);
+            message.setMessageContent(((String[]) values.get(ArchiveColumn.MESSAGE_CONTENT))[i]);
+            message.setStatus(STATUSES[((byte[]) values.get(ArchiveColumn.STATUS))[i]]);
+            message.setPriority(PRIORITIES[((byte[]) values.get(ArchiveColumn.PRIORITY))[i]]);
+            message.setScheduledAt(((LocalDateTime[]) values.get(ArchiveColumn.SCHEDULED_AT))[i]);
+            message.setSentAt(((LocalDateTime[]) values.get(ArchiveColumn.SENT_AT))[i]);
+            message.setDeliveredAt(((LocalDateTime[]) values.get(ArchiveColumn.DELIVERED_AT))[i]);
+            message.setCreatedAt(((LocalDateTime[]) values.get(ArchiveColumn.CREATED_AT))[i]);
+            message.setUpdatedAt(((LocalDateTime[]) values.get(ArchiveColumn.UPDATED_AT))[i]);
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    private static InputStream open(FileChannel channel, ArchiveFooter footer, ArchiveColumn column) throws IOException {
+        long[] block = footer.block(column);
+        if (block == null) {
+            throw new IOException("Archive file has no " + column + " column");
+        }
+        InputStream raw = Channels.newInputStream(channel.position(block[0]));
+        InputStream bounded = new BufferedInputStream(new BoundedInputStream(raw, block[1]), 64 * 1024);
+        return new BufferedInputStream(new InflaterInputStream(bounded), 64 * 1024);
+    }
+
+    private static long[] readDeltas(InputStream in, int rows) throws IOException {
+        long[] values = new long[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            previous += ArchiveFormat.zigZagDecode(ArchiveFormat.readVarLong(in));
+            values[i] = previous;
+        }
+        return values;
+    }
+
+    private static LocalDateTime[] readTimes(InputStream in, int rows) throws IOException {
+        LocalDateTime[] values = new LocalDateTime[rows];
+        long previous = 0;
+        for (int i = 0; i < rows; i++) {
+            long encoded = ArchiveFormat.readVarLong(in);
+            if (encoded != 0) {
+                previous += ArchiveFormat.zigZagDecode(encoded - 1);
+                values[i] = ArchiveFormat.fromEpochMillis(previous);
+            }
+        }
+        return values;
+    }
+
+    private static Long[] readOptionals(InputStream in, int rows) throws IOException {
+        Long[] values = new Long[rows];
+        for (int i = 0; i < rows; i++) {
+            long encoded = ArchiveFormat.readVarLong(in);
+            values[i] = encoded != 0 ? encoded - 1 : null;
+        }
+        return values;
+    }
+
+    private static byte[] readBytes(InputStream in, int rows) throws IOException {
+        byte[] values = new byte[rows];
+        new DataInputStream(in).readFully(values);
+        return values;
+    }
+
+    private static String[] readStrings(InputStream in, int rows) throws IOException {
+        String[] values = new String[rows];
+        DataInputStream data = new DataInputStream(in);
+        for (int i = 0; i < rows; i++) {
+            byte[] bytes = new byte[(int) ArchiveFormat.readVarLong(in)];
+            data.readFully(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static ByteBuffer readFully(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new IOException("Unexpected end of archive file");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Stops a column stream at the end of its block
+     */
+    private static class BoundedInputStream extends InputStream {
+        private final InputStream in;
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long length) {
+            this.in = in;
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int b = in.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(buffer, offset, (int) Math.min(length, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() {
+            // The channel is shared between columns and closed by the caller
+        }
+    }
+}
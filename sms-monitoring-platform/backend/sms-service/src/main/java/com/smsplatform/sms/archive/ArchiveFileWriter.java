@@ -0,0 +1,205 @@
+package com.smsplatform.sms.archive;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * Archive File Writer
+ *
+ * Buffers one archive slice column by column, each column compressed as it
+ * is appended, and writes the whole slice in {@link #finish}. Memory is
+ * bounded by the compressed size of one slice plus its row ids.
+ */
+public class ArchiveFileWriter {
+
+    private final Map<ArchiveColumn, ColumnBuffer> columns = new EnumMap<>(ArchiveColumn.class);
+    private final BloomFilter messageIds;
+    private long[] ids = new long[1024];
+    private int rowCount;
+    private LocalDateTime minCreatedAt;
+    private LocalDateTime maxCreatedAt;
+    private long minId = Long.MAX_VALUE;
+    private long maxId = Long.MIN_VALUE;
+
+    public ArchiveFileWriter(int expectedRows, double bloomFalsePositiveRate) {
+        for (ArchiveColumn column : ArchiveColumn.values()) {
+            columns.put(column, new ColumnBuffer());
+        }
+        this.messageIds = new BloomFilter(expectedRows, bloomFalsePositiveRate);
+    }
+
+    public void append(SmsMessage message) throws IOException {
+        if (message.getId() == null || message.getCreatedAt() == null) {
+            throw new IllegalArgumentException("Archived rows need an id and created_at");
+        }
+        long id = message.getId();
+        columns.get(ArchiveColumn.ID).writeDelta(id);
+        columns.get(ArchiveColumn.MESSAGE_ID).writeString(message.getMessageId());
+        columns.get(ArchiveColumn.OPERATOR_ID).writeOptional(message.getOperatorId());
+        columns.get(ArchiveColumn.SENDER_NUMBER).writeString(message.getSenderNumber());
+        columns.get(ArchiveColumn.RECIPIENT_NUMBER).writeString(message.getRecipientNumber());
+        columns.get(ArchiveColumn.MESSAGE_CONTENT).writeString(message.getMessageContent());
+        columns.get(ArchiveColumn.STATUS).writeByte(message.getStatus().ordinal());
+        columns.get(ArchiveColumn.PRIORITY).writeByte(message.getPriority().ordinal());
+        columns.get(ArchiveColumn.SCHEDULED_AT).writeTime(message.getScheduledAt());
+        columns.get(ArchiveColumn.SENT_AT).writeTime(message.getSentAt());
+        columns.get(ArchiveColumn.DELIVERED_AT).writeTime(message.getDeliveredAt());
+        columns.get(ArchiveColumn.CREATED_AT).writeTime(message.getCreatedAt());
+        columns.get(ArchiveColumn.UPDATED_AT).writeTime(message.getUpdatedAt());
+
+        if (message.getMessageId() != null) {
+            messageIds.add(message.getMessageId());
+        }
+        if (rowCount == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+        }
+        ids[rowCount++] = id;
+        minId = Math.min(minId, id);
+        maxId = Math.max(maxId, id);
+        if (minCreatedAt == null || message.getCreatedAt().isBefore(minCreatedAt)) {
+            minCreatedAt = message.getCreatedAt();
+        }
+        if (maxCreatedAt == null || message.getCreatedAt().isAfter(maxCreatedAt)) {
+            maxCreatedAt = message.getCreatedAt();
+        }
+    }
+
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Ids of the appended rows, in append order
+     */
+    public long[] getIds() {
+        return Arrays.copyOf(ids, rowCount);
+    }
+
+    public LocalDateTime getMinCreatedAt() {
+        return minCreatedAt;
+    }
+
+    public LocalDateTime getMaxCreatedAt() {
+        return maxCreatedAt;
+    }
+
+    /**
+     * Write the slice to a file and return its footer
+     */
+    public ArchiveFooter finish(Path target) throws IOException {
+        if (rowCount == 0) {
+            throw new IllegalStateException("Nothing to archive");
+        }
+        Map<ArchiveColumn, long[]> blocks = new EnumMap<>(ArchiveColumn.class);
+        try (OutputStream file = Files.newOutputStream(target);
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(file, 64 * 1024))) {
+            out.writeInt(ArchiveFormat.MAGIC);
+            out.writeByte(ArchiveFormat.VERSION);
+            long offset = ArchiveFormat.HEADER_LENGTH;
+            for (Map.Entry<ArchiveColumn, ColumnBuffer> entry : columns.entrySet()) {
+                ColumnBuffer column = entry.getValue();
+                column.close();
+                column.compressed.writeTo(out);
+                blocks.put(entry.getKey(), new long[] {offset, column.compressed.size(), column.rawLength});
+                offset += column.compressed.size();
+            }
+
+            ArchiveFooter footer = new ArchiveFooter(rowCount, minCreatedAt, maxCreatedAt, minId, maxId, blocks, messageIds);
+            int footerStart = out.size();
+            writeFooter(out, footer);
+            out.writeInt(out.size() - footerStart);
+            out.writeInt(ArchiveFormat.MAGIC);
+            return footer;
+        }
+    }
+
+    private static void writeFooter(DataOutputStream out, ArchiveFooter footer) throws IOException {
+        out.writeInt(footer.getRowCount());
+        ArchiveFormat.writeTime(out, footer.getMinCreatedAt());
+        ArchiveFormat.writeTime(out, footer.getMaxCreatedAt());
+        out.writeLong(footer.getMinId());
+        out.writeLong(footer.getMaxId());
+        out.writeByte(footer.blocks().size());
+        for (Map.Entry<ArchiveColumn, long[]> block : footer.blocks().entrySet()) {
+            out.writeByte(block.getKey().ordinal());
+            out.writeLong(block.getValue()[0]);
+            out.writeLong(block.getValue()[1]);
+            out.writeLong(block.getValue()[2]);
+        }
+        BloomFilter bloom = footer.bloom();
+        out.writeInt(bloom.getNumBits());
+        out.writeInt(bloom.getNumHashes());
+        out.writeInt(bloom.getWords().length);
+        for (long word : bloom.getWords()) {
+            out.writeLong(word);
+        }
+    }
+
+    /**
+     * One column's compressed bytes and its delta state
+     */
+    private static class ColumnBuffer {
+        private final ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        private final DataOutputStream out = new DataOutputStream(
+                new DeflaterOutputStream(compressed, deflater, 64 * 1024));
+        private long previous;
+        private long rawLength;
+
+        private void writeDelta(long value) throws IOException {
+            writeVarLong(ArchiveFormat.zigZagEncode(value - previous));
+            previous = value;
+        }
+
+        private void writeTime(LocalDateTime time) throws IOException {
+            if (time == null) {
+                writeVarLong(0);
+                return;
+            }
+            long millis = ArchiveFormat.toEpochMillis(time);
+            writeVarLong(ArchiveFormat.zigZagEncode(millis - previous) + 1);
+            previous = millis;
+        }
+
+        private void writeOptional(Long value) throws IOException {
+            writeVarLong(value != null ? value + 1 : 0);
+        }
+
+        private void writeByte(int value) throws IOException {
+            out.writeByte(value);
+            rawLength++;
+        }
+
+        private void writeString(String value) throws IOException {
+            byte[] bytes = value != null ? value.getBytes(StandardCharsets.UTF_8) : new byte[0];
+            writeVarLong(bytes.length);
+            out.write(bytes);
+            rawLength += bytes.length;
+        }
+
+        private void writeVarLong(long value) throws IOException {
+            int before = out.size();
+            ArchiveFormat.writeVarLong(out, value);
+            rawLength += out.size() - before;
+        }
+
+        private void close() throws IOException {
+            out.close();
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.smsplatform.sms.archive;
+
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Archive Footer
+ *
+ * Trailer of an archive slice: row count, min/max created_at and id for
+ * pruning, where each compressed column block lives, and the messageId
+ * Bloom filter. Small enough to keep in memory for every slice.
+ */
+public class ArchiveFooter {
+
+    private final int rowCount;
+    private final LocalDateTime minCreatedAt;
+    private final LocalDateTime maxCreatedAt;
+    private final long minId;
+    private final long maxId;
+    private final Map<ArchiveColumn, long[]> blocks;
+    private final BloomFilter messageIds;
+
+    ArchiveFooter(int rowCount, LocalDateTime minCreatedAt, LocalDateTime maxCreatedAt, long minId, long maxId,
+                  Map<ArchiveColumn, long[]> blocks, BloomFilter messageIds) {
+        this.rowCount = rowCount;
+        this.minCreatedAt = minCreatedAt;
+        this.maxCreatedAt = maxCreatedAt;
+        this.minId = minId;
+        this.maxId = maxId;
+        this.blocks = new EnumMap<>(blocks);
+        this.messageIds = messageIds;
+    }
+
+    public int getRowCount() { return rowCount; }
+
+    public LocalDateTime getMinCreatedAt() { return minCreatedAt; }
+
+    public LocalDateTime getMaxCreatedAt() { return maxCreatedAt; }
+
+    public long getMinId() { return minId; }
+
+    public long getMaxId() { return maxId; }
+
+    public boolean mightContainMessageId(String messageId) {
+        return messageIds.mightContain(messageId);
+    }
+
+    public boolean mayContainId(long id) {
+        return id >= minId && id <= maxId;
+    }
+
+    /**
+     * Whether any row may have startInclusive <= created_at < endExclusive
+     */
+    public boolean overlaps(LocalDateTime startInclusive, LocalDateTime endExclusive) {
+        return !maxCreatedAt.isBefore(startInclusive) && minCreatedAt.isBefore(endExclusive);
+    }
+
+    /**
+     * Offset, compressed length and raw length of a column block
+     */
+    long[] block(ArchiveColumn column) {
+        return blocks.get(column);
+    }
+
+    Map<ArchiveColumn, long[]> blocks() {
+        return blocks;
+    }
+
+    BloomFilter bloom() {
+        return messageIds;
+    }
+}
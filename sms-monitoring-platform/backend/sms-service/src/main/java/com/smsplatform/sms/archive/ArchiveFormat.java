@@ -0,0 +1,85 @@
+package com.smsplatform.sms.archive;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Archive Format
+ *
+ * Binary layout of an archive slice. Header: magic "SMSA" and format version
+ * (byte). Then one deflate-compressed block per {@link ArchiveColumn}, so a
+ * query that needs four columns decompresses four blocks. Then the footer
+ * (see {@link ArchiveFooter}) and an 8-byte trailer: footer length (int) and
+ * the magic again, so the footer is found by seeking from the end of the file.
+ */
+public final class ArchiveFormat {
+
+    public static final int MAGIC = 0x534D5341;
+    public static final byte VERSION = 1;
+    public static final String FILE_EXTENSION = ".smsarc";
+    public static final String PENDING_EXTENSION = ".smsarc.pending";
+
+    static final int HEADER_LENGTH = 5;
+    static final int TRAILER_LENGTH = 8;
+
+    private ArchiveFormat() {
+    }
+
+    static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readVarLong(InputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                throw new EOFException("Truncated archive column");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varint in archive file");
+            }
+        }
+    }
+
+    static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    static long toEpochMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    static LocalDateTime fromEpochMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    static void writeTime(DataOutput out, LocalDateTime time) throws IOException {
+        out.writeLong(time != null ? toEpochMillis(time) : Long.MIN_VALUE);
+    }
+
+    static LocalDateTime readTime(DataInput in) throws IOException {
+        long millis = in.readLong();
+        return millis == Long.MIN_VALUE ? null : fromEpochMillis(millis);
+    }
+}
@@ -0,0 +1,74 @@
+package com.smsplatform.sms.archive;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bloom Filter
+ *
+ * Fixed-size Bloom filter over strings, stored in an archive footer so a
+ * lookup by messageId only opens the slices that may contain it. Bit
+ * positions use double hashing of a 64-bit FNV-1a hash.
+ */
+public class BloomFilter {
+
+    private final long[] words;
+    private final int numBits;
+    private final int numHashes;
+
+    public BloomFilter(long expectedEntries, double falsePositiveRate) {
+        long entries = Math.max(1, expectedEntries);
+        double p = Math.min(0.5, Math.max(1e-6, falsePositiveRate));
+        long bits = (long) Math.ceil(-entries * Math.log(p) / (Math.log(2) * Math.log(2)));
+        this.numBits = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, bits));
+        this.numHashes = Math.max(1, (int) Math.round((double) numBits / entries * Math.log(2)));
+        this.words = new long[(numBits + 63) / 64];
+    }
+
+    BloomFilter(long[] words, int numBits, int numHashes) {
+        this.words = words;
+        this.numBits = numBits;
+        this.numHashes = numHashes;
+    }
+
+    public void add(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            words[bit >>> 6] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(String value) {
+        long hash = hash(value);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= numHashes; i++) {
+            int bit = Math.floorMod(h1 + i * h2, numBits);
+            if ((words[bit >>> 6] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    long[] getWords() { return words; }
+
+    int getNumBits() { return numBits; }
+
+    int getNumHashes() { return numHashes; }
+
+    private static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            h ^= b & 0xff;
+            h *= 0x100000001b3L;
+        }
+        // Finalize so both halves are well mixed
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        return h;
+    }
+}
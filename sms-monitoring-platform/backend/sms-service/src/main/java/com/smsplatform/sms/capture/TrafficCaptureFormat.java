@@ -0,0 +1,74 @@
+package com.smsplatform.sms.capture;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+
+/**
+ * Traffic Capture Format
+ *
+ * Binary layout of a capture file. Header: magic "SMSC", format version
+ * (byte) and capture start as epoch milliseconds (long). Then one record per
+ * submission, most fields as unsigned LEB128 varints so a typical record is
+ * 4-8 bytes:
+ * - microseconds since the previous record
+ * - flags: priority ordinal (bits 0-1), has operator (bit 2), scheduled (bit 3)
+ * - operator id, when present
+ * - message content length in characters
+ * - scheduled time relative to submission in milliseconds (zigzag), when scheduled
+ */
+public final class TrafficCaptureFormat {
+
+    public static final int MAGIC = 0x534D5343;
+    public static final byte VERSION = 1;
+    public static final String FILE_EXTENSION = ".smscap";
+
+    static final int PRIORITY_MASK = 0x03;
+    static final int HAS_OPERATOR = 0x04;
+    static final int SCHEDULED = 0x08;
+
+    private TrafficCaptureFormat() {
+    }
+
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    /**
+     * Read a varint; returns -1 at a clean end of stream before the first byte
+     */
+    static long readVarLong(DataInputStream in, boolean eofAllowed) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.read();
+            if (b < 0) {
+                if (eofAllowed && shift == 0) {
+                    return -1;
+                }
+                throw new EOFException("Truncated capture record");
+            }
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+            if (shift > 63) {
+                throw new IOException("Malformed varint in capture file");
+            }
+        }
+    }
+
+    static long zigZagEncode(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    static long zigZagDecode(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+}
@@ -0,0 +1,64 @@
+package com.smsplatform.sms.capture;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Traffic Capture Reader
+ *
+ * Reads a capture file record by record, so a replay holds one record in
+ * memory however long the capture is.
+ */
+public class TrafficCaptureReader implements Closeable {
+
+    private static final SmsMessage.SmsPriority[] PRIORITIES = SmsMessage.SmsPriority.values();
+
+    private final DataInputStream in;
+    private final long startEpochMillis;
+    private long offsetMicros;
+
+    public TrafficCaptureReader(InputStream in) throws IOException {
+        this.in = new DataInputStream(new BufferedInputStream(in, 64 * 1024));
+        if (this.in.readInt() != TrafficCaptureFormat.MAGIC) {
+            throw new IOException("Not a traffic capture file");
+        }
+        byte version = this.in.readByte();
+        if (version != TrafficCaptureFormat.VERSION) {
+            throw new IOException("Unsupported traffic capture version " + version);
+        }
+        this.startEpochMillis = this.in.readLong();
+    }
+
+    public long getStartEpochMillis() {
+        return startEpochMillis;
+    }
+
+    /**
+     * Next record, or null at the end of the capture
+     */
+    public TrafficRecord next() throws IOException {
+        long gap = TrafficCaptureFormat.readVarLong(in, true);
+        if (gap < 0) {
+            return null;
+        }
+        offsetMicros += gap;
+        int flags = in.readUnsignedByte();
+        SmsMessage.SmsPriority priority = PRIORITIES[Math.min(PRIORITIES.length - 1, flags & TrafficCaptureFormat.PRIORITY_MASK)];
+        Long operatorId = (flags & TrafficCaptureFormat.HAS_OPERATOR) != 0
+                ? TrafficCaptureFormat.readVarLong(in, false) : null;
+        int contentLength = (int) TrafficCaptureFormat.readVarLong(in, false);
+        Long scheduledDelay = (flags & TrafficCaptureFormat.SCHEDULED) != 0
+                ? TrafficCaptureFormat.zigZagDecode(TrafficCaptureFormat.readVarLong(in, false)) : null;
+        return new TrafficRecord(offsetMicros, priority, operatorId, contentLength, scheduledDelay);
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
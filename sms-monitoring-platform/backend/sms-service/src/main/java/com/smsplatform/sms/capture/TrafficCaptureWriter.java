@@ -0,0 +1,68 @@
+package com.smsplatform.sms.capture;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Traffic Capture Writer
+ *
+ * Appends records in {@link TrafficCaptureFormat}. Callers serialize access;
+ * offsets must be non-decreasing, a record that arrives out of order is
+ * written with a zero gap.
+ */
+public class TrafficCaptureWriter implements Closeable {
+
+    private final DataOutputStream out;
+    private long lastOffsetMicros;
+    private long records;
+
+    public TrafficCaptureWriter(OutputStream out, long startEpochMillis) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(out, 64 * 1024));
+        this.out.writeInt(TrafficCaptureFormat.MAGIC);
+        this.out.writeByte(TrafficCaptureFormat.VERSION);
+        this.out.writeLong(startEpochMillis);
+    }
+
+    public void write(TrafficRecord record) throws IOException {
+        long offset = Math.max(lastOffsetMicros, record.getOffsetMicros());
+        TrafficCaptureFormat.writeVarLong(out, offset - lastOffsetMicros);
+        lastOffsetMicros = offset;
+
+        int flags = record.getPriority() != null ? record.getPriority().ordinal() & TrafficCaptureFormat.PRIORITY_MASK : 0;
+        if (record.getOperatorId() != null) {
+            flags |= TrafficCaptureFormat.HAS_OPERATOR;
+        }
+        if (record.getScheduledDelayMillis() != null) {
+            flags |= TrafficCaptureFormat.SCHEDULED;
+        }
+        out.writeByte(flags);
+        if (record.getOperatorId() != null) {
+            TrafficCaptureFormat.writeVarLong(out, record.getOperatorId());
+        }
+        TrafficCaptureFormat.writeVarLong(out, Math.max(0, record.getContentLength()));
+        if (record.getScheduledDelayMillis() != null) {
+            TrafficCaptureFormat.writeVarLong(out, TrafficCaptureFormat.zigZagEncode(record.getScheduledDelayMillis()));
+        }
+        records++;
+    }
+
+    public long getRecords() {
+        return records;
+    }
+
+    public long getLastOffsetMicros() {
+        return lastOffsetMicros;
+    }
+
+    public void flush() throws IOException {
+        out.flush();
+    }
+
+    @Override
+    public void close() throws IOException {
+        out.close();
+    }
+}
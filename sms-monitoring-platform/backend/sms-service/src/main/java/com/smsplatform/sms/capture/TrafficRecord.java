@@ -0,0 +1,37 @@
+package com.smsplatform.sms.capture;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+/**
+ * Traffic Record
+ *
+ * One captured submission: when it arrived relative to the start of the
+ * capture and the shape of the message, without its content or numbers.
+ */
+public class TrafficRecord {
+
+    private final long offsetMicros;
+    private final SmsMessage.SmsPriority priority;
+    private final Long operatorId;
+    private final int contentLength;
+    private final Long scheduledDelayMillis;
+
+    public TrafficRecord(long offsetMicros, SmsMessage.SmsPriority priority, Long operatorId,
+                         int contentLength, Long scheduledDelayMillis) {
+        this.offsetMicros = offsetMicros;
+        this.priority = priority;
+        this.operatorId = operatorId;
+        this.contentLength = contentLength;
+        this.scheduledDelayMillis = scheduledDelayMillis;
+    }
+
+    public long getOffsetMicros() { return offsetMicros; }
+
+    public SmsMessage.SmsPriority getPriority() { return priority; }
+
+    public Long getOperatorId() { return operatorId; }
+
+    public int getContentLength() { return contentLength; }
+
+    public Long getScheduledDelayMillis() { return scheduledDelayMillis; }
+}
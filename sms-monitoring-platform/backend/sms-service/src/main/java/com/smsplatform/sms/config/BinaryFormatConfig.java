@@ -0,0 +1,35 @@
+package com.smsplatform.sms.config;
+
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+/**
+ * Binary Format Configuration
+ *
+ * Smile (application/x-jackson-smile) and CBOR (application/cbor) bodies for
+ * the REST API, negotiated through Accept and Content-Type. Both mappers are
+ * built from Spring Boot's Jackson builder, so they carry the same
+ * spring.jackson settings and modules as JSON and every DTO reads and writes
+ * identically in all three formats. The converters take the place of Spring's
+ * default Smile/CBOR ones, after the JSON converter, so JSON stays the
+ * response for requests without an Accept header or with Accept: *&#47;*.
+ */
+@Configuration
+public class BinaryFormatConfig {
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        // The builder bean is prototype scoped, so setting its factory does not leak into the JSON mapper
+        return new MappingJackson2SmileHttpMessageConverter(builder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(builder.factory(new CBORFactory()).build());
+    }
+}
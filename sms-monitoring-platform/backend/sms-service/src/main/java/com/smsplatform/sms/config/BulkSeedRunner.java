@@ -0,0 +1,86 @@
+package com.smsplatform.sms.config;
+
+import com.smsplatform.sms.service.BulkSeederService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bulk Seed Runner
+ * 
+ * Runs the bulk seeder once at startup when sms.platform.seed.enabled=true
+ * and, unless sms.platform.seed.exit=false, shuts the application down
+ * afterwards, so the service jar doubles as a seeding tool:
+ * java -jar sms-service.jar --spring.main.web-application-type=none
+ *      --sms.platform.seed.enabled=true --sms.platform.seed.rows=100000000
+ */
+@Component
+@ConditionalOnProperty(prefix = "sms.platform.seed", name = "enabled", havingValue = "true")
+public class BulkSeedRunner implements ApplicationRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSeedRunner.class);
+
+    private final BulkSeederService bulkSeederService;
+    private final ConfigurableApplicationContext context;
+
+    @Value("${sms.platform.seed.rows:1000000}")
+    private long rows;
+
+    @Value("${sms.platform.seed.days:30}")
+    private int days;
+
+    @Value("${sms.platform.seed.growth:1.0}")
+    private double growth;
+
+    @Value("${sms.platform.seed.parallelism:4}")
+    private int parallelism;
+
+    @Value("${sms.platform.seed.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${sms.platform.seed.mode:batch}")
+    private String mode;
+
+    @Value("${sms.platform.seed.seed:#{null}}")
+    private Long seed;
+
+    @Value("${sms.platform.seed.exit:true}")
+    private boolean exitWhenDone;
+
+    @Autowired
+    public BulkSeedRunner(BulkSeederService bulkSeederService, ConfigurableApplicationContext context) {
+        this.bulkSeederService = bulkSeederService;
+        this.context = context;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        BulkSeederService.SeedConfig config = new BulkSeederService.SeedConfig();
+        config.setRows(rows);
+        config.setDays(days);
+        config.setGrowth(growth);
+        config.setParallelism(parallelism);
+        config.setBatchSize(batchSize);
+        config.setMode(mode);
+        config.setSeed(seed);
+
+        int exitCode = 0;
+        try {
+            bulkSeederService.seed(config);
+        } catch (RuntimeException e) {
+            logger.error("Bulk seeding failed: {}", e.getMessage(), e);
+            exitCode = 1;
+        }
+        if (exitWhenDone) {
+            int code = exitCode;
+            System.exit(SpringApplication.exit(context, () -> code));
+        }
+    }
+}
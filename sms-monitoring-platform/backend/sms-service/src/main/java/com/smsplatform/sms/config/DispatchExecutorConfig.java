@@ -0,0 +1,39 @@
+package com.smsplatform.sms.config;
+
+import com.smsplatform.sms.metrics.PipelineMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Dispatch Executor Configuration
+ * 
+ * Dedicated bounded executor for message dispatch (operator call and status
+ * updates), kept separate from servlet and scheduler threads. The queue is
+ * bounded by sms.platform.simulation.max-concurrent-messages; overflow is
+ * rejected and left PENDING for the scheduler sweep to pick up.
+ */
+@Configuration
+public class DispatchExecutorConfig {
+
+    public static final String DISPATCH_EXECUTOR = "smsDispatchExecutor";
+
+    @Bean(name = DISPATCH_EXECUTOR)
+    public ThreadPoolTaskExecutor smsDispatchExecutor(
+            PipelineMetrics pipelineMetrics,
+            @Value("${sms.platform.dispatch.threads:32}") int threads,
+            @Value("${sms.platform.simulation.max-concurrent-messages:1000}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sms-dispatch-");
+        executor.setTaskDecorator(pipelineMetrics::decorateQueueWait);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        executor.setAwaitTerminationSeconds(10);
+        executor.initialize();
+        pipelineMetrics.bindDispatchExecutor(executor.getThreadPoolExecutor());
+        return executor;
+    }
+}
@@ -0,0 +1,32 @@
+package com.smsplatform.sms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Maintenance Executor Configuration
+ * 
+ * Executor for long maintenance runs (archiving, partition maintenance) that
+ * can take hours. Their schedules only hand the run off to this executor, so
+ * the shared scheduler threads stay free for the short periodic tasks.
+ */
+@Configuration
+public class MaintenanceExecutorConfig {
+
+    public static final String MAINTENANCE_EXECUTOR = "maintenanceExecutor";
+
+    @Bean(name = MAINTENANCE_EXECUTOR)
+    public ThreadPoolTaskExecutor maintenanceExecutor(
+            @Value("${sms.platform.maintenance.threads:2}") int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(10);
+        executor.setThreadNamePrefix("sms-maintenance-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
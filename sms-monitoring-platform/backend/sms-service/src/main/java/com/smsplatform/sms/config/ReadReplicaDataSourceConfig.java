@@ -0,0 +1,173 @@
+package com.smsplatform.sms.config;
+
+import com.smsplatform.sms.datasource.ClientContextFilter;
+import com.smsplatform.sms.datasource.ClientWriteTracker;
+import com.smsplatform.sms.datasource.ReadWriteRoutingDataSource;
+import com.smsplatform.sms.datasource.ReplicaLagMonitor;
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Read Replica Data Source Configuration
+ *
+ * When read replicas are enabled, replaces the auto-configured DataSource with
+ * one that routes read-only transactions to the replicas listed in
+ * sms.platform.datasource.read-replicas.urls and all other work to the
+ * spring.datasource primary. Replicas share the primary's credentials unless
+ * their own are set. Replica lag is polled on a fixed delay by a dedicated
+ * thread; a lagging or unreachable replica leaves the rotation until it
+ * catches up.
+ */
+@Configuration
+@ConditionalOnProperty(name = "sms.platform.datasource.read-replicas.enabled", havingValue = "true")
+public class ReadReplicaDataSourceConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReadReplicaDataSourceConfig.class);
+
+    @Value("${sms.platform.datasource.read-replicas.urls:}")
+    private List<String> replicaUrls;
+
+    @Value("${sms.platform.datasource.read-replicas.username:}")
+    private String replicaUsername;
+
+    @Value("${sms.platform.datasource.read-replicas.password:}")
+    private String replicaPassword;
+
+    @Value("${sms.platform.datasource.read-replicas.pool-size:10}")
+    private int replicaPoolSize;
+
+    @Value("${sms.platform.datasource.read-replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${sms.platform.datasource.read-replicas.check-lag:true}")
+    private boolean checkLag;
+
+    @Value("${sms.platform.datasource.read-replicas.read-your-writes-window-ms:2000}")
+    private long readYourWritesWindowMs;
+
+    @Value("${sms.platform.datasource.read-replicas.check-interval-ms:1000}")
+    private long checkIntervalMs;
+
+    private final Map<String, DataSource> replicas = new LinkedHashMap<>();
+    private ReplicaLagMonitor lagMonitor;
+    private ClientWriteTracker writeTracker;
+    private ScheduledExecutorService replicaChecks;
+
+    @Bean(destroyMethod = "close")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        dataSource.setPoolName("sms-primary");
+        return dataSource;
+    }
+
+    @Bean
+    public ClientWriteTracker clientWriteTracker() {
+        writeTracker = new ClientWriteTracker(readYourWritesWindowMs);
+        return writeTracker;
+    }
+
+    @Bean
+    public ReplicaLagMonitor replicaLagMonitor(DataSourceProperties properties) {
+        for (String url : replicaUrls) {
+            if (url.isBlank()) {
+                continue;
+            }
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("sms-replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(!replicaUsername.isBlank() ? replicaUsername : properties.determineUsername());
+            replica.setPassword(!replicaPassword.isBlank() ? replicaPassword : properties.determinePassword());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            // A replica that is down at startup only stays out of the rotation
+            replica.setInitializationFailTimeout(-1);
+            replica.setConnectionTimeout(2000);
+            replicas.put(replica.getPoolName(), replica);
+        }
+        lagMonitor = new ReplicaLagMonitor(replicas, maxLagSeconds, checkLag);
+        lagMonitor.check();
+        return lagMonitor;
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource readWriteRoutingDataSource(HikariDataSource primaryDataSource,
+                                                                 ReplicaLagMonitor replicaLagMonitor,
+                                                                 ClientWriteTracker clientWriteTracker) {
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primaryDataSource);
+        ReadWriteRoutingDataSource routing = new ReadWriteRoutingDataSource(replicaLagMonitor, clientWriteTracker);
+        routing.setTargetDataSources(targets);
+        routing.setDefaultTargetDataSource(primaryDataSource);
+        return routing;
+    }
+
+    @Bean
+    @Primary
+    public DataSource dataSource(ReadWriteRoutingDataSource readWriteRoutingDataSource) {
+        return new LazyConnectionDataSourceProxy(readWriteRoutingDataSource);
+    }
+
+    @Bean
+    public ClientContextFilter clientContextFilter() {
+        return new ClientContextFilter();
+    }
+
+    /**
+     * Replica lag check and read-your-writes window cleanup on a thread of their own: probing an
+     * unreachable replica blocks for the connection timeout, which must not stall the shared scheduler
+     */
+    @PostConstruct
+    public void startReplicaChecks() {
+        replicaChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "sms-replica-check");
+            thread.setDaemon(true);
+            return thread;
+        });
+        replicaChecks.scheduleWithFixedDelay(this::checkReplicas, checkIntervalMs, checkIntervalMs,
+                TimeUnit.MILLISECONDS);
+    }
+
+    private void checkReplicas() {
+        // An exception would cancel the periodic task
+        try {
+            if (lagMonitor != null) {
+                lagMonitor.check();
+            }
+            if (writeTracker != null) {
+                writeTracker.expire();
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Read replica check failed: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void closeReplicas() {
+        if (replicaChecks != null) {
+            replicaChecks.shutdownNow();
+        }
+        for (DataSource replica : replicas.values()) {
+            ((HikariDataSource) replica).close();
+        }
+    }
+}
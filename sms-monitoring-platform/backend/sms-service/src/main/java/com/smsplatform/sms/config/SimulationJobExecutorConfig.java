@@ -0,0 +1,32 @@
+package com.smsplatform.sms.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Simulation Job Executor Configuration
+ * 
+ * Small dedicated executor for load and stress test jobs so long runs never
+ * occupy servlet threads. Jobs beyond the pool size wait in the queue.
+ */
+@Configuration
+public class SimulationJobExecutorConfig {
+
+    public static final String SIMULATION_JOB_EXECUTOR = "simulationJobExecutor";
+
+    @Bean(name = SIMULATION_JOB_EXECUTOR)
+    public ThreadPoolTaskExecutor simulationJobExecutor(
+            @Value("${sms.platform.simulation.jobs.threads:2}") int threads,
+            @Value("${sms.platform.simulation.jobs.queue-capacity:20}") int queueCapacity) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setQueueCapacity(queueCapacity);
+        executor.setThreadNamePrefix("sim-job-");
+        executor.setWaitForTasksToCompleteOnShutdown(false);
+        executor.initialize();
+        return executor;
+    }
+}
@@ -0,0 +1,108 @@
+package com.smsplatform.sms.controller;
+
+import com.smsplatform.sms.dto.MetricSeriesDto;
+import com.smsplatform.sms.model.Alert;
+import com.smsplatform.sms.model.SystemMetric;
+import com.smsplatform.sms.service.AlertEngineService;
+import com.smsplatform.sms.service.MetricsSinkService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Monitoring REST Controller
+ * 
+ * Provides REST API endpoints for stored service metrics and alerts.
+ */
+@RestController
+@RequestMapping("/api/v1/monitoring")
+@Tag(name = "Monitoring", description = "Service metrics history and alerts")
+@CrossOrigin(origins = "*")
+public class MonitoringController {
+
+    private final MetricsSinkService metricsSinkService;
+    private final AlertEngineService alertEngineService;
+
+    @Autowired
+    public MonitoringController(MetricsSinkService metricsSinkService,
+                                AlertEngineService alertEngineService) {
+        this.metricsSinkService = metricsSinkService;
+        this.alertEngineService = alertEngineService;
+    }
+
+    /**
+     * Get available metric names
+     */
+    @GetMapping("/metrics")
+    @Operation(summary = "List metrics", description = "List metric names stored for this service")
+    public ResponseEntity<List<String>> getMetricNames() {
+        return ResponseEntity.ok(metricsSinkService.getMetricNames());
+    }
+
+    /**
+     * Get a metric time series
+     */
+    @GetMapping("/metrics/series")
+    @Operation(summary = "Get metric series", description = "Get a metric time series at the resolution best suited to the range")
+    public ResponseEntity<MetricSeriesDto> getMetricSeries(
+            @Parameter(description = "Metric name") @RequestParam String metric,
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate,
+            @Parameter(description = "Force a resolution") @RequestParam(required = false) SystemMetric.Resolution resolution) {
+        MetricSeriesDto series = metricsSinkService.getSeries(metric, startDate, endDate, resolution);
+        return ResponseEntity.ok(series);
+    }
+
+    /**
+     * Get alerts with pagination
+     */
+    @GetMapping("/alerts")
+    @Operation(summary = "Get alerts", description = "Retrieve alerts, optionally filtered by status")
+    public ResponseEntity<Page<Alert>> getAlerts(
+            @Parameter(description = "Alert status") @RequestParam(required = false) Alert.AlertStatus status,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(alertEngineService.getAlerts(status, pageable));
+    }
+
+    /**
+     * Acknowledge an alert
+     */
+    @PutMapping("/alerts/{id}/acknowledge")
+    @Operation(summary = "Acknowledge alert", description = "Mark an active alert as acknowledged")
+    public ResponseEntity<Alert> acknowledgeAlert(
+            @Parameter(description = "Alert ID") @PathVariable Long id,
+            @Parameter(description = "Acknowledging user ID") @RequestParam(required = false) Long userId) {
+        try {
+            return ResponseEntity.ok(alertEngineService.acknowledgeAlert(id, userId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Resolve an alert
+     */
+    @PutMapping("/alerts/{id}/resolve")
+    @Operation(summary = "Resolve alert", description = "Manually resolve an alert")
+    public ResponseEntity<Alert> resolveAlert(
+            @Parameter(description = "Alert ID") @PathVariable Long id) {
+        try {
+            return ResponseEntity.ok(alertEngineService.resolveAlertManually(id));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+}
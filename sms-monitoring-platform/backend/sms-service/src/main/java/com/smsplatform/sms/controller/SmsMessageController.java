@@ -1,25 +1,59 @@
 package com.smsplatform.sms.controller;
 
+import com.smsplatform.sms.dto.LatencyPercentilesDto;
+import com.smsplatform.sms.dto.RealtimeStatisticsDto;
+import com.smsplatform.sms.dto.CursorPageDto;
 import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
+import com.smsplatform.sms.dto.TestJobDto;
+import com.smsplatform.sms.dto.TestRunComparisonDto;
+import com.smsplatform.sms.dto.TraceModelSummaryDto;
+import com.smsplatform.sms.dto.TrafficCaptureDto;
+import com.smsplatform.sms.model.NetworkTest;
 import com.smsplatform.sms.model.SmsMessage;
 import com.smsplatform.sms.service.SmsMessageService;
+import com.smsplatform.sms.service.ArchiveService;
+import com.smsplatform.sms.service.LatencyHistogramService;
+import com.smsplatform.sms.service.LoadGeneratorService;
+import com.smsplatform.sms.service.MessageExportService;
+import com.smsplatform.sms.service.MessageSearchService;
 import com.smsplatform.sms.service.NetworkSimulationService;
+import com.smsplatform.sms.service.NetworkTestService;
+import com.smsplatform.sms.service.PartitionMaintenanceService;
+import com.smsplatform.sms.service.RealtimeStatisticsService;
+import com.smsplatform.sms.service.StatisticsRollupService;
+import com.smsplatform.sms.service.TestJobService;
+import com.smsplatform.sms.service.TraceModelService;
+import com.smsplatform.sms.service.TrafficCaptureService;
+import com.smsplatform.sms.service.TrafficReplayService;
+import com.smsplatform.sms.simulation.NetworkScenario;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.tags.Tag;
-import jakarta.validation.Valid;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.nio.file.Path;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 /**
@@ -35,24 +69,63 @@ import java.util.Optional;
 public class SmsMessageController {
 
     private final SmsMessageService smsMessageService;
+    private final StatisticsRollupService statisticsRollupService;
+    private final RealtimeStatisticsService realtimeStatisticsService;
+    private final LatencyHistogramService latencyHistogramService;
     private final NetworkSimulationService networkSimulationService;
+    private final NetworkTestService networkTestService;
+    private final TestJobService testJobService;
+    private final TraceModelService traceModelService;
+    private final TrafficCaptureService trafficCaptureService;
+    private final TrafficReplayService trafficReplayService;
+    private final PartitionMaintenanceService partitionMaintenanceService;
+    private final ArchiveService archiveService;
+    private final MessageExportService messageExportService;
+    private final MessageSearchService messageSearchService;
 
     @Autowired
     public SmsMessageController(SmsMessageService smsMessageService,
-                              NetworkSimulationService networkSimulationService) {
+                              StatisticsRollupService statisticsRollupService,
+                              RealtimeStatisticsService realtimeStatisticsService,
+                              LatencyHistogramService latencyHistogramService,
+                              NetworkSimulationService networkSimulationService,
+                              NetworkTestService networkTestService,
+                              TestJobService testJobService,
+                              TraceModelService traceModelService,
+                              TrafficCaptureService trafficCaptureService,
+                              TrafficReplayService trafficReplayService,
+                              PartitionMaintenanceService partitionMaintenanceService,
+                              ArchiveService archiveService,
+                              MessageExportService messageExportService,
+                              MessageSearchService messageSearchService) {
         this.smsMessageService = smsMessageService;
+        this.statisticsRollupService = statisticsRollupService;
+        this.realtimeStatisticsService = realtimeStatisticsService;
+        this.latencyHistogramService = latencyHistogramService;
         this.networkSimulationService = networkSimulationService;
+        this.networkTestService = networkTestService;
+        this.testJobService = testJobService;
+        this.traceModelService = traceModelService;
+        this.trafficCaptureService = trafficCaptureService;
+        this.trafficReplayService = trafficReplayService;
+        this.partitionMaintenanceService = partitionMaintenanceService;
+        this.archiveService = archiveService;
+        this.messageExportService = messageExportService;
+        this.messageSearchService = messageSearchService;
     }
 
     /**
      * Create a new SMS message
      */
     @PostMapping("/messages")
-    @Operation(summary = "Create SMS message", description = "Create a new SMS message for processing")
-    public ResponseEntity<SmsMessageDto> createMessage(@Valid @RequestBody SmsMessageDto messageDto) {
+    @Operation(summary = "Create SMS message",
+               description = "Create a new SMS message for processing; 409 when the message ID is already taken")
+    public ResponseEntity<SmsMessageDto> createMessage(@RequestBody SmsMessageDto messageDto) {
         try {
             SmsMessageDto createdMessage = smsMessageService.createMessage(messageDto);
             return new ResponseEntity<>(createdMessage, HttpStatus.CREATED);
+        } catch (DuplicateKeyException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (Exception e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -86,8 +159,8 @@ public class SmsMessageController {
      * Get all SMS messages with pagination
      */
     @GetMapping("/messages")
-    @Operation(summary = "Get all SMS messages", description = "Retrieve all SMS messages with pagination")
-    public ResponseEntity<Page<SmsMessageDto>> getAllMessages(
+    @Operation(summary = "Get all SMS messages", description = "Retrieve SMS message summaries (without content) with pagination")
+    public ResponseEntity<Page<SmsMessageSummaryDto>> getAllMessages(
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size,
             @Parameter(description = "Sort field") @RequestParam(defaultValue = "createdAt") String sortBy,
@@ -97,22 +170,66 @@ public class SmsMessageController {
                    Sort.by(sortBy).descending() : Sort.by(sortBy).ascending();
         Pageable pageable = PageRequest.of(page, size, sort);
         
-        Page<SmsMessageDto> messages = smsMessageService.getAllMessages(pageable);
+        Page<SmsMessageSummaryDto> messages = smsMessageService.getAllMessages(pageable);
         return ResponseEntity.ok(messages);
     }
 
+    /**
+     * List SMS messages by cursor
+     */
+    @GetMapping("/messages/cursor")
+    @Operation(summary = "List SMS messages by cursor", description = "Keyset pagination over (createdAt, id): pass nextCursor from the previous page to continue; every page costs the same however deep")
+    public ResponseEntity<CursorPageDto<SmsMessageSummaryDto>> listMessagesByCursor(
+            @Parameter(description = "nextCursor of the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int limit,
+            @Parameter(description = "Only messages of this operator") @RequestParam(required = false) Long operatorId,
+            @Parameter(description = "Only messages in this status") @RequestParam(required = false) SmsMessage.SmsStatus status,
+            @Parameter(description = "Sort direction of createdAt") @RequestParam(defaultValue = "desc") String sortDir,
+            @Parameter(description = "Also return the exact number of matching messages (scans them all)") @RequestParam(defaultValue = "false") boolean includeTotal) {
+        try {
+            return ResponseEntity.ok(smsMessageService.listMessages(cursor, limit, operatorId, status,
+                    sortDir.equalsIgnoreCase("asc"), includeTotal));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Search SMS messages by content
+     */
+    @GetMapping("/messages/search")
+    @Operation(summary = "Search SMS messages", description = "Newest messages whose content contains the text as a phrase, from the full-text index; continue with nextCursor. With a status filter a page can be short (or empty) while hasMore is true, and total counts index matches")
+    public ResponseEntity<CursorPageDto<SmsMessageSummaryDto>> searchMessages(
+            @Parameter(description = "Text the content must contain") @RequestParam String text,
+            @Parameter(description = "Only messages to this recipient number") @RequestParam(required = false) String recipientNumber,
+            @Parameter(description = "Only messages of this operator") @RequestParam(required = false) Long operatorId,
+            @Parameter(description = "Only messages in this status") @RequestParam(required = false) SmsMessage.SmsStatus status,
+            @Parameter(description = "Start date (inclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End date (exclusive)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "nextCursor of the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(messageSearchService.search(text, recipientNumber, operatorId, status,
+                    from, to, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Get SMS messages by operator
      */
     @GetMapping("/messages/operator/{operatorId}")
     @Operation(summary = "Get messages by operator", description = "Retrieve SMS messages for specific operator")
-    public ResponseEntity<Page<SmsMessageDto>> getMessagesByOperator(
+    public ResponseEntity<Page<SmsMessageSummaryDto>> getMessagesByOperator(
             @Parameter(description = "Operator ID") @PathVariable Long operatorId,
             @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
             @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
         
         Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
-        Page<SmsMessageDto> messages = smsMessageService.getMessagesByOperator(operatorId, pageable);
+        Page<SmsMessageSummaryDto> messages = smsMessageService.getMessagesByOperator(operatorId, pageable);
         return ResponseEntity.ok(messages);
     }
 
@@ -120,24 +237,68 @@ public class SmsMessageController {
      * Get SMS messages by status
      */
     @GetMapping("/messages/status/{status}")
-    @Operation(summary = "Get messages by status", description = "Retrieve SMS messages by status")
-    public ResponseEntity<List<SmsMessageDto>> getMessagesByStatus(
-            @Parameter(description = "Message status") @PathVariable SmsMessage.SmsStatus status) {
-        List<SmsMessageDto> messages = smsMessageService.getMessagesByStatus(status);
-        return ResponseEntity.ok(messages);
+    @Operation(summary = "Get messages by status", description = "Newest SMS messages in a status, one keyset page at a time; continue with nextCursor, or use /messages/export for all of them")
+    public ResponseEntity<CursorPageDto<SmsMessageSummaryDto>> getMessagesByStatus(
+            @Parameter(description = "Message status") @PathVariable SmsMessage.SmsStatus status,
+            @Parameter(description = "nextCursor of the previous page (omit for the first page)") @RequestParam(required = false) String cursor,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int limit) {
+        try {
+            return ResponseEntity.ok(smsMessageService.listMessages(cursor, limit, null, status, false, false));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Export SMS messages
+     */
+    @GetMapping("/messages/export")
+    @Operation(summary = "Export SMS messages", description = "Stream full messages of a createdAt range as NDJSON or CSV, gzip-compressed by default; memory use is constant however many rows match")
+    public void exportMessages(
+            @Parameter(description = "Only messages in this status") @RequestParam(required = false) SmsMessage.SmsStatus status,
+            @Parameter(description = "Start date (inclusive, default: everything)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @Parameter(description = "End date (exclusive, default: now)") @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @Parameter(description = "ndjson or csv") @RequestParam(defaultValue = "ndjson") String format,
+            @Parameter(description = "Gzip-compress the export") @RequestParam(defaultValue = "true") boolean gzip,
+            HttpServletResponse response) throws IOException {
+        MessageExportService.Format exportFormat;
+        try {
+            exportFormat = MessageExportService.Format.valueOf(format.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+        LocalDateTime start = from != null ? from : LocalDateTime.of(1970, 1, 2, 0, 0);
+        LocalDateTime end = to != null ? to : LocalDateTime.now();
+        if (!start.isBefore(end)) {
+            response.sendError(HttpStatus.BAD_REQUEST.value());
+            return;
+        }
+
+        // Written synchronously so long exports are not cut off by the MVC async request timeout
+        String fileName = "messages-" + (status != null ? status.name().toLowerCase() + "-" : "")
+                + start.toLocalDate() + "-" + end.toLocalDate() + "." + exportFormat.name().toLowerCase();
+        response.setContentType(gzip ? "application/gzip"
+                : exportFormat == MessageExportService.Format.CSV ? "text/csv;charset=UTF-8" : "application/x-ndjson");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"" + fileName + (gzip ? ".gz" : "") + "\"");
+        messageExportService.export(start, end, status, exportFormat, gzip, response.getOutputStream());
     }
 
     /**
      * Update message status
      */
     @PutMapping("/messages/{id}/status")
-    @Operation(summary = "Update message status", description = "Update the status of an SMS message")
+    @Operation(summary = "Update message status",
+               description = "Update the status of an SMS message; 409 when it changed concurrently")
     public ResponseEntity<SmsMessageDto> updateMessageStatus(
             @Parameter(description = "Message ID") @PathVariable Long id,
             @Parameter(description = "New status") @RequestParam SmsMessage.SmsStatus status) {
         try {
             SmsMessageDto updatedMessage = smsMessageService.updateMessageStatus(id, status);
             return ResponseEntity.ok(updatedMessage);
+        } catch (OptimisticLockingFailureException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
         } catch (RuntimeException e) {
             return ResponseEntity.notFound().build();
         }
@@ -182,16 +343,127 @@ public class SmsMessageController {
         return ResponseEntity.ok(statistics);
     }
 
+    /**
+     * Get realtime statistics
+     */
+    @GetMapping("/statistics/realtime")
+    @Operation(summary = "Get realtime statistics", description = "Get per-operator status transition counts over the last 1/5/15 minutes")
+    public ResponseEntity<RealtimeStatisticsDto> getRealtimeStatistics() {
+        return ResponseEntity.ok(realtimeStatisticsService.getSnapshot());
+    }
+
+    /**
+     * Get delivery latency percentiles
+     */
+    @GetMapping("/statistics/latency")
+    @Operation(summary = "Get latency percentiles", description = "Get p50/p90/p99/p99.9 delivery latency per stage, operator and priority")
+    public ResponseEntity<List<LatencyPercentilesDto>> getLatencyPercentiles(
+            @Parameter(description = "Latency stage") @RequestParam(required = false) LatencyHistogramService.LatencyStage stage,
+            @Parameter(description = "Operator ID") @RequestParam(required = false) Long operatorId,
+            @Parameter(description = "Message priority") @RequestParam(required = false) SmsMessage.SmsPriority priority,
+            @Parameter(description = "Lifetime totals instead of the last interval") @RequestParam(defaultValue = "false") boolean cumulative) {
+        List<LatencyPercentilesDto> percentiles =
+            latencyHistogramService.getPercentiles(stage, operatorId, priority, cumulative);
+        return ResponseEntity.ok(percentiles);
+    }
+
+    /**
+     * Rebuild statistics rollups for a date range
+     */
+    @PostMapping("/statistics/rollups/backfill")
+    @Operation(summary = "Backfill statistics rollups", description = "Rebuild minute/hour rollups from raw messages for a date range")
+    public ResponseEntity<StatisticsRollupService.BackfillResult> backfillRollups(
+            @Parameter(description = "Start date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDate,
+            @Parameter(description = "End date") @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDate) {
+        StatisticsRollupService.BackfillResult result = statisticsRollupService.backfill(startDate, endDate);
+        return ResponseEntity.ok(result);
+    }
+
+    /**
+     * Get sms_messages partitions
+     */
+    @GetMapping("/partitions")
+    @Operation(summary = "Get message partitions", description = "List the created_at range partitions of sms_messages with size estimates")
+    public ResponseEntity<List<PartitionMaintenanceService.PartitionInfo>> getPartitions() {
+        return ResponseEntity.ok(partitionMaintenanceService.getPartitions());
+    }
+
+    /**
+     * Run partition maintenance now
+     */
+    @PostMapping("/partitions/maintenance")
+    @Operation(summary = "Maintain message partitions", description = "Create upcoming partitions and drop partitions past retention")
+    public ResponseEntity<PartitionMaintenanceService.MaintenanceResult> maintainPartitions() {
+        return ResponseEntity.ok(partitionMaintenanceService.maintain());
+    }
+
+    /**
+     * Get cold archive summary
+     */
+    @GetMapping("/archive")
+    @Operation(summary = "Get archive summary", description = "Files, rows, bytes and time range of messages moved to the cold archive")
+    public ResponseEntity<ArchiveService.ArchiveSummary> getArchiveSummary() {
+        return ResponseEntity.ok(archiveService.getSummary());
+    }
+
+    /**
+     * Archive closed messages now
+     */
+    @PostMapping("/archive/run")
+    @Operation(summary = "Archive old messages", description = "Move delivered, failed and expired messages older than the given age to the cold archive")
+    public ResponseEntity<ArchiveService.ArchiveResult> runArchive(
+            @Parameter(description = "Archive messages created more than this many days ago (default from configuration)") @RequestParam(required = false) Integer olderThanDays) {
+        return ResponseEntity.ok(archiveService.archive(olderThanDays));
+    }
+
+    /**
+     * Get search index status
+     */
+    @GetMapping("/search")
+    @Operation(summary = "Get search index status", description = "Indexed messages, last indexed id and queued status changes of the full-text index")
+    public ResponseEntity<MessageSearchService.SearchIndexStatus> getSearchIndexStatus() {
+        return ResponseEntity.ok(messageSearchService.getStatus());
+    }
+
+    /**
+     * Rebuild the search index
+     */
+    @PostMapping("/search/reindex")
+    @Operation(summary = "Rebuild search index", description = "Clear the full-text index and rebuild it from the archive and all messages in the background")
+    public ResponseEntity<MessageSearchService.SearchIndexStatus> reindexSearch() {
+        try {
+            return ResponseEntity.ok(messageSearchService.reindex());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
     /**
      * Run load test simulation
      */
     @PostMapping("/simulation/load-test")
-    @Operation(summary = "Run load test", description = "Execute load test simulation")
+    @Operation(summary = "Run load test", description = "Drive the real ingest pipeline with concurrent clients (closed model, or open model when arrivalRate > 0)")
     public ResponseEntity<NetworkSimulationService.LoadTestResult> runLoadTest(
             @Parameter(description = "Number of messages") @RequestParam(defaultValue = "1000") int messageCount,
-            @Parameter(description = "Concurrent users") @RequestParam(defaultValue = "10") int concurrentUsers) {
+            @Parameter(description = "Concurrent users") @RequestParam(defaultValue = "10") int concurrentUsers,
+            @Parameter(description = "Open-model arrival rate in messages/second (0 = closed model)") @RequestParam(defaultValue = "0") double arrivalRate,
+            @Parameter(description = "Wait for terminal status and report end-to-end latency") @RequestParam(defaultValue = "true") boolean waitForDelivery,
+            @Parameter(description = "Timeout in seconds") @RequestParam(defaultValue = "120") int timeoutSeconds,
+            @Parameter(description = "Message priority") @RequestParam(defaultValue = "NORMAL") SmsMessage.SmsPriority priority,
+            @Parameter(description = "Operator IDs to spread messages over") @RequestParam(required = false) List<Long> operatorIds,
+            @Parameter(description = "Test run name") @RequestParam(required = false) String testName) {
+        LoadGeneratorService.LoadTestConfig config = new LoadGeneratorService.LoadTestConfig();
+        config.setMessageCount(messageCount);
+        config.setConcurrentUsers(concurrentUsers);
+        config.setArrivalRate(arrivalRate);
+        config.setWaitForDelivery(waitForDelivery);
+        config.setTimeoutSeconds(timeoutSeconds);
+        config.setPriority(priority);
+        if (operatorIds != null) {
+            config.setOperatorIds(operatorIds);
+        }
         NetworkSimulationService.LoadTestResult result = 
-            networkSimulationService.simulateLoadTest(messageCount, concurrentUsers);
+            networkTestService.runLoadTest(testName, config);
         return ResponseEntity.ok(result);
     }
 
@@ -202,12 +474,311 @@ public class SmsMessageController {
     @Operation(summary = "Run stress test", description = "Execute stress test simulation")
     public ResponseEntity<NetworkSimulationService.StressTestResult> runStressTest(
             @Parameter(description = "Maximum load") @RequestParam(defaultValue = "5000") int maxLoad,
-            @Parameter(description = "Duration in seconds") @RequestParam(defaultValue = "60") int duration) {
+            @Parameter(description = "Duration in seconds") @RequestParam(defaultValue = "60") int duration,
+            @Parameter(description = "Test run name") @RequestParam(required = false) String testName) {
         NetworkSimulationService.StressTestResult result = 
-            networkSimulationService.simulateStressTest(maxLoad, duration);
+            networkTestService.runStressTest(testName, maxLoad, duration);
         return ResponseEntity.ok(result);
     }
 
+    /**
+     * Submit a load test job
+     */
+    @PostMapping("/simulation/jobs/load-test")
+    @Operation(summary = "Submit load test job", description = "Run a load test asynchronously; follow progress on /simulation/jobs/{jobId}/events")
+    public ResponseEntity<TestJobDto> submitLoadTestJob(
+            @Parameter(description = "Number of messages") @RequestParam(defaultValue = "1000") int messageCount,
+            @Parameter(description = "Concurrent users") @RequestParam(defaultValue = "10") int concurrentUsers,
+            @Parameter(description = "Open-model arrival rate in messages/second (0 = closed model)") @RequestParam(defaultValue = "0") double arrivalRate,
+            @Parameter(description = "Wait for terminal status and report end-to-end latency") @RequestParam(defaultValue = "true") boolean waitForDelivery,
+            @Parameter(description = "Timeout in seconds") @RequestParam(defaultValue = "120") int timeoutSeconds,
+            @Parameter(description = "Message priority") @RequestParam(defaultValue = "NORMAL") SmsMessage.SmsPriority priority,
+            @Parameter(description = "Operator IDs to spread messages over") @RequestParam(required = false) List<Long> operatorIds,
+            @Parameter(description = "Test run name") @RequestParam(required = false) String testName) {
+        LoadGeneratorService.LoadTestConfig config = new LoadGeneratorService.LoadTestConfig();
+        config.setMessageCount(messageCount);
+        config.setConcurrentUsers(concurrentUsers);
+        config.setArrivalRate(arrivalRate);
+        config.setWaitForDelivery(waitForDelivery);
+        config.setTimeoutSeconds(timeoutSeconds);
+        config.setPriority(priority);
+        if (operatorIds != null) {
+            config.setOperatorIds(operatorIds);
+        }
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(testJobService.submitLoadTest(testName, config));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Submit a stress test job
+     */
+    @PostMapping("/simulation/jobs/stress-test")
+    @Operation(summary = "Submit stress test job", description = "Run a stress test asynchronously; follow progress on /simulation/jobs/{jobId}/events")
+    public ResponseEntity<TestJobDto> submitStressTestJob(
+            @Parameter(description = "Maximum load") @RequestParam(defaultValue = "5000") int maxLoad,
+            @Parameter(description = "Duration in seconds") @RequestParam(defaultValue = "60") int duration,
+            @Parameter(description = "Test run name") @RequestParam(required = false) String testName) {
+        try {
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(testJobService.submitStressTest(testName, maxLoad, duration));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        }
+    }
+
+    /**
+     * Submit a traffic replay job
+     */
+    @PostMapping("/simulation/jobs/replay")
+    @Operation(summary = "Submit replay job", description = "Replay a traffic capture at its recorded pace times speed (0 = as fast as possible), in-process or against targetUrl; 400 unless targetUrl is one of sms.platform.capture.replay-targets")
+    public ResponseEntity<TestJobDto> submitReplayJob(
+            @Parameter(description = "Capture name") @RequestParam String captureName,
+            @Parameter(description = "Speed factor (1 = real time, 0 = as fast as possible)") @RequestParam(defaultValue = "1") double speed,
+            @Parameter(description = "Base URL of the instance to replay against; empty = this instance") @RequestParam(required = false) String targetUrl,
+            @Parameter(description = "Concurrent clients") @RequestParam(defaultValue = "50") int concurrentUsers,
+            @Parameter(description = "Stop after this many records (0 = whole capture)") @RequestParam(defaultValue = "0") long maxRecords,
+            @Parameter(description = "Seconds to wait for in-flight submissions after the last record") @RequestParam(defaultValue = "300") int timeoutSeconds,
+            @Parameter(description = "Test run name") @RequestParam(required = false) String testName) {
+        TrafficReplayService.ReplayConfig config = new TrafficReplayService.ReplayConfig();
+        config.setCaptureName(captureName);
+        config.setSpeed(speed);
+        config.setTargetUrl(targetUrl);
+        config.setConcurrentUsers(concurrentUsers);
+        config.setMaxRecords(maxRecords);
+        config.setTimeoutSeconds(timeoutSeconds);
+        try {
+            trafficReplayService.checkTarget(targetUrl);
+            trafficCaptureService.getCaptureFile(captureName);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(testJobService.submitReplay(testName, config));
+        } catch (TaskRejectedException e) {
+            return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).build();
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get test jobs
+     */
+    @GetMapping("/simulation/jobs")
+    @Operation(summary = "Get test jobs", description = "Retrieve queued, running and recently finished test jobs")
+    public ResponseEntity<List<TestJobDto>> getTestJobs() {
+        return ResponseEntity.ok(testJobService.getJobs());
+    }
+
+    /**
+     * Get a test job
+     */
+    @GetMapping("/simulation/jobs/{jobId}")
+    @Operation(summary = "Get test job", description = "Retrieve a test job with its latest progress and result")
+    public ResponseEntity<TestJobDto> getTestJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId) {
+        return testJobService.getJob(jobId)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Stream test job progress
+     */
+    @GetMapping(value = "/simulation/jobs/{jobId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream test job progress", description = "Server-sent events: one 'progress' sample per second, then 'complete' with the final job")
+    public ResponseEntity<SseEmitter> streamTestJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId,
+            @Parameter(description = "Last progress second received, sent by reconnecting clients") @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        try {
+            return ResponseEntity.ok(testJobService.subscribe(jobId, lastEventId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Cancel a test job
+     */
+    @DeleteMapping("/simulation/jobs/{jobId}")
+    @Operation(summary = "Cancel test job", description = "Cancel a queued or running test job")
+    public ResponseEntity<TestJobDto> cancelTestJob(
+            @Parameter(description = "Job ID") @PathVariable String jobId) {
+        try {
+            return ResponseEntity.ok(testJobService.cancelJob(jobId));
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get persisted test runs
+     */
+    @GetMapping("/simulation/runs")
+    @Operation(summary = "Get test runs", description = "Retrieve persisted load/stress test runs")
+    public ResponseEntity<Page<NetworkTest>> getTestRuns(
+            @Parameter(description = "Test type") @RequestParam(required = false) NetworkTest.TestType testType,
+            @Parameter(description = "Page number (0-based)") @RequestParam(defaultValue = "0") int page,
+            @Parameter(description = "Page size") @RequestParam(defaultValue = "20") int size) {
+        Pageable pageable = PageRequest.of(page, size, Sort.by("createdAt").descending());
+        return ResponseEntity.ok(networkTestService.getTestRuns(testType, pageable));
+    }
+
+    /**
+     * Get a persisted test run
+     */
+    @GetMapping("/simulation/runs/{id}")
+    @Operation(summary = "Get test run", description = "Retrieve a persisted test run with configuration and results")
+    public ResponseEntity<NetworkTest> getTestRun(
+            @Parameter(description = "Test run ID") @PathVariable Long id) {
+        return networkTestService.getTestRun(id)
+                .map(ResponseEntity::ok)
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * Compare two test runs
+     */
+    @GetMapping("/simulation/runs/{baselineId}/compare/{candidateId}")
+    @Operation(summary = "Compare test runs", description = "Flag throughput or p99 latency regressions of a candidate run against a baseline; 400 unless both are COMPLETED runs of the same type")
+    public ResponseEntity<TestRunComparisonDto> compareTestRuns(
+            @Parameter(description = "Baseline run ID") @PathVariable Long baselineId,
+            @Parameter(description = "Candidate run ID") @PathVariable Long candidateId,
+            @Parameter(description = "Allowed relative change") @RequestParam(defaultValue = "0.05") double tolerance) {
+        try {
+            return ResponseEntity.ok(networkTestService.compareRuns(baselineId, candidateId, tolerance));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Get the active network scenario
+     */
+    @GetMapping("/simulation/scenario")
+    @Operation(summary = "Get network scenario", description = "Retrieve the active network simulation scenario, including its seed; 404 when a non-scenario model is active")
+    public ResponseEntity<NetworkScenario> getNetworkScenario() {
+        NetworkScenario scenario = networkSimulationService.getActiveScenario();
+        return scenario != null ? ResponseEntity.ok(scenario) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Activate a network scenario from JSON
+     */
+    @PutMapping(value = "/simulation/scenario", consumes = MediaType.APPLICATION_JSON_VALUE)
+    @Operation(summary = "Activate network scenario", description = "Activate a JSON network scenario; seed overrides the scenario's seed")
+    public ResponseEntity<NetworkScenario> activateNetworkScenario(
+            @RequestBody NetworkScenario scenario,
+            @Parameter(description = "Random seed") @RequestParam(required = false) Long seed) {
+        return ResponseEntity.ok(networkSimulationService.activateScenario(scenario, seed));
+    }
+
+    /**
+     * Activate a network scenario from YAML
+     */
+    @PutMapping(value = "/simulation/scenario", consumes = {"application/yaml", "application/x-yaml", "text/yaml"})
+    @Operation(summary = "Activate YAML network scenario", description = "Activate a YAML network scenario; seed overrides the scenario's seed")
+    public ResponseEntity<NetworkScenario> activateYamlNetworkScenario(
+            @RequestBody String scenario,
+            @Parameter(description = "Random seed") @RequestParam(required = false) Long seed) {
+        try {
+            return ResponseEntity.ok(networkSimulationService.activateScenario(
+                    networkSimulationService.parseScenario(scenario, false), seed));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        }
+    }
+
+    /**
+     * Reset to the default network scenario
+     */
+    @DeleteMapping("/simulation/scenario")
+    @Operation(summary = "Reset network scenario", description = "Return to the built-in default scenario")
+    public ResponseEntity<NetworkScenario> resetNetworkScenario(
+            @Parameter(description = "Random seed") @RequestParam(required = false) Long seed) {
+        return ResponseEntity.ok(networkSimulationService.activateScenario(NetworkScenario.defaultScenario(), seed));
+    }
+
+    /**
+     * Describe the active network model
+     */
+    @GetMapping("/simulation/model")
+    @Operation(summary = "Get network model", description = "Describe the active network model (scenario or fitted trace) and its seed")
+    public ResponseEntity<Map<String, Object>> getNetworkModel() {
+        return ResponseEntity.ok(networkSimulationService.describeModel());
+    }
+
+    /**
+     * Fit a trace network model from delivery history
+     */
+    @PostMapping("/simulation/trace-model/fit")
+    @Operation(summary = "Fit trace model", description = "Fit latency and failure distributions per operator, hour and priority from delivery history")
+    public ResponseEntity<TraceModelSummaryDto> fitTraceModel(
+            @Parameter(description = "Days of history to fit from") @RequestParam(required = false) Integer lookbackDays,
+            @Parameter(description = "Make the fitted model the active network model") @RequestParam(defaultValue = "true") boolean activate,
+            @Parameter(description = "Random seed") @RequestParam(required = false) Long seed) {
+        try {
+            return ResponseEntity.ok(traceModelService.fit(lookbackDays, activate, seed));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
+    /**
+     * Start capturing submitted traffic
+     */
+    @PostMapping("/simulation/captures/start")
+    @Operation(summary = "Start traffic capture", description = "Record accepted submissions (timing, priority, operator, size; no content) to a capture file")
+    public ResponseEntity<TrafficCaptureDto> startCapture(
+            @Parameter(description = "Capture name") @RequestParam(required = false) String name) {
+        try {
+            return ResponseEntity.ok(trafficCaptureService.startCapture(name));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).build();
+        }
+    }
+
+    /**
+     * Stop the running traffic capture
+     */
+    @PostMapping("/simulation/captures/stop")
+    @Operation(summary = "Stop traffic capture", description = "Stop and close the running capture")
+    public ResponseEntity<TrafficCaptureDto> stopCapture() {
+        TrafficCaptureDto capture = trafficCaptureService.stopCapture();
+        return capture != null ? ResponseEntity.ok(capture) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * List traffic captures
+     */
+    @GetMapping("/simulation/captures")
+    @Operation(summary = "Get traffic captures", description = "List capture files, newest first")
+    public ResponseEntity<List<TrafficCaptureDto>> getCaptures() {
+        return ResponseEntity.ok(trafficCaptureService.getCaptures());
+    }
+
+    /**
+     * Download a traffic capture
+     */
+    @GetMapping(value = "/simulation/captures/{name}", produces = MediaType.APPLICATION_OCTET_STREAM_VALUE)
+    @Operation(summary = "Download traffic capture", description = "Download a capture file, e.g. to replay it from another instance")
+    public ResponseEntity<Resource> downloadCapture(@PathVariable String name) {
+        try {
+            Path file = trafficCaptureService.getCaptureFile(name);
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + file.getFileName() + "\"")
+                    .body(new FileSystemResource(file));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().build();
+        } catch (RuntimeException e) {
+            return ResponseEntity.notFound().build();
+        }
+    }
+
     /**
      * Health check endpoint
      */
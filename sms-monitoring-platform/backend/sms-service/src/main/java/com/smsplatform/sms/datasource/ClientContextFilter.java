@@ -0,0 +1,33 @@
+package com.smsplatform.sms.datasource;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Client Context Filter
+ *
+ * Binds the calling client to the request thread for read-your-writes
+ * routing: the X-Client-Id header when present (clients behind the gateway
+ * share its address), otherwise the remote address.
+ */
+public class ClientContextFilter extends OncePerRequestFilter {
+
+    public static final String CLIENT_ID_HEADER = "X-Client-Id";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String client = request.getHeader(CLIENT_ID_HEADER);
+        ClientWriteTracker.setCurrentClient(client != null && !client.isBlank() ? client : request.getRemoteAddr());
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ClientWriteTracker.clearCurrentClient();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package com.smsplatform.sms.datasource;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Client Write Tracker
+ *
+ * Remembers when each client last ran a write transaction, so its reads
+ * within the read-your-writes window go to the primary instead of a replica
+ * that may not have applied the write yet. The client of the current thread
+ * is set by {@link ClientContextFilter}; threads without one (dispatch,
+ * schedulers) are never sticky.
+ */
+public class ClientWriteTracker {
+
+    private static final ThreadLocal<String> CURRENT_CLIENT = new ThreadLocal<>();
+
+    private final ConcurrentHashMap<String, Long> lastWriteNanos = new ConcurrentHashMap<>();
+    private final long windowNanos;
+
+    public ClientWriteTracker(long windowMillis) {
+        this.windowNanos = Math.max(0, windowMillis) * 1_000_000L;
+    }
+
+    static void setCurrentClient(String client) {
+        CURRENT_CLIENT.set(client);
+    }
+
+    static void clearCurrentClient() {
+        CURRENT_CLIENT.remove();
+    }
+
+    /**
+     * Record a write by the current client, if any
+     */
+    public void recordWrite() {
+        String client = CURRENT_CLIENT.get();
+        if (client != null && windowNanos > 0) {
+            lastWriteNanos.put(client, System.nanoTime());
+        }
+    }
+
+    /**
+     * Whether the current client wrote within the read-your-writes window
+     */
+    public boolean isSticky() {
+        String client = CURRENT_CLIENT.get();
+        if (client == null) {
+            return false;
+        }
+        Long written = lastWriteNanos.get(client);
+        return written != null && System.nanoTime() - written < windowNanos;
+    }
+
+    /**
+     * Forget clients whose window has passed
+     */
+    public void expire() {
+        long now = System.nanoTime();
+        lastWriteNanos.values().removeIf(written -> now - written >= windowNanos);
+    }
+
+    public int getTrackedClients() {
+        return lastWriteNanos.size();
+    }
+}
@@ -0,0 +1,49 @@
+package com.smsplatform.sms.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Read/Write Routing Data Source
+ *
+ * Sends connections of read-only transactions to a healthy read replica,
+ * round robin, and everything else to the primary. Reads fall back to the
+ * primary when no replica is within the lag limit, or when the calling
+ * client wrote within the read-your-writes window. Must sit behind a
+ * LazyConnectionDataSourceProxy, so the connection is picked once the
+ * transaction's read-only flag is known.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaLagMonitor lagMonitor;
+    private final ClientWriteTracker writeTracker;
+    private final AtomicInteger next = new AtomicInteger();
+
+    public ReadWriteRoutingDataSource(ReplicaLagMonitor lagMonitor, ClientWriteTracker writeTracker) {
+        this.lagMonitor = lagMonitor;
+        this.writeTracker = writeTracker;
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                writeTracker.recordWrite();
+            }
+            return PRIMARY;
+        }
+        if (writeTracker.isSticky()) {
+            return PRIMARY;
+        }
+        List<String> replicas = lagMonitor.getHealthyReplicas();
+        if (replicas.isEmpty()) {
+            return PRIMARY;
+        }
+        return replicas.get(Math.floorMod(next.getAndIncrement(), replicas.size()));
+    }
+}
@@ -0,0 +1,151 @@
+package com.smsplatform.sms.datasource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Replica Lag Monitor
+ *
+ * Polls each read replica's replication status and keeps the set of
+ * replicas fit to serve reads: reachable, replication running and no more
+ * than maxLagSeconds behind the primary. A server that reports no
+ * replication status (never configured, or detached with RESET REPLICA ALL)
+ * is not replicating and is kept out of rotation, since its data would go
+ * stale without bound. Reading the status needs the REPLICATION CLIENT
+ * privilege; with lag checks off only reachability is checked, which is how
+ * standalone databases (e.g. in development) are used as replicas.
+ */
+public class ReplicaLagMonitor {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaLagMonitor.class);
+
+    private final Map<String, DataSource> replicas;
+    private final long maxLagSeconds;
+    private final boolean checkLag;
+    private final Map<String, ReplicaStatus> statuses = new LinkedHashMap<>();
+    private volatile List<String> healthy = Collections.emptyList();
+
+    public ReplicaLagMonitor(Map<String, DataSource> replicas, long maxLagSeconds, boolean checkLag) {
+        this.replicas = replicas;
+        this.maxLagSeconds = maxLagSeconds;
+        this.checkLag = checkLag;
+        for (String name : replicas.keySet()) {
+            statuses.put(name, new ReplicaStatus(name));
+        }
+    }
+
+    /**
+     * Replicas currently fit to serve reads; empty until the first check passes
+     */
+    public List<String> getHealthyReplicas() {
+        return healthy;
+    }
+
+    public synchronized List<ReplicaStatus> getStatuses() {
+        return new ArrayList<>(statuses.values());
+    }
+
+    /**
+     * Check every replica once
+     */
+    public synchronized void check() {
+        List<String> fit = new ArrayList<>();
+        for (Map.Entry<String, DataSource> replica : replicas.entrySet()) {
+            ReplicaStatus status = statuses.get(replica.getKey());
+            boolean wasHealthy = status.isHealthy();
+            try {
+                Long lag = readLagSeconds(replica.getValue());
+                status.setLagSeconds(lag);
+                status.setError(lag == null ? "replication is not running or not configured" : null);
+                status.setHealthy(lag != null && lag <= maxLagSeconds);
+            } catch (SQLException e) {
+                status.setLagSeconds(null);
+                status.setError(e.getMessage());
+                status.setHealthy(false);
+            }
+            status.setCheckedAt(System.currentTimeMillis());
+            if (status.isHealthy()) {
+                fit.add(replica.getKey());
+            }
+            if (wasHealthy != status.isHealthy()) {
+                if (status.isHealthy()) {
+                    logger.info("Read replica {} is serving reads (lag {}s)", status.getName(), status.getLagSeconds());
+                } else {
+                    logger.warn("Read replica {} taken out of rotation: {}", status.getName(),
+                            status.getError() != null ? status.getError() : "lag " + status.getLagSeconds() + "s");
+                }
+            }
+        }
+        healthy = Collections.unmodifiableList(fit);
+    }
+
+    /**
+     * Seconds behind the primary; null when replication is stopped or the server is not a replica
+     */
+    private Long readLagSeconds(DataSource dataSource) throws SQLException {
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            if (!checkLag) {
+                statement.execute("SELECT 1");
+                return 0L;
+            }
+            ResultSet rs;
+            String lagColumn;
+            try {
+                rs = statement.executeQuery("SHOW REPLICA STATUS");
+                lagColumn = "Seconds_Behind_Source";
+            } catch (SQLException e) {
+                // MySQL before 8.0.22
+                rs = statement.executeQuery("SHOW SLAVE STATUS");
+                lagColumn = "Seconds_Behind_Master";
+            }
+            try (ResultSet status = rs) {
+                if (!status.next()) {
+                    return null;
+                }
+                long lag = status.getLong(lagColumn);
+                return status.wasNull() ? null : lag;
+            }
+        }
+    }
+
+    /**
+     * Replica Status DTO
+     */
+    public static class ReplicaStatus {
+        private final String name;
+        private boolean healthy;
+        private Long lagSeconds;
+        private String error;
+        private long checkedAt;
+
+        public ReplicaStatus(String name) {
+            this.name = name;
+        }
+
+        // Getters and Setters
+        public String getName() { return name; }
+
+        public boolean isHealthy() { return healthy; }
+        public void setHealthy(boolean healthy) { this.healthy = healthy; }
+
+        public Long getLagSeconds() { return lagSeconds; }
+        public void setLagSeconds(Long lagSeconds) { this.lagSeconds = lagSeconds; }
+
+        public String getError() { return error; }
+        public void setError(String error) { this.error = error; }
+
+        public long getCheckedAt() { return checkedAt; }
+        public void setCheckedAt(long checkedAt) { this.checkedAt = checkedAt; }
+    }
+}
@@ -0,0 +1,46 @@
+package com.smsplatform.sms.dto;
+
+import java.util.List;
+
+/**
+ * Cursor Page DTO
+ * 
+ * One page of a keyset listing. nextCursor continues after the last item and
+ * is null on the last page; total is only filled when requested, since an
+ * exact count scans every matching row. Search pages can hold fewer items than
+ * limit, even none, while hasMore is still true: keep following nextCursor.
+ */
+public class CursorPageDto<T> {
+
+    private List<T> items;
+    private String nextCursor;
+    private boolean hasMore;
+    private int limit;
+    private Long total;
+
+    public CursorPageDto() {}
+
+    public CursorPageDto(List<T> items, String nextCursor, int limit, Long total) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+        this.hasMore = nextCursor != null;
+        this.limit = limit;
+        this.total = total;
+    }
+
+    // Getters and Setters
+    public List<T> getItems() { return items; }
+    public void setItems(List<T> items) { this.items = items; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public int getLimit() { return limit; }
+    public void setLimit(int limit) { this.limit = limit; }
+
+    public Long getTotal() { return total; }
+    public void setTotal(Long total) { this.total = total; }
+}
@@ -0,0 +1,64 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for latency percentiles
+ * 
+ * Percentiles in milliseconds for one delivery stage, operator and priority
+ * over either the last completed interval or the lifetime of the service.
+ */
+public class LatencyPercentilesDto {
+
+    private String stage;
+    private Long operatorId;
+    private SmsMessage.SmsPriority priority;
+    private LocalDateTime intervalStart;
+    private LocalDateTime intervalEnd;
+    private long count;
+    private long p50;
+    private long p90;
+    private long p99;
+    private long p999;
+    private long max;
+    private double mean;
+
+    // Getters and Setters
+    public String getStage() { return stage; }
+    public void setStage(String stage) { this.stage = stage; }
+
+    public Long getOperatorId() { return operatorId; }
+    public void setOperatorId(Long operatorId) { this.operatorId = operatorId; }
+
+    public SmsMessage.SmsPriority getPriority() { return priority; }
+    public void setPriority(SmsMessage.SmsPriority priority) { this.priority = priority; }
+
+    public LocalDateTime getIntervalStart() { return intervalStart; }
+    public void setIntervalStart(LocalDateTime intervalStart) { this.intervalStart = intervalStart; }
+
+    public LocalDateTime getIntervalEnd() { return intervalEnd; }
+    public void setIntervalEnd(LocalDateTime intervalEnd) { this.intervalEnd = intervalEnd; }
+
+    public long getCount() { return count; }
+    public void setCount(long count) { this.count = count; }
+
+    public long getP50() { return p50; }
+    public void setP50(long p50) { this.p50 = p50; }
+
+    public long getP90() { return p90; }
+    public void setP90(long p90) { this.p90 = p90; }
+
+    public long getP99() { return p99; }
+    public void setP99(long p99) { this.p99 = p99; }
+
+    public long getP999() { return p999; }
+    public void setP999(long p999) { this.p999 = p999; }
+
+    public long getMax() { return max; }
+    public void setMax(long max) { this.max = max; }
+
+    public double getMean() { return mean; }
+    public void setMean(double mean) { this.mean = mean; }
+}
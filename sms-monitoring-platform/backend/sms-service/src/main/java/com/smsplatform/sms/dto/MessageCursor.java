@@ -0,0 +1,50 @@
+package com.smsplatform.sms.dto;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+
+/**
+ * Message Cursor
+ * 
+ * Keyset position in a message listing: the (created_at, id) of the last row
+ * returned. Handed to clients as an opaque URL-safe token; its layout is a
+ * version byte, created_at as epoch microseconds and the id.
+ */
+public record MessageCursor(LocalDateTime createdAt, long id) {
+
+    private static final byte VERSION = 1;
+    private static final int LENGTH = 1 + Long.BYTES * 2;
+
+    public static MessageCursor of(SmsMessageSummaryDto row) {
+        return new MessageCursor(row.createdAt(), row.id());
+    }
+
+    public String encode() {
+        long micros = ChronoUnit.MICROS.between(LocalDateTime.of(1970, 1, 1, 0, 0), createdAt);
+        ByteBuffer buffer = ByteBuffer.allocate(LENGTH).put(VERSION).putLong(micros).putLong(id);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(buffer.array());
+    }
+
+    /**
+     * Decode a token; IllegalArgumentException when it was not issued by {@link #encode()}
+     */
+    public static MessageCursor decode(String token) {
+        byte[] bytes;
+        try {
+            bytes = Base64.getUrlDecoder().decode(token);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+        if (bytes.length != LENGTH || bytes[0] != VERSION) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(bytes, 1, LENGTH - 1);
+        long micros = buffer.getLong();
+        LocalDateTime createdAt = LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                (int) Math.floorMod(micros, 1_000_000L) * 1000, ZoneOffset.UTC);
+        return new MessageCursor(createdAt, buffer.getLong());
+    }
+}
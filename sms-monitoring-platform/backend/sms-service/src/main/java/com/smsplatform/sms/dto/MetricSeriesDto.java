@@ -0,0 +1,57 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.SystemMetric;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a metric time series
+ * 
+ * Points of one metric over a range at the resolution chosen for that range.
+ */
+public class MetricSeriesDto {
+
+    private String serviceName;
+    private String metricName;
+    private String unit;
+    private SystemMetric.Resolution resolution;
+    private List<Point> points;
+
+    // Getters and Setters
+    public String getServiceName() { return serviceName; }
+    public void setServiceName(String serviceName) { this.serviceName = serviceName; }
+
+    public String getMetricName() { return metricName; }
+    public void setMetricName(String metricName) { this.metricName = metricName; }
+
+    public String getUnit() { return unit; }
+    public void setUnit(String unit) { this.unit = unit; }
+
+    public SystemMetric.Resolution getResolution() { return resolution; }
+    public void setResolution(SystemMetric.Resolution resolution) { this.resolution = resolution; }
+
+    public List<Point> getPoints() { return points; }
+    public void setPoints(List<Point> points) { this.points = points; }
+
+    /**
+     * Single timestamped value
+     */
+    public static class Point {
+        private LocalDateTime timestamp;
+        private double value;
+
+        public Point() {}
+
+        public Point(LocalDateTime timestamp, double value) {
+            this.timestamp = timestamp;
+            this.value = value;
+        }
+
+        public LocalDateTime getTimestamp() { return timestamp; }
+        public void setTimestamp(LocalDateTime timestamp) { this.timestamp = timestamp; }
+
+        public double getValue() { return value; }
+        public void setValue(double value) { this.value = value; }
+    }
+}
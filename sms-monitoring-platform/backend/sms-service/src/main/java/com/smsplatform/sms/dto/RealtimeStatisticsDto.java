@@ -0,0 +1,44 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Data Transfer Object for realtime statistics
+ * 
+ * Transition counts keyed by window ("1m", "5m", "15m"), then operator id
+ * (0 for messages without an operator), then status.
+ */
+public class RealtimeStatisticsDto {
+
+    private LocalDateTime generatedAt;
+    private long bucketSeconds;
+    private Map<String, Map<Long, Map<SmsMessage.SmsStatus, Long>>> windows;
+
+    // Getters and Setters
+    public LocalDateTime getGeneratedAt() {
+        return generatedAt;
+    }
+
+    public void setGeneratedAt(LocalDateTime generatedAt) {
+        this.generatedAt = generatedAt;
+    }
+
+    public long getBucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public void setBucketSeconds(long bucketSeconds) {
+        this.bucketSeconds = bucketSeconds;
+    }
+
+    public Map<String, Map<Long, Map<SmsMessage.SmsStatus, Long>>> getWindows() {
+        return windows;
+    }
+
+    public void setWindows(Map<String, Map<Long, Map<SmsMessage.SmsStatus, Long>>> windows) {
+        this.windows = windows;
+    }
+}
@@ -18,6 +18,7 @@ public class SmsMessageDto {
     private Long id;
 
     @NotBlank(message = "Message ID is required")
+    @Size(max = 100, message = "Message ID must not exceed 100 characters")
     private String messageId;
 
     private Long operatorId;
@@ -0,0 +1,40 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Delivery state of an SMS message
+ *
+ * The mutable columns of sms_messages plus the keys a status transition
+ * needs. Selected by JPQL constructor expression, so a transition reads
+ * neither message_content (TEXT) nor the numbers, and is written back by a
+ * narrow UPDATE of just these columns.
+ */
+public record SmsMessageStateDto(Long id,
+                                 String messageId,
+                                 Long operatorId,
+                                 SmsMessage.SmsPriority priority,
+                                 SmsMessage.SmsStatus status,
+                                 LocalDateTime createdAt,
+                                 LocalDateTime sentAt,
+                                 LocalDateTime deliveredAt) {
+
+    /**
+     * JPQL select list matching the constructor, for entity alias s
+     */
+    public static final String SELECT =
+            "SELECT new com.smsplatform.sms.dto.SmsMessageStateDto(s.id, s.messageId, s.operatorId, " +
+            "s.priority, s.status, s.createdAt, s.sentAt, s.deliveredAt) ";
+
+    /**
+     * The state after moving to status at the given time
+     */
+    public SmsMessageStateDto transitionTo(SmsMessage.SmsStatus newStatus, LocalDateTime now) {
+        // Set timestamps based on status; FAILED and EXPIRED keep the existing ones
+        return new SmsMessageStateDto(id, messageId, operatorId, priority, newStatus, createdAt,
+                newStatus == SmsMessage.SmsStatus.SENT ? now : sentAt,
+                newStatus == SmsMessage.SmsStatus.DELIVERED ? now : deliveredAt);
+    }
+}
@@ -0,0 +1,31 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * Summary DTO for SMS message lists
+ * 
+ * Row of a message list or dashboard table. Selected straight from
+ * sms_messages by JPQL constructor expression, so list queries never read
+ * message_content (TEXT) or the per-stage timestamps and never materialize
+ * entities; the full message is loaded by the detail endpoints only.
+ */
+public record SmsMessageSummaryDto(Long id,
+                                   String messageId,
+                                   Long operatorId,
+                                   String senderNumber,
+                                   String recipientNumber,
+                                   SmsMessage.SmsStatus status,
+                                   SmsMessage.SmsPriority priority,
+                                   LocalDateTime createdAt,
+                                   LocalDateTime updatedAt) {
+
+    /**
+     * JPQL select list matching the constructor, for entity alias s
+     */
+    public static final String SELECT =
+            "SELECT new com.smsplatform.sms.dto.SmsMessageSummaryDto(s.id, s.messageId, s.operatorId, " +
+            "s.senderNumber, s.recipientNumber, s.status, s.priority, s.createdAt, s.updatedAt) ";
+}
@@ -0,0 +1,65 @@
+package com.smsplatform.sms.dto;
+
+import com.smsplatform.sms.model.NetworkTest;
+import com.smsplatform.sms.service.NetworkSimulationService;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for an asynchronous load or stress test job
+ * 
+ * The result is present once the job has completed; testRunId links to the
+ * persisted run in network_tests.
+ */
+public class TestJobDto {
+
+    public enum JobStatus {
+        QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED
+    }
+
+    private String jobId;
+    private NetworkTest.TestType testType;
+    private String testName;
+    private JobStatus status;
+    private Long testRunId;
+    private LocalDateTime submittedAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime finishedAt;
+    private TestJobProgressDto lastProgress;
+    private NetworkSimulationService.SimulationResult result;
+    private String error;
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public NetworkTest.TestType getTestType() { return testType; }
+    public void setTestType(NetworkTest.TestType testType) { this.testType = testType; }
+
+    public String getTestName() { return testName; }
+    public void setTestName(String testName) { this.testName = testName; }
+
+    public JobStatus getStatus() { return status; }
+    public void setStatus(JobStatus status) { this.status = status; }
+
+    public Long getTestRunId() { return testRunId; }
+    public void setTestRunId(Long testRunId) { this.testRunId = testRunId; }
+
+    public LocalDateTime getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(LocalDateTime submittedAt) { this.submittedAt = submittedAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getFinishedAt() { return finishedAt; }
+    public void setFinishedAt(LocalDateTime finishedAt) { this.finishedAt = finishedAt; }
+
+    public TestJobProgressDto getLastProgress() { return lastProgress; }
+    public void setLastProgress(TestJobProgressDto lastProgress) { this.lastProgress = lastProgress; }
+
+    public NetworkSimulationService.SimulationResult getResult() { return result; }
+    public void setResult(NetworkSimulationService.SimulationResult result) { this.result = result; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
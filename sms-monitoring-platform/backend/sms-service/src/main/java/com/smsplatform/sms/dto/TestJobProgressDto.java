@@ -0,0 +1,52 @@
+package com.smsplatform.sms.dto;
+
+/**
+ * Data Transfer Object for one per-second progress sample of a test job
+ * 
+ * Throughput and latency percentiles cover only the completions since the
+ * previous sample; the counts are cumulative for the run.
+ */
+public class TestJobProgressDto {
+
+    private long second;
+    private long elapsedMillis;
+    private long completed;
+    private int successCount;
+    private int failureCount;
+    private long intervalCount;
+    private double throughput;
+    private long p50Latency;
+    private long p99Latency;
+    private long maxLatency;
+
+    // Getters and Setters
+    public long getSecond() { return second; }
+    public void setSecond(long second) { this.second = second; }
+
+    public long getElapsedMillis() { return elapsedMillis; }
+    public void setElapsedMillis(long elapsedMillis) { this.elapsedMillis = elapsedMillis; }
+
+    public long getCompleted() { return completed; }
+    public void setCompleted(long completed) { this.completed = completed; }
+
+    public int getSuccessCount() { return successCount; }
+    public void setSuccessCount(int successCount) { this.successCount = successCount; }
+
+    public int getFailureCount() { return failureCount; }
+    public void setFailureCount(int failureCount) { this.failureCount = failureCount; }
+
+    public long getIntervalCount() { return intervalCount; }
+    public void setIntervalCount(long intervalCount) { this.intervalCount = intervalCount; }
+
+    public double getThroughput() { return throughput; }
+    public void setThroughput(double throughput) { this.throughput = throughput; }
+
+    public long getP50Latency() { return p50Latency; }
+    public void setP50Latency(long p50Latency) { this.p50Latency = p50Latency; }
+
+    public long getP99Latency() { return p99Latency; }
+    public void setP99Latency(long p99Latency) { this.p99Latency = p99Latency; }
+
+    public long getMaxLatency() { return maxLatency; }
+    public void setMaxLatency(long maxLatency) { this.maxLatency = maxLatency; }
+}
@@ -0,0 +1,61 @@
+package com.smsplatform.sms.dto;
+
+/**
+ * Data Transfer Object for comparing two test runs
+ * 
+ * Relative changes are (candidate - baseline) / baseline. A regression is a
+ * throughput drop or a p99 latency rise larger than the tolerance. Values of
+ * a metric that either run did not record are null, and it is not flagged.
+ */
+public class TestRunComparisonDto {
+
+    private Long baselineId;
+    private Long candidateId;
+    private double tolerance;
+    private Double baselineThroughput;
+    private Double candidateThroughput;
+    private Double throughputChange;
+    private Long baselineP99Latency;
+    private Long candidateP99Latency;
+    private Double p99LatencyChange;
+    private boolean throughputRegression;
+    private boolean p99LatencyRegression;
+
+    // Getters and Setters
+    public Long getBaselineId() { return baselineId; }
+    public void setBaselineId(Long baselineId) { this.baselineId = baselineId; }
+
+    public Long getCandidateId() { return candidateId; }
+    public void setCandidateId(Long candidateId) { this.candidateId = candidateId; }
+
+    public double getTolerance() { return tolerance; }
+    public void setTolerance(double tolerance) { this.tolerance = tolerance; }
+
+    public Double getBaselineThroughput() { return baselineThroughput; }
+    public void setBaselineThroughput(Double baselineThroughput) { this.baselineThroughput = baselineThroughput; }
+
+    public Double getCandidateThroughput() { return candidateThroughput; }
+    public void setCandidateThroughput(Double candidateThroughput) { this.candidateThroughput = candidateThroughput; }
+
+    public Double getThroughputChange() { return throughputChange; }
+    public void setThroughputChange(Double throughputChange) { this.throughputChange = throughputChange; }
+
+    public Long getBaselineP99Latency() { return baselineP99Latency; }
+    public void setBaselineP99Latency(Long baselineP99Latency) { this.baselineP99Latency = baselineP99Latency; }
+
+    public Long getCandidateP99Latency() { return candidateP99Latency; }
+    public void setCandidateP99Latency(Long candidateP99Latency) { this.candidateP99Latency = candidateP99Latency; }
+
+    public Double getP99LatencyChange() { return p99LatencyChange; }
+    public void setP99LatencyChange(Double p99LatencyChange) { this.p99LatencyChange = p99LatencyChange; }
+
+    public boolean isThroughputRegression() { return throughputRegression; }
+    public void setThroughputRegression(boolean throughputRegression) { this.throughputRegression = throughputRegression; }
+
+    public boolean isP99LatencyRegression() { return p99LatencyRegression; }
+    public void setP99LatencyRegression(boolean p99LatencyRegression) { this.p99LatencyRegression = p99LatencyRegression; }
+
+    public boolean isRegression() {
+        return throughputRegression || p99LatencyRegression;
+    }
+}
@@ -0,0 +1,91 @@
+package com.smsplatform.sms.dto;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Data Transfer Object for a fitted trace model
+ * 
+ * Summary of the delivery history a trace network model was fitted from,
+ * with the fitted latency percentiles and failure rates per operator.
+ */
+public class TraceModelSummaryDto {
+
+    private LocalDateTime from;
+    private LocalDateTime fittedAt;
+    private long rows;
+    private int profiles;
+    private long seed;
+    private boolean activated;
+    private long fitMillis;
+    private OperatorTrace overall;
+    private List<OperatorTrace> operators = new ArrayList<>();
+
+    // Getters and Setters
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getFittedAt() { return fittedAt; }
+    public void setFittedAt(LocalDateTime fittedAt) { this.fittedAt = fittedAt; }
+
+    public long getRows() { return rows; }
+    public void setRows(long rows) { this.rows = rows; }
+
+    public int getProfiles() { return profiles; }
+    public void setProfiles(int profiles) { this.profiles = profiles; }
+
+    public long getSeed() { return seed; }
+    public void setSeed(long seed) { this.seed = seed; }
+
+    public boolean isActivated() { return activated; }
+    public void setActivated(boolean activated) { this.activated = activated; }
+
+    public long getFitMillis() { return fitMillis; }
+    public void setFitMillis(long fitMillis) { this.fitMillis = fitMillis; }
+
+    public OperatorTrace getOverall() { return overall; }
+    public void setOverall(OperatorTrace overall) { this.overall = overall; }
+
+    public List<OperatorTrace> getOperators() { return operators; }
+    public void setOperators(List<OperatorTrace> operators) { this.operators = operators; }
+
+    /**
+     * Fitted behaviour of one operator (or all traffic when operatorId is null)
+     */
+    public static class OperatorTrace {
+        private Long operatorId;
+        private long samples;
+        private double failureRate;
+        private double expiryRate;
+        private long submitP50;
+        private long submitP99;
+        private long deliveryP50;
+        private long deliveryP99;
+
+        // Getters and Setters
+        public Long getOperatorId() { return operatorId; }
+        public void setOperatorId(Long operatorId) { this.operatorId = operatorId; }
+
+        public long getSamples() { return samples; }
+        public void setSamples(long samples) { this.samples = samples; }
+
+        public double getFailureRate() { return failureRate; }
+        public void setFailureRate(double failureRate) { this.failureRate = failureRate; }
+
+        public double getExpiryRate() { return expiryRate; }
+        public void setExpiryRate(double expiryRate) { this.expiryRate = expiryRate; }
+
+        public long getSubmitP50() { return submitP50; }
+        public void setSubmitP50(long submitP50) { this.submitP50 = submitP50; }
+
+        public long getSubmitP99() { return submitP99; }
+        public void setSubmitP99(long submitP99) { this.submitP99 = submitP99; }
+
+        public long getDeliveryP50() { return deliveryP50; }
+        public void setDeliveryP50(long deliveryP50) { this.deliveryP50 = deliveryP50; }
+
+        public long getDeliveryP99() { return deliveryP99; }
+        public void setDeliveryP99(long deliveryP99) { this.deliveryP99 = deliveryP99; }
+    }
+}
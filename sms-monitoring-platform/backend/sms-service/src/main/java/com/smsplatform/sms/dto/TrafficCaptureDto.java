@@ -0,0 +1,42 @@
+package com.smsplatform.sms.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Data Transfer Object for a traffic capture
+ * 
+ * A capture file on disk; record count and duration are known only for the
+ * capture that is currently being written.
+ */
+public class TrafficCaptureDto {
+
+    private String name;
+    private boolean active;
+    private long sizeBytes;
+    private LocalDateTime startedAt;
+    private LocalDateTime lastModified;
+    private Long records;
+    private Long durationMillis;
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public boolean isActive() { return active; }
+    public void setActive(boolean active) { this.active = active; }
+
+    public long getSizeBytes() { return sizeBytes; }
+    public void setSizeBytes(long sizeBytes) { this.sizeBytes = sizeBytes; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getLastModified() { return lastModified; }
+    public void setLastModified(LocalDateTime lastModified) { this.lastModified = lastModified; }
+
+    public Long getRecords() { return records; }
+    public void setRecords(Long records) { this.records = records; }
+
+    public Long getDurationMillis() { return durationMillis; }
+    public void setDurationMillis(Long durationMillis) { this.durationMillis = durationMillis; }
+}
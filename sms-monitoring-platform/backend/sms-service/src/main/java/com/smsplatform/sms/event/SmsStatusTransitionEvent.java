@@ -0,0 +1,107 @@
+package com.smsplatform.sms.event;
+
+import com.smsplatform.sms.dto.SmsMessageStateDto;
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS Status Transition Event
+ * 
+ * Published by the SMS message service whenever a message enters the system,
+ * changes status or is removed. Listeners receive an immutable snapshot of the
+ * fields they need so they never have to reload the entity.
+ */
+public final class SmsStatusTransitionEvent {
+
+    private final Long id;
+    private final String messageId;
+    private final Long operatorId;
+    private final SmsMessage.SmsPriority priority;
+    private final SmsMessage.SmsStatus previousStatus;
+    private final SmsMessage.SmsStatus newStatus;
+    private final LocalDateTime createdAt;
+    private final LocalDateTime sentAt;
+    private final LocalDateTime deliveredAt;
+    private final LocalDateTime occurredAt;
+
+    private SmsStatusTransitionEvent(SmsMessage message,
+                                     SmsMessage.SmsStatus previousStatus,
+                                     SmsMessage.SmsStatus newStatus) {
+        this(message.getId(), message.getMessageId(), message.getOperatorId(), message.getPriority(),
+                previousStatus, newStatus, message.getCreatedAt(), message.getSentAt(), message.getDeliveredAt());
+    }
+
+    private SmsStatusTransitionEvent(Long id, String messageId, Long operatorId, SmsMessage.SmsPriority priority,
+                                     SmsMessage.SmsStatus previousStatus, SmsMessage.SmsStatus newStatus,
+                                     LocalDateTime createdAt, LocalDateTime sentAt, LocalDateTime deliveredAt) {
+        this.id = id;
+        this.messageId = messageId;
+        this.operatorId = operatorId;
+        this.priority = priority;
+        this.previousStatus = previousStatus;
+        this.newStatus = newStatus;
+        this.createdAt = createdAt;
+        this.sentAt = sentAt;
+        this.deliveredAt = deliveredAt;
+        this.occurredAt = LocalDateTime.now();
+    }
+
+    /**
+     * Event for a newly persisted message (no previous status)
+     */
+    public static SmsStatusTransitionEvent created(SmsMessage message) {
+        return new SmsStatusTransitionEvent(message, null, message.getStatus());
+    }
+
+    /**
+     * Event for a status change of an existing message
+     */
+    public static SmsStatusTransitionEvent transitioned(SmsMessage message, SmsMessage.SmsStatus previousStatus) {
+        return new SmsStatusTransitionEvent(message, previousStatus, message.getStatus());
+    }
+
+    /**
+     * Event for a status change written through the narrow state update
+     */
+    public static SmsStatusTransitionEvent transitioned(SmsMessageStateDto state, SmsMessage.SmsStatus previousStatus) {
+        return new SmsStatusTransitionEvent(state.id(), state.messageId(), state.operatorId(), state.priority(),
+                previousStatus, state.status(), state.createdAt(), state.sentAt(), state.deliveredAt());
+    }
+
+    /**
+     * Event for a deleted message (no new status)
+     */
+    public static SmsStatusTransitionEvent deleted(SmsMessage message) {
+        return new SmsStatusTransitionEvent(message, message.getStatus(), null);
+    }
+
+    public boolean isCreation() {
+        return previousStatus == null;
+    }
+
+    public boolean isDeletion() {
+        return newStatus == null;
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public String getMessageId() { return messageId; }
+
+    public Long getOperatorId() { return operatorId; }
+
+    public SmsMessage.SmsPriority getPriority() { return priority; }
+
+    public SmsMessage.SmsStatus getPreviousStatus() { return previousStatus; }
+
+    public SmsMessage.SmsStatus getNewStatus() { return newStatus; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+
+    public LocalDateTime getSentAt() { return sentAt; }
+
+    public LocalDateTime getDeliveredAt() { return deliveredAt; }
+
+    public LocalDateTime getOccurredAt() { return occurredAt; }
+}
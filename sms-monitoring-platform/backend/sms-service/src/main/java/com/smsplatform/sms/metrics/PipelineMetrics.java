@@ -0,0 +1,202 @@
+package com.smsplatform.sms.metrics;
+
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageRollup;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Pipeline Metrics
+ * 
+ * Micrometer meters for every stage of the message pipeline: ingest validation,
+ * DB insert, dispatch queue wait, operator (simulation) call, status flush and
+ * the pending-message scheduler sweep. All meters share the sms.pipeline.stage
+ * timer name and differ by stage tag; extra tags are limited to operator,
+ * priority, status and outcome so cardinality stays bounded. Timers are resolved
+ * once into arrays and recorded with raw nanos so the hot path does not allocate.
+ * Operator rejections are counted separately by operator and error code, on the
+ * failure path only; those counters are created on first use and cached too.
+ */
+@Component
+public class PipelineMetrics {
+
+    private static final String STAGE_TIMER = "sms.pipeline.stage";
+    private static final SmsMessage.SmsPriority[] PRIORITIES = SmsMessage.SmsPriority.values();
+    private static final SmsMessage.SmsStatus[] STATUSES = SmsMessage.SmsStatus.values();
+
+    private final MeterRegistry meterRegistry;
+
+    private final Timer[] validationTimers;
+    private final Timer[] dbInsertTimers;
+    private final Timer queueWaitTimer;
+    private final Timer[] statusFlushTimers;
+    private final Timer schedulerSweepTimer;
+    private final ConcurrentHashMap<Long, Timer[]> operatorCallTimers = new ConcurrentHashMap<>();
+    // Operator -> error code -> counter; codes come from the operator, so they are only known on first failure
+    private final ConcurrentHashMap<Long, ConcurrentHashMap<String, Counter>> operatorErrorCounters =
+            new ConcurrentHashMap<>();
+
+    private final Counter[] ingestedCounters;
+    private final Counter dispatchRejectedCounter;
+    private final AtomicLong lastSweepSize = new AtomicLong();
+
+    @Autowired
+    public PipelineMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+
+        this.validationTimers = new Timer[2];
+        for (int outcome = 0; outcome < 2; outcome++) {
+            validationTimers[outcome] = stageTimer("ingest_validation")
+                    .tag("outcome", outcomeTag(outcome)).register(meterRegistry);
+        }
+
+        this.dbInsertTimers = new Timer[PRIORITIES.length * 2];
+        this.ingestedCounters = new Counter[PRIORITIES.length];
+        for (SmsMessage.SmsPriority priority : PRIORITIES) {
+            for (int outcome = 0; outcome < 2; outcome++) {
+                dbInsertTimers[priority.ordinal() * 2 + outcome] = stageTimer("db_insert")
+                        .tag("priority", priority.name())
+                        .tag("outcome", outcomeTag(outcome)).register(meterRegistry);
+            }
+            ingestedCounters[priority.ordinal()] = Counter.builder("sms.pipeline.ingested")
+                    .description("Messages accepted into the pipeline")
+                    .tag("priority", priority.name())
+                    .register(meterRegistry);
+        }
+
+        this.queueWaitTimer = stageTimer("queue_wait").register(meterRegistry);
+
+        this.statusFlushTimers = new Timer[STATUSES.length];
+        for (SmsMessage.SmsStatus status : STATUSES) {
+            statusFlushTimers[status.ordinal()] = stageTimer("status_flush")
+                    .tag("status", status.name()).register(meterRegistry);
+        }
+
+        this.schedulerSweepTimer = stageTimer("scheduler_sweep").register(meterRegistry);
+        Gauge.builder("sms.pipeline.sweep.messages", lastSweepSize, AtomicLong::get)
+             .description("Pending messages picked up by the last scheduler sweep")
+             .register(meterRegistry);
+
+        this.dispatchRejectedCounter = Counter.builder("sms.pipeline.dispatch.rejected")
+                .description("Dispatches rejected because the dispatch queue was full")
+                .register(meterRegistry);
+    }
+
+    private static Timer.Builder stageTimer(String stage) {
+        return Timer.builder(STAGE_TIMER)
+                .description("Time spent in a message pipeline stage")
+                .tag("stage", stage);
+    }
+
+    private static String outcomeTag(int outcome) {
+        return outcome == 0 ? "success" : "failure";
+    }
+
+    private static int outcomeIndex(boolean success) {
+        return success ? 0 : 1;
+    }
+
+    public void recordValidation(long nanos, boolean success) {
+        validationTimers[outcomeIndex(success)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordDbInsert(long nanos, SmsMessage.SmsPriority priority, boolean success) {
+        dbInsertTimers[priority.ordinal() * 2 + outcomeIndex(success)].record(nanos, TimeUnit.NANOSECONDS);
+        if (success) {
+            ingestedCounters[priority.ordinal()].increment();
+        }
+    }
+
+    public void recordQueueWait(long nanos) {
+        queueWaitTimer.record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordOperatorCall(long nanos, Long operatorId, SmsMessage.SmsPriority priority, boolean success) {
+        long key = operatorId != null ? operatorId : SmsMessageRollup.NO_OPERATOR;
+        Timer[] timers = operatorCallTimers.get(key);
+        if (timers == null) {
+            timers = operatorCallTimers.computeIfAbsent(key, this::createOperatorCallTimers);
+        }
+        timers[priority.ordinal() * 2 + outcomeIndex(success)].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    private Timer[] createOperatorCallTimers(Long operatorId) {
+        Timer[] timers = new Timer[PRIORITIES.length * 2];
+        for (SmsMessage.SmsPriority priority : PRIORITIES) {
+            for (int outcome = 0; outcome < 2; outcome++) {
+                timers[priority.ordinal() * 2 + outcome] = stageTimer("operator_call")
+                        .tag("operator", String.valueOf(operatorId))
+                        .tag("priority", priority.name())
+                        .tag("outcome", outcomeTag(outcome)).register(meterRegistry);
+            }
+        }
+        return timers;
+    }
+
+    public void recordOperatorError(Long operatorId, String errorCode) {
+        long key = operatorId != null ? operatorId : SmsMessageRollup.NO_OPERATOR;
+        String code = String.valueOf(errorCode);
+        ConcurrentHashMap<String, Counter> counters = operatorErrorCounters.get(key);
+        if (counters == null) {
+            counters = operatorErrorCounters.computeIfAbsent(key, k -> new ConcurrentHashMap<>());
+        }
+        Counter counter = counters.get(code);
+        if (counter == null) {
+            counter = counters.computeIfAbsent(code, c -> createOperatorErrorCounter(key, c));
+        }
+        counter.increment();
+    }
+
+    private Counter createOperatorErrorCounter(long operatorId, String errorCode) {
+        return Counter.builder("sms.pipeline.operator.errors")
+                .description("Operator submissions rejected, by error code")
+                .tag("operator", String.valueOf(operatorId))
+                .tag("code", errorCode)
+                .register(meterRegistry);
+    }
+
+    public void recordStatusFlush(long nanos, SmsMessage.SmsStatus status) {
+        statusFlushTimers[status.ordinal()].record(nanos, TimeUnit.NANOSECONDS);
+    }
+
+    public void recordSchedulerSweep(long nanos, int messages) {
+        schedulerSweepTimer.record(nanos, TimeUnit.NANOSECONDS);
+        lastSweepSize.set(messages);
+    }
+
+    public void recordDispatchRejected() {
+        dispatchRejectedCounter.increment();
+    }
+
+    /**
+     * Wrap a task at submission time so its queue wait is recorded when it starts
+     */
+    public Runnable decorateQueueWait(Runnable task) {
+        long submittedAt = System.nanoTime();
+        return () -> {
+            recordQueueWait(System.nanoTime() - submittedAt);
+            task.run();
+        };
+    }
+
+    /**
+     * Publish queue depth and active thread gauges for the dispatch executor
+     */
+    public void bindDispatchExecutor(ThreadPoolExecutor executor) {
+        Gauge.builder("sms.pipeline.dispatch.queue.size", executor, e -> e.getQueue().size())
+             .description("Messages waiting for a dispatch thread")
+             .register(meterRegistry);
+        Gauge.builder("sms.pipeline.dispatch.active", executor, ThreadPoolExecutor::getActiveCount)
+             .description("Dispatch threads currently processing a message")
+             .register(meterRegistry);
+    }
+}
@@ -0,0 +1,93 @@
+package com.smsplatform.sms.metrics;
+
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Sliding Window Counter
+ * 
+ * Lock-free event counter over a trailing time window, built as a ring of
+ * time-stamped {@link LongAdder} buckets. Writers only touch the bucket for the
+ * current epoch, so concurrent increments are striped instead of contending on a
+ * single cell; a stale bucket is recycled with one CAS. Reads sum at most
+ * {@code bucketCount} buckets and never block writers.
+ */
+public class SlidingWindowCounter {
+
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * @param bucketMillis width of one bucket
+     * @param maxWindowMillis longest window that will be queried
+     */
+    public SlidingWindowCounter(long bucketMillis, long maxWindowMillis) {
+        if (bucketMillis <= 0 || maxWindowMillis < bucketMillis) {
+            throw new IllegalArgumentException("Invalid window: bucket=" + bucketMillis + "ms, max=" + maxWindowMillis + "ms");
+        }
+        this.bucketMillis = bucketMillis;
+        // One extra bucket so the partially filled current bucket never evicts the oldest full one
+        this.bucketCount = (int) ((maxWindowMillis + bucketMillis - 1) / bucketMillis) + 1;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void increment() {
+        add(1L, System.currentTimeMillis());
+    }
+
+    public void add(long delta, long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        int index = (int) (epoch % bucketCount);
+        while (true) {
+            Bucket bucket = buckets.get(index);
+            if (bucket != null && bucket.epoch == epoch) {
+                bucket.count.add(delta);
+                return;
+            }
+            if (bucket != null && bucket.epoch > epoch) {
+                // Caller's clock is behind a bucket already recycled; the event is outside the ring
+                return;
+            }
+            Bucket fresh = new Bucket(epoch);
+            fresh.count.add(delta);
+            if (buckets.compareAndSet(index, bucket, fresh)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Sum of events in the trailing window, including the current partial bucket
+     */
+    public long sum(long windowMillis) {
+        return sum(windowMillis, System.currentTimeMillis());
+    }
+
+    public long sum(long windowMillis, long nowMillis) {
+        long currentEpoch = nowMillis / bucketMillis;
+        long windowBuckets = Math.min(bucketCount - 1, Math.max(1, windowMillis / bucketMillis));
+        long oldestEpoch = currentEpoch - windowBuckets;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (bucket != null && bucket.epoch > oldestEpoch && bucket.epoch <= currentEpoch) {
+                total += bucket.count.sum();
+            }
+        }
+        return total;
+    }
+
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    private static final class Bucket {
+        private final long epoch;
+        private final LongAdder count = new LongAdder();
+
+        private Bucket(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+}
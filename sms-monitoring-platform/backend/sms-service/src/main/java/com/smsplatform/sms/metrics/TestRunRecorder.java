@@ -0,0 +1,95 @@
+package com.smsplatform.sms.metrics;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Test Run Recorder
+ * 
+ * Thread-safe accumulator for one load or stress run: a latency histogram for
+ * percentiles plus completions per elapsed second for the throughput series.
+ * An interval recorder lets progress reporting sample latency since the last
+ * sample without disturbing the run totals.
+ */
+public class TestRunRecorder {
+
+    private final long startNanos;
+    private final Histogram latencies = new ConcurrentHistogram(3);
+    private final Recorder intervalLatencies = new Recorder(3);
+    private Histogram intervalSpare;
+    private final ConcurrentHashMap<Integer, LongAdder> completionsPerSecond = new ConcurrentHashMap<>();
+    private final LongAdder successCount = new LongAdder();
+    private final LongAdder failureCount = new LongAdder();
+
+    public TestRunRecorder() {
+        this.startNanos = System.nanoTime();
+    }
+
+    public void record(long latencyMillis, boolean success) {
+        latencies.recordValue(Math.max(0L, latencyMillis));
+        intervalLatencies.recordValue(Math.max(0L, latencyMillis));
+        int second = (int) ((System.nanoTime() - startNanos) / 1_000_000_000L);
+        completionsPerSecond.computeIfAbsent(second, s -> new LongAdder()).increment();
+        if (success) {
+            successCount.increment();
+        } else {
+            failureCount.increment();
+        }
+    }
+
+    public long getElapsedMillis() {
+        return (System.nanoTime() - startNanos) / 1_000_000L;
+    }
+
+    public long getTotalCount() {
+        return latencies.getTotalCount();
+    }
+
+    public int getSuccessCount() {
+        return successCount.intValue();
+    }
+
+    public int getFailureCount() {
+        return failureCount.intValue();
+    }
+
+    public long getValueAtPercentile(double percentile) {
+        return latencies.getValueAtPercentile(percentile);
+    }
+
+    public long getMaxLatency() {
+        return latencies.getMaxValue();
+    }
+
+    public long getMeanLatency() {
+        return latencies.getTotalCount() > 0 ? Math.round(latencies.getMean()) : 0L;
+    }
+
+    /**
+     * Latencies recorded since the previous call; the returned histogram is reused on the next call
+     */
+    public synchronized Histogram takeIntervalHistogram() {
+        Histogram interval = intervalLatencies.getIntervalHistogram(intervalSpare);
+        intervalSpare = interval;
+        return interval;
+    }
+
+    /**
+     * Completions per elapsed second, from second 0 to the last second with a completion
+     */
+    public List<Long> getThroughputSeries() {
+        int last = completionsPerSecond.keySet().stream().mapToInt(Integer::intValue).max().orElse(-1);
+        List<Long> series = new ArrayList<>(last + 1);
+        for (int second = 0; second <= last; second++) {
+            LongAdder count = completionsPerSecond.get(second);
+            series.add(count != null ? count.sum() : 0L);
+        }
+        return series;
+    }
+}
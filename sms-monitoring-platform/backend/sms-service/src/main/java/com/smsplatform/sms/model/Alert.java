@@ -0,0 +1,172 @@
+package com.smsplatform.sms.model;
+
+import jakarta.persistence.*;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+
+/**
+ * Alert Entity
+ * 
+ * An alert raised by the alert engine. The alert key identifies the rule and
+ * subject (e.g. delivery-rate:operator:2) so at most one open alert exists per
+ * key; it moves from ACTIVE to ACKNOWLEDGED to RESOLVED.
+ */
+@Entity
+@Table(name = "alerts",
+       indexes = @Index(name = "idx_alert_key_status", columnList = "alert_key, status"))
+@EntityListeners(AuditingEntityListener.class)
+public class Alert {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "alert_type", nullable = false)
+    private AlertType alertType;
+
+    @Column(name = "alert_key", length = 150)
+    private String alertKey;
+
+    @Column(name = "service_name", nullable = false, length = 50)
+    private String serviceName;
+
+    @Column(name = "message", nullable = false, columnDefinition = "TEXT")
+    private String message;
+
+    @JdbcTypeCode(SqlTypes.JSON)
+    @Column(name = "details")
+    private Map<String, Object> details;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private AlertStatus status = AlertStatus.ACTIVE;
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "acknowledged_at")
+    private LocalDateTime acknowledgedAt;
+
+    @Column(name = "acknowledged_by")
+    private Long acknowledgedBy;
+
+    @Column(name = "resolved_at")
+    private LocalDateTime resolvedAt;
+
+    // Constructors
+    public Alert() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public AlertType getAlertType() {
+        return alertType;
+    }
+
+    public void setAlertType(AlertType alertType) {
+        this.alertType = alertType;
+    }
+
+    public String getAlertKey() {
+        return alertKey;
+    }
+
+    public void setAlertKey(String alertKey) {
+        this.alertKey = alertKey;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public void setMessage(String message) {
+        this.message = message;
+    }
+
+    public Map<String, Object> getDetails() {
+        return details;
+    }
+
+    public void setDetails(Map<String, Object> details) {
+        this.details = details;
+    }
+
+    public AlertStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(AlertStatus status) {
+        this.status = status;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    public LocalDateTime getAcknowledgedAt() {
+        return acknowledgedAt;
+    }
+
+    public void setAcknowledgedAt(LocalDateTime acknowledgedAt) {
+        this.acknowledgedAt = acknowledgedAt;
+    }
+
+    public Long getAcknowledgedBy() {
+        return acknowledgedBy;
+    }
+
+    public void setAcknowledgedBy(Long acknowledgedBy) {
+        this.acknowledgedBy = acknowledgedBy;
+    }
+
+    public LocalDateTime getResolvedAt() {
+        return resolvedAt;
+    }
+
+    public void setResolvedAt(LocalDateTime resolvedAt) {
+        this.resolvedAt = resolvedAt;
+    }
+
+    /**
+     * Alert Type Enumeration
+     */
+    public enum AlertType {
+        ERROR,
+        WARNING,
+        INFO
+    }
+
+    /**
+     * Alert Status Enumeration
+     */
+    public enum AlertStatus {
+        ACTIVE,
+        ACKNOWLEDGED,
+        RESOLVED
+    }
+}
@@ -1,14 +1,17 @@
 package com.smsplatform.sms.model;
 
 import jakarta.persistence.*;
+import jakarta.validation.constraints.AssertTrue;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Size;
+import org.hibernate.annotations.DynamicUpdate;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * SMS Message Entity
@@ -17,15 +20,37 @@ import java.time.LocalDateTime;
  * including delivery status, timestamps, and operator information.
  */
 @Entity
-@Table(name = "sms_messages")
+@Table(name = "sms_messages",
+       indexes = {
+           @Index(name = "idx_sms_message_id", columnList = "message_id"),
+           // Keyset listings page by (created_at, id) within each of these
+           @Index(name = "idx_sms_created_at", columnList = "created_at, id"),
+           @Index(name = "idx_sms_operator", columnList = "operator_id, created_at, id"),
+           @Index(name = "idx_sms_status", columnList = "status, created_at, id")
+       })
 @EntityListeners(AuditingEntityListener.class)
+// Entity updates write only the changed columns; status transitions bypass the entity entirely (SmsMessageStateDto)
+@DynamicUpdate
 public class SmsMessage {
 
+    /**
+     * Precision of the timestamp columns of sms_messages other than created_at (TIMESTAMP(3) in init.sql)
+     */
+    public static final ChronoUnit STORED_PRECISION = ChronoUnit.MILLIS;
+
+    /**
+     * Precision of created_at (TIMESTAMP in init.sql): the partitioning expression
+     * UNIX_TIMESTAMP(created_at) must stay integer-valued
+     */
+    public static final ChronoUnit CREATED_AT_PRECISION = ChronoUnit.SECONDS;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @Column(name = "message_id", unique = true, nullable = false)
+    // Not a unique key here: sms_messages is partitioned by created_at, and unique keys must include it;
+    // message_ids (SmsMessageIdKey) enforces uniqueness instead
+    @Column(name = "message_id", nullable = false)
     @NotBlank(message = "Message ID is required")
     private String messageId;
 
@@ -42,10 +67,16 @@ public class SmsMessage {
     @Size(max = 20, message = "Recipient number must not exceed 20 characters")
     private String recipientNumber;
 
-    @Column(name = "message_content", nullable = false, columnDefinition = "TEXT")
-    @NotBlank(message = "Message content is required")
+    // Content of the message; stored inline in message_content, or in sms_message_contents when contentId is set
+    @Transient
     private String messageContent;
 
+    @Column(name = "message_content", columnDefinition = "TEXT")
+    private String inlineContent;
+
+    @Column(name = "content_id")
+    private Long contentId;
+
     @Enumerated(EnumType.STRING)
     @Column(name = "status", nullable = false)
     @NotNull(message = "Status is required")
@@ -132,6 +163,17 @@ public class SmsMessage {
         this.messageContent = messageContent;
     }
 
+    /**
+     * Id of the shared content row; when set, messageContent is not stored inline and is null after loading
+     */
+    public Long getContentId() {
+        return contentId;
+    }
+
+    public void setContentId(Long contentId) {
+        this.contentId = contentId;
+    }
+
     public SmsStatus getStatus() {
         return status;
     }
@@ -188,6 +230,38 @@ public class SmsMessage {
         this.updatedAt = updatedAt;
     }
 
+    @AssertTrue(message = "Message content is required")
+    private boolean isContentPresent() {
+        return contentId != null || (messageContent != null && !messageContent.isBlank());
+    }
+
+    /**
+     * Cut a timestamp to the precision of the sms_messages timestamp columns
+     */
+    public static LocalDateTime toStoredPrecision(LocalDateTime time) {
+        return time != null ? time.truncatedTo(STORED_PRECISION) : null;
+    }
+
+    @PrePersist
+    @PreUpdate
+    void beforeWrite() {
+        // Runs after the auditing listener; MySQL would otherwise round the fraction, and events and
+        // rollup buckets built from this instance would disagree with the stored row at :59.5
+        createdAt = createdAt != null ? createdAt.truncatedTo(CREATED_AT_PRECISION) : null;
+        updatedAt = toStoredPrecision(updatedAt);
+        scheduledAt = toStoredPrecision(scheduledAt);
+        sentAt = toStoredPrecision(sentAt);
+        deliveredAt = toStoredPrecision(deliveredAt);
+        inlineContent = contentId == null ? messageContent : null;
+    }
+
+    @PostLoad
+    void loadContent() {
+        if (contentId == null) {
+            messageContent = inlineContent;
+        }
+    }
+
     /**
      * SMS Status Enumeration
      */
@@ -0,0 +1,90 @@
+package com.smsplatform.sms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS Message Content Entity
+ *
+ * Content shared by many messages, stored once and referenced from
+ * sms_messages.content_id. Rows are keyed by the SHA-256 of the UTF-8 content
+ * so every instance interns the same text to the same row; long content is
+ * deflate-compressed when that makes it smaller. Rows are written and read
+ * through {@link com.smsplatform.sms.service.MessageContentStore}.
+ */
+@Entity
+@Table(name = "sms_message_contents",
+       uniqueConstraints = @UniqueConstraint(name = "uk_content_hash", columnNames = "content_hash"))
+public class SmsMessageContent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "content_hash", nullable = false, columnDefinition = "BINARY(32)")
+    private byte[] contentHash;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "encoding", nullable = false, length = 10)
+    private Encoding encoding;
+
+    @Lob
+    @Column(name = "content", nullable = false, columnDefinition = "BLOB")
+    private byte[] content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SmsMessageContent() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public byte[] getContentHash() {
+        return contentHash;
+    }
+
+    public void setContentHash(byte[] contentHash) {
+        this.contentHash = contentHash;
+    }
+
+    public Encoding getEncoding() {
+        return encoding;
+    }
+
+    public void setEncoding(Encoding encoding) {
+        this.encoding = encoding;
+    }
+
+    public byte[] getContent() {
+        return content;
+    }
+
+    public void setContent(byte[] content) {
+        this.content = content;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+
+    /**
+     * Storage encoding of the content bytes
+     */
+    public enum Encoding {
+        UTF8,
+        DEFLATE
+    }
+}
@@ -0,0 +1,47 @@
+package com.smsplatform.sms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS Message ID Key Entity
+ *
+ * Uniqueness of sms_messages.message_id. The partitioned message table can
+ * only have unique keys that include created_at, so every message id is
+ * also inserted here, in the same transaction as the message; the primary
+ * key rejects a second message with the same id. Rows are purged together
+ * with expired partitions.
+ */
+@Entity
+@Table(name = "message_ids",
+       indexes = @Index(name = "idx_message_ids_created_at", columnList = "created_at"))
+public class SmsMessageIdKey {
+
+    @Id
+    @Column(name = "message_id", length = 100)
+    private String messageId;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public SmsMessageIdKey() {}
+
+    // Getters and Setters
+    public String getMessageId() {
+        return messageId;
+    }
+
+    public void setMessageId(String messageId) {
+        this.messageId = messageId;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(LocalDateTime createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,120 @@
+package com.smsplatform.sms.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * SMS Message Rollup Entity
+ * 
+ * Pre-aggregated message counts per time bucket, operator, status and priority.
+ * Rows exist at MINUTE and HOUR resolution and are maintained incrementally from
+ * status transitions, so statistics queries never have to scan sms_messages for
+ * whole buckets. Messages without an operator are stored under operator id 0 to
+ * keep the unique key usable for upserts.
+ */
+@Entity
+@Table(name = "sms_message_rollups",
+       uniqueConstraints = @UniqueConstraint(name = "uk_rollup_bucket",
+               columnNames = {"resolution", "bucket_start", "operator_id", "status", "priority"}),
+       indexes = @Index(name = "idx_rollup_resolution_bucket", columnList = "resolution, bucket_start"))
+public class SmsMessageRollup {
+
+    /**
+     * Operator id used for messages that have no operator assigned
+     */
+    public static final long NO_OPERATOR = 0L;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 10)
+    private Resolution resolution;
+
+    @Column(name = "bucket_start", nullable = false)
+    private LocalDateTime bucketStart;
+
+    @Column(name = "operator_id", nullable = false)
+    private Long operatorId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private SmsMessage.SmsStatus status;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "priority", nullable = false)
+    private SmsMessage.SmsPriority priority;
+
+    @Column(name = "message_count", nullable = false)
+    private Long messageCount = 0L;
+
+    // Constructors
+    public SmsMessageRollup() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getBucketStart() {
+        return bucketStart;
+    }
+
+    public void setBucketStart(LocalDateTime bucketStart) {
+        this.bucketStart = bucketStart;
+    }
+
+    public Long getOperatorId() {
+        return operatorId;
+    }
+
+    public void setOperatorId(Long operatorId) {
+        this.operatorId = operatorId;
+    }
+
+    public SmsMessage.SmsStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(SmsMessage.SmsStatus status) {
+        this.status = status;
+    }
+
+    public SmsMessage.SmsPriority getPriority() {
+        return priority;
+    }
+
+    public void setPriority(SmsMessage.SmsPriority priority) {
+        this.priority = priority;
+    }
+
+    public Long getMessageCount() {
+        return messageCount;
+    }
+
+    public void setMessageCount(Long messageCount) {
+        this.messageCount = messageCount;
+    }
+
+    /**
+     * Rollup Bucket Resolution
+     */
+    public enum Resolution {
+        MINUTE,
+        HOUR
+    }
+}
@@ -0,0 +1,125 @@
+package com.smsplatform.sms.model;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * System Metric Entity
+ * 
+ * One sampled value of a service metric. Raw samples are written on the
+ * monitoring interval and periodically downsampled into coarser resolutions
+ * (averages per bucket) so long ranges can be charted from few rows.
+ */
+@Entity
+@Table(name = "system_metrics",
+       indexes = {
+           @Index(name = "idx_metric_resolution_time", columnList = "service_name, metric_name, resolution, timestamp"),
+           // Downsampling reads one service's buckets at a resolution across all metrics
+           @Index(name = "idx_service_resolution_time", columnList = "service_name, resolution, timestamp")
+       })
+public class SystemMetric {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "service_name", nullable = false, length = 50)
+    private String serviceName;
+
+    @Column(name = "metric_name", nullable = false, length = 100)
+    private String metricName;
+
+    @Column(name = "metric_value", nullable = false, precision = 15, scale = 4)
+    private BigDecimal metricValue;
+
+    @Column(name = "unit", length = 20)
+    private String unit;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "resolution", nullable = false, length = 12)
+    private Resolution resolution = Resolution.RAW;
+
+    @Column(name = "timestamp", nullable = false)
+    private LocalDateTime timestamp;
+
+    // Constructors
+    public SystemMetric() {}
+
+    // Getters and Setters
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getServiceName() {
+        return serviceName;
+    }
+
+    public void setServiceName(String serviceName) {
+        this.serviceName = serviceName;
+    }
+
+    public String getMetricName() {
+        return metricName;
+    }
+
+    public void setMetricName(String metricName) {
+        this.metricName = metricName;
+    }
+
+    public BigDecimal getMetricValue() {
+        return metricValue;
+    }
+
+    public void setMetricValue(BigDecimal metricValue) {
+        this.metricValue = metricValue;
+    }
+
+    public String getUnit() {
+        return unit;
+    }
+
+    public void setUnit(String unit) {
+        this.unit = unit;
+    }
+
+    public Resolution getResolution() {
+        return resolution;
+    }
+
+    public void setResolution(Resolution resolution) {
+        this.resolution = resolution;
+    }
+
+    public LocalDateTime getTimestamp() {
+        return timestamp;
+    }
+
+    public void setTimestamp(LocalDateTime timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    /**
+     * Sample Resolution Enumeration (bucket width in seconds, 0 for raw samples)
+     */
+    public enum Resolution {
+        RAW(0),
+        FIVE_MINUTE(300),
+        HOUR(3600);
+
+        private final int seconds;
+
+        Resolution(int seconds) {
+            this.seconds = seconds;
+        }
+
+        public int getSeconds() {
+            return seconds;
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.model.Alert;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Repository interface for Alert operations
+ * 
+ * Provides data access methods for alert lifecycle management.
+ */
+@Repository
+public interface AlertRepository extends JpaRepository<Alert, Long> {
+
+    /**
+     * Find alerts in any of the given statuses
+     */
+    List<Alert> findByStatusIn(Collection<Alert.AlertStatus> statuses);
+
+    /**
+     * Find alerts by status
+     */
+    Page<Alert> findByStatus(Alert.AlertStatus status, Pageable pageable);
+}
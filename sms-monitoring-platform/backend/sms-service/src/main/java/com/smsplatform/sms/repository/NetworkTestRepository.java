@@ -0,0 +1,21 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.model.NetworkTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Repository interface for Network Test operations
+ * 
+ * Provides data access methods for persisted performance test runs.
+ */
+@Repository
+public interface NetworkTestRepository extends JpaRepository<NetworkTest, Long> {
+
+    /**
+     * Find test runs by type
+     */
+    Page<NetworkTest> findByTestType(NetworkTest.TestType testType, Pageable pageable);
+}
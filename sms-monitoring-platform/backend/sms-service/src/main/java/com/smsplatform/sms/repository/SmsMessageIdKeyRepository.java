@@ -0,0 +1,28 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.model.SmsMessageIdKey;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for message id uniqueness keys
+ *
+ * Claims are plain INSERTs, so a taken id fails on the primary key
+ * (DuplicateKeyException) instead of being merged over.
+ */
+@Repository
+public interface SmsMessageIdKeyRepository extends JpaRepository<SmsMessageIdKey, String> {
+
+    /**
+     * Claim a message id; fails with a duplicate key error when it is taken
+     */
+    @Modifying
+    @Query(value = "INSERT INTO message_ids (message_id, created_at) VALUES (:messageId, :createdAt)",
+           nativeQuery = true)
+    void claim(@Param("messageId") String messageId, @Param("createdAt") LocalDateTime createdAt);
+}
@@ -0,0 +1,27 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.dto.MessageCursor;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.util.List;
+
+/**
+ * Keyset listing of SMS message summaries
+ * 
+ * Pages by (created_at, id) instead of OFFSET, so every page is an index
+ * range scan of limit rows however deep it is. Filters are optional (null).
+ */
+public interface SmsMessageKeysetRepository {
+
+    /**
+     * Up to limit summaries after the cursor (from the start when null), ordered by (created_at, id)
+     */
+    List<SmsMessageSummaryDto> findSummariesAfter(MessageCursor after, Long operatorId, SmsMessage.SmsStatus status,
+                                                  boolean ascending, int limit);
+
+    /**
+     * Exact number of messages matching the filters
+     */
+    long countSummaries(Long operatorId, SmsMessage.SmsStatus status);
+}
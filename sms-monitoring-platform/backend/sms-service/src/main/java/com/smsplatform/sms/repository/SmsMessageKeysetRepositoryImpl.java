@@ -0,0 +1,78 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.dto.MessageCursor;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
+import com.smsplatform.sms.model.SmsMessage;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.TypedQuery;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keyset listing implementation
+ * 
+ * The keyset predicate is written as created_at <= :c AND (created_at < :c OR id < :id)
+ * (mirrored for ascending) so MySQL uses a range on the leading created_at of
+ * idx_sms_created_at, idx_sms_operator or idx_sms_status, whose trailing
+ * (created_at, id) also supplies the order without a filesort.
+ */
+public class SmsMessageKeysetRepositoryImpl implements SmsMessageKeysetRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<SmsMessageSummaryDto> findSummariesAfter(MessageCursor after, Long operatorId,
+                                                         SmsMessage.SmsStatus status, boolean ascending, int limit) {
+        List<String> conditions = filters(operatorId, status);
+        if (after != null) {
+            conditions.add(ascending
+                    ? "s.createdAt >= :cursorCreatedAt AND (s.createdAt > :cursorCreatedAt OR s.id > :cursorId)"
+                    : "s.createdAt <= :cursorCreatedAt AND (s.createdAt < :cursorCreatedAt OR s.id < :cursorId)");
+        }
+        String direction = ascending ? "ASC" : "DESC";
+        TypedQuery<SmsMessageSummaryDto> query = entityManager.createQuery(
+                SmsMessageSummaryDto.SELECT + "FROM SmsMessage s" + where(conditions) +
+                " ORDER BY s.createdAt " + direction + ", s.id " + direction, SmsMessageSummaryDto.class);
+        bindFilters(query, operatorId, status);
+        if (after != null) {
+            query.setParameter("cursorCreatedAt", after.createdAt());
+            query.setParameter("cursorId", after.id());
+        }
+        return query.setMaxResults(limit).getResultList();
+    }
+
+    @Override
+    public long countSummaries(Long operatorId, SmsMessage.SmsStatus status) {
+        TypedQuery<Long> query = entityManager.createQuery(
+                "SELECT COUNT(s) FROM SmsMessage s" + where(filters(operatorId, status)), Long.class);
+        bindFilters(query, operatorId, status);
+        return query.getSingleResult();
+    }
+
+    private static List<String> filters(Long operatorId, SmsMessage.SmsStatus status) {
+        List<String> conditions = new ArrayList<>();
+        if (operatorId != null) {
+            conditions.add("s.operatorId = :operatorId");
+        }
+        if (status != null) {
+            conditions.add("s.status = :status");
+        }
+        return conditions;
+    }
+
+    private static String where(List<String> conditions) {
+        return conditions.isEmpty() ? "" : " WHERE " + String.join(" AND ", conditions);
+    }
+
+    private static void bindFilters(TypedQuery<?> query, Long operatorId, SmsMessage.SmsStatus status) {
+        if (operatorId != null) {
+            query.setParameter("operatorId", operatorId);
+        }
+        if (status != null) {
+            query.setParameter("status", status);
+        }
+    }
+}
@@ -1,14 +1,18 @@
 package com.smsplatform.sms.repository;
 
+import com.smsplatform.sms.dto.SmsMessageStateDto;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
 import com.smsplatform.sms.model.SmsMessage;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -19,12 +23,12 @@ import java.util.Optional;
  * including CRUD operations and custom queries.
  */
 @Repository
-public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long> {
+public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long>, SmsMessageKeysetRepository {
 
     /**
-     * Find SMS message by message ID
+     * Find SMS message by message ID; the oldest one if rows from before message_ids share an id
      */
-    Optional<SmsMessage> findByMessageId(String messageId);
+    Optional<SmsMessage> findFirstByMessageIdOrderByIdAsc(String messageId);
 
     /**
      * Find SMS messages by status
@@ -36,6 +40,47 @@ public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long> {
      */
     Page<SmsMessage> findByOperatorId(Long operatorId, Pageable pageable);
 
+    /**
+     * List message summaries (no content) with pagination
+     */
+    @Query(value = SmsMessageSummaryDto.SELECT + "FROM SmsMessage s",
+           countQuery = "SELECT COUNT(s) FROM SmsMessage s")
+    Page<SmsMessageSummaryDto> findSummaries(Pageable pageable);
+
+    /**
+     * List message summaries (no content) of an operator with pagination
+     */
+    @Query(value = SmsMessageSummaryDto.SELECT + "FROM SmsMessage s WHERE s.operatorId = :operatorId",
+           countQuery = "SELECT COUNT(s) FROM SmsMessage s WHERE s.operatorId = :operatorId")
+    Page<SmsMessageSummaryDto> findSummariesByOperatorId(@Param("operatorId") Long operatorId, Pageable pageable);
+
+    /**
+     * Message summaries (no content) of the given ids, in no particular order
+     */
+    @Query(SmsMessageSummaryDto.SELECT + "FROM SmsMessage s WHERE s.id IN :ids")
+    List<SmsMessageSummaryDto> findSummariesByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Delivery state (no content) of a message
+     */
+    @Query(SmsMessageStateDto.SELECT + "FROM SmsMessage s WHERE s.id = :id")
+    Optional<SmsMessageStateDto> findStateById(@Param("id") Long id);
+
+    /**
+     * Write the delivery state of a message without touching its other columns, if it still has
+     * expectedStatus; created_at confines the update to the message's partition. Returns the rows changed.
+     */
+    @Modifying
+    @Query("UPDATE SmsMessage s SET s.status = :status, s.sentAt = :sentAt, s.deliveredAt = :deliveredAt, " +
+           "s.updatedAt = :updatedAt WHERE s.id = :id AND s.createdAt = :createdAt AND s.status = :expectedStatus")
+    int updateState(@Param("id") Long id,
+                    @Param("createdAt") LocalDateTime createdAt,
+                    @Param("expectedStatus") SmsMessage.SmsStatus expectedStatus,
+                    @Param("status") SmsMessage.SmsStatus status,
+                    @Param("sentAt") LocalDateTime sentAt,
+                    @Param("deliveredAt") LocalDateTime deliveredAt,
+                    @Param("updatedAt") LocalDateTime updatedAt);
+
     /**
      * Find SMS messages by sender number
      */
@@ -76,11 +121,14 @@ public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long> {
                                       @Param("endDate") LocalDateTime endDate);
 
     /**
-     * Find pending messages scheduled for sending
+     * Find pending messages scheduled for sending, created since createdSince
+     * (the created_at bound lets MySQL prune partitions)
      */
     @Query("SELECT s FROM SmsMessage s WHERE s.status = 'PENDING' " +
+           "AND s.createdAt >= :createdSince " +
            "AND (s.scheduledAt IS NULL OR s.scheduledAt <= :currentTime)")
-    List<SmsMessage> findPendingMessagesForSending(@Param("currentTime") LocalDateTime currentTime);
+    List<SmsMessage> findPendingMessagesForSending(@Param("currentTime") LocalDateTime currentTime,
+                                                   @Param("createdSince") LocalDateTime createdSince);
 
     /**
      * Find messages by priority and status
@@ -107,5 +155,23 @@ public interface SmsMessageRepository extends JpaRepository<SmsMessage, Long> {
            "GROUP BY s.operatorId, s.status")
     List<Object[]> getOperatorPerformanceStatistics(@Param("startDate") LocalDateTime startDate,
                                                     @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Get delivery statistics for a half-open range (used for partial rollup edge buckets)
+     */
+    @Query("SELECT s.status, COUNT(s) FROM SmsMessage s " +
+           "WHERE s.createdAt >= :startDate AND s.createdAt < :endDate " +
+           "GROUP BY s.status")
+    List<Object[]> getDeliveryStatisticsInRange(@Param("startDate") LocalDateTime startDate,
+                                               @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Get operator performance statistics for a half-open range (used for partial rollup edge buckets)
+     */
+    @Query("SELECT s.operatorId, s.status, COUNT(s) FROM SmsMessage s " +
+           "WHERE s.createdAt >= :startDate AND s.createdAt < :endDate " +
+           "GROUP BY s.operatorId, s.status")
+    List<Object[]> getOperatorPerformanceStatisticsInRange(@Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
 }
 
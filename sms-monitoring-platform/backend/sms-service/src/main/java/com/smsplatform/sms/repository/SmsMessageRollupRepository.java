@@ -0,0 +1,40 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.model.SmsMessageRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for SMS Message Rollup operations
+ * 
+ * Provides aggregate reads over pre-computed rollup buckets. Bucket ranges
+ * are half-open: bucketStart >= from AND bucketStart < to.
+ */
+@Repository
+public interface SmsMessageRollupRepository extends JpaRepository<SmsMessageRollup, Long> {
+
+    /**
+     * Sum message counts per status for whole buckets in range
+     */
+    @Query("SELECT r.status, SUM(r.messageCount) FROM SmsMessageRollup r " +
+           "WHERE r.resolution = :resolution AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.status")
+    List<Object[]> sumByStatus(@Param("resolution") SmsMessageRollup.Resolution resolution,
+                               @Param("from") LocalDateTime from,
+                               @Param("to") LocalDateTime to);
+
+    /**
+     * Sum message counts per operator and status for whole buckets in range
+     */
+    @Query("SELECT r.operatorId, r.status, SUM(r.messageCount) FROM SmsMessageRollup r " +
+           "WHERE r.resolution = :resolution AND r.bucketStart >= :from AND r.bucketStart < :to " +
+           "GROUP BY r.operatorId, r.status")
+    List<Object[]> sumByOperatorAndStatus(@Param("resolution") SmsMessageRollup.Resolution resolution,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
+}
@@ -0,0 +1,51 @@
+package com.smsplatform.sms.repository;
+
+import com.smsplatform.sms.model.SystemMetric;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for System Metric operations
+ * 
+ * Provides range reads over sampled metrics at a given resolution.
+ */
+@Repository
+public interface SystemMetricRepository extends JpaRepository<SystemMetric, Long> {
+
+    /**
+     * Find samples of one metric at one resolution within a date range
+     */
+    @Query("SELECT m FROM SystemMetric m WHERE m.serviceName = :serviceName AND m.metricName = :metricName " +
+           "AND m.resolution = :resolution AND m.timestamp BETWEEN :startDate AND :endDate " +
+           "ORDER BY m.timestamp ASC")
+    List<SystemMetric> findSeries(@Param("serviceName") String serviceName,
+                                  @Param("metricName") String metricName,
+                                  @Param("resolution") SystemMetric.Resolution resolution,
+                                  @Param("startDate") LocalDateTime startDate,
+                                  @Param("endDate") LocalDateTime endDate);
+
+    /**
+     * Latest bucket a service has already written at a resolution
+     */
+    @Query("SELECT MAX(m.timestamp) FROM SystemMetric m WHERE m.serviceName = :serviceName AND m.resolution = :resolution")
+    LocalDateTime findLatestTimestamp(@Param("serviceName") String serviceName,
+                                      @Param("resolution") SystemMetric.Resolution resolution);
+
+    /**
+     * Earliest sample of a service at a resolution
+     */
+    @Query("SELECT MIN(m.timestamp) FROM SystemMetric m WHERE m.serviceName = :serviceName AND m.resolution = :resolution")
+    LocalDateTime findEarliestTimestamp(@Param("serviceName") String serviceName,
+                                        @Param("resolution") SystemMetric.Resolution resolution);
+
+    /**
+     * Distinct metric names recorded for a service
+     */
+    @Query("SELECT DISTINCT m.metricName FROM SystemMetric m WHERE m.serviceName = :serviceName ORDER BY m.metricName")
+    List<String> findMetricNames(@Param("serviceName") String serviceName);
+}
@@ -0,0 +1,241 @@
+package com.smsplatform.sms.search;
+
+import com.smsplatform.sms.model.SmsMessage;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.LongPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.search.TotalHits;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Message Index
+ *
+ * Lucene inverted index of message content on local disk. One document per
+ * message: content is analyzed (StandardAnalyzer, so CJK text is indexed per
+ * character) but not stored, recipient is an exact term, operator and
+ * created_at are points, and status is a numeric doc value so a status change
+ * is an in-place doc-value update instead of a reindex of the content. Hits
+ * are sorted by (created_at, id) descending from doc values and carry only
+ * those two values; callers load the rows themselves.
+ */
+public class MessageIndex implements Closeable {
+
+    private static final String COMMIT_LAST_ID = "lastId";
+
+    private static final String ID = "id";
+    private static final String CONTENT = "content";
+    private static final String RECIPIENT = "recipient";
+    private static final String OPERATOR = "operator";
+    private static final String CREATED_AT = "createdAt";
+    private static final String STATUS = "status";
+
+    private static final Sort NEWEST_FIRST = new Sort(
+            new SortField(CREATED_AT, SortField.Type.LONG, true),
+            new SortField(ID, SortField.Type.LONG, true));
+
+    private final Directory directory;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public MessageIndex(Path path, double ramBufferMb) throws IOException {
+        this.directory = FSDirectory.open(path);
+        IndexWriterConfig config = new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND)
+                .setRAMBufferSizeMB(ramBufferMb)
+                // Only commit() records the id watermark, so closing must not commit on its own
+                .setCommitOnClose(false);
+        this.writer = new IndexWriter(directory, config);
+        this.searcherManager = new SearcherManager(writer, null);
+    }
+
+    /**
+     * Add or replace the document of a message
+     */
+    public void upsert(long id, String recipientNumber, Long operatorId, SmsMessage.SmsStatus status,
+                       LocalDateTime createdAt, String content) throws IOException {
+        Document document = new Document();
+        document.add(new StringField(ID, Long.toString(id), Field.Store.NO));
+        document.add(new NumericDocValuesField(ID, id));
+        if (recipientNumber != null) {
+            document.add(new StringField(RECIPIENT, recipientNumber, Field.Store.NO));
+        }
+        if (operatorId != null) {
+            document.add(new LongPoint(OPERATOR, operatorId));
+        }
+        long createdAtMillis = toMillis(createdAt);
+        document.add(new LongPoint(CREATED_AT, createdAtMillis));
+        document.add(new NumericDocValuesField(CREATED_AT, createdAtMillis));
+        document.add(new NumericDocValuesField(STATUS, status.ordinal()));
+        if (content != null) {
+            document.add(new TextField(CONTENT, content, Field.Store.NO));
+        }
+        writer.updateDocument(new Term(ID, Long.toString(id)), document);
+    }
+
+    /**
+     * Change the indexed status of a message; no-op when it is not indexed
+     */
+    public void updateStatus(long id, SmsMessage.SmsStatus status) throws IOException {
+        writer.updateNumericDocValue(new Term(ID, Long.toString(id)), STATUS, status.ordinal());
+    }
+
+    public void delete(long id) throws IOException {
+        writer.deleteDocuments(new Term(ID, Long.toString(id)));
+    }
+
+    /**
+     * Make applied changes visible to searches
+     */
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    /**
+     * Remove every document
+     */
+    public void deleteAll() throws IOException {
+        writer.deleteAll();
+    }
+
+    /**
+     * Durably commit applied changes together with the highest message id they cover
+     */
+    public void commit(long lastId) throws IOException {
+        Map<String, String> userData = new HashMap<>();
+        userData.put(COMMIT_LAST_ID, Long.toString(lastId));
+        writer.setLiveCommitData(userData.entrySet());
+        writer.commit();
+    }
+
+    /**
+     * Highest message id covered by the last commit, null for a new index
+     */
+    public Long getCommittedLastId() throws IOException {
+        if (!DirectoryReader.indexExists(directory)) {
+            return null;
+        }
+        try (DirectoryReader reader = DirectoryReader.open(directory)) {
+            String value = reader.getIndexCommit().getUserData().get(COMMIT_LAST_ID);
+            return value != null ? Long.parseLong(value) : null;
+        }
+    }
+
+    public long getDocumentCount() {
+        return writer.getDocStats().numDocs;
+    }
+
+    /**
+     * Newest matches first, starting after the (createdAt, id) position when given
+     */
+    public SearchResult search(Query query, LocalDateTime afterCreatedAt, Long afterId, int limit) throws IOException {
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs top;
+            if (afterCreatedAt != null && afterId != null) {
+                // Doc ids only break ties, and (createdAt, id) is unique, so the last doc id is as good as any
+                FieldDoc after = new FieldDoc(Math.max(0, searcher.getIndexReader().maxDoc() - 1), Float.NaN,
+                        new Object[] {toMillis(afterCreatedAt), afterId});
+                top = searcher.searchAfter(after, query, limit, NEWEST_FIRST);
+            } else {
+                top = searcher.search(query, limit, NEWEST_FIRST);
+            }
+            List<Hit> hits = new ArrayList<>(top.scoreDocs.length);
+            for (ScoreDoc scoreDoc : top.scoreDocs) {
+                Object[] fields = ((FieldDoc) scoreDoc).fields;
+                hits.add(new Hit((Long) fields[1], fromMillis((Long) fields[0])));
+            }
+            Long total = top.totalHits.relation == TotalHits.Relation.EQUAL_TO ? top.totalHits.value : null;
+            return new SearchResult(hits, total);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /**
+     * Query for messages whose content contains the text as a phrase, narrowed by the optional filters;
+     * null when the text has no searchable terms
+     */
+    public Query buildQuery(String text, String recipientNumber, Long operatorId, SmsMessage.SmsStatus status,
+                            LocalDateTime from, LocalDateTime to) {
+        Query content = new QueryBuilder(analyzer).createPhraseQuery(CONTENT, text);
+        if (content == null) {
+            return null;
+        }
+        BooleanQuery.Builder query = new BooleanQuery.Builder().add(content, BooleanClause.Occur.MUST);
+        if (recipientNumber != null) {
+            query.add(new TermQuery(new Term(RECIPIENT, recipientNumber)), BooleanClause.Occur.FILTER);
+        }
+        if (operatorId != null) {
+            query.add(LongPoint.newExactQuery(OPERATOR, operatorId), BooleanClause.Occur.FILTER);
+        }
+        if (from != null || to != null) {
+            query.add(LongPoint.newRangeQuery(CREATED_AT,
+                    from != null ? toMillis(from) : Long.MIN_VALUE,
+                    to != null ? toMillis(to) - 1 : Long.MAX_VALUE), BooleanClause.Occur.FILTER);
+        }
+        if (status != null) {
+            // Only checked on documents the other clauses matched
+            query.add(NumericDocValuesField.newSlowExactQuery(STATUS, status.ordinal()), BooleanClause.Occur.FILTER);
+        }
+        return query.build();
+    }
+
+    @Override
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    private static long toMillis(LocalDateTime time) {
+        return time.toInstant(ZoneOffset.UTC).toEpochMilli();
+    }
+
+    private static LocalDateTime fromMillis(long millis) {
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(millis, 1000L),
+                (int) Math.floorMod(millis, 1000L) * 1_000_000, ZoneOffset.UTC);
+    }
+
+    /**
+     * Matching message and its sort position
+     */
+    public record Hit(long id, LocalDateTime createdAt) {}
+
+    /**
+     * One page of hits; total is null when there are too many matches to have counted them all
+     */
+    public record SearchResult(List<Hit> hits, Long total) {}
+}
@@ -0,0 +1,296 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.config.DispatchExecutorConfig;
+import com.smsplatform.sms.dto.LatencyPercentilesDto;
+import com.smsplatform.sms.model.Alert;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.repository.AlertRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Alert Engine Service
+ * 
+ * Evaluates alert rules every tick against the in-process streaming statistics
+ * (realtime counters, latency histograms, dispatch queue) without querying the
+ * database, so a tick costs O(rules). Each rule fires only after several
+ * consecutive breaching ticks and clears only once the value is back past a
+ * separate clear threshold (hysteresis). At most one open alert exists per rule
+ * key; only lifecycle changes are written to the alerts table.
+ */
+@Service
+public class AlertEngineService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AlertEngineService.class);
+
+    private static final int RATE_WINDOW_MINUTES = 5;
+    private static final String OPERATOR_KEY = ":operator:";
+
+    private final AlertRepository alertRepository;
+    private final RealtimeStatisticsService realtimeStatisticsService;
+    private final LatencyHistogramService latencyHistogramService;
+    private final ThreadPoolTaskExecutor dispatchExecutor;
+
+    private final Map<String, RuleState> ruleStates = new HashMap<>();
+
+    @Value("${spring.application.name:sms-service}")
+    private String serviceName;
+
+    @Value("${sms.platform.monitoring.alert-threshold:0.80}")
+    private double deliveryRateThreshold;
+
+    @Value("${sms.platform.monitoring.alerts.clear-margin:0.05}")
+    private double clearMargin;
+
+    @Value("${sms.platform.monitoring.alerts.min-samples:20}")
+    private long minSamples;
+
+    @Value("${sms.platform.monitoring.alerts.latency-p99-ms:10000}")
+    private long latencyP99ThresholdMs;
+
+    @Value("${sms.platform.monitoring.alerts.queue-lag-ratio:0.80}")
+    private double queueLagRatio;
+
+    @Value("${sms.platform.monitoring.alerts.fire-after-ticks:2}")
+    private int fireAfterTicks;
+
+    @Value("${sms.platform.monitoring.alerts.clear-after-ticks:3}")
+    private int clearAfterTicks;
+
+    @Autowired
+    public AlertEngineService(AlertRepository alertRepository,
+                              RealtimeStatisticsService realtimeStatisticsService,
+                              LatencyHistogramService latencyHistogramService,
+                              @Qualifier(DispatchExecutorConfig.DISPATCH_EXECUTOR) ThreadPoolTaskExecutor dispatchExecutor) {
+        this.alertRepository = alertRepository;
+        this.realtimeStatisticsService = realtimeStatisticsService;
+        this.latencyHistogramService = latencyHistogramService;
+        this.dispatchExecutor = dispatchExecutor;
+    }
+
+    /**
+     * Restore open alerts so a restart does not raise duplicates
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void restoreOpenAlerts() {
+        for (Alert alert : alertRepository.findByStatusIn(EnumSet.of(Alert.AlertStatus.ACTIVE, Alert.AlertStatus.ACKNOWLEDGED))) {
+            if (alert.getAlertKey() != null) {
+                ruleStates.computeIfAbsent(alert.getAlertKey(), key -> new RuleState()).openAlertId = alert.getId();
+            }
+        }
+    }
+
+    /**
+     * Scheduled task to evaluate all rules
+     */
+    @Scheduled(fixedDelayString = "${sms.platform.monitoring.alerts.evaluation-interval-ms:10000}")
+    public synchronized void evaluateRules() {
+        for (Long operatorId : operatorsToEvaluate()) {
+            evaluateDeliveryRate(operatorId);
+            evaluateLatency(operatorId);
+        }
+        evaluateQueueLag();
+    }
+
+    private void evaluateDeliveryRate(Long operatorId) {
+        long delivered = realtimeStatisticsService.getCount(operatorId, SmsMessage.SmsStatus.DELIVERED, RATE_WINDOW_MINUTES);
+        long failed = realtimeStatisticsService.getCount(operatorId, SmsMessage.SmsStatus.FAILED, RATE_WINDOW_MINUTES)
+                + realtimeStatisticsService.getCount(operatorId, SmsMessage.SmsStatus.EXPIRED, RATE_WINDOW_MINUTES);
+        long total = delivered + failed;
+        String key = "delivery-rate:operator:" + operatorId;
+        if (total < minSamples) {
+            // Too little traffic to judge: counts towards clearing, so an open alert resolves once traffic stops
+            evaluate(key, Alert.AlertType.ERROR, false, true, null, null);
+            return;
+        }
+        double rate = (double) delivered / total;
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("operatorId", operatorId);
+        details.put("deliveryRate", rate);
+        details.put("threshold", deliveryRateThreshold);
+        details.put("windowMinutes", RATE_WINDOW_MINUTES);
+        details.put("samples", total);
+
+        evaluate(key, Alert.AlertType.ERROR,
+                rate < deliveryRateThreshold, rate >= deliveryRateThreshold + clearMargin,
+                String.format("Delivery rate for operator %d is %.1f%% (threshold %.1f%%)",
+                        operatorId, rate * 100, deliveryRateThreshold * 100),
+                details);
+    }
+
+    private void evaluateLatency(Long operatorId) {
+        LatencyPercentilesDto latency = latencyHistogramService.getAggregatedPercentiles(
+                LatencyHistogramService.LatencyStage.SUBMIT_TO_DELIVERED, operatorId, false);
+        String key = "latency-p99:operator:" + operatorId;
+        if (latency.getCount() < minSamples) {
+            evaluate(key, Alert.AlertType.WARNING, false, true, null, null);
+            return;
+        }
+        long p99 = latency.getP99();
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("operatorId", operatorId);
+        details.put("p99Ms", p99);
+        details.put("thresholdMs", latencyP99ThresholdMs);
+        details.put("samples", latency.getCount());
+
+        evaluate(key, Alert.AlertType.WARNING,
+                p99 > latencyP99ThresholdMs, p99 <= latencyP99ThresholdMs * (1.0 - clearMargin),
+                String.format("p99 delivery latency for operator %d is %d ms (threshold %d ms)",
+                        operatorId, p99, latencyP99ThresholdMs),
+                details);
+    }
+
+    /**
+     * Operators with realtime counts, plus operators of open alerts (e.g. restored after a restart
+     * and without traffic since), so every open alert keeps being evaluated until it resolves
+     */
+    private Set<Long> operatorsToEvaluate() {
+        Set<Long> operatorIds = new TreeSet<>(realtimeStatisticsService.getOperatorIds());
+        for (Map.Entry<String, RuleState> entry : ruleStates.entrySet()) {
+            int at = entry.getKey().indexOf(OPERATOR_KEY);
+            if (entry.getValue().openAlertId != null && at >= 0) {
+                try {
+                    operatorIds.add(Long.parseLong(entry.getKey().substring(at + OPERATOR_KEY.length())));
+                } catch (NumberFormatException e) {
+                    // Not a per-operator rule key
+                }
+            }
+        }
+        return operatorIds;
+    }
+
+    private void evaluateQueueLag() {
+        ThreadPoolExecutor executor = dispatchExecutor.getThreadPoolExecutor();
+        int queued = executor.getQueue().size();
+        int capacity = queued + executor.getQueue().remainingCapacity();
+        if (capacity <= 0) {
+            return;
+        }
+        double ratio = (double) queued / capacity;
+
+        Map<String, Object> details = new LinkedHashMap<>();
+        details.put("queued", queued);
+        details.put("capacity", capacity);
+        details.put("thresholdRatio", queueLagRatio);
+
+        evaluate("queue-lag:dispatch", Alert.AlertType.WARNING,
+                ratio >= queueLagRatio, ratio < queueLagRatio - clearMargin,
+                String.format("Dispatch queue at %d of %d (%.0f%%)", queued, capacity, ratio * 100),
+                details);
+    }
+
+    private void evaluate(String key, Alert.AlertType type, boolean breaching, boolean cleared,
+                          String message, Map<String, Object> details) {
+        RuleState state = ruleStates.computeIfAbsent(key, k -> new RuleState());
+
+        if (state.openAlertId == null) {
+            state.clearTicks = 0;
+            state.breachTicks = breaching ? state.breachTicks + 1 : 0;
+            if (state.breachTicks >= fireAfterTicks) {
+                state.openAlertId = openAlert(key, type, message, details).getId();
+                state.breachTicks = 0;
+            }
+        } else {
+            state.breachTicks = 0;
+            state.clearTicks = cleared ? state.clearTicks + 1 : 0;
+            if (state.clearTicks >= clearAfterTicks) {
+                resolveAlert(state.openAlertId);
+                state.openAlertId = null;
+                state.clearTicks = 0;
+            }
+        }
+    }
+
+    private Alert openAlert(String key, Alert.AlertType type, String message, Map<String, Object> details) {
+        Alert alert = new Alert();
+        alert.setAlertKey(key);
+        alert.setAlertType(type);
+        alert.setServiceName(serviceName);
+        alert.setMessage(message);
+        alert.setDetails(details);
+        alert.setStatus(Alert.AlertStatus.ACTIVE);
+        Alert saved = alertRepository.save(alert);
+        logger.warn("Alert {} raised: {}", saved.getId(), message);
+        return saved;
+    }
+
+    private void resolveAlert(Long alertId) {
+        alertRepository.findById(alertId).ifPresent(alert -> {
+            if (alert.getStatus() != Alert.AlertStatus.RESOLVED) {
+                alert.setStatus(Alert.AlertStatus.RESOLVED);
+                alert.setResolvedAt(LocalDateTime.now());
+                alertRepository.save(alert);
+                logger.info("Alert {} resolved", alertId);
+            }
+        });
+    }
+
+    /**
+     * Get alerts by status
+     */
+    public Page<Alert> getAlerts(Alert.AlertStatus status, Pageable pageable) {
+        return status != null ? alertRepository.findByStatus(status, pageable) : alertRepository.findAll(pageable);
+    }
+
+    /**
+     * Acknowledge an active alert
+     */
+    public Alert acknowledgeAlert(Long id, Long userId) {
+        Alert alert = alertRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Alert not found with id: " + id));
+        if (alert.getStatus() == Alert.AlertStatus.ACTIVE) {
+            alert.setStatus(Alert.AlertStatus.ACKNOWLEDGED);
+            alert.setAcknowledgedAt(LocalDateTime.now());
+            alert.setAcknowledgedBy(userId);
+            alert = alertRepository.save(alert);
+        }
+        return alert;
+    }
+
+    /**
+     * Resolve an alert manually; the rule may raise a new one if the condition persists
+     */
+    public synchronized Alert resolveAlertManually(Long id) {
+        Alert alert = alertRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("Alert not found with id: " + id));
+        resolveAlert(id);
+        if (alert.getAlertKey() != null) {
+            RuleState state = ruleStates.get(alert.getAlertKey());
+            if (state != null && id.equals(state.openAlertId)) {
+                state.openAlertId = null;
+                state.clearTicks = 0;
+            }
+        }
+        return alertRepository.findById(id).orElse(alert);
+    }
+
+    /**
+     * Per-rule hysteresis state
+     */
+    private static final class RuleState {
+        private Long openAlertId;
+        private int breachTicks;
+        private int clearTicks;
+    }
+}
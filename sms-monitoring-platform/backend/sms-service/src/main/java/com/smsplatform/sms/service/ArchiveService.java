@@ -0,0 +1,510 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.archive.ArchiveFileReader;
+import com.smsplatform.sms.archive.ArchiveFileWriter;
+import com.smsplatform.sms.archive.ArchiveFooter;
+import com.smsplatform.sms.archive.ArchiveFormat;
+import com.smsplatform.sms.config.MaintenanceExecutorConfig;
+import com.smsplatform.sms.model.SmsMessage;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Archive Service
+ *
+ * Moves closed (DELIVERED, FAILED, EXPIRED) messages older than a cutoff out
+ * of sms_messages into compressed columnar files, one day at a time, and
+ * answers lookups and statistics over them so archived rows stay visible.
+ * Each slice is written under a temporary name, renamed to .smsarc.pending,
+ * its rows deleted in one transaction and only then renamed to .smsarc; a
+ * crash leaves either untouched rows or a pending file whose delete is simply
+ * repeated on startup. Deletes publish no status transitions, so rollups keep
+ * counting archived rows. Footers of all slices (ranges and a messageId Bloom
+ * filter) are kept in memory, so a lookup opens only slices that may match.
+ */
+@Service
+public class ArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveService.class);
+
+    private static final String LOCK_NAME = "sms_messages_archive";
+    private static final String TMP_EXTENSION = ".smsarc.tmp";
+    private static final int DELETE_BATCH_SIZE = 1000;
+    private static final DateTimeFormatter FILE_NAME = DateTimeFormatter.ofPattern("yyyy-MM-dd-HHmmss");
+
+    private static final String CLOSED_STATUSES = "('DELIVERED', 'FAILED', 'EXPIRED')";
+
+    private static final String OLDEST_SQL =
+            "SELECT MIN(created_at) FROM sms_messages WHERE created_at < ? AND status IN " + CLOSED_STATUSES;
+
+    private static final String SELECT_DAY_SQL =
+            "SELECT id, message_id, operator_id, sender_number, recipient_number, message_content, status, priority, " +
+            "scheduled_at, sent_at, delivered_at, created_at, updated_at, content_id " +
+            "FROM sms_messages WHERE created_at >= ? AND created_at < ? AND status IN " + CLOSED_STATUSES + " " +
+            "ORDER BY created_at, id";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MessageContentStore messageContentStore;
+    private final ThreadPoolTaskExecutor maintenanceExecutor;
+
+    private final List<ArchiveEntry> catalog = new CopyOnWriteArrayList<>();
+
+    @Value("${sms.platform.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sms.platform.archive.directory:archive}")
+    private String directory;
+
+    @Value("${sms.platform.archive.older-than-days:90}")
+    private int olderThanDays;
+
+    @Value("${sms.platform.archive.rows-per-file:200000}")
+    private int rowsPerFile;
+
+    @Value("${sms.platform.archive.bloom-fpp:0.01}")
+    private double bloomFpp;
+
+    @Autowired
+    public ArchiveService(JdbcTemplate jdbcTemplate, DataSource dataSource, TransactionTemplate transactionTemplate,
+                          MessageContentStore messageContentStore,
+                          @Qualifier(MaintenanceExecutorConfig.MAINTENANCE_EXECUTOR) ThreadPoolTaskExecutor maintenanceExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.messageContentStore = messageContentStore;
+        this.maintenanceExecutor = maintenanceExecutor;
+        // MySQL Connector/J streams rows one at a time only with fetch size Integer.MIN_VALUE
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Finish interrupted slices and load the footers of all archived slices
+     */
+    @PostConstruct
+    public void loadCatalog() {
+        Path root = Paths.get(directory);
+        if (!Files.isDirectory(root)) {
+            return;
+        }
+        try (Stream<Path> files = Files.walk(root)) {
+            for (Path file : files.filter(Files::isRegularFile).collect(Collectors.toList())) {
+                String name = file.getFileName().toString();
+                if (name.endsWith(TMP_EXTENSION)) {
+                    Files.deleteIfExists(file);
+                } else if (name.endsWith(ArchiveFormat.PENDING_EXTENSION)) {
+                    recoverPending(file);
+                } else if (name.endsWith(ArchiveFormat.FILE_EXTENSION)) {
+                    register(file, ArchiveFileReader.readFooter(file));
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to load archive catalog from " + root, e);
+        }
+        logger.info("Loaded {} archive files with {} rows from {}", catalog.size(),
+                catalog.stream().mapToLong(entry -> entry.footer().getRowCount()).sum(), root);
+    }
+
+    /**
+     * Scheduled archiving of closed messages older than the configured age
+     */
+    @Scheduled(cron = "${sms.platform.archive.cron:0 30 3 * * *}")
+    public void archiveScheduled() {
+        if (!enabled) {
+            return;
+        }
+        // A run can take hours; keep it off the shared scheduler threads
+        try {
+            maintenanceExecutor.execute(() -> {
+                try {
+                    archive(olderThanDays);
+                } catch (RuntimeException e) {
+                    logger.warn("Archiving sms_messages failed: {}", e.getMessage());
+                }
+            });
+        } catch (TaskRejectedException e) {
+            logger.warn("Archiving sms_messages skipped: maintenance executor is busy");
+        }
+    }
+
+    /**
+     * Archive closed messages created more than olderThanDays days ago
+     */
+    public ArchiveResult archive(Integer olderThanDays) {
+        int days = olderThanDays != null && olderThanDays > 0 ? olderThanDays : this.olderThanDays;
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(days).truncatedTo(ChronoUnit.DAYS);
+        return jdbcTemplate.execute((ConnectionCallback<ArchiveResult>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            ArchiveResult result = new ArchiveResult();
+            result.setCutoff(cutoff);
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                result.setSkipped("another instance is archiving");
+                return result;
+            }
+            long started = System.currentTimeMillis();
+            try {
+                Timestamp oldest = jdbcTemplate.queryForObject(OLDEST_SQL, Timestamp.class, Timestamp.valueOf(cutoff));
+                if (oldest == null) {
+                    return result;
+                }
+                for (LocalDateTime day = oldest.toLocalDateTime().truncatedTo(ChronoUnit.DAYS);
+                     day.isBefore(cutoff); day = day.plusDays(1)) {
+                    archiveDay(day, day.plusDays(1), result);
+                }
+                result.setDurationMs(System.currentTimeMillis() - started);
+                logger.info("Archived {} messages older than {} into {} files in {} ms",
+                        result.getRows(), cutoff, result.getFiles().size(), result.getDurationMs());
+                return result;
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+    }
+
+    private void archiveDay(LocalDateTime from, LocalDateTime to, ArchiveResult result) {
+        ArchiveFileWriter[] writer = {newWriter()};
+        streamingJdbcTemplate.query(SELECT_DAY_SQL, rs -> {
+            try {
+                // Slices are self-contained: shared content is written out in full
+                writer[0].append(messageContentStore.resolve(toMessage(rs)));
+                if (writer[0].getRowCount() >= rowsPerFile) {
+                    commitSlice(writer[0], result);
+                    writer[0] = newWriter();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive slice", e);
+            }
+        }, Timestamp.valueOf(from), Timestamp.valueOf(to));
+        if (writer[0].getRowCount() > 0) {
+            try {
+                commitSlice(writer[0], result);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write archive slice", e);
+            }
+        }
+    }
+
+    private ArchiveFileWriter newWriter() {
+        return new ArchiveFileWriter(Math.max(1, rowsPerFile), bloomFpp);
+    }
+
+    private void commitSlice(ArchiveFileWriter writer, ArchiveResult result) throws IOException {
+        long[] ids = writer.getIds();
+        LocalDateTime first = writer.getMinCreatedAt();
+        Path dir = Paths.get(directory, String.format("%04d", first.getYear()), String.format("%02d", first.getMonthValue()));
+        Files.createDirectories(dir);
+        String baseName = FILE_NAME.format(first) + "-" + ids[0];
+        Path tmp = dir.resolve(baseName + TMP_EXTENSION);
+        Path pending = dir.resolve(baseName + ArchiveFormat.PENDING_EXTENSION);
+        Path target = dir.resolve(baseName + ArchiveFormat.FILE_EXTENSION);
+
+        ArchiveFooter footer = writer.finish(tmp);
+        Files.move(tmp, pending, StandardCopyOption.ATOMIC_MOVE);
+        deleteArchivedRows(ids, footer.getMinCreatedAt(), footer.getMaxCreatedAt());
+        Files.move(pending, target, StandardCopyOption.ATOMIC_MOVE);
+        register(target, footer);
+
+        result.getFiles().add(target.toString());
+        result.setRows(result.getRows() + footer.getRowCount());
+        result.setBytes(result.getBytes() + Files.size(target));
+    }
+
+    /**
+     * Delete the rows of a slice; repeating it after a crash deletes nothing twice.
+     * The upper bound is widened by a millisecond, the precision of archived times.
+     */
+    private void deleteArchivedRows(long[] ids, LocalDateTime minCreatedAt, LocalDateTime maxCreatedAt) {
+        transactionTemplate.executeWithoutResult(status -> {
+            for (int start = 0; start < ids.length; start += DELETE_BATCH_SIZE) {
+                int end = Math.min(ids.length, start + DELETE_BATCH_SIZE);
+                StringBuilder sql = new StringBuilder(
+                        "DELETE FROM sms_messages WHERE created_at >= ? AND created_at < ? AND id IN (");
+                for (int i = start; i < end; i++) {
+                    sql.append(i > start ? "," : "").append(ids[i]);
+                }
+                jdbcTemplate.update(sql.append(')').toString(),
+                        Timestamp.valueOf(minCreatedAt), Timestamp.valueOf(maxCreatedAt.plusNanos(1_000_000)));
+            }
+        });
+    }
+
+    private void recoverPending(Path pending) throws IOException {
+        ArchiveFooter footer = ArchiveFileReader.readFooter(pending);
+        deleteArchivedRows(ArchiveFileReader.readIds(pending, footer), footer.getMinCreatedAt(), footer.getMaxCreatedAt());
+        String name = pending.getFileName().toString();
+        Path target = pending.resolveSibling(
+                name.substring(0, name.length() - ArchiveFormat.PENDING_EXTENSION.length()) + ArchiveFormat.FILE_EXTENSION);
+        Files.move(pending, target, StandardCopyOption.ATOMIC_MOVE);
+        register(target, footer);
+        logger.info("Finished interrupted archive slice {} ({} rows)", target, footer.getRowCount());
+    }
+
+    private void register(Path file, ArchiveFooter footer) throws IOException {
+        catalog.add(new ArchiveEntry(file, footer, Files.size(file)));
+    }
+
+    /**
+     * Find an archived message by database id
+     */
+    public Optional<SmsMessage> findById(long id) {
+        for (ArchiveEntry entry : catalog) {
+            if (!entry.footer().mayContainId(id)) {
+                continue;
+            }
+            long[] ids = read(entry, () -> ArchiveFileReader.readIds(entry.file(), entry.footer()));
+            for (int i = 0; i < ids.length; i++) {
+                if (ids[i] == id) {
+                    return Optional.of(readRow(entry, i));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Find an archived message by messageId
+     */
+    public Optional<SmsMessage> findByMessageId(String messageId) {
+        for (ArchiveEntry entry : catalog) {
+            if (!entry.footer().mightContainMessageId(messageId)) {
+                continue;
+            }
+            String[] messageIds = read(entry, () -> ArchiveFileReader.readMessageIds(entry.file(), entry.footer()));
+            for (int i = 0; i < messageIds.length; i++) {
+                if (messageIds[i].equals(messageId)) {
+                    return Optional.of(readRow(entry, i));
+                }
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Visit archived rows with from <= created_at < to (or <= to when endInclusive)
+     */
+    public void forEachInRange(LocalDateTime from, LocalDateTime to, boolean endInclusive,
+                               ArchiveFileReader.SummaryVisitor visitor) {
+        LocalDateTime endExclusive = endInclusive ? to.plusNanos(1) : to;
+        for (ArchiveEntry entry : catalog) {
+            if (!entry.footer().overlaps(from, endExclusive)) {
+                continue;
+            }
+            read(entry, () -> {
+                ArchiveFileReader.forEachSummary(entry.file(), entry.footer(), (createdAt, operatorId, status, priority) -> {
+                    if (!createdAt.isBefore(from) && createdAt.isBefore(endExclusive)) {
+                        visitor.visit(createdAt, operatorId, status, priority);
+                    }
+                });
+                return null;
+            });
+        }
+    }
+
+    /**
+     * Visit full archived messages with from <= created_at < to and the given status (any when null),
+     * slice by slice in created_at order; memory is bounded by one slice
+     */
+    public void forEachMessage(LocalDateTime from, LocalDateTime to, SmsMessage.SmsStatus status,
+                               Consumer<SmsMessage> consumer) {
+        List<ArchiveEntry> entries = catalog.stream()
+                .filter(entry -> entry.footer().overlaps(from, to))
+                .sorted(Comparator.comparing(entry -> entry.footer().getMinCreatedAt()))
+                .collect(Collectors.toList());
+        for (ArchiveEntry entry : entries) {
+            int[] positions = read(entry, () -> {
+                List<Integer> matches = new ArrayList<>();
+                int[] position = {0};
+                ArchiveFileReader.forEachSummary(entry.file(), entry.footer(), (createdAt, operatorId, rowStatus, priority) -> {
+                    if (!createdAt.isBefore(from) && createdAt.isBefore(to) && (status == null || status == rowStatus)) {
+                        matches.add(position[0]);
+                    }
+                    position[0]++;
+                });
+                return matches.stream().mapToInt(Integer::intValue).toArray();
+            });
+            if (positions.length > 0) {
+                read(entry, () -> ArchiveFileReader.readRows(entry.file(), entry.footer(), positions)).forEach(consumer);
+            }
+        }
+    }
+
+    /**
+     * Whether any archived slice may hold rows with from <= created_at < to
+     */
+    public boolean hasArchivedRows(LocalDateTime from, LocalDateTime to) {
+        return catalog.stream().anyMatch(entry -> entry.footer().overlaps(from, to));
+    }
+
+    /**
+     * Archived slices and totals
+     */
+    public ArchiveSummary getSummary() {
+        ArchiveSummary summary = new ArchiveSummary();
+        summary.setEnabled(enabled);
+        summary.setDirectory(Paths.get(directory).toAbsolutePath().toString());
+        summary.setOlderThanDays(olderThanDays);
+        List<ArchiveEntry> entries = new ArrayList<>(catalog);
+        entries.sort(Comparator.comparing(entry -> entry.footer().getMinCreatedAt()));
+        for (ArchiveEntry entry : entries) {
+            summary.setFiles(summary.getFiles() + 1);
+            summary.setRows(summary.getRows() + entry.footer().getRowCount());
+            summary.setBytes(summary.getBytes() + entry.bytes());
+        }
+        if (!entries.isEmpty()) {
+            summary.setOldest(entries.get(0).footer().getMinCreatedAt());
+            summary.setNewest(entries.stream().map(entry -> entry.footer().getMaxCreatedAt())
+                    .max(Comparator.naturalOrder()).orElse(null));
+        }
+        return summary;
+    }
+
+    private SmsMessage readRow(ArchiveEntry entry, int position) {
+        return read(entry, () -> ArchiveFileReader.readRows(entry.file(), entry.footer(), new int[] {position}).get(0));
+    }
+
+    private static <T> T read(ArchiveEntry entry, ArchiveRead<T> read) {
+        try {
+            return read.run();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read archive file " + entry.file(), e);
+        }
+    }
+
+    private static SmsMessage toMessage(ResultSet rs) throws SQLException {
+        SmsMessage message = new SmsMessage();
+        message.setId(rs.getLong(1));
+        message.setMessageId(rs.getString(2));
+        long operatorId = rs.getLong(3);
+        message.setOperatorId(rs.wasNull() ? null : operatorId);
+        message.setSenderNumber(rs.getString(4));
+        message.setRecipientNumber(rs.getString(5));
+        message.setMessageContent(rs.getString(6));
+        long contentId = rs.getLong(14);
+        message.setContentId(rs.wasNull() ? null : contentId);
+        message.setStatus(SmsMessage.SmsStatus.valueOf(rs.getString(7)));
+        message.setPriority(SmsMessage.SmsPriority.valueOf(rs.getString(8)));
+        message.setScheduledAt(toLocalDateTime(rs.getTimestamp(9)));
+        message.setSentAt(toLocalDateTime(rs.getTimestamp(10)));
+        message.setDeliveredAt(toLocalDateTime(rs.getTimestamp(11)));
+        message.setCreatedAt(toLocalDateTime(rs.getTimestamp(12)));
+        message.setUpdatedAt(toLocalDateTime(rs.getTimestamp(13)));
+        return message;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    @FunctionalInterface
+    private interface ArchiveRead<T> {
+        T run() throws IOException;
+    }
+
+    private record ArchiveEntry(Path file, ArchiveFooter footer, long bytes) {}
+
+    /**
+     * Archive Result DTO
+     */
+    public static class ArchiveResult {
+        private String skipped;
+        private LocalDateTime cutoff;
+        private long rows;
+        private long bytes;
+        private List<String> files = new ArrayList<>();
+        private long durationMs;
+
+        // Getters and Setters
+        public String getSkipped() { return skipped; }
+        public void setSkipped(String skipped) { this.skipped = skipped; }
+
+        public LocalDateTime getCutoff() { return cutoff; }
+        public void setCutoff(LocalDateTime cutoff) { this.cutoff = cutoff; }
+
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public long getBytes() { return bytes; }
+        public void setBytes(long bytes) { this.bytes = bytes; }
+
+        public List<String> getFiles() { return files; }
+        public void setFiles(List<String> files) { this.files = files; }
+
+        public long getDurationMs() { return durationMs; }
+        public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    }
+
+    /**
+     * Archive Summary DTO
+     */
+    public static class ArchiveSummary {
+        private boolean enabled;
+        private String directory;
+        private int olderThanDays;
+        private int files;
+        private long rows;
+        private long bytes;
+        private LocalDateTime oldest;
+        private LocalDateTime newest;
+
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public int getOlderThanDays() { return olderThanDays; }
+        public void setOlderThanDays(int olderThanDays) { this.olderThanDays = olderThanDays; }
+
+        public int getFiles() { return files; }
+        public void setFiles(int files) { this.files = files; }
+
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public long getBytes() { return bytes; }
+        public void setBytes(long bytes) { this.bytes = bytes; }
+
+        public LocalDateTime getOldest() { return oldest; }
+        public void setOldest(LocalDateTime oldest) { this.oldest = oldest; }
+
+        public LocalDateTime getNewest() { return newest; }
+        public void setNewest(LocalDateTime newest) { this.newest = newest; }
+    }
+}
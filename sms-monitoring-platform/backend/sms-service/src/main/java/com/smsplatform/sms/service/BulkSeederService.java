@@ -0,0 +1,468 @@
+package com.smsplatform.sms.service;
+
+import com.mysql.cj.jdbc.JdbcStatement;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageRollup;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bulk Seeder Service
+ * 
+ * Generates large volumes of synthetic sms_messages rows with realistic
+ * shape: a diurnal arrival curve that grows towards the present, a skewed
+ * operator mix, the usual priority split, status depending on message age,
+ * and sent/delivered timestamps with log-normal latencies. Hours are
+ * generated in parallel and written either as rewritten multi-row batch
+ * inserts or as LOAD DATA LOCAL INFILE streams, bypassing JPA entirely.
+ * Matching minute/hour rollups are folded in per hour, so statistics and
+ * pagination can be benchmarked at production size.
+ */
+@Service
+public class BulkSeederService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkSeederService.class);
+
+    private static final String COLUMNS = "message_id, operator_id, sender_number, recipient_number, message_content, " +
+            "status, priority, scheduled_at, sent_at, delivered_at, created_at, updated_at";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO sms_messages (" + COLUMNS + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    // Seeded ids are unique by construction; they are still claimed so later submissions cannot reuse them
+    private static final String MESSAGE_ID_SQL = "INSERT INTO message_ids (message_id, created_at) VALUES (?, ?)";
+
+    private static final String LOAD_DATA_SQL =
+            "LOAD DATA LOCAL INFILE 'sms_messages.tsv' INTO TABLE sms_messages " +
+            "CHARACTER SET utf8mb4 FIELDS TERMINATED BY '\\t' LINES TERMINATED BY '\\n' (" + COLUMNS + ")";
+
+    private static final DateTimeFormatter SQL_TIMESTAMP = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss.SSS");
+
+    // Relative arrival rate per hour of day: quiet nights, morning ramp, midday and early evening peaks
+    private static final double[] DIURNAL = {
+            0.20, 0.12, 0.08, 0.06, 0.07, 0.12, 0.30, 0.60, 0.90, 1.00, 1.10, 1.20,
+            1.15, 1.05, 1.00, 1.00, 1.05, 1.15, 1.20, 1.10, 0.90, 0.70, 0.50, 0.30
+    };
+
+    private static final SmsMessage.SmsPriority[] PRIORITIES = SmsMessage.SmsPriority.values();
+    private static final double[] PRIORITY_WEIGHTS = {0.15, 0.70, 0.12, 0.03};
+
+    private static final SmsMessage.SmsStatus[] STATUSES = SmsMessage.SmsStatus.values();
+    // PENDING, SENT, DELIVERED, FAILED, EXPIRED by message age
+    private static final double[] STATUS_LAST_MINUTE = {0.40, 0.38, 0.20, 0.02, 0.00};
+    private static final double[] STATUS_LAST_HOUR = {0.01, 0.04, 0.89, 0.05, 0.01};
+    private static final double[] STATUS_SETTLED = {0.00, 0.005, 0.91, 0.06, 0.025};
+
+    private static final String[] ALPHA_SENDERS = {
+            "BANK", "SHOP", "TAXI", "CLINIC", "AIRLINE", "TELCO", "DELIVERY", "GOVT", "SCHOOL", "PROMO"
+    };
+    private static final String[] TEMPLATES = {
+            "Your verification code is %06d. Do not share it with anyone.",
+            "Your order #%d has shipped and will arrive within 2 business days.",
+            "Reminder: your appointment is confirmed for tomorrow. Reference %d.",
+            "Payment of %d.00 received. Thank you for your purchase.",
+            "Your balance is low. Recharge now to keep enjoying our services. Code %d",
+            "Driver is arriving in %d minutes. Please be ready at the pickup point.",
+            "Flight update: boarding for your flight starts at gate %d in 30 minutes.",
+            "Weekend sale! Up to %d%% off on selected items in all our stores and online. " +
+                    "Visit us this weekend and bring this message to get an extra gift with every purchase. " +
+                    "Offer valid while stocks last. Reply STOP to unsubscribe."
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final StatisticsRollupService statisticsRollupService;
+
+    @Autowired
+    public BulkSeederService(JdbcTemplate jdbcTemplate, StatisticsRollupService statisticsRollupService) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.statisticsRollupService = statisticsRollupService;
+    }
+
+    /**
+     * Seed sms_messages (and rollups) according to the configuration
+     */
+    public SeedResult seed(SeedConfig config) {
+        long totalRows = Math.max(0, config.getRows());
+        int days = Math.max(1, config.getDays());
+        long seed = config.getSeed() != null ? config.getSeed() : new SplittableRandom().nextLong();
+        List<Long> operatorIds = jdbcTemplate.queryForList(
+                "SELECT id FROM operators WHERE is_active = TRUE ORDER BY id", Long.class);
+
+        // Whole seconds, like the created_at column; nothing is seeded after now, so no row is dated in the
+        // future (today's statistics, the search tail's settle check)
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        LocalDateTime end = now;
+        LocalDateTime start = end.minusDays(days);
+        long[] rowsPerHour = planHours(totalRows, start, days * 24, config.getGrowth());
+        // Message ids only need to be unique across runs; content and shape are driven by the seed
+        String runTag = Long.toString(System.currentTimeMillis(), 36).toUpperCase();
+
+        logger.info("Seeding {} messages over {} days ({} - {}) with seed {} using {}",
+                totalRows, days, start, end, seed, config.getMode());
+
+        long started = System.currentTimeMillis();
+        AtomicLong written = new AtomicLong();
+        AtomicLong lastLog = new AtomicLong(started);
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, config.getParallelism()));
+        List<Future<?>> futures = new ArrayList<>();
+        try {
+            long firstRow = 0;
+            for (int hour = 0; hour < rowsPerHour.length; hour++) {
+                if (rowsPerHour[hour] == 0) {
+                    continue;
+                }
+                HourChunk chunk = new HourChunk(start.plusHours(hour), rowsPerHour[hour], firstRow,
+                        new SplittableRandom(seed ^ (hour * 0x9E3779B97F4A7C15L)));
+                firstRow += rowsPerHour[hour];
+                futures.add(executor.submit(() -> {
+                    seedHour(chunk, config, operatorIds, runTag, now);
+                    long total = written.addAndGet(chunk.rows);
+                    long last = lastLog.get();
+                    long current = System.currentTimeMillis();
+                    if (current - last >= 10_000 && lastLog.compareAndSet(last, current)) {
+                        logger.info("Seeded {}/{} messages ({} rows/s)", total, totalRows,
+                                (long) (total / Math.max(0.001, (current - started) / 1000.0)));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Seeding interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Seeding failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+
+        SeedResult result = new SeedResult();
+        result.setRows(written.get());
+        result.setHours(futures.size());
+        result.setStartDate(start);
+        result.setEndDate(end);
+        result.setSeed(seed);
+        result.setDurationMs(System.currentTimeMillis() - started);
+        result.setRowsPerSecond(written.get() / Math.max(0.001, result.getDurationMs() / 1000.0));
+        logger.info("Seeded {} messages in {} ms ({} rows/s)",
+                result.getRows(), result.getDurationMs(), (long) result.getRowsPerSecond());
+        return result;
+    }
+
+    /**
+     * Split the row count over hours by diurnal weight and linear growth towards the present
+     */
+    private static long[] planHours(long totalRows, LocalDateTime start, int hours, double growth) {
+        double[] weights = new double[hours];
+        double sum = 0;
+        for (int i = 0; i < hours; i++) {
+            double age = hours > 1 ? i / (double) (hours - 1) : 1.0;
+            weights[i] = DIURNAL[start.plusHours(i).getHour()] * (1.0 + Math.max(0.0, growth) * age);
+            sum += weights[i];
+        }
+        long[] rows = new long[hours];
+        double cumulative = 0;
+        long assigned = 0;
+        for (int i = 0; i < hours; i++) {
+            cumulative += weights[i];
+            long target = Math.round(totalRows * cumulative / sum);
+            rows[i] = target - assigned;
+            assigned = target;
+        }
+        return rows;
+    }
+
+    private void seedHour(HourChunk chunk, SeedConfig config, List<Long> operatorIds, String runTag, LocalDateTime now) {
+        SplittableRandom random = chunk.random;
+        long[] offsets = new long[(int) chunk.rows];
+        // Whole-second offsets: MySQL would round a fraction, and the rollup minute of a row at :59.5 would
+        // then differ from the minute it is stored in
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = random.nextLong(3_600L);
+        }
+        Arrays.sort(offsets);
+
+        int batchSize = Math.max(1, config.getBatchSize());
+        boolean loadData = SeedConfig.MODE_LOAD_DATA.equals(config.getMode());
+        double[] operatorWeights = operatorWeights(operatorIds.size());
+        Map<RollupCount, Long> rollups = new HashMap<>();
+        List<Object[]> batch = new ArrayList<>(batchSize);
+        for (int i = 0; i < offsets.length; i++) {
+            Object[] row = generateRow(random, chunk.hourStart.plusSeconds(offsets[i]),
+                    chunk.firstRow + i, operatorIds, operatorWeights, runTag, now);
+            batch.add(row);
+            rollups.merge(new RollupCount(((LocalDateTime) row[10]).truncatedTo(ChronoUnit.MINUTES),
+                    (Long) row[1], (SmsMessage.SmsStatus) row[5], (SmsMessage.SmsPriority) row[6]), 1L, Long::sum);
+            if (batch.size() == batchSize) {
+                write(batch, loadData);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            write(batch, loadData);
+        }
+
+        rollups.forEach((key, count) ->
+                statisticsRollupService.addCounts(key.minute(), key.operatorId(), key.status(), key.priority(), count));
+        statisticsRollupService.flushPendingDeltas();
+    }
+
+    private static Object[] generateRow(SplittableRandom random, LocalDateTime createdAt, long index,
+                                        List<Long> operatorIds, double[] operatorWeights,
+                                        String runTag, LocalDateTime now) {
+        // A small share of traffic has no operator
+        Long operatorId = operatorIds.isEmpty() || random.nextDouble() < 0.01
+                ? null : operatorIds.get(pick(random, operatorWeights));
+        SmsMessage.SmsPriority priority = PRIORITIES[pick(random, PRIORITY_WEIGHTS)];
+
+        LocalDateTime scheduledAt = random.nextDouble() < 0.03
+                ? createdAt.plusSeconds(60 + random.nextLong(6 * 3600)) : null;
+        LocalDateTime dueAt = scheduledAt != null ? scheduledAt : createdAt;
+        long ageMillis = ChronoUnit.MILLIS.between(dueAt, now);
+        SmsMessage.SmsStatus status = ageMillis < 0 ? SmsMessage.SmsStatus.PENDING
+                : STATUSES[pick(random, ageMillis < 60_000 ? STATUS_LAST_MINUTE
+                        : ageMillis < 3_600_000 ? STATUS_LAST_HOUR : STATUS_SETTLED)];
+
+        LocalDateTime sentAt = null;
+        LocalDateTime deliveredAt = null;
+        if (status == SmsMessage.SmsStatus.SENT || status == SmsMessage.SmsStatus.DELIVERED
+                || status == SmsMessage.SmsStatus.FAILED) {
+            sentAt = dueAt.plus(logNormal(random, 400, 0.8), ChronoUnit.MILLIS);
+        }
+        if (status == SmsMessage.SmsStatus.DELIVERED) {
+            deliveredAt = sentAt.plus(logNormal(random, 2500, 0.6), ChronoUnit.MILLIS);
+        }
+        LocalDateTime updatedAt = deliveredAt != null ? deliveredAt : sentAt != null ? sentAt : createdAt;
+
+        String sender = random.nextDouble() < 0.6
+                ? ALPHA_SENDERS[random.nextInt(ALPHA_SENDERS.length)]
+                : "+1800" + (1_000_000 + random.nextInt(9_000_000));
+        String recipient = "+9665" + (10_000_000 + random.nextInt(90_000_000));
+        String content = String.format(TEMPLATES[random.nextInt(TEMPLATES.length)], random.nextInt(1_000_000));
+
+        return new Object[] {
+                "SEED-" + runTag + "-" + Long.toString(index, 36).toUpperCase(), operatorId, sender, recipient, content,
+                status, priority, scheduledAt, sentAt, deliveredAt, createdAt, updatedAt
+        };
+    }
+
+    // Zipf-like operator mix over the active operators
+    private static double[] operatorWeights(int operators) {
+        double[] weights = new double[operators];
+        double total = 0;
+        for (int rank = 1; rank <= operators; rank++) {
+            weights[rank - 1] = 1.0 / Math.pow(rank, 1.1);
+            total += weights[rank - 1];
+        }
+        for (int i = 0; i < operators; i++) {
+            weights[i] /= total;
+        }
+        return weights;
+    }
+
+    private static int pick(SplittableRandom random, double[] weights) {
+        double target = random.nextDouble();
+        for (int i = 0; i < weights.length; i++) {
+            target -= weights[i];
+            if (target < 0) {
+                return i;
+            }
+        }
+        return weights.length - 1;
+    }
+
+    private static long logNormal(SplittableRandom random, double median, double sigma) {
+        return Math.max(1L, Math.round(median * Math.exp(sigma * random.nextGaussian())));
+    }
+
+    private void write(List<Object[]> rows, boolean loadData) {
+        List<Object[]> messageIds = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            messageIds.add(new Object[] {row[0], Timestamp.valueOf((LocalDateTime) row[10])});
+        }
+        jdbcTemplate.batchUpdate(MESSAGE_ID_SQL, messageIds);
+        if (loadData) {
+            loadDataInfile(rows);
+            return;
+        }
+        List<Object[]> parameters = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            Object[] values = row.clone();
+            values[5] = ((SmsMessage.SmsStatus) row[5]).name();
+            values[6] = ((SmsMessage.SmsPriority) row[6]).name();
+            for (int column = 7; column <= 11; column++) {
+                values[column] = row[column] != null ? Timestamp.valueOf((LocalDateTime) row[column]) : null;
+            }
+            parameters.add(values);
+        }
+        // rewriteBatchedStatements turns the batch into multi-row INSERTs
+        jdbcTemplate.batchUpdate(INSERT_SQL, parameters);
+    }
+
+    /**
+     * Stream rows through LOAD DATA LOCAL INFILE; needs allowLoadLocalInfile=true on the JDBC URL
+     * and local_infile enabled on the server
+     */
+    private void loadDataInfile(List<Object[]> rows) {
+        ByteArrayOutputStream tsv = new ByteArrayOutputStream(rows.size() * 160);
+        StringBuilder line = new StringBuilder(256);
+        for (Object[] row : rows) {
+            line.setLength(0);
+            for (int column = 0; column < row.length; column++) {
+                if (column > 0) {
+                    line.append('\t');
+                }
+                Object value = row[column];
+                if (value == null) {
+                    line.append("\\N");
+                } else if (value instanceof LocalDateTime) {
+                    // Timestamps are sent in UTC; the session time zone is pinned to UTC below
+                    line.append(SQL_TIMESTAMP.format(((LocalDateTime) value)
+                            .atZone(ZoneId.systemDefault()).withZoneSameInstant(ZoneOffset.UTC)));
+                } else {
+                    line.append(value);
+                }
+            }
+            line.append('\n');
+            tsv.writeBytes(line.toString().getBytes(StandardCharsets.UTF_8));
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (Statement statement = connection.createStatement()) {
+                String sessionZone;
+                try (ResultSet rs = statement.executeQuery("SELECT @@session.time_zone")) {
+                    rs.next();
+                    sessionZone = rs.getString(1);
+                }
+                statement.execute("SET time_zone = '+00:00'");
+                try {
+                    statement.unwrap(JdbcStatement.class).setLocalInfileInputStream(new ByteArrayInputStream(tsv.toByteArray()));
+                    return statement.executeUpdate(LOAD_DATA_SQL);
+                } finally {
+                    // Pooled connection: restore the session time zone for the next borrower
+                    try (Statement reset = connection.createStatement()) {
+                        reset.execute("SET time_zone = '" + sessionZone.replace("'", "") + "'");
+                    }
+                }
+            }
+        });
+    }
+
+    private record RollupCount(LocalDateTime minute, Long operatorId, SmsMessage.SmsStatus status,
+                               SmsMessage.SmsPriority priority) {}
+
+    private static final class HourChunk {
+        private final LocalDateTime hourStart;
+        private final long rows;
+        private final long firstRow;
+        private final SplittableRandom random;
+
+        private HourChunk(LocalDateTime hourStart, long rows, long firstRow, SplittableRandom random) {
+            this.hourStart = hourStart;
+            this.rows = rows;
+            this.firstRow = firstRow;
+            this.random = random;
+        }
+    }
+
+    /**
+     * Seed Configuration
+     */
+    public static class SeedConfig {
+        public static final String MODE_BATCH = "batch";
+        public static final String MODE_LOAD_DATA = "load-data";
+
+        private long rows = 1_000_000L;
+        private int days = 30;
+        private double growth = 1.0;
+        private int parallelism = 4;
+        private int batchSize = 5000;
+        private String mode = MODE_BATCH;
+        private Long seed;
+
+        // Getters and Setters
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public int getDays() { return days; }
+        public void setDays(int days) { this.days = days; }
+
+        public double getGrowth() { return growth; }
+        public void setGrowth(double growth) { this.growth = growth; }
+
+        public int getParallelism() { return parallelism; }
+        public void setParallelism(int parallelism) { this.parallelism = parallelism; }
+
+        public int getBatchSize() { return batchSize; }
+        public void setBatchSize(int batchSize) { this.batchSize = batchSize; }
+
+        public String getMode() { return mode; }
+        public void setMode(String mode) { this.mode = mode; }
+
+        public Long getSeed() { return seed; }
+        public void setSeed(Long seed) { this.seed = seed; }
+    }
+
+    /**
+     * Seed Result DTO
+     */
+    public static class SeedResult {
+        private long rows;
+        private int hours;
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private long seed;
+        private long durationMs;
+        private double rowsPerSecond;
+
+        // Getters and Setters
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public int getHours() { return hours; }
+        public void setHours(int hours) { this.hours = hours; }
+
+        public LocalDateTime getStartDate() { return startDate; }
+        public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+        public LocalDateTime getEndDate() { return endDate; }
+        public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+
+        public long getSeed() { return seed; }
+        public void setSeed(long seed) { this.seed = seed; }
+
+        public long getDurationMs() { return durationMs; }
+        public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+
+        public double getRowsPerSecond() { return rowsPerSecond; }
+        public void setRowsPerSecond(double rowsPerSecond) { this.rowsPerSecond = rowsPerSecond; }
+    }
+}
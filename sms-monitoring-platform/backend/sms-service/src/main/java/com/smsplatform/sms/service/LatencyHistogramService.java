@@ -0,0 +1,216 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.LatencyPercentilesDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageRollup;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency Histogram Service
+ * 
+ * Records end-to-end delivery latency distributions per stage (submit->sent,
+ * sent->delivered, submit->delivered), operator and priority. Each key owns an
+ * HdrHistogram {@link Recorder} for wait-free recording on dispatch threads; a
+ * scheduled rollover swaps out the interval histogram so percentiles describe
+ * the last completed interval as well as the service lifetime. The same samples
+ * feed Micrometer timers with percentile histograms for Prometheus.
+ */
+@Service
+public class LatencyHistogramService {
+
+    private static final int SIGNIFICANT_DIGITS = 3;
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentHashMap<HistogramKey, LatencyRecorder> recorders = new ConcurrentHashMap<>();
+
+    @Autowired
+    public LatencyHistogramService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Record stage latencies from a committed status transition
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        if (event.getNewStatus() == SmsMessage.SmsStatus.SENT) {
+            record(LatencyStage.SUBMIT_TO_SENT, event, event.getCreatedAt(), event.getSentAt());
+        } else if (event.getNewStatus() == SmsMessage.SmsStatus.DELIVERED) {
+            record(LatencyStage.SENT_TO_DELIVERED, event, event.getSentAt(), event.getDeliveredAt());
+            record(LatencyStage.SUBMIT_TO_DELIVERED, event, event.getCreatedAt(), event.getDeliveredAt());
+        }
+    }
+
+    private void record(LatencyStage stage, SmsStatusTransitionEvent event, LocalDateTime from, LocalDateTime to) {
+        if (from == null || to == null || event.getPriority() == null) {
+            return;
+        }
+        long millis = Duration.between(from, to).toMillis();
+        if (millis < 0) {
+            return;
+        }
+        long operatorId = event.getOperatorId() != null ? event.getOperatorId() : SmsMessageRollup.NO_OPERATOR;
+        recorderFor(new HistogramKey(stage, operatorId, event.getPriority())).record(millis);
+    }
+
+    private LatencyRecorder recorderFor(HistogramKey key) {
+        LatencyRecorder recorder = recorders.get(key);
+        if (recorder == null) {
+            recorder = recorders.computeIfAbsent(key, this::createRecorder);
+        }
+        return recorder;
+    }
+
+    private LatencyRecorder createRecorder(HistogramKey key) {
+        Timer timer = Timer.builder("sms.delivery.latency")
+                .description("End-to-end delivery latency by stage")
+                .tag("stage", key.stage().getTagValue())
+                .tag("operator", String.valueOf(key.operatorId()))
+                .tag("priority", key.priority().name())
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(10))
+                .maximumExpectedValue(Duration.ofMinutes(10))
+                .register(meterRegistry);
+        return new LatencyRecorder(timer);
+    }
+
+    /**
+     * Scheduled task to roll interval histograms over
+     */
+    @Scheduled(fixedRateString = "${sms.platform.statistics.latency.interval-ms:60000}")
+    public void rollover() {
+        LocalDateTime now = LocalDateTime.now();
+        recorders.values().forEach(recorder -> recorder.rollover(now));
+    }
+
+    /**
+     * Get percentiles per stage, operator and priority; null filters match everything
+     */
+    public List<LatencyPercentilesDto> getPercentiles(LatencyStage stage, Long operatorId,
+                                                      SmsMessage.SmsPriority priority, boolean cumulative) {
+        List<LatencyPercentilesDto> result = new ArrayList<>();
+        recorders.forEach((key, recorder) -> {
+            if ((stage == null || key.stage() == stage)
+                    && (operatorId == null || key.operatorId() == operatorId)
+                    && (priority == null || key.priority() == priority)) {
+                result.add(recorder.toDto(key, cumulative));
+            }
+        });
+        result.sort(Comparator.comparing(LatencyPercentilesDto::getStage)
+                .thenComparing(LatencyPercentilesDto::getOperatorId)
+                .thenComparing(LatencyPercentilesDto::getPriority));
+        return result;
+    }
+
+    /**
+     * Get percentiles for one stage and operator merged across priorities
+     */
+    public LatencyPercentilesDto getAggregatedPercentiles(LatencyStage stage, long operatorId, boolean cumulative) {
+        Histogram merged = new Histogram(SIGNIFICANT_DIGITS);
+        LocalDateTime[] interval = new LocalDateTime[2];
+        recorders.forEach((key, recorder) -> {
+            if (key.stage() == stage && key.operatorId() == operatorId) {
+                recorder.addTo(merged, cumulative, interval);
+            }
+        });
+        return toDto(merged, stage, operatorId, null, cumulative ? null : interval[0], interval[1]);
+    }
+
+    private static LatencyPercentilesDto toDto(Histogram histogram, LatencyStage stage, long operatorId,
+                                               SmsMessage.SmsPriority priority,
+                                               LocalDateTime intervalStart, LocalDateTime intervalEnd) {
+        LatencyPercentilesDto dto = new LatencyPercentilesDto();
+        dto.setStage(stage.name());
+        dto.setOperatorId(operatorId);
+        dto.setPriority(priority);
+        dto.setIntervalStart(intervalStart);
+        dto.setIntervalEnd(intervalEnd);
+        dto.setCount(histogram.getTotalCount());
+        dto.setP50(histogram.getValueAtPercentile(50.0));
+        dto.setP90(histogram.getValueAtPercentile(90.0));
+        dto.setP99(histogram.getValueAtPercentile(99.0));
+        dto.setP999(histogram.getValueAtPercentile(99.9));
+        dto.setMax(histogram.getMaxValue());
+        dto.setMean(histogram.getTotalCount() > 0 ? histogram.getMean() : 0.0);
+        return dto;
+    }
+
+    /**
+     * Delivery Latency Stage Enumeration
+     */
+    public enum LatencyStage {
+        SUBMIT_TO_SENT("submit_to_sent"),
+        SENT_TO_DELIVERED("sent_to_delivered"),
+        SUBMIT_TO_DELIVERED("submit_to_delivered");
+
+        private final String tagValue;
+
+        LatencyStage(String tagValue) {
+            this.tagValue = tagValue;
+        }
+
+        public String getTagValue() {
+            return tagValue;
+        }
+    }
+
+    private record HistogramKey(LatencyStage stage, long operatorId, SmsMessage.SmsPriority priority) {}
+
+    /**
+     * Recorder plus the last completed interval and the lifetime accumulation
+     */
+    private static final class LatencyRecorder {
+        private final Recorder recorder = new Recorder(SIGNIFICANT_DIGITS);
+        private final Histogram cumulative = new Histogram(SIGNIFICANT_DIGITS);
+        private final Timer timer;
+        private Histogram spare;
+        private volatile Histogram lastInterval = recorder.getIntervalHistogram();
+        private volatile LocalDateTime intervalStart = LocalDateTime.now();
+        private volatile LocalDateTime intervalEnd = intervalStart;
+
+        private LatencyRecorder(Timer timer) {
+            this.timer = timer;
+        }
+
+        void record(long millis) {
+            recorder.recordValue(millis);
+            timer.record(millis, TimeUnit.MILLISECONDS);
+        }
+
+        synchronized void rollover(LocalDateTime now) {
+            Histogram interval = recorder.getIntervalHistogram(spare);
+            cumulative.add(interval);
+            spare = lastInterval;
+            intervalStart = intervalEnd;
+            intervalEnd = now;
+            lastInterval = interval;
+        }
+
+        synchronized LatencyPercentilesDto toDto(HistogramKey key, boolean useCumulative) {
+            return LatencyHistogramService.toDto(useCumulative ? cumulative : lastInterval,
+                    key.stage(), key.operatorId(), key.priority(), useCumulative ? null : intervalStart, intervalEnd);
+        }
+
+        synchronized void addTo(Histogram target, boolean useCumulative, LocalDateTime[] interval) {
+            target.add(useCumulative ? cumulative : lastInterval);
+            interval[0] = intervalStart;
+            interval[1] = intervalEnd;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.metrics.TestRunRecorder;
+import com.smsplatform.sms.model.SmsMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Load Generator Service
+ * 
+ * Drives the real ingest -> persist -> dispatch pipeline with concurrent
+ * clients calling {@link SmsMessageService#createMessage}. Two workload models:
+ * - closed: N clients each submit back-to-back until the message count is reached
+ * - open: messages arrive at a fixed rate regardless of how fast the stack
+ *   responds, and latency is measured from the intended send time, so time a
+ *   request spends waiting for a free client counts (coordinated omission)
+ * Optionally waits for every message to reach a terminal status and reports
+ * submit-to-terminal latency from the status transition events.
+ */
+@Service
+public class LoadGeneratorService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadGeneratorService.class);
+
+    /** Sender number of load test traffic, so it can be told apart from real messages */
+    public static final String LOAD_TEST_SENDER = "LOADTEST";
+
+    private final SmsMessageService smsMessageService;
+
+    // Message id (messageId, generated before submitting) -> intended start nanos for runs waiting on delivery
+    private final ConcurrentHashMap<String, Long> awaitingTerminal = new ConcurrentHashMap<>();
+    private volatile TestRunRecorder deliveryRecorder;
+    private final AtomicLong awaitingCount = new AtomicLong();
+
+    @Value("${sms.platform.load-test.max-concurrent-users:500}")
+    private int maxConcurrentUsers;
+
+    @Autowired
+    public LoadGeneratorService(SmsMessageService smsMessageService) {
+        this.smsMessageService = smsMessageService;
+    }
+
+    /**
+     * Run a load test against the real pipeline; one run at a time
+     */
+    public NetworkSimulationService.LoadTestResult runLoadTest(LoadTestConfig config) {
+        return runLoadTest(config, recorder -> { });
+    }
+
+    /**
+     * Run a load test, handing the recorder that backs the headline figures
+     * (terminal latency when waiting for delivery, ingest latency otherwise)
+     * to onStart so progress can be sampled while the run is in flight
+     */
+    public synchronized NetworkSimulationService.LoadTestResult runLoadTest(LoadTestConfig config,
+                                                                           Consumer<TestRunRecorder> onStart) {
+        int users = Math.max(1, Math.min(config.getConcurrentUsers(), maxConcurrentUsers));
+        int count = Math.max(0, config.getMessageCount());
+        boolean openModel = config.getArrivalRate() > 0;
+
+        TestRunRecorder ingestRecorder = new TestRunRecorder();
+        TestRunRecorder terminalRecorder = config.isWaitForDelivery() ? new TestRunRecorder() : null;
+        deliveryRecorder = terminalRecorder;
+        awaitingTerminal.clear();
+        awaitingCount.set(0);
+        onStart.accept(terminalRecorder != null ? terminalRecorder : ingestRecorder);
+
+        // Platform threads stand in for virtual-thread clients until the service targets Java 21
+        ExecutorService clients = Executors.newFixedThreadPool(users, runnable -> {
+            Thread thread = new Thread(runnable);
+            thread.setName("load-client-" + thread.getId());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long runStart = System.nanoTime();
+        long ingestNanos = -1;
+        try {
+            if (openModel) {
+                long periodNanos = (long) (1_000_000_000L / config.getArrivalRate());
+                for (int i = 0; i < count && !Thread.currentThread().isInterrupted(); i++) {
+                    long intendedStart = runStart + i * periodNanos;
+                    long wait = intendedStart - System.nanoTime();
+                    if (wait > 0) {
+                        LockSupport.parkNanos(wait);
+                    }
+                    int index = i;
+                    clients.execute(() -> submit(config, index, intendedStart, ingestRecorder));
+                }
+            } else {
+                AtomicInteger next = new AtomicInteger();
+                for (int u = 0; u < users; u++) {
+                    clients.execute(() -> {
+                        int index;
+                        while ((index = next.getAndIncrement()) < count && !Thread.currentThread().isInterrupted()) {
+                            submit(config, index, System.nanoTime(), ingestRecorder);
+                        }
+                    });
+                }
+            }
+            clients.shutdown();
+            clients.awaitTermination(config.getTimeoutSeconds(), TimeUnit.SECONDS);
+            ingestNanos = System.nanoTime() - runStart;
+
+            if (terminalRecorder != null) {
+                long deadline = runStart + TimeUnit.SECONDS.toNanos(config.getTimeoutSeconds());
+                while (awaitingCount.get() > 0 && System.nanoTime() < deadline) {
+                    Thread.sleep(50);
+                }
+            }
+        } catch (InterruptedException e) {
+            // Cancelled: return the partial result recorded so far; the interrupt flag tells the caller
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.shutdownNow();
+            deliveryRecorder = null;
+            awaitingTerminal.clear();
+        }
+
+        long totalNanos = System.nanoTime() - runStart;
+        return buildResult(config, users, ingestRecorder, terminalRecorder,
+                ingestNanos >= 0 ? ingestNanos : totalNanos, totalNanos);
+    }
+
+    private void submit(LoadTestConfig config, int index, long intendedStart, TestRunRecorder ingestRecorder) {
+        SmsMessageDto message = new SmsMessageDto();
+        message.setSenderNumber(LOAD_TEST_SENDER);
+        message.setRecipientNumber(String.format("+1555%07d", index % 10_000_000));
+        message.setMessageContent("Load test message " + index);
+        message.setPriority(config.getPriority());
+        List<Long> operatorIds = config.getOperatorIds();
+        if (operatorIds != null && !operatorIds.isEmpty()) {
+            message.setOperatorId(operatorIds.get(index % operatorIds.size()));
+        }
+
+        // Registered before submitting: dispatch may reach a terminal status before createMessage returns
+        String messageId = SmsMessageService.generateMessageId();
+        message.setMessageId(messageId);
+        boolean awaiting = deliveryRecorder != null;
+        if (awaiting) {
+            awaitingCount.incrementAndGet();
+            awaitingTerminal.put(messageId, intendedStart);
+        }
+
+        try {
+            smsMessageService.createMessage(message);
+            ingestRecorder.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedStart), true);
+        } catch (RuntimeException e) {
+            if (awaiting && awaitingTerminal.remove(messageId) != null) {
+                awaitingCount.decrementAndGet();
+            }
+            ingestRecorder.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedStart), false);
+            logger.debug("Load test submission {} failed: {}", index, e.getMessage());
+        }
+    }
+
+    /**
+     * Record submit-to-terminal latency for messages created by the running test
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        TestRunRecorder recorder = deliveryRecorder;
+        if (recorder == null || event.getNewStatus() == null || !isTerminal(event.getNewStatus())) {
+            return;
+        }
+        Long intendedStart = awaitingTerminal.remove(event.getMessageId());
+        if (intendedStart != null) {
+            recorder.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedStart),
+                    event.getNewStatus() == SmsMessage.SmsStatus.DELIVERED);
+            awaitingCount.decrementAndGet();
+        }
+    }
+
+    private static boolean isTerminal(SmsMessage.SmsStatus status) {
+        return status == SmsMessage.SmsStatus.DELIVERED
+                || status == SmsMessage.SmsStatus.FAILED
+                || status == SmsMessage.SmsStatus.EXPIRED;
+    }
+
+    private NetworkSimulationService.LoadTestResult buildResult(LoadTestConfig config, int users,
+                                                               TestRunRecorder ingestRecorder,
+                                                               TestRunRecorder terminalRecorder,
+                                                               long ingestNanos, long totalNanos) {
+        NetworkSimulationService.LoadTestResult result = new NetworkSimulationService.LoadTestResult();
+        TestRunRecorder primary = terminalRecorder != null ? terminalRecorder : ingestRecorder;
+        result.applyRecorder(primary);
+        result.setConcurrentUsers(users);
+        result.setWorkloadModel(config.getArrivalRate() > 0 ? "open" : "closed");
+        result.setTargetArrivalRate(config.getArrivalRate());
+        result.setTotalDuration(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        result.setThroughput(primary.getTotalCount() / Math.max(0.001, totalNanos / 1_000_000_000.0));
+
+        result.setSubmittedMessages((int) ingestRecorder.getTotalCount());
+        result.setIngestFailures(ingestRecorder.getFailureCount());
+        result.setIngestThroughput(ingestRecorder.getTotalCount() / Math.max(0.001, ingestNanos / 1_000_000_000.0));
+        result.setIngestP50Latency(ingestRecorder.getValueAtPercentile(50.0));
+        result.setIngestP99Latency(ingestRecorder.getValueAtPercentile(99.0));
+        if (terminalRecorder != null) {
+            result.setTimedOutMessages((int) Math.max(0, awaitingCount.get()));
+        }
+        return result;
+    }
+
+    /**
+     * Load Test Configuration
+     */
+    public static class LoadTestConfig {
+        private int messageCount = 1000;
+        private int concurrentUsers = 10;
+        private double arrivalRate;
+        private boolean waitForDelivery = true;
+        private int timeoutSeconds = 120;
+        private SmsMessage.SmsPriority priority = SmsMessage.SmsPriority.NORMAL;
+        private List<Long> operatorIds = new ArrayList<>();
+
+        // Getters and Setters
+        public int getMessageCount() { return messageCount; }
+        public void setMessageCount(int messageCount) { this.messageCount = messageCount; }
+
+        public int getConcurrentUsers() { return concurrentUsers; }
+        public void setConcurrentUsers(int concurrentUsers) { this.concurrentUsers = concurrentUsers; }
+
+        public double getArrivalRate() { return arrivalRate; }
+        public void setArrivalRate(double arrivalRate) { this.arrivalRate = arrivalRate; }
+
+        public boolean isWaitForDelivery() { return waitForDelivery; }
+        public void setWaitForDelivery(boolean waitForDelivery) { this.waitForDelivery = waitForDelivery; }
+
+        public int getTimeoutSeconds() { return timeoutSeconds; }
+        public void setTimeoutSeconds(int timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
+
+        public SmsMessage.SmsPriority getPriority() { return priority; }
+        public void setPriority(SmsMessage.SmsPriority priority) { this.priority = priority; }
+
+        public List<Long> getOperatorIds() { return operatorIds; }
+        public void setOperatorIds(List<Long> operatorIds) { this.operatorIds = operatorIds; }
+    }
+}
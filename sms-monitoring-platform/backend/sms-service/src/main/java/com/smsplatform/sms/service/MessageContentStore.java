@@ -0,0 +1,213 @@
+package com.smsplatform.sms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageContent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.EmptyResultDataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Message Content Store
+ *
+ * Content-addressed storage of message bodies for campaign traffic, where the
+ * same text goes to many recipients. An in-memory LRU counts recent sightings
+ * of each content hash; once a text repeats it is written once to
+ * sms_message_contents and later messages only carry its id, so ingest of a
+ * running campaign does no lookup at all. One-off texts (codes, personalised
+ * notices) stay inline in sms_messages, where a shared row would only add a
+ * join. Resolved contents are cached by id, so reading a campaign's messages
+ * back costs one query per distinct text.
+ */
+@Service
+public class MessageContentStore {
+
+    private static final String INSERT_SQL =
+            "INSERT IGNORE INTO sms_message_contents (content_hash, encoding, content, created_at) VALUES (?, ?, ?, ?)";
+
+    private static final String SELECT_ID_SQL = "SELECT id FROM sms_message_contents WHERE content_hash = ?";
+
+    private static final String SELECT_CONTENT_SQL = "SELECT encoding, content FROM sms_message_contents WHERE id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate insertTransaction;
+
+    // Content id once interned, otherwise minus the number of sightings
+    private final Cache<ContentHash, Long> recentHashes;
+    private final Cache<Long, String> contents;
+
+    @Value("${sms.platform.content-dedup.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sms.platform.content-dedup.min-repeats:2}")
+    private int minRepeats;
+
+    @Value("${sms.platform.content-dedup.min-bytes:64}")
+    private int minBytes;
+
+    @Value("${sms.platform.content-dedup.compress-min-bytes:256}")
+    private int compressMinBytes;
+
+    @Autowired
+    public MessageContentStore(JdbcTemplate jdbcTemplate,
+                               PlatformTransactionManager transactionManager,
+                               MeterRegistry meterRegistry,
+                               @Value("${sms.platform.content-dedup.recent-hashes:100000}") long recentHashesSize,
+                               @Value("${sms.platform.content-dedup.cached-contents:10000}") long cachedContentsSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        // Committed on its own, so a content id is never cached for a row that a rolled-back message inserted
+        this.insertTransaction = new TransactionTemplate(transactionManager);
+        this.insertTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.recentHashes = Caffeine.newBuilder().maximumSize(recentHashesSize).build();
+        this.contents = Caffeine.newBuilder().maximumSize(cachedContentsSize).recordStats().build();
+        CaffeineCacheMetrics.monitor(meterRegistry, contents, "sms_message_contents");
+    }
+
+    /**
+     * Point a new message at shared content when its text repeats; leaves messageContent in place
+     */
+    public void intern(SmsMessage message) {
+        String content = message.getMessageContent();
+        if (!enabled || content == null || message.getContentId() != null) {
+            return;
+        }
+        byte[] utf8 = content.getBytes(StandardCharsets.UTF_8);
+        if (utf8.length < minBytes) {
+            return;
+        }
+        byte[] hash = sha256(utf8);
+        ContentHash key = ContentHash.of(hash);
+        long state = recentHashes.asMap().merge(key, -1L, (seen, one) -> seen > 0 ? seen : seen + one);
+        if (state < 0 && -state < minRepeats) {
+            return;
+        }
+        if (state < 0) {
+            state = store(hash, utf8);
+            recentHashes.put(key, state);
+            contents.put(state, content);
+        }
+        message.setContentId(state);
+    }
+
+    /**
+     * Fill in messageContent of a message loaded with a content id
+     */
+    public SmsMessage resolve(SmsMessage message) {
+        if (message.getMessageContent() == null && message.getContentId() != null) {
+            message.setMessageContent(getContent(message.getContentId()));
+        }
+        return message;
+    }
+
+    /**
+     * Shared content by id, null when there is no such row
+     */
+    public String getContent(long contentId) {
+        return contents.get(contentId, this::load);
+    }
+
+    private String load(Long contentId) {
+        try {
+            return jdbcTemplate.queryForObject(SELECT_CONTENT_SQL, (rs, rowNum) -> decode(
+                    SmsMessageContent.Encoding.valueOf(rs.getString(1)), rs.getBytes(2)), contentId);
+        } catch (EmptyResultDataAccessException e) {
+            return null;
+        }
+    }
+
+    private long store(byte[] hash, byte[] utf8) {
+        SmsMessageContent.Encoding encoding = SmsMessageContent.Encoding.UTF8;
+        byte[] stored = utf8;
+        if (utf8.length >= compressMinBytes) {
+            byte[] deflated = deflate(utf8);
+            if (deflated.length < utf8.length) {
+                encoding = SmsMessageContent.Encoding.DEFLATE;
+                stored = deflated;
+            }
+        }
+        SmsMessageContent.Encoding storedEncoding = encoding;
+        byte[] storedBytes = stored;
+        return insertTransaction.execute(status -> {
+            // Another instance may have interned the same text first; either way the row now exists
+            jdbcTemplate.update(INSERT_SQL, hash, storedEncoding.name(), storedBytes, Timestamp.valueOf(LocalDateTime.now()));
+            return jdbcTemplate.queryForObject(SELECT_ID_SQL, Long.class, (Object) hash);
+        });
+    }
+
+    private static byte[] sha256(byte[] bytes) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(bytes);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private static byte[] deflate(byte[] bytes) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(bytes);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length);
+            byte[] buffer = new byte[1024];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static String decode(SmsMessageContent.Encoding encoding, byte[] bytes) {
+        if (encoding == SmsMessageContent.Encoding.UTF8) {
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(bytes);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(bytes.length * 4);
+            byte[] buffer = new byte[1024];
+            while (!inflater.finished()) {
+                int read = inflater.inflate(buffer);
+                if (read == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IllegalStateException("Truncated message content");
+                }
+                out.write(buffer, 0, read);
+            }
+            return out.toString(StandardCharsets.UTF_8);
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt message content", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    /**
+     * SHA-256 as a compact map key
+     */
+    private record ContentHash(long h0, long h1, long h2, long h3) {
+        static ContentHash of(byte[] hash) {
+            ByteBuffer buffer = ByteBuffer.wrap(hash);
+            return new ContentHash(buffer.getLong(), buffer.getLong(), buffer.getLong(), buffer.getLong());
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package com.smsplatform.sms.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.model.SmsMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Message Export Service
+ *
+ * Streams messages of a created_at range (optionally one status) as NDJSON or
+ * CSV, optionally gzip-compressed. Archived rows of the range are written
+ * first, slice by slice, then live rows are read through a forward-only
+ * MySQL streaming cursor and written as they arrive, so memory use does not
+ * depend on the size of the export: no entities, no persistence context and
+ * no result list. The cursor holds a database connection until the export
+ * finishes; a client that stops reading for longer than the server's
+ * net_write_timeout aborts the export.
+ */
+@Service
+public class MessageExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageExportService.class);
+
+    private static final String[] COLUMNS = {
+            "id", "message_id", "operator_id", "sender_number", "recipient_number", "message_content", "status",
+            "priority", "scheduled_at", "sent_at", "delivered_at", "created_at", "updated_at"
+    };
+
+    private static final String SELECT_SQL =
+            "SELECT " + String.join(", ", COLUMNS) + ", content_id FROM sms_messages WHERE created_at >= ? AND created_at < ?";
+
+    public enum Format { NDJSON, CSV }
+
+    private final JdbcTemplate streamingJdbcTemplate;
+    private final ArchiveService archiveService;
+    private final ObjectMapper objectMapper;
+    private final MessageContentStore messageContentStore;
+
+    @Value("${sms.platform.export.buffer-bytes:65536}")
+    private int bufferBytes;
+
+    @Autowired
+    public MessageExportService(DataSource dataSource, ArchiveService archiveService, ObjectMapper objectMapper,
+                                MessageContentStore messageContentStore) {
+        this.archiveService = archiveService;
+        this.objectMapper = objectMapper;
+        this.messageContentStore = messageContentStore;
+        // MySQL Connector/J streams rows one at a time only with fetch size Integer.MIN_VALUE
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Write messages with from <= created_at < to (and the given status, any when null); returns the row count
+     */
+    public long export(LocalDateTime from, LocalDateTime to, SmsMessage.SmsStatus status, Format format,
+                       boolean gzip, OutputStream target) throws IOException {
+        long started = System.currentTimeMillis();
+        OutputStream out = gzip ? new GZIPOutputStream(target, bufferBytes) : target;
+        RowWriter writer = format == Format.CSV ? new CsvRowWriter(out, bufferBytes) : new NdjsonRowWriter(out);
+
+        long[] rows = {0};
+        try {
+            archiveService.forEachMessage(from, to, status, message -> {
+                writer.write(message);
+                rows[0]++;
+            });
+
+            List<Object> args = new ArrayList<>(List.of(Timestamp.valueOf(from), Timestamp.valueOf(to)));
+            String sql = SELECT_SQL;
+            if (status != null) {
+                sql += " AND status = ?";
+                args.add(status.name());
+            }
+            // Ordered so the export reads like the archive part; served by idx_sms_created_at / idx_sms_status
+            streamingJdbcTemplate.query(sql + " ORDER BY created_at, id", rs -> {
+                writer.write(messageContentStore.resolve(toMessage(rs)));
+                rows[0]++;
+            }, args.toArray());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.finish();
+        if (gzip) {
+            ((GZIPOutputStream) out).finish();
+        }
+        out.flush();
+        logger.info("Exported {} messages ({} - {}, status {}) as {}{} in {} ms", rows[0], from, to,
+                status != null ? status : "any", format, gzip ? "+gzip" : "", System.currentTimeMillis() - started);
+        return rows[0];
+    }
+
+    private static SmsMessage toMessage(ResultSet rs) throws SQLException {
+        SmsMessage message = new SmsMessage();
+        message.setId(rs.getLong(1));
+        message.setMessageId(rs.getString(2));
+        long operatorId = rs.getLong(3);
+        message.setOperatorId(rs.wasNull() ? null : operatorId);
+        message.setSenderNumber(rs.getString(4));
+        message.setRecipientNumber(rs.getString(5));
+        message.setMessageContent(rs.getString(6));
+        long contentId = rs.getLong(14);
+        message.setContentId(rs.wasNull() ? null : contentId);
+        message.setStatus(SmsMessage.SmsStatus.valueOf(rs.getString(7)));
+        message.setPriority(SmsMessage.SmsPriority.valueOf(rs.getString(8)));
+        message.setScheduledAt(toLocalDateTime(rs.getTimestamp(9)));
+        message.setSentAt(toLocalDateTime(rs.getTimestamp(10)));
+        message.setDeliveredAt(toLocalDateTime(rs.getTimestamp(11)));
+        message.setCreatedAt(toLocalDateTime(rs.getTimestamp(12)));
+        message.setUpdatedAt(toLocalDateTime(rs.getTimestamp(13)));
+        return message;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+
+    private static String format(LocalDateTime time) {
+        return time != null ? time.toString() : null;
+    }
+
+    /**
+     * Incremental writer of one export format; IO failures surface as UncheckedIOException
+     */
+    private interface RowWriter {
+        void write(SmsMessage message);
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * One JSON object per line, field names as in the message API
+     */
+    private class NdjsonRowWriter implements RowWriter {
+        private final JsonGenerator generator;
+
+        private NdjsonRowWriter(OutputStream out) throws IOException {
+            this.generator = objectMapper.getFactory().createGenerator(out, JsonEncoding.UTF8);
+            // The caller owns the response stream
+            this.generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Objects are separated by the newline written after each one, not by the default space
+            this.generator.setRootValueSeparator(null);
+        }
+
+        @Override
+        public void write(SmsMessage message) {
+            try {
+                generator.writeStartObject();
+                generator.writeNumberField("id", message.getId());
+                generator.writeStringField("messageId", message.getMessageId());
+                if (message.getOperatorId() != null) {
+                    generator.writeNumberField("operatorId", message.getOperatorId());
+                } else {
+                    generator.writeNullField("operatorId");
+                }
+                generator.writeStringField("senderNumber", message.getSenderNumber());
+                generator.writeStringField("recipientNumber", message.getRecipientNumber());
+                generator.writeStringField("messageContent", message.getMessageContent());
+                generator.writeStringField("status", message.getStatus().name());
+                generator.writeStringField("priority", message.getPriority().name());
+                generator.writeStringField("scheduledAt", format(message.getScheduledAt()));
+                generator.writeStringField("sentAt", format(message.getSentAt()));
+                generator.writeStringField("deliveredAt", format(message.getDeliveredAt()));
+                generator.writeStringField("createdAt", format(message.getCreatedAt()));
+                generator.writeStringField("updatedAt", format(message.getUpdatedAt()));
+                generator.writeEndObject();
+                generator.writeRaw('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        public void finish() throws IOException {
+            generator.flush();
+        }
+    }
+
+    /**
+     * RFC 4180 CSV with a header row of the sms_messages column names
+     */
+    private static class CsvRowWriter implements RowWriter {
+        private final Writer writer;
+
+        private CsvRowWriter(OutputStream out, int bufferBytes) throws IOException {
+            this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), bufferBytes);
+            writer.write(String.join(",", COLUMNS));
+            writer.write("\r\n");
+        }
+
+        @Override
+        public void write(SmsMessage message) {
+            try {
+                writer.write(String.valueOf(message.getId()));
+                writeField(message.getMessageId());
+                writeField(message.getOperatorId() != null ? message.getOperatorId().toString() : null);
+                writeField(message.getSenderNumber());
+                writeField(message.getRecipientNumber());
+                writeField(message.getMessageContent());
+                writeField(message.getStatus().name());
+                writeField(message.getPriority().name());
+                writeField(format(message.getScheduledAt()));
+                writeField(format(message.getSentAt()));
+                writeField(format(message.getDeliveredAt()));
+                writeField(format(message.getCreatedAt()));
+                writeField(format(message.getUpdatedAt()));
+                writer.write("\r\n");
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private void writeField(String value) throws IOException {
+            writer.write(',');
+            if (value == null) {
+                return;
+            }
+            if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+                writer.write(value);
+                return;
+            }
+            writer.write('"');
+            writer.write(value.replace("\"", "\"\""));
+            writer.write('"');
+        }
+
+        @Override
+        public void finish() throws IOException {
+            writer.flush();
+        }
+    }
+}
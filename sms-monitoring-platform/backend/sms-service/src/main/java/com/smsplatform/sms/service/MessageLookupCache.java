@@ -0,0 +1,83 @@
+package com.smsplatform.sms.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Message Lookup Cache
+ *
+ * Bounded, TTL-evicting cache of message lookups by id and by messageId, for
+ * clients that poll a message's status right after submitting it. Concurrent
+ * misses for one key share a single load. Every committed status transition
+ * (including creation and deletion) evicts the message from both caches, so
+ * the TTL only bounds staleness across service instances or from a lagging
+ * read replica. Missing messages are not cached. Hit, miss and eviction
+ * counts are published as cache.* meters.
+ */
+@Service
+public class MessageLookupCache {
+
+    private final boolean enabled;
+    private final Cache<Long, SmsMessageDto> byId;
+    private final Cache<String, SmsMessageDto> byMessageId;
+
+    @Autowired
+    public MessageLookupCache(MeterRegistry meterRegistry,
+                              @Value("${sms.platform.cache.message-lookup.enabled:true}") boolean enabled,
+                              @Value("${sms.platform.cache.message-lookup.max-size:100000}") long maxSize,
+                              @Value("${sms.platform.cache.message-lookup.ttl-ms:5000}") long ttlMs) {
+        this.enabled = enabled;
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        this.byMessageId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofMillis(ttlMs))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, byId, "sms_messages_by_id");
+        CaffeineCacheMetrics.monitor(meterRegistry, byMessageId, "sms_messages_by_message_id");
+    }
+
+    public Optional<SmsMessageDto> getById(Long id, Function<Long, Optional<SmsMessageDto>> loader) {
+        if (!enabled || id == null) {
+            return loader.apply(id);
+        }
+        return Optional.ofNullable(byId.get(id, key -> loader.apply(key).orElse(null)));
+    }
+
+    public Optional<SmsMessageDto> getByMessageId(String messageId, Function<String, Optional<SmsMessageDto>> loader) {
+        if (!enabled || messageId == null) {
+            return loader.apply(messageId);
+        }
+        return Optional.ofNullable(byMessageId.get(messageId, key -> loader.apply(key).orElse(null)));
+    }
+
+    /**
+     * Evict a message once its transition has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        // invalidate() waits for an in-flight load of the key, so a load that read the old row cannot outlive it
+        if (event.getId() != null) {
+            byId.invalidate(event.getId());
+        }
+        if (event.getMessageId() != null) {
+            byMessageId.invalidate(event.getMessageId());
+        }
+    }
+}
@@ -0,0 +1,576 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.CursorPageDto;
+import com.smsplatform.sms.dto.MessageCursor;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.repository.SmsMessageRepository;
+import com.smsplatform.sms.search.MessageIndex;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.search.Query;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Message Search Service
+ *
+ * Full-text search over message content with recipient, operator, status and
+ * date filters, answered from a local Lucene index ({@link MessageIndex})
+ * instead of a LIKE scan of message_content. New rows are picked up by tailing
+ * sms_messages by id in batches, so messages written by any instance (or by
+ * the bulk seeder) are indexed; the highest indexed id is committed with the
+ * index and tailing resumes from it after a restart. Ids the tail passes over
+ * (a lower id that commits after a higher one, e.g. parallel seeder batches or
+ * a slow transaction) are kept as gaps and re-scanned on every run until they
+ * are found or expire; gaps are held in memory only. Status changes and
+ * deletes seen by this instance update the index in place, and statuses of
+ * recently updated rows are re-read from the database on a timer so changes
+ * made by other instances reach the index too. The rows of a page are loaded
+ * from the database (or the archive) by id, and the status filter is
+ * re-checked on them, so results never show a stale status; hits dropped by
+ * that check are made up by searching further, for a bounded number of rounds.
+ * A new index also takes in the archived messages.
+ */
+@Service
+public class MessageSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MessageSearchService.class);
+
+    private static final String TAIL_SQL =
+            "SELECT id, recipient_number, operator_id, status, created_at, message_content, content_id FROM sms_messages " +
+            "WHERE id > ? ORDER BY id LIMIT ?";
+
+    private static final String GAP_SQL =
+            "SELECT id, recipient_number, operator_id, status, created_at, message_content, content_id FROM sms_messages " +
+            "WHERE ";
+
+    // Gaps re-scanned by one query, as a disjunction of id ranges
+    private static final int GAPS_PER_QUERY = 100;
+
+    // created_at bounds the scan to recent partitions; updated_at alone has no index
+    private static final String STATUS_REFRESH_SQL =
+            "SELECT id, status FROM sms_messages WHERE created_at >= ? AND updated_at >= ? AND id <= ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final SmsMessageRepository smsMessageRepository;
+    private final ArchiveService archiveService;
+    private final MessageContentStore messageContentStore;
+
+    private final ConcurrentLinkedQueue<SmsStatusTransitionEvent> pendingTransitions = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicLong droppedTransitions = new AtomicLong();
+
+    private volatile MessageIndex index;
+    private volatile long lastId;
+    private volatile boolean indexArchive;
+    private long lastCommitMillis;
+    private LocalDateTime lastStatusRefresh;
+    // Id ranges passed over by the tail, oldest first; only touched under the instance lock
+    private final ArrayDeque<IdGap> gaps = new ArrayDeque<>();
+    private volatile int gapCount;
+    private final AtomicLong expiredGaps = new AtomicLong();
+
+    @Value("${sms.platform.search.enabled:false}")
+    private boolean enabled;
+
+    @Value("${sms.platform.search.directory:search-index}")
+    private String directory;
+
+    @Value("${sms.platform.search.ram-buffer-mb:64}")
+    private double ramBufferMb;
+
+    @Value("${sms.platform.search.batch-size:5000}")
+    private int batchSize;
+
+    @Value("${sms.platform.search.max-batches-per-run:20}")
+    private int maxBatchesPerRun;
+
+    @Value("${sms.platform.search.settle-ms:2000}")
+    private long settleMs;
+
+    @Value("${sms.platform.search.commit-interval-ms:30000}")
+    private long commitIntervalMs;
+
+    @Value("${sms.platform.search.max-pending-transitions:100000}")
+    private int maxPendingTransitions;
+
+    @Value("${sms.platform.search.status-refresh-lookback-hours:24}")
+    private int statusRefreshLookbackHours;
+
+    @Value("${sms.platform.search.max-fetch-rounds:5}")
+    private int maxFetchRounds;
+
+    @Value("${sms.platform.search.gap-retention-ms:600000}")
+    private long gapRetentionMs;
+
+    @Value("${sms.platform.search.max-gaps:100000}")
+    private int maxGaps;
+
+    @Value("${sms.platform.listing.max-page-size:1000}")
+    private int maxPageSize;
+
+    @Autowired
+    public MessageSearchService(JdbcTemplate jdbcTemplate,
+                                SmsMessageRepository smsMessageRepository,
+                                ArchiveService archiveService,
+                                MessageContentStore messageContentStore) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.smsMessageRepository = smsMessageRepository;
+        this.archiveService = archiveService;
+        this.messageContentStore = messageContentStore;
+    }
+
+    /**
+     * Open (or create) the index and read the id it was committed at
+     */
+    @PostConstruct
+    public void openIndex() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Files.createDirectories(Paths.get(directory));
+            MessageIndex opened = new MessageIndex(Paths.get(directory), ramBufferMb);
+            Long committed = opened.getCommittedLastId();
+            lastId = committed != null ? committed : 0L;
+            indexArchive = committed == null;
+            lastCommitMillis = System.currentTimeMillis();
+            index = opened;
+            logger.info("Opened search index at {} with {} messages, resuming after id {}",
+                    Paths.get(directory).toAbsolutePath(), opened.getDocumentCount(), lastId);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot open search index in " + directory, e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void closeIndex() {
+        MessageIndex current = index;
+        if (current == null) {
+            return;
+        }
+        index = null;
+        try {
+            current.commit(lastId);
+            current.close();
+        } catch (IOException e) {
+            logger.warn("Failed to close search index: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Queue a committed status change or delete for the index
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        if (index == null || event.isCreation() || event.getId() == null) {
+            return;
+        }
+        if (pendingCount.incrementAndGet() > maxPendingTransitions) {
+            pendingCount.decrementAndGet();
+            droppedTransitions.incrementAndGet();
+            return;
+        }
+        pendingTransitions.add(event);
+    }
+
+    /**
+     * Scheduled indexing of new rows and queued transitions
+     */
+    @Scheduled(fixedDelayString = "${sms.platform.search.refresh-interval-ms:1000}")
+    public synchronized void updateIndex() {
+        MessageIndex current = index;
+        if (current == null) {
+            return;
+        }
+        try {
+            if (indexArchive) {
+                indexArchive(current);
+                indexArchive = false;
+            }
+            LocalDateTime settled = LocalDateTime.now().minusNanos(settleMs * 1_000_000L);
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                if (!tailBatch(current, settled)) {
+                    break;
+                }
+            }
+            rescanGaps(current);
+            gapCount = gaps.size();
+            applyTransitions(current);
+            current.refresh();
+            if (System.currentTimeMillis() - lastCommitMillis >= commitIntervalMs) {
+                current.commit(lastId);
+                lastCommitMillis = System.currentTimeMillis();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Search index update failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Index the next batch of rows by id; false when caught up
+     */
+    private boolean tailBatch(MessageIndex current, LocalDateTime settled) throws IOException {
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList(TAIL_SQL, lastId, batchSize);
+        for (Map<String, Object> row : rows) {
+            LocalDateTime createdAt = ((Timestamp) row.get("created_at")).toLocalDateTime();
+            if (!createdAt.isBefore(settled)) {
+                // A row this young may still have a lower id in flight; stop so the watermark cannot pass it
+                return false;
+            }
+            long id = ((Number) row.get("id")).longValue();
+            if (id > lastId + 1) {
+                addGap(lastId + 1, id - 1);
+            }
+            upsert(current, row, id, createdAt);
+            lastId = id;
+        }
+        return rows.size() == batchSize;
+    }
+
+    private void upsert(MessageIndex current, Map<String, Object> row, long id, LocalDateTime createdAt)
+            throws IOException {
+        Number operatorId = (Number) row.get("operator_id");
+        Number contentId = (Number) row.get("content_id");
+        current.upsert(id, (String) row.get("recipient_number"),
+                operatorId != null ? operatorId.longValue() : null,
+                SmsMessage.SmsStatus.valueOf((String) row.get("status")), createdAt,
+                contentId != null ? messageContentStore.getContent(contentId.longValue())
+                        : (String) row.get("message_content"));
+    }
+
+    private void addGap(long fromId, long toId) {
+        if (gaps.size() >= maxGaps) {
+            gaps.pollFirst();
+            expiredGaps.incrementAndGet();
+        }
+        gaps.addLast(new IdGap(fromId, toId, System.currentTimeMillis() + gapRetentionMs));
+    }
+
+    /**
+     * Index rows that have appeared inside gaps since the last run; a gap expires after the retention,
+     * as most of them are ids that were never committed (rollbacks, auto-increment jumps) or deleted rows
+     */
+    private void rescanGaps(MessageIndex current) throws IOException {
+        long now = System.currentTimeMillis();
+        while (!gaps.isEmpty() && gaps.peekFirst().expiresAt() <= now) {
+            gaps.pollFirst();
+            expiredGaps.incrementAndGet();
+        }
+        if (gaps.isEmpty()) {
+            return;
+        }
+        List<IdGap> remaining = new ArrayList<>(gaps.size());
+        List<IdGap> chunk = new ArrayList<>(GAPS_PER_QUERY);
+        for (IdGap gap : gaps) {
+            chunk.add(gap);
+            if (chunk.size() == GAPS_PER_QUERY) {
+                rescanGaps(current, chunk, remaining);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            rescanGaps(current, chunk, remaining);
+        }
+        gaps.clear();
+        gaps.addAll(remaining);
+    }
+
+    private void rescanGaps(MessageIndex current, List<IdGap> chunk, List<IdGap> remaining) throws IOException {
+        StringBuilder sql = new StringBuilder(GAP_SQL);
+        Object[] args = new Object[chunk.size() * 2];
+        for (int i = 0; i < chunk.size(); i++) {
+            sql.append(i == 0 ? "id BETWEEN ? AND ?" : " OR id BETWEEN ? AND ?");
+            args[i * 2] = chunk.get(i).fromId();
+            args[i * 2 + 1] = chunk.get(i).toId();
+        }
+        TreeSet<Long> found = new TreeSet<>();
+        for (Map<String, Object> row : jdbcTemplate.queryForList(sql.toString(), args)) {
+            long id = ((Number) row.get("id")).longValue();
+            upsert(current, row, id, ((Timestamp) row.get("created_at")).toLocalDateTime());
+            found.add(id);
+        }
+        // Split each gap around the ids found in it
+        for (IdGap gap : chunk) {
+            long from = gap.fromId();
+            for (long id : found.subSet(gap.fromId(), true, gap.toId(), true)) {
+                if (id > from) {
+                    remaining.add(new IdGap(from, id - 1, gap.expiresAt()));
+                }
+                from = id + 1;
+            }
+            if (from <= gap.toId()) {
+                remaining.add(new IdGap(from, gap.toId(), gap.expiresAt()));
+            }
+        }
+    }
+
+    private void applyTransitions(MessageIndex current) throws IOException {
+        SmsStatusTransitionEvent event;
+        while ((event = pendingTransitions.poll()) != null) {
+            pendingCount.decrementAndGet();
+            if (event.getId() > lastId) {
+                // Not tailed yet; the row is read with its current status when it is
+                continue;
+            }
+            if (event.isDeletion()) {
+                current.delete(event.getId());
+            } else {
+                current.updateStatus(event.getId(), event.getNewStatus());
+            }
+        }
+    }
+
+    /**
+     * Scheduled re-read of the statuses of recently updated rows, including changes made by other instances
+     */
+    @Scheduled(fixedDelayString = "${sms.platform.search.status-refresh-interval-ms:60000}")
+    public synchronized void refreshStatuses() {
+        MessageIndex current = index;
+        if (current == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        // Overlaps the previous run by the settle time, so an update committed late is not missed
+        LocalDateTime since = lastStatusRefresh != null ? lastStatusRefresh.minusNanos(settleMs * 1_000_000L)
+                : now.minusHours(statusRefreshLookbackHours);
+        long[] rows = {0};
+        try {
+            jdbcTemplate.query(STATUS_REFRESH_SQL, resultSet -> {
+                try {
+                    current.updateStatus(resultSet.getLong(1), SmsMessage.SmsStatus.valueOf(resultSet.getString(2)));
+                    rows[0]++;
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, Timestamp.valueOf(now.minusHours(statusRefreshLookbackHours)), Timestamp.valueOf(since), lastId);
+            current.refresh();
+            lastStatusRefresh = now;
+            logger.debug("Refreshed {} message statuses in the search index", rows[0]);
+        } catch (IOException | RuntimeException e) {
+            logger.warn("Search status refresh failed: {}", e.getMessage());
+        }
+    }
+
+    private void indexArchive(MessageIndex current) throws IOException {
+        long[] rows = {0};
+        try {
+            archiveService.forEachMessage(LocalDateTime.of(1970, 1, 2, 0, 0), LocalDateTime.now().plusDays(1), null,
+                    message -> {
+                        try {
+                            current.upsert(message.getId(), message.getRecipientNumber(), message.getOperatorId(),
+                                    message.getStatus(), message.getCreatedAt(), message.getMessageContent());
+                            rows[0]++;
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        if (rows[0] > 0) {
+            logger.info("Indexed {} archived messages for search", rows[0]);
+        }
+    }
+
+    /**
+     * Drop the index and rebuild it from the archive and sms_messages in the background
+     */
+    public synchronized SearchIndexStatus reindex() {
+        MessageIndex current = requireIndex();
+        try {
+            current.deleteAll();
+            pendingTransitions.clear();
+            pendingCount.set(0);
+            gaps.clear();
+            gapCount = 0;
+            // Not committed here: until the next commit a restart resumes the old index where it was
+            lastId = 0L;
+            indexArchive = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to reset search index", e);
+        }
+        logger.info("Search index reset; rebuilding from id 0");
+        return getStatus();
+    }
+
+    /**
+     * Newest messages whose content contains the text, narrowed by the optional filters
+     */
+    public CursorPageDto<SmsMessageSummaryDto> search(String text, String recipientNumber, Long operatorId,
+                                                      SmsMessage.SmsStatus status, LocalDateTime from,
+                                                      LocalDateTime to, String cursor, int limit) {
+        MessageIndex current = requireIndex();
+        if (text == null || text.isBlank() || limit < 1) {
+            throw new IllegalArgumentException("Search text and a positive limit are required");
+        }
+        Query query = current.buildQuery(text, recipientNumber, operatorId, status, from, to);
+        if (query == null) {
+            throw new IllegalArgumentException("Search text has no searchable terms");
+        }
+        int pageSize = Math.min(limit, maxPageSize);
+        MessageCursor after = cursor != null && !cursor.isBlank() ? MessageCursor.decode(cursor) : null;
+
+        List<SmsMessageSummaryDto> items = new ArrayList<>(pageSize);
+        LocalDateTime afterCreatedAt = after != null ? after.createdAt() : null;
+        Long afterId = after != null ? after.id() : null;
+        MessageIndex.Hit last = null;
+        boolean hasMore = false;
+        Long total = null;
+        // Hits whose stored status no longer matches (or whose row is gone) are dropped; search on past them
+        // so the page is filled, for a bounded number of rounds after which it may come back short
+        for (int round = 0; round < maxFetchRounds && items.size() < pageSize; round++) {
+            int wanted = pageSize - items.size();
+            MessageIndex.SearchResult result;
+            try {
+                // One extra hit tells whether another page follows
+                result = current.search(query, afterCreatedAt, afterId, wanted + 1);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Search failed", e);
+            }
+            if (total == null) {
+                total = result.total();
+            }
+            List<MessageIndex.Hit> hits = result.hits();
+            hasMore = hits.size() > wanted;
+            if (hasMore) {
+                hits = hits.subList(0, wanted);
+            }
+            if (hits.isEmpty()) {
+                break;
+            }
+            items.addAll(loadHits(hits, status));
+            last = hits.get(hits.size() - 1);
+            afterCreatedAt = last.createdAt();
+            afterId = last.id();
+            if (!hasMore) {
+                break;
+            }
+        }
+
+        String nextCursor = hasMore ? new MessageCursor(last.createdAt(), last.id()).encode() : null;
+        return new CursorPageDto<>(items, nextCursor, pageSize, total);
+    }
+
+    /**
+     * Rows of the hits in hit order, from the database or the archive, that still have the wanted status
+     */
+    private List<SmsMessageSummaryDto> loadHits(List<MessageIndex.Hit> hits, SmsMessage.SmsStatus status) {
+        Map<Long, SmsMessageSummaryDto> rows = smsMessageRepository.findSummariesByIdIn(
+                hits.stream().map(MessageIndex.Hit::id).collect(Collectors.toList())).stream()
+                .collect(Collectors.toMap(SmsMessageSummaryDto::id, Function.identity()));
+        List<SmsMessageSummaryDto> items = new ArrayList<>(hits.size());
+        for (MessageIndex.Hit hit : hits) {
+            SmsMessageSummaryDto row = rows.get(hit.id());
+            if (row == null) {
+                row = archiveService.findById(hit.id()).map(MessageSearchService::toSummary).orElse(null);
+            }
+            if (row != null && (status == null || row.status() == status)) {
+                items.add(row);
+            }
+        }
+        return items;
+    }
+
+    /**
+     * Index size and progress
+     */
+    public SearchIndexStatus getStatus() {
+        SearchIndexStatus status = new SearchIndexStatus();
+        status.setEnabled(enabled);
+        status.setDirectory(Paths.get(directory).toAbsolutePath().toString());
+        MessageIndex current = index;
+        if (current != null) {
+            status.setDocuments(current.getDocumentCount());
+            status.setLastIndexedId(lastId);
+            status.setPendingTransitions(pendingCount.get());
+            status.setDroppedTransitions(droppedTransitions.get());
+            status.setIdGaps(gapCount);
+            status.setExpiredIdGaps(expiredGaps.get());
+        }
+        return status;
+    }
+
+    private MessageIndex requireIndex() {
+        MessageIndex current = index;
+        if (current == null) {
+            throw new IllegalStateException("Message search is disabled");
+        }
+        return current;
+    }
+
+    private static SmsMessageSummaryDto toSummary(SmsMessage message) {
+        return new SmsMessageSummaryDto(message.getId(), message.getMessageId(), message.getOperatorId(),
+                message.getSenderNumber(), message.getRecipientNumber(), message.getStatus(),
+                message.getPriority(), message.getCreatedAt(), message.getUpdatedAt());
+    }
+
+    /**
+     * Ids fromId..toId (inclusive) passed over by the tail, re-scanned until expiresAt (epoch millis)
+     */
+    private record IdGap(long fromId, long toId, long expiresAt) {}
+
+    /**
+     * Search index status
+     */
+    public static class SearchIndexStatus {
+        private boolean enabled;
+        private String directory;
+        private long documents;
+        private long lastIndexedId;
+        private int pendingTransitions;
+        private long droppedTransitions;
+        private int idGaps;
+        private long expiredIdGaps;
+
+        // Getters and Setters
+        public boolean isEnabled() { return enabled; }
+        public void setEnabled(boolean enabled) { this.enabled = enabled; }
+
+        public String getDirectory() { return directory; }
+        public void setDirectory(String directory) { this.directory = directory; }
+
+        public long getDocuments() { return documents; }
+        public void setDocuments(long documents) { this.documents = documents; }
+
+        public long getLastIndexedId() { return lastIndexedId; }
+        public void setLastIndexedId(long lastIndexedId) { this.lastIndexedId = lastIndexedId; }
+
+        public int getPendingTransitions() { return pendingTransitions; }
+        public void setPendingTransitions(int pendingTransitions) { this.pendingTransitions = pendingTransitions; }
+
+        public long getDroppedTransitions() { return droppedTransitions; }
+        public void setDroppedTransitions(long droppedTransitions) { this.droppedTransitions = droppedTransitions; }
+
+        public int getIdGaps() { return idGaps; }
+        public void setIdGaps(int idGaps) { this.idGaps = idGaps; }
+
+        public long getExpiredIdGaps() { return expiredIdGaps; }
+        public void setExpiredIdGaps(long expiredIdGaps) { this.expiredIdGaps = expiredIdGaps; }
+    }
+}
@@ -0,0 +1,260 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.MetricSeriesDto;
+import com.smsplatform.sms.model.SystemMetric;
+import com.smsplatform.sms.repository.SystemMetricRepository;
+import io.micrometer.core.instrument.Measurement;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Statistic;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metrics Sink Service
+ * 
+ * Samples selected Micrometer meters every monitoring interval into the
+ * system_metrics table with one multi-row batch insert, then downsamples raw
+ * samples into 5-minute and hourly averages and purges each resolution after
+ * its retention. Range queries pick the finest resolution that still covers the
+ * range within the point budget, so a 90-day chart reads hourly rows only.
+ */
+@Service
+public class MetricsSinkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MetricsSinkService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO system_metrics (service_name, metric_name, metric_value, unit, resolution, timestamp) " +
+            "VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String PURGE_SQL =
+            "DELETE FROM system_metrics WHERE resolution = ? AND timestamp < ?";
+
+    private static final BigDecimal MAX_VALUE = new BigDecimal("99999999999.9999");
+
+    private final MeterRegistry meterRegistry;
+    private final SystemMetricRepository systemMetricRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    // Previous reading of cumulative statistics, so counters are stored as per-interval deltas
+    private final Map<String, Double> lastCumulative = new HashMap<>();
+
+    @Value("${spring.application.name:sms-service}")
+    private String serviceName;
+
+    @Value("${sms.platform.monitoring.sampled-metrics}")
+    private List<String> sampledMetrics;
+
+    @Value("${sms.platform.monitoring.retention.raw-hours:48}")
+    private int rawRetentionHours;
+
+    @Value("${sms.platform.monitoring.retention.five-minute-days:30}")
+    private int fiveMinuteRetentionDays;
+
+    @Value("${sms.platform.monitoring.retention.hour-days:400}")
+    private int hourRetentionDays;
+
+    @Value("${sms.platform.monitoring.max-points:2000}")
+    private int maxPoints;
+
+    @Value("${sms.platform.monitoring.metrics-interval:30}")
+    private int metricsIntervalSeconds;
+
+    @Autowired
+    public MetricsSinkService(MeterRegistry meterRegistry,
+                              SystemMetricRepository systemMetricRepository,
+                              JdbcTemplate jdbcTemplate,
+                              TransactionTemplate transactionTemplate) {
+        this.meterRegistry = meterRegistry;
+        this.systemMetricRepository = systemMetricRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    /**
+     * Scheduled task to sample configured meters as one batch
+     */
+    @Scheduled(fixedRateString = "#{${sms.platform.monitoring.metrics-interval:30} * 1000}")
+    public synchronized void sampleMetrics() {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS));
+        Map<String, Double> values = new LinkedHashMap<>();
+        Map<String, String> units = new HashMap<>();
+
+        for (String name : sampledMetrics) {
+            for (Meter meter : meterRegistry.find(name).meters()) {
+                for (Measurement measurement : meter.measure()) {
+                    String metricName = measurement.getStatistic() == Statistic.VALUE
+                            ? name : name + "." + measurement.getStatistic().getTagValueRepresentation();
+                    values.merge(metricName, measurement.getValue(), Double::sum);
+                    units.putIfAbsent(metricName, meter.getId().getBaseUnit());
+                }
+            }
+        }
+
+        List<Object[]> batch = new ArrayList<>(values.size());
+        values.forEach((metricName, value) -> {
+            if (isCumulative(metricName)) {
+                Double previous = lastCumulative.put(metricName, value);
+                if (previous == null) {
+                    return;
+                }
+                value = Math.max(0.0, value - previous);
+            }
+            if (Double.isNaN(value) || Double.isInfinite(value)) {
+                return;
+            }
+            batch.add(new Object[] {serviceName, metricName, toDecimal(value), units.get(metricName),
+                    SystemMetric.Resolution.RAW.name(), now});
+        });
+
+        if (!batch.isEmpty()) {
+            try {
+                jdbcTemplate.batchUpdate(INSERT_SQL, batch);
+            } catch (RuntimeException e) {
+                logger.warn("Failed to write {} metric samples: {}", batch.size(), e.getMessage());
+            }
+        }
+    }
+
+    private static boolean isCumulative(String metricName) {
+        return metricName.endsWith("." + Statistic.COUNT.getTagValueRepresentation())
+                || metricName.endsWith("." + Statistic.TOTAL.getTagValueRepresentation())
+                || metricName.endsWith("." + Statistic.TOTAL_TIME.getTagValueRepresentation());
+    }
+
+    private static BigDecimal toDecimal(double value) {
+        BigDecimal decimal = BigDecimal.valueOf(value).setScale(4, RoundingMode.HALF_UP);
+        return decimal.min(MAX_VALUE).max(MAX_VALUE.negate());
+    }
+
+    /**
+     * Scheduled task to downsample and purge old samples
+     */
+    @Scheduled(fixedDelayString = "${sms.platform.monitoring.downsample-interval-ms:300000}")
+    public void downsample() {
+        LocalDateTime now = LocalDateTime.now();
+        downsample(SystemMetric.Resolution.RAW, SystemMetric.Resolution.FIVE_MINUTE, now);
+        downsample(SystemMetric.Resolution.FIVE_MINUTE, SystemMetric.Resolution.HOUR, now);
+
+        purge(SystemMetric.Resolution.RAW, now.minusHours(rawRetentionHours));
+        purge(SystemMetric.Resolution.FIVE_MINUTE, now.minusDays(fiveMinuteRetentionDays));
+        purge(SystemMetric.Resolution.HOUR, now.minusDays(hourRetentionDays));
+    }
+
+    private void downsample(SystemMetric.Resolution source, SystemMetric.Resolution target, LocalDateTime now) {
+        // Each service downsamples its own samples; instances of other services keep their own progress
+        LocalDateTime latest = systemMetricRepository.findLatestTimestamp(serviceName, target);
+        LocalDateTime from = latest != null
+                ? latest.plusSeconds(target.getSeconds())
+                : systemMetricRepository.findEarliestTimestamp(serviceName, source);
+        if (from == null) {
+            return;
+        }
+        from = floor(from, target);
+        // Only complete buckets are written, so a bucket is never aggregated twice
+        LocalDateTime to = floor(now, target);
+        if (!from.isBefore(to)) {
+            return;
+        }
+
+        String bucket = bucketExpression(target);
+        String sql = "INSERT INTO system_metrics (service_name, metric_name, metric_value, unit, resolution, timestamp) " +
+                     "SELECT service_name, metric_name, AVG(metric_value), MAX(unit), '" + target.name() + "', " + bucket + " " +
+                     "FROM system_metrics WHERE service_name = ? AND resolution = ? AND timestamp >= ? AND timestamp < ? " +
+                     "GROUP BY service_name, metric_name, " + bucket;
+        Timestamp fromTs = Timestamp.valueOf(from);
+        Timestamp toTs = Timestamp.valueOf(to);
+        Integer rows = transactionTemplate.execute(status -> jdbcTemplate.update(sql, serviceName, source.name(), fromTs, toTs));
+        logger.debug("Downsampled {} -> {} for {} - {}: {} rows", source, target, from, to, rows);
+    }
+
+    private void purge(SystemMetric.Resolution resolution, LocalDateTime before) {
+        int rows = jdbcTemplate.update(PURGE_SQL, resolution.name(), Timestamp.valueOf(before));
+        if (rows > 0) {
+            logger.debug("Purged {} {} samples older than {}", rows, resolution, before);
+        }
+    }
+
+    private static String bucketExpression(SystemMetric.Resolution resolution) {
+        if (resolution == SystemMetric.Resolution.HOUR) {
+            return "DATE_FORMAT(timestamp, '%Y-%m-%d %H:00:00')";
+        }
+        return "(DATE_FORMAT(timestamp, '%Y-%m-%d %H:%i:00') - INTERVAL (MINUTE(timestamp) % 5) MINUTE)";
+    }
+
+    private static LocalDateTime floor(LocalDateTime time, SystemMetric.Resolution resolution) {
+        if (resolution == SystemMetric.Resolution.HOUR) {
+            return time.truncatedTo(ChronoUnit.HOURS);
+        }
+        LocalDateTime minute = time.truncatedTo(ChronoUnit.MINUTES);
+        return minute.minusMinutes(minute.getMinute() % 5);
+    }
+
+    /**
+     * Get a metric series, choosing the finest resolution that fits the range
+     */
+    public MetricSeriesDto getSeries(String metricName, LocalDateTime startDate, LocalDateTime endDate,
+                                     SystemMetric.Resolution requested) {
+        SystemMetric.Resolution resolution = requested != null ? requested : chooseResolution(startDate, endDate);
+
+        List<SystemMetric> samples = systemMetricRepository.findSeries(serviceName, metricName, resolution, startDate, endDate);
+        List<MetricSeriesDto.Point> points = new ArrayList<>(samples.size());
+        String unit = null;
+        for (SystemMetric sample : samples) {
+            points.add(new MetricSeriesDto.Point(sample.getTimestamp(), sample.getMetricValue().doubleValue()));
+            if (unit == null) {
+                unit = sample.getUnit();
+            }
+        }
+
+        MetricSeriesDto dto = new MetricSeriesDto();
+        dto.setServiceName(serviceName);
+        dto.setMetricName(metricName);
+        dto.setUnit(unit);
+        dto.setResolution(resolution);
+        dto.setPoints(points);
+        return dto;
+    }
+
+    SystemMetric.Resolution chooseResolution(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime now = LocalDateTime.now();
+        long rangeSeconds = Math.max(1, Duration.between(startDate, endDate).getSeconds());
+
+        if (!startDate.isBefore(now.minusHours(rawRetentionHours))
+                && rangeSeconds / Math.max(1, metricsIntervalSeconds) <= maxPoints) {
+            return SystemMetric.Resolution.RAW;
+        }
+        if (!startDate.isBefore(now.minusDays(fiveMinuteRetentionDays))
+                && rangeSeconds / SystemMetric.Resolution.FIVE_MINUTE.getSeconds() <= maxPoints) {
+            return SystemMetric.Resolution.FIVE_MINUTE;
+        }
+        return SystemMetric.Resolution.HOUR;
+    }
+
+    /**
+     * Metric names recorded for this service
+     */
+    public List<String> getMetricNames() {
+        return systemMetricRepository.findMetricNames(serviceName);
+    }
+}
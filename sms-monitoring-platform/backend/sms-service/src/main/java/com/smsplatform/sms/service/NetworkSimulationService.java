@@ -1,158 +1,203 @@
 package com.smsplatform.sms.service;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.metrics.TestRunRecorder;
 import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.simulation.DeliveryOutcome;
+import com.smsplatform.sms.simulation.NetworkModel;
+import com.smsplatform.sms.simulation.NetworkScenario;
+import com.smsplatform.sms.simulation.ScenarioNetworkModel;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
 import org.springframework.stereotype.Service;
+import org.yaml.snakeyaml.Yaml;
 
-import java.util.Random;
-import java.util.concurrent.ThreadLocalRandom;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.function.Consumer;
 
 /**
  * Network Simulation Service
  * 
  * Simulates various network conditions and telecom operator behaviors
- * for testing and monitoring purposes.
+ * for testing and monitoring purposes. Behaviour comes from a pluggable
+ * {@link NetworkModel}, by default a seeded {@link ScenarioNetworkModel}
+ * built from the scenario at sms.platform.simulation.scenario (YAML or JSON)
+ * or the built-in default scenario. A scenario without a seed gets one at
+ * activation, which is reported so the run can be replayed.
  */
 @Service
 public class NetworkSimulationService {
 
-    private final Random random = new Random();
+    private static final Logger logger = LoggerFactory.getLogger(NetworkSimulationService.class);
+
+    private final ObjectMapper objectMapper;
+    private final ResourceLoader resourceLoader;
+
+    private volatile NetworkModel networkModel = new ScenarioNetworkModel(withSeed(NetworkScenario.defaultScenario(), null));
+
+    @Value("${sms.platform.simulation.scenario:}")
+    private String scenarioLocation;
+
+    @Value("${sms.platform.simulation.seed:#{null}}")
+    private Long configuredSeed;
+
+    @Autowired
+    public NetworkSimulationService(ObjectMapper objectMapper, ResourceLoader resourceLoader) {
+        this.objectMapper = objectMapper;
+        this.resourceLoader = resourceLoader;
+    }
+
+    @PostConstruct
+    public void loadConfiguredScenario() {
+        NetworkScenario scenario = scenarioLocation != null && !scenarioLocation.isBlank()
+                ? loadScenario(scenarioLocation)
+                : NetworkScenario.defaultScenario();
+        activateScenario(scenario, configuredSeed);
+    }
 
     /**
      * Simulate message delivery with various network conditions
      */
     public boolean simulateMessageDelivery(SmsMessage message) {
-        try {
-            // Simulate network latency
-            simulateNetworkLatency();
-
-            // Simulate different success rates based on priority
-            double successRate = getSuccessRateByPriority(message.getPriority());
-            
-            // Simulate operator-specific behavior
-            successRate = adjustSuccessRateByOperator(successRate, message.getOperatorId());
+        return simulateDelivery(message).isDelivered();
+    }
 
-            return random.nextDouble() < successRate;
-            
+    /**
+     * Simulate one operator submission, sleeping for the modelled latency
+     */
+    public DeliveryOutcome simulateDelivery(SmsMessage message) {
+        DeliveryOutcome outcome = networkModel.evaluate(message);
+        try {
+            Thread.sleep(outcome.getLatencyMillis());
+            return outcome;
         } catch (InterruptedException e) {
             Thread.currentThread().interrupt();
-            return false;
+            return DeliveryOutcome.failed(outcome.getLatencyMillis(), "INTERRUPTED");
         }
     }
 
     /**
-     * Simulate network latency based on realistic conditions
+     * Decide whether a message is delivered, without the simulated network delay
      */
-    private void simulateNetworkLatency() throws InterruptedException {
-        // Simulate realistic network delays (50ms to 2000ms)
-        int latency = ThreadLocalRandom.current().nextInt(50, 2001);
-        Thread.sleep(latency);
+    public boolean decideDelivery(SmsMessage message) {
+        return networkModel.evaluate(message).isDelivered();
     }
 
     /**
-     * Get success rate based on message priority
+     * Success rate for a priority, adjusted for the operator's characteristics
      */
-    private double getSuccessRateByPriority(SmsMessage.SmsPriority priority) {
-        switch (priority) {
-            case URGENT:
-                return 0.98; // 98% success rate for urgent messages
-            case HIGH:
-                return 0.95; // 95% success rate for high priority
-            case NORMAL:
-                return 0.90; // 90% success rate for normal priority
-            case LOW:
-                return 0.85; // 85% success rate for low priority
-            default:
-                return 0.90;
-        }
+    public double getSuccessRate(SmsMessage.SmsPriority priority, Long operatorId) {
+        return networkModel.getSuccessRate(priority, operatorId);
     }
 
     /**
-     * Adjust success rate based on operator performance characteristics
+     * Activate a scenario; a null seed keeps the scenario's own seed or picks a new one
      */
-    private double adjustSuccessRateByOperator(double baseSuccessRate, Long operatorId) {
-        if (operatorId == null) {
-            return baseSuccessRate;
-        }
+    public NetworkScenario activateScenario(NetworkScenario scenario, Long seed) {
+        NetworkScenario seeded = withSeed(scenario, seed);
+        networkModel = new ScenarioNetworkModel(seeded);
+        logger.info("Network scenario '{}' active with seed {}", seeded.getName(), seeded.getSeed());
+        return seeded;
+    }
+
+    /**
+     * Plug in a custom network model
+     */
+    public void setNetworkModel(NetworkModel networkModel) {
+        this.networkModel = networkModel;
+        logger.info("Network model active: {}", networkModel.describe().get("type"));
+    }
 
-        // Simulate different operator performance characteristics
-        switch (operatorId.intValue() % 3) {
-            case 0:
-                // High-performance operator
-                return Math.min(baseSuccessRate + 0.05, 1.0);
-            case 1:
-                // Average operator
-                return baseSuccessRate;
-            case 2:
-                // Lower-performance operator
-                return Math.max(baseSuccessRate - 0.10, 0.5);
-            default:
-                return baseSuccessRate;
+    /**
+     * Restart the active model's clock so outage and throttling windows line up with a new run
+     */
+    public Map<String, Object> restartModel() {
+        NetworkModel restarted = networkModel.restart();
+        networkModel = restarted;
+        return restarted.describe();
+    }
+
+    /**
+     * Active scenario, or null when the active model is not scenario-driven
+     */
+    public NetworkScenario getActiveScenario() {
+        NetworkModel current = networkModel;
+        return current instanceof ScenarioNetworkModel ? ((ScenarioNetworkModel) current).getScenario() : null;
+    }
+
+    public Map<String, Object> describeModel() {
+        return networkModel.describe();
+    }
+
+    /**
+     * Load a scenario from a resource location (classpath:, file:, ...); .json is read as JSON, anything else as YAML
+     */
+    public NetworkScenario loadScenario(String location) {
+        Resource resource = resourceLoader.getResource(location);
+        try (InputStream in = resource.getInputStream()) {
+            String content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return parseScenario(content, location.endsWith(".json"));
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Cannot read network scenario " + location + ": " + e.getMessage(), e);
         }
     }
 
     /**
-     * Simulate load testing scenario
+     * Parse a scenario document
      */
-    public LoadTestResult simulateLoadTest(int messageCount, int concurrentUsers) {
-        LoadTestResult result = new LoadTestResult();
-        result.setTotalMessages(messageCount);
-        result.setConcurrentUsers(concurrentUsers);
-        
-        long startTime = System.currentTimeMillis();
-        
-        int successCount = 0;
-        int failureCount = 0;
-        long totalLatency = 0;
-        
-        for (int i = 0; i < messageCount; i++) {
-            long messageStartTime = System.currentTimeMillis();
-            
-            // Simulate message processing
-            boolean success = random.nextDouble() < 0.92; // 92% base success rate
-            
-            if (success) {
-                successCount++;
-            } else {
-                failureCount++;
-            }
-            
-            // Simulate processing time
-            int processingTime = ThreadLocalRandom.current().nextInt(100, 1000);
-            totalLatency += processingTime;
-            
-            try {
-                Thread.sleep(processingTime / 10); // Scaled down for simulation
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-                break;
+    public NetworkScenario parseScenario(String content, boolean json) {
+        try {
+            if (json) {
+                return objectMapper.readValue(content, NetworkScenario.class);
             }
+            Map<String, Object> document = new Yaml().load(content);
+            return objectMapper.convertValue(document, NetworkScenario.class);
+        } catch (JsonProcessingException | RuntimeException e) {
+            throw new IllegalArgumentException("Invalid network scenario: " + e.getMessage(), e);
         }
-        
-        long endTime = System.currentTimeMillis();
-        
-        result.setSuccessCount(successCount);
-        result.setFailureCount(failureCount);
-        result.setAverageLatency(totalLatency / messageCount);
-        result.setTotalDuration(endTime - startTime);
-        result.setThroughput((double) messageCount / ((endTime - startTime) / 1000.0));
-        
-        return result;
+    }
+
+    private static NetworkScenario withSeed(NetworkScenario scenario, Long seed) {
+        if (seed != null) {
+            scenario.setSeed(seed);
+        } else if (scenario.getSeed() == null) {
+            scenario.setSeed(new SplittableRandom().nextLong());
+        }
+        return scenario;
     }
 
     /**
      * Simulate stress testing scenario
      */
     public StressTestResult simulateStressTest(int maxLoad, int duration) {
+        return simulateStressTest(maxLoad, duration, recorder -> { });
+    }
+
+    /**
+     * Simulate stress testing scenario, handing the run's recorder to onStart for progress sampling
+     */
+    public StressTestResult simulateStressTest(int maxLoad, int duration, Consumer<TestRunRecorder> onStart) {
         StressTestResult result = new StressTestResult();
         result.setMaxLoad(maxLoad);
         result.setDuration(duration);
         
-        // Simulate gradual load increase
+        // Simulate gradual load increase, seeded from the active scenario so runs repeat
+        SplittableRandom random = new SplittableRandom(networkModel.getSeed());
         int currentLoad = 0;
-        int successCount = 0;
-        int failureCount = 0;
-        long totalLatency = 0;
-        int totalMessages = 0;
+        TestRunRecorder recorder = new TestRunRecorder();
+        onStart.accept(recorder);
         
         long startTime = System.currentTimeMillis();
         long endTime = startTime + (duration * 1000L);
@@ -165,21 +210,13 @@ public class NetworkSimulationService {
             
             // Process messages at current load
             for (int i = 0; i < Math.min(currentLoad, 100); i++) { // Cap at 100 for simulation
-                totalMessages++;
-                
                 // Success rate decreases with higher load
                 double successRate = Math.max(0.5, 1.0 - (currentLoad / (double) maxLoad) * 0.4);
                 boolean success = random.nextDouble() < successRate;
                 
-                if (success) {
-                    successCount++;
-                } else {
-                    failureCount++;
-                }
-                
                 // Latency increases with load
                 int latency = (int) (100 + (currentLoad / (double) maxLoad) * 2000);
-                totalLatency += latency;
+                recorder.record(latency, success);
             }
             
             try {
@@ -190,34 +227,53 @@ public class NetworkSimulationService {
             }
         }
         
-        result.setTotalMessages(totalMessages);
-        result.setSuccessCount(successCount);
-        result.setFailureCount(failureCount);
-        result.setAverageLatency(totalMessages > 0 ? totalLatency / totalMessages : 0);
+        result.applyRecorder(recorder);
         result.setPeakThroughput((double) currentLoad);
+        result.setThroughput(recorder.getTotalCount() / Math.max(0.001, recorder.getElapsedMillis() / 1000.0));
         
         return result;
     }
 
     /**
-     * Load Test Result DTO
+     * Common result fields for load and stress runs
      */
-    public static class LoadTestResult {
+    public abstract static class SimulationResult {
+        private Long testRunId;
         private int totalMessages;
-        private int concurrentUsers;
         private int successCount;
         private int failureCount;
         private long averageLatency;
-        private long totalDuration;
+        private long p50Latency;
+        private long p90Latency;
+        private long p99Latency;
+        private long p999Latency;
+        private long maxLatency;
         private double throughput;
+        private List<Long> throughputSeries = new ArrayList<>();
+
+        /**
+         * Copy counts, latency percentiles and the per-second series from a recorder
+         */
+        public void applyRecorder(TestRunRecorder recorder) {
+            setTotalMessages((int) recorder.getTotalCount());
+            setSuccessCount(recorder.getSuccessCount());
+            setFailureCount(recorder.getFailureCount());
+            setAverageLatency(recorder.getMeanLatency());
+            setP50Latency(recorder.getValueAtPercentile(50.0));
+            setP90Latency(recorder.getValueAtPercentile(90.0));
+            setP99Latency(recorder.getValueAtPercentile(99.0));
+            setP999Latency(recorder.getValueAtPercentile(99.9));
+            setMaxLatency(recorder.getMaxLatency());
+            setThroughputSeries(recorder.getThroughputSeries());
+        }
 
         // Getters and Setters
+        public Long getTestRunId() { return testRunId; }
+        public void setTestRunId(Long testRunId) { this.testRunId = testRunId; }
+
         public int getTotalMessages() { return totalMessages; }
         public void setTotalMessages(int totalMessages) { this.totalMessages = totalMessages; }
         
-        public int getConcurrentUsers() { return concurrentUsers; }
-        public void setConcurrentUsers(int concurrentUsers) { this.concurrentUsers = concurrentUsers; }
-        
         public int getSuccessCount() { return successCount; }
         public void setSuccessCount(int successCount) { this.successCount = successCount; }
         
@@ -226,24 +282,82 @@ public class NetworkSimulationService {
         
         public long getAverageLatency() { return averageLatency; }
         public void setAverageLatency(long averageLatency) { this.averageLatency = averageLatency; }
+
+        public long getP50Latency() { return p50Latency; }
+        public void setP50Latency(long p50Latency) { this.p50Latency = p50Latency; }
+
+        public long getP90Latency() { return p90Latency; }
+        public void setP90Latency(long p90Latency) { this.p90Latency = p90Latency; }
+
+        public long getP99Latency() { return p99Latency; }
+        public void setP99Latency(long p99Latency) { this.p99Latency = p99Latency; }
+
+        public long getP999Latency() { return p999Latency; }
+        public void setP999Latency(long p999Latency) { this.p999Latency = p999Latency; }
+
+        public long getMaxLatency() { return maxLatency; }
+        public void setMaxLatency(long maxLatency) { this.maxLatency = maxLatency; }
+
+        public double getThroughput() { return throughput; }
+        public void setThroughput(double throughput) { this.throughput = throughput; }
+
+        public List<Long> getThroughputSeries() { return throughputSeries; }
+        public void setThroughputSeries(List<Long> throughputSeries) { this.throughputSeries = throughputSeries; }
+    }
+
+    /**
+     * Load Test Result DTO
+     */
+    public static class LoadTestResult extends SimulationResult {
+        private int concurrentUsers;
+        private long totalDuration;
+        private String workloadModel;
+        private double targetArrivalRate;
+        private int submittedMessages;
+        private int ingestFailures;
+        private double ingestThroughput;
+        private long ingestP50Latency;
+        private long ingestP99Latency;
+        private int timedOutMessages;
+
+        // Getters and Setters
+        public int getConcurrentUsers() { return concurrentUsers; }
+        public void setConcurrentUsers(int concurrentUsers) { this.concurrentUsers = concurrentUsers; }
         
         public long getTotalDuration() { return totalDuration; }
         public void setTotalDuration(long totalDuration) { this.totalDuration = totalDuration; }
-        
-        public double getThroughput() { return throughput; }
-        public void setThroughput(double throughput) { this.throughput = throughput; }
+
+        public String getWorkloadModel() { return workloadModel; }
+        public void setWorkloadModel(String workloadModel) { this.workloadModel = workloadModel; }
+
+        public double getTargetArrivalRate() { return targetArrivalRate; }
+        public void setTargetArrivalRate(double targetArrivalRate) { this.targetArrivalRate = targetArrivalRate; }
+
+        public int getSubmittedMessages() { return submittedMessages; }
+        public void setSubmittedMessages(int submittedMessages) { this.submittedMessages = submittedMessages; }
+
+        public int getIngestFailures() { return ingestFailures; }
+        public void setIngestFailures(int ingestFailures) { this.ingestFailures = ingestFailures; }
+
+        public double getIngestThroughput() { return ingestThroughput; }
+        public void setIngestThroughput(double ingestThroughput) { this.ingestThroughput = ingestThroughput; }
+
+        public long getIngestP50Latency() { return ingestP50Latency; }
+        public void setIngestP50Latency(long ingestP50Latency) { this.ingestP50Latency = ingestP50Latency; }
+
+        public long getIngestP99Latency() { return ingestP99Latency; }
+        public void setIngestP99Latency(long ingestP99Latency) { this.ingestP99Latency = ingestP99Latency; }
+
+        public int getTimedOutMessages() { return timedOutMessages; }
+        public void setTimedOutMessages(int timedOutMessages) { this.timedOutMessages = timedOutMessages; }
     }
 
     /**
      * Stress Test Result DTO
      */
-    public static class StressTestResult {
+    public static class StressTestResult extends SimulationResult {
         private int maxLoad;
         private int duration;
-        private int totalMessages;
-        private int successCount;
-        private int failureCount;
-        private long averageLatency;
         private double peakThroughput;
 
         // Getters and Setters
@@ -253,18 +367,6 @@ public class NetworkSimulationService {
         public int getDuration() { return duration; }
         public void setDuration(int duration) { this.duration = duration; }
         
-        public int getTotalMessages() { return totalMessages; }
-        public void setTotalMessages(int totalMessages) { this.totalMessages = totalMessages; }
-        
-        public int getSuccessCount() { return successCount; }
-        public void setSuccessCount(int successCount) { this.successCount = successCount; }
-        
-        public int getFailureCount() { return failureCount; }
-        public void setFailureCount(int failureCount) { this.failureCount = failureCount; }
-        
-        public long getAverageLatency() { return averageLatency; }
-        public void setAverageLatency(long averageLatency) { this.averageLatency = averageLatency; }
-        
         public double getPeakThroughput() { return peakThroughput; }
         public void setPeakThroughput(double peakThroughput) { this.peakThroughput = peakThroughput; }
     }
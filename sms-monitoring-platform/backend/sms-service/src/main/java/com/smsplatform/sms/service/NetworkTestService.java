@@ -0,0 +1,263 @@
+package com.smsplatform.sms.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.dto.TestRunComparisonDto;
+import com.smsplatform.sms.metrics.TestRunRecorder;
+import com.smsplatform.sms.model.NetworkTest;
+import com.smsplatform.sms.repository.NetworkTestRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+
+import java.lang.management.ManagementFactory;
+import java.net.InetAddress;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Network Test Service
+ * 
+ * Runs load and stress simulations as persisted test runs in network_tests:
+ * the configuration (including the environment the run executed in) is stored
+ * before the run starts, the full result afterwards. Two runs can be compared
+ * to flag throughput or p99 latency regressions beyond a tolerance.
+ */
+@Service
+public class NetworkTestService {
+
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    private final NetworkTestRepository networkTestRepository;
+    private final NetworkSimulationService networkSimulationService;
+    private final LoadGeneratorService loadGeneratorService;
+    private final TrafficReplayService trafficReplayService;
+    private final ObjectMapper objectMapper;
+    private final Environment environment;
+
+    @Value("${spring.application.name:sms-service}")
+    private String applicationName;
+
+    @Value("${sms.platform.release:unknown}")
+    private String release;
+
+    @Autowired
+    public NetworkTestService(NetworkTestRepository networkTestRepository,
+                              NetworkSimulationService networkSimulationService,
+                              LoadGeneratorService loadGeneratorService,
+                              TrafficReplayService trafficReplayService,
+                              ObjectMapper objectMapper,
+                              Environment environment) {
+        this.networkTestRepository = networkTestRepository;
+        this.networkSimulationService = networkSimulationService;
+        this.loadGeneratorService = loadGeneratorService;
+        this.trafficReplayService = trafficReplayService;
+        this.objectMapper = objectMapper;
+        this.environment = environment;
+    }
+
+    /**
+     * Run and persist a load test against the real ingest pipeline
+     */
+    public NetworkSimulationService.LoadTestResult runLoadTest(String testName, LoadGeneratorService.LoadTestConfig config) {
+        return runLoadTest(testName, config, recorder -> { });
+    }
+
+    /**
+     * Run and persist a load test, exposing the live recorder to onStart
+     */
+    public NetworkSimulationService.LoadTestResult runLoadTest(String testName, LoadGeneratorService.LoadTestConfig config,
+                                                              Consumer<TestRunRecorder> onStart) {
+        Map<String, Object> parameters = objectMapper.convertValue(config, MAP_TYPE);
+        return run(NetworkTest.TestType.LOAD, testName, parameters,
+                () -> loadGeneratorService.runLoadTest(config, onStart));
+    }
+
+    /**
+     * Run and persist a stress test
+     */
+    public NetworkSimulationService.StressTestResult runStressTest(String testName, int maxLoad, int duration) {
+        return runStressTest(testName, maxLoad, duration, recorder -> { });
+    }
+
+    /**
+     * Run and persist a stress test, exposing the live recorder to onStart
+     */
+    public NetworkSimulationService.StressTestResult runStressTest(String testName, int maxLoad, int duration,
+                                                                  Consumer<TestRunRecorder> onStart) {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        parameters.put("maxLoad", maxLoad);
+        parameters.put("duration", duration);
+        return run(NetworkTest.TestType.STRESS, testName, parameters,
+                () -> networkSimulationService.simulateStressTest(maxLoad, duration, onStart));
+    }
+
+    /**
+     * Run and persist a replay of a traffic capture, exposing the live recorder to onStart
+     */
+    public TrafficReplayService.ReplayResult runReplay(String testName, TrafficReplayService.ReplayConfig config,
+                                                       Consumer<TestRunRecorder> onStart) {
+        Map<String, Object> parameters = objectMapper.convertValue(config, MAP_TYPE);
+        return run(NetworkTest.TestType.REPLAY, testName, parameters,
+                () -> trafficReplayService.replay(config, onStart));
+    }
+
+    private <R extends NetworkSimulationService.SimulationResult> R run(NetworkTest.TestType testType, String testName,
+                                                                         Map<String, Object> parameters, Supplier<R> body) {
+        NetworkTest test = new NetworkTest();
+        test.setTestType(testType);
+        test.setTestName(testName != null && !testName.isBlank()
+                ? testName : testType.name().toLowerCase() + "-" + LocalDateTime.now().format(NAME_FORMAT));
+        Map<String, Object> configuration = new LinkedHashMap<>(parameters);
+        configuration.put("environment", captureEnvironment());
+        // Network model with its seed, so the run can be replayed; scenario windows restart with the run
+        configuration.put("networkModel", objectMapper.convertValue(networkSimulationService.restartModel(), MAP_TYPE));
+        test.setConfiguration(configuration);
+        test.setStatus(NetworkTest.TestStatus.RUNNING);
+        test.setStartTime(LocalDateTime.now());
+        test = networkTestRepository.save(test);
+
+        // A cancelled job interrupts the run; clear the flag so the final save can still borrow a connection
+        boolean interrupted = false;
+        try {
+            R result = body.get();
+            interrupted = Thread.interrupted();
+            result.setTestRunId(test.getId());
+            Map<String, Object> results = objectMapper.convertValue(result, MAP_TYPE);
+            if (interrupted) {
+                results.put("cancelled", true);
+            }
+            test.setResults(results);
+            test.setStatus(interrupted ? NetworkTest.TestStatus.FAILED : NetworkTest.TestStatus.COMPLETED);
+            return result;
+        } catch (RuntimeException e) {
+            interrupted = Thread.interrupted();
+            Map<String, Object> error = new LinkedHashMap<>();
+            error.put("error", e.getMessage());
+            if (interrupted) {
+                error.put("cancelled", true);
+            }
+            test.setResults(error);
+            test.setStatus(NetworkTest.TestStatus.FAILED);
+            throw e;
+        } finally {
+            test.setEndTime(LocalDateTime.now());
+            networkTestRepository.save(test);
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Map<String, Object> captureEnvironment() {
+        Runtime runtime = Runtime.getRuntime();
+        Map<String, Object> info = new LinkedHashMap<>();
+        info.put("application", applicationName);
+        info.put("release", release);
+        info.put("profiles", Arrays.asList(environment.getActiveProfiles()));
+        info.put("host", hostName());
+        info.put("javaVersion", System.getProperty("java.version"));
+        info.put("javaVendor", System.getProperty("java.vendor"));
+        info.put("jvmArguments", ManagementFactory.getRuntimeMXBean().getInputArguments());
+        info.put("osName", System.getProperty("os.name"));
+        info.put("osArch", System.getProperty("os.arch"));
+        info.put("availableProcessors", runtime.availableProcessors());
+        info.put("maxHeapMb", runtime.maxMemory() / (1024 * 1024));
+        info.put("dispatchThreads", environment.getProperty("sms.platform.dispatch.threads"));
+        return info;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "unknown";
+        }
+    }
+
+    /**
+     * Get persisted test runs, optionally by type
+     */
+    public Page<NetworkTest> getTestRuns(NetworkTest.TestType testType, Pageable pageable) {
+        return testType != null
+                ? networkTestRepository.findByTestType(testType, pageable)
+                : networkTestRepository.findAll(pageable);
+    }
+
+    /**
+     * Get a persisted test run
+     */
+    public Optional<NetworkTest> getTestRun(Long id) {
+        return networkTestRepository.findById(id);
+    }
+
+    /**
+     * Compare a candidate run against a baseline; both must be completed runs of the same type.
+     * A metric missing from either run is left out of the comparison (null) rather than read as 0
+     */
+    public TestRunComparisonDto compareRuns(Long baselineId, Long candidateId, double tolerance) {
+        NetworkTest baseline = networkTestRepository.findById(baselineId)
+                .orElseThrow(() -> new RuntimeException("Test run not found with id: " + baselineId));
+        NetworkTest candidate = networkTestRepository.findById(candidateId)
+                .orElseThrow(() -> new RuntimeException("Test run not found with id: " + candidateId));
+        for (NetworkTest run : List.of(baseline, candidate)) {
+            if (run.getStatus() != NetworkTest.TestStatus.COMPLETED) {
+                throw new IllegalArgumentException("Test run " + run.getId() + " is " + run.getStatus() + ", not COMPLETED");
+            }
+        }
+        if (baseline.getTestType() != candidate.getTestType()) {
+            throw new IllegalArgumentException("Cannot compare a " + candidate.getTestType()
+                    + " run against a " + baseline.getTestType() + " baseline");
+        }
+
+        TestRunComparisonDto comparison = new TestRunComparisonDto();
+        comparison.setBaselineId(baselineId);
+        comparison.setCandidateId(candidateId);
+        comparison.setTolerance(tolerance);
+
+        Double baselineThroughput = resultValue(baseline, "throughput");
+        Double candidateThroughput = resultValue(candidate, "throughput");
+        if (baselineThroughput != null && candidateThroughput != null) {
+            comparison.setBaselineThroughput(baselineThroughput);
+            comparison.setCandidateThroughput(candidateThroughput);
+            comparison.setThroughputChange(relativeChange(baselineThroughput, candidateThroughput));
+            comparison.setThroughputRegression(comparison.getThroughputChange() < -tolerance);
+        }
+
+        Double baselineP99 = resultValue(baseline, "p99Latency");
+        Double candidateP99 = resultValue(candidate, "p99Latency");
+        if (baselineP99 != null && candidateP99 != null) {
+            comparison.setBaselineP99Latency(baselineP99.longValue());
+            comparison.setCandidateP99Latency(candidateP99.longValue());
+            comparison.setP99LatencyChange(relativeChange(baselineP99.longValue(), candidateP99.longValue()));
+            comparison.setP99LatencyRegression(comparison.getP99LatencyChange() > tolerance);
+        }
+
+        return comparison;
+    }
+
+    private static Double resultValue(NetworkTest test, String key) {
+        if (test.getResults() == null || !(test.getResults().get(key) instanceof Number)) {
+            return null;
+        }
+        return ((Number) test.getResults().get(key)).doubleValue();
+    }
+
+    private static double relativeChange(double baseline, double candidate) {
+        if (baseline == 0.0) {
+            return candidate == 0.0 ? 0.0 : 1.0;
+        }
+        return (candidate - baseline) / baseline;
+    }
+}
@@ -0,0 +1,322 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.config.MaintenanceExecutorConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Partition Maintenance Service
+ * 
+ * Keeps the RANGE partitions of sms_messages (by UNIX_TIMESTAMP(created_at))
+ * ahead of time and applies retention. Upcoming daily or monthly partitions
+ * are split off the trailing MAXVALUE partition p_future, which is cheap
+ * while p_future is empty; partitions entirely older than the retention
+ * window are dropped, which is instant compared to deleting their rows.
+ * Rollups are kept, so statistics over dropped days are still answered for
+ * whole minutes and hours; the message_ids uniqueness keys of dropped rows
+ * are purged with them. Maintenance holds a named MySQL lock, so only one
+ * service instance changes the layout at a time; it is a no-op when the
+ * table is not partitioned.
+ */
+@Service
+public class PartitionMaintenanceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PartitionMaintenanceService.class);
+
+    public static final String TABLE = "sms_messages";
+    public static final String FUTURE_PARTITION = "p_future";
+
+    private static final String MESSAGE_IDS_TABLE = "message_ids";
+    private static final int MESSAGE_ID_PURGE_BATCH = 10_000;
+
+    private static final String LOCK_NAME = "sms_messages_partitioning";
+    private static final String MAXVALUE = "MAXVALUE";
+    private static final DateTimeFormatter DAILY_NAME = DateTimeFormatter.ofPattern("'p'yyyyMMdd");
+    private static final DateTimeFormatter MONTHLY_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+    private static final DateTimeFormatter BOUND_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
+    private static final String PARTITIONS_SQL =
+            "SELECT PARTITION_NAME, PARTITION_DESCRIPTION, TABLE_ROWS, DATA_LENGTH, INDEX_LENGTH " +
+            "FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ThreadPoolTaskExecutor maintenanceExecutor;
+
+    @Value("${sms.platform.partitioning.granularity:monthly}")
+    private String granularity;
+
+    @Value("${sms.platform.partitioning.future-partitions:2}")
+    private int futurePartitions;
+
+    @Value("${sms.platform.partitioning.retention-days:0}")
+    private int retentionDays;
+
+    @Autowired
+    public PartitionMaintenanceService(JdbcTemplate jdbcTemplate,
+                                       @Qualifier(MaintenanceExecutorConfig.MAINTENANCE_EXECUTOR)
+                                       ThreadPoolTaskExecutor maintenanceExecutor) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.maintenanceExecutor = maintenanceExecutor;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void maintainOnStartup() {
+        maintainQuietly();
+    }
+
+    /**
+     * Scheduled partition maintenance, run on the maintenance executor; a REORGANIZE or a
+     * large message id purge must not hold a shared scheduler thread
+     */
+    @Scheduled(cron = "${sms.platform.partitioning.cron:0 5 * * * *}")
+    public void maintainScheduled() {
+        try {
+            maintenanceExecutor.execute(this::maintainQuietly);
+        } catch (TaskRejectedException e) {
+            logger.warn("Partition maintenance of {} skipped: maintenance executor is busy", TABLE);
+        }
+    }
+
+    /**
+     * Partition maintenance that logs instead of throwing
+     */
+    public void maintainQuietly() {
+        try {
+            maintain();
+        } catch (DataAccessException e) {
+            logger.warn("Partition maintenance of {} failed: {}", TABLE, e.getMessage());
+        }
+    }
+
+    /**
+     * Create upcoming partitions and drop expired ones
+     */
+    public MaintenanceResult maintain() {
+        return jdbcTemplate.execute((ConnectionCallback<MaintenanceResult>) connection -> {
+            JdbcTemplate session = new JdbcTemplate(new SingleConnectionDataSource(connection, true));
+            MaintenanceResult result = new MaintenanceResult();
+            Integer locked = session.queryForObject("SELECT GET_LOCK(?, 0)", Integer.class, LOCK_NAME);
+            if (locked == null || locked != 1) {
+                result.setSkipped("another instance is maintaining partitions");
+                return result;
+            }
+            try {
+                List<PartitionInfo> partitions = listPartitions(session);
+                if (partitions.isEmpty()) {
+                    result.setSkipped(TABLE + " is not partitioned");
+                    return result;
+                }
+                result.setCreated(createUpcoming(session, partitions));
+                result.setDropped(dropExpired(session, listPartitions(session)));
+                result.setPartitions(listPartitions(session));
+                return result;
+            } finally {
+                session.queryForObject("SELECT RELEASE_LOCK(?)", Integer.class, LOCK_NAME);
+            }
+        });
+    }
+
+    /**
+     * Current partitions with their ranges and size estimates
+     */
+    public List<PartitionInfo> getPartitions() {
+        return listPartitions(jdbcTemplate);
+    }
+
+    private List<PartitionInfo> listPartitions(JdbcTemplate template) {
+        List<PartitionInfo> partitions = template.query(PARTITIONS_SQL, (rs, rowNum) -> {
+            PartitionInfo partition = new PartitionInfo();
+            partition.setName(rs.getString(1));
+            String description = rs.getString(2);
+            partition.setUpperBoundEpoch(MAXVALUE.equals(description) ? null : Long.parseLong(description));
+            partition.setRows(rs.getLong(3));
+            partition.setDataBytes(rs.getLong(4));
+            partition.setIndexBytes(rs.getLong(5));
+            return partition;
+        }, TABLE);
+
+        // Bounds are epoch seconds of created_at in the session time zone; let MySQL convert them back
+        LocalDateTime previous = null;
+        for (PartitionInfo partition : partitions) {
+            partition.setFrom(previous);
+            if (partition.getUpperBoundEpoch() != null) {
+                Timestamp bound = template.queryForObject("SELECT FROM_UNIXTIME(?)", Timestamp.class,
+                        partition.getUpperBoundEpoch());
+                partition.setTo(bound != null ? bound.toLocalDateTime() : null);
+                previous = partition.getTo();
+            }
+        }
+        return partitions;
+    }
+
+    private List<String> createUpcoming(JdbcTemplate session, List<PartitionInfo> partitions) {
+        PartitionInfo last = partitions.get(partitions.size() - 1);
+        if (!FUTURE_PARTITION.equals(last.getName()) || last.getUpperBoundEpoch() != null) {
+            logger.warn("{} has no trailing {} MAXVALUE partition; not creating partitions", TABLE, FUTURE_PARTITION);
+            return new ArrayList<>();
+        }
+        LocalDateTime lastBound = last.getFrom();
+        LocalDateTime now = LocalDateTime.now();
+
+        // Rows already in p_future (e.g. right after migrating) are split into their own periods
+        Timestamp earliest = session.queryForObject(
+                "SELECT MIN(created_at) FROM " + TABLE + " PARTITION (" + FUTURE_PARTITION + ")", Timestamp.class);
+        LocalDateTime start = periodStart(earliest != null && earliest.toLocalDateTime().isBefore(now)
+                ? earliest.toLocalDateTime() : now);
+        LocalDateTime bound = nextPeriod(start);
+        while (lastBound != null && !bound.isAfter(lastBound)) {
+            bound = nextPeriod(bound);
+        }
+        LocalDateTime target = periodStart(now);
+        for (int i = 0; i <= Math.max(0, futurePartitions); i++) {
+            target = nextPeriod(target);
+        }
+
+        List<String> names = new ArrayList<>();
+        StringBuilder definitions = new StringBuilder();
+        for (; !bound.isAfter(target); bound = nextPeriod(bound)) {
+            String name = (isDaily() ? DAILY_NAME : MONTHLY_NAME).format(previousPeriod(bound));
+            names.add(name);
+            definitions.append("PARTITION ").append(name)
+                    .append(" VALUES LESS THAN (UNIX_TIMESTAMP('").append(BOUND_FORMAT.format(bound)).append("')), ");
+        }
+        if (names.isEmpty()) {
+            return names;
+        }
+        session.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + FUTURE_PARTITION + " INTO (" +
+                definitions + "PARTITION " + FUTURE_PARTITION + " VALUES LESS THAN MAXVALUE)");
+        logger.info("Created {} partitions of {}: {}", names.size(), TABLE, names);
+        return names;
+    }
+
+    private List<String> dropExpired(JdbcTemplate session, List<PartitionInfo> partitions) {
+        if (retentionDays <= 0) {
+            return new ArrayList<>();
+        }
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        List<PartitionInfo> expired = partitions.stream()
+                .filter(partition -> partition.getTo() != null && !partition.getTo().isAfter(cutoff))
+                .collect(Collectors.toList());
+        if (expired.isEmpty()) {
+            return new ArrayList<>();
+        }
+        List<String> names = expired.stream().map(PartitionInfo::getName).collect(Collectors.toList());
+        session.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + String.join(", ", names));
+        logger.info("Dropped {} expired partitions of {} (~{} rows) older than {}: {}", names.size(), TABLE,
+                expired.stream().mapToLong(PartitionInfo::getRows).sum(), cutoff, names);
+        purgeMessageIds(session, expired.get(expired.size() - 1).getTo());
+        return names;
+    }
+
+    /**
+     * Release the message ids of dropped partitions, in small batches so the purge never holds long locks
+     */
+    private void purgeMessageIds(JdbcTemplate session, LocalDateTime before) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = session.update("DELETE FROM " + MESSAGE_IDS_TABLE + " WHERE created_at < ? LIMIT " +
+                    MESSAGE_ID_PURGE_BATCH, Timestamp.valueOf(before));
+            purged += deleted;
+        } while (deleted == MESSAGE_ID_PURGE_BATCH);
+        logger.info("Purged {} message ids created before {}", purged, before);
+    }
+
+    private boolean isDaily() {
+        return "daily".equalsIgnoreCase(granularity);
+    }
+
+    private LocalDateTime periodStart(LocalDateTime time) {
+        LocalDateTime day = time.truncatedTo(ChronoUnit.DAYS);
+        return isDaily() ? day : day.withDayOfMonth(1);
+    }
+
+    private LocalDateTime nextPeriod(LocalDateTime periodStart) {
+        return isDaily() ? periodStart.plusDays(1) : periodStart.plusMonths(1);
+    }
+
+    private LocalDateTime previousPeriod(LocalDateTime periodStart) {
+        return isDaily() ? periodStart.minusDays(1) : periodStart.minusMonths(1);
+    }
+
+    /**
+     * Partition Info DTO
+     */
+    public static class PartitionInfo {
+        private String name;
+        private LocalDateTime from;
+        private LocalDateTime to;
+        private Long upperBoundEpoch;
+        private long rows;
+        private long dataBytes;
+        private long indexBytes;
+
+        // Getters and Setters
+        public String getName() { return name; }
+        public void setName(String name) { this.name = name; }
+
+        public LocalDateTime getFrom() { return from; }
+        public void setFrom(LocalDateTime from) { this.from = from; }
+
+        public LocalDateTime getTo() { return to; }
+        public void setTo(LocalDateTime to) { this.to = to; }
+
+        public Long getUpperBoundEpoch() { return upperBoundEpoch; }
+        public void setUpperBoundEpoch(Long upperBoundEpoch) { this.upperBoundEpoch = upperBoundEpoch; }
+
+        public long getRows() { return rows; }
+        public void setRows(long rows) { this.rows = rows; }
+
+        public long getDataBytes() { return dataBytes; }
+        public void setDataBytes(long dataBytes) { this.dataBytes = dataBytes; }
+
+        public long getIndexBytes() { return indexBytes; }
+        public void setIndexBytes(long indexBytes) { this.indexBytes = indexBytes; }
+    }
+
+    /**
+     * Maintenance Result DTO
+     */
+    public static class MaintenanceResult {
+        private String skipped;
+        private List<String> created = new ArrayList<>();
+        private List<String> dropped = new ArrayList<>();
+        private List<PartitionInfo> partitions = new ArrayList<>();
+
+        // Getters and Setters
+        public String getSkipped() { return skipped; }
+        public void setSkipped(String skipped) { this.skipped = skipped; }
+
+        public List<String> getCreated() { return created; }
+        public void setCreated(List<String> created) { this.created = created; }
+
+        public List<String> getDropped() { return dropped; }
+        public void setDropped(List<String> dropped) { this.dropped = dropped; }
+
+        public List<PartitionInfo> getPartitions() { return partitions; }
+        public void setPartitions(List<PartitionInfo> partitions) { this.partitions = partitions; }
+    }
+}
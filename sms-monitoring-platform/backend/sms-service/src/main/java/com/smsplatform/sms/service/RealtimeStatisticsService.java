@@ -0,0 +1,135 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.RealtimeStatisticsDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.metrics.SlidingWindowCounter;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageRollup;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Realtime Statistics Service
+ * 
+ * Keeps per-operator x status transition counts over the last 1, 5 and 15 minutes
+ * entirely in memory for the live NOC view. Every committed status transition
+ * increments a {@link SlidingWindowCounter}; reads cost O(buckets) per counter and
+ * never touch MySQL. Counts are also published as Micrometer gauges.
+ */
+@Service
+public class RealtimeStatisticsService {
+
+    /**
+     * Windows served by the realtime endpoint and gauges, in minutes
+     */
+    public static final int[] WINDOW_MINUTES = {1, 5, 15};
+
+    private static final SmsMessage.SmsStatus[] STATUSES = SmsMessage.SmsStatus.values();
+
+    private final MeterRegistry meterRegistry;
+    private final long bucketMillis;
+    private final long maxWindowMillis;
+
+    private final ConcurrentHashMap<Long, SlidingWindowCounter[]> countersByOperator = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RealtimeStatisticsService(MeterRegistry meterRegistry,
+                                     @Value("${sms.platform.statistics.realtime.bucket-seconds:5}") int bucketSeconds) {
+        this.meterRegistry = meterRegistry;
+        this.bucketMillis = bucketSeconds * 1000L;
+        this.maxWindowMillis = WINDOW_MINUTES[WINDOW_MINUTES.length - 1] * 60_000L;
+    }
+
+    /**
+     * Count a committed status transition into its target status
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        if (event.getNewStatus() == null) {
+            return;
+        }
+        long operatorId = event.getOperatorId() != null ? event.getOperatorId() : SmsMessageRollup.NO_OPERATOR;
+        countersFor(operatorId)[event.getNewStatus().ordinal()].increment();
+    }
+
+    private SlidingWindowCounter[] countersFor(long operatorId) {
+        SlidingWindowCounter[] counters = countersByOperator.get(operatorId);
+        if (counters == null) {
+            counters = countersByOperator.computeIfAbsent(operatorId, this::createCounters);
+        }
+        return counters;
+    }
+
+    private SlidingWindowCounter[] createCounters(Long operatorId) {
+        SlidingWindowCounter[] counters = new SlidingWindowCounter[STATUSES.length];
+        for (SmsMessage.SmsStatus status : STATUSES) {
+            SlidingWindowCounter counter = new SlidingWindowCounter(bucketMillis, maxWindowMillis);
+            counters[status.ordinal()] = counter;
+            for (int minutes : WINDOW_MINUTES) {
+                long windowMillis = minutes * 60_000L;
+                Gauge.builder("sms.realtime.transitions", counter, c -> c.sum(windowMillis))
+                     .description("Status transitions in the trailing window")
+                     .tag("operator", String.valueOf(operatorId))
+                     .tag("status", status.name())
+                     .tag("window", minutes + "m")
+                     .register(meterRegistry);
+            }
+        }
+        return counters;
+    }
+
+    /**
+     * Count of transitions into a status for one operator over a trailing window
+     */
+    public long getCount(Long operatorId, SmsMessage.SmsStatus status, int windowMinutes) {
+        SlidingWindowCounter[] counters = countersByOperator.get(
+                operatorId != null ? operatorId : SmsMessageRollup.NO_OPERATOR);
+        return counters != null ? counters[status.ordinal()].sum(windowMinutes * 60_000L) : 0L;
+    }
+
+    /**
+     * Operators seen since startup (0 for messages without an operator)
+     */
+    public Set<Long> getOperatorIds() {
+        return Collections.unmodifiableSet(countersByOperator.keySet());
+    }
+
+    /**
+     * Snapshot of all operators x statuses for every configured window
+     */
+    public RealtimeStatisticsDto getSnapshot() {
+        long now = System.currentTimeMillis();
+        Map<String, Map<Long, Map<SmsMessage.SmsStatus, Long>>> windows = new LinkedHashMap<>();
+        for (int minutes : WINDOW_MINUTES) {
+            long windowMillis = minutes * 60_000L;
+            Map<Long, Map<SmsMessage.SmsStatus, Long>> byOperator = new TreeMap<>();
+            countersByOperator.forEach((operatorId, counters) -> {
+                Map<SmsMessage.SmsStatus, Long> byStatus = new EnumMap<>(SmsMessage.SmsStatus.class);
+                for (SmsMessage.SmsStatus status : STATUSES) {
+                    byStatus.put(status, counters[status.ordinal()].sum(windowMillis, now));
+                }
+                byOperator.put(operatorId, byStatus);
+            });
+            windows.put(minutes + "m", byOperator);
+        }
+
+        RealtimeStatisticsDto dto = new RealtimeStatisticsDto();
+        dto.setGeneratedAt(LocalDateTime.now());
+        dto.setBucketSeconds(bucketMillis / 1000);
+        dto.setWindows(windows);
+        return dto;
+    }
+}
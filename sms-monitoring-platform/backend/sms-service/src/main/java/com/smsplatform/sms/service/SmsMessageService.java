@@ -1,22 +1,47 @@
 package com.smsplatform.sms.service;
 
+import com.smsplatform.sms.config.DispatchExecutorConfig;
+import com.smsplatform.sms.dto.CursorPageDto;
+import com.smsplatform.sms.dto.MessageCursor;
 import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.dto.SmsMessageStateDto;
+import com.smsplatform.sms.dto.SmsMessageSummaryDto;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.metrics.PipelineMetrics;
 import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.repository.SmsMessageIdKeyRepository;
 import com.smsplatform.sms.repository.SmsMessageRepository;
+import com.smsplatform.sms.simulation.DeliveryOutcome;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.ConstraintViolationException;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
-import java.util.stream.Collectors;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * SMS Message Service
@@ -28,20 +53,71 @@ import java.util.stream.Collectors;
 @Transactional
 public class SmsMessageService {
 
+    private static final Logger logger = LoggerFactory.getLogger(SmsMessageService.class);
+
     private final SmsMessageRepository smsMessageRepository;
+    private final SmsMessageIdKeyRepository messageIdKeyRepository;
     private final NetworkSimulationService networkSimulationService;
+    private final StatisticsRollupService statisticsRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final PipelineMetrics pipelineMetrics;
+    private final Validator validator;
+    private final TrafficCaptureService trafficCaptureService;
+    private final ArchiveService archiveService;
+    private final MessageLookupCache messageLookupCache;
+    private final MessageContentStore messageContentStore;
+
+    // Messages queued or being processed, so the scheduler sweep does not dispatch them twice
+    private final Set<Long> inFlight = ConcurrentHashMap.newKeySet();
+
+    private SmsMessageService self;
+
+    // Pending messages older than this are not swept; keeps the sweep on recent partitions
+    @Value("${sms.platform.dispatch.pending-lookback-days:30}")
+    private int pendingLookbackDays;
+
+    @Value("${sms.platform.listing.max-page-size:1000}")
+    private int maxCursorPageSize;
 
     @Autowired
     public SmsMessageService(SmsMessageRepository smsMessageRepository,
-                           NetworkSimulationService networkSimulationService) {
+                           SmsMessageIdKeyRepository messageIdKeyRepository,
+                           NetworkSimulationService networkSimulationService,
+                           StatisticsRollupService statisticsRollupService,
+                           ApplicationEventPublisher eventPublisher,
+                           PipelineMetrics pipelineMetrics,
+                           Validator validator,
+                           TrafficCaptureService trafficCaptureService,
+                           ArchiveService archiveService,
+                           MessageLookupCache messageLookupCache,
+                           MessageContentStore messageContentStore) {
         this.smsMessageRepository = smsMessageRepository;
+        this.messageIdKeyRepository = messageIdKeyRepository;
         this.networkSimulationService = networkSimulationService;
+        this.statisticsRollupService = statisticsRollupService;
+        this.eventPublisher = eventPublisher;
+        this.pipelineMetrics = pipelineMetrics;
+        this.validator = validator;
+        this.trafficCaptureService = trafficCaptureService;
+        this.archiveService = archiveService;
+        this.messageLookupCache = messageLookupCache;
+        this.messageContentStore = messageContentStore;
+    }
+
+    /**
+     * Proxied self reference so @Async and @Transactional apply to internal calls
+     */
+    @Autowired
+    public void setSelf(@Lazy SmsMessageService self) {
+        this.self = self;
     }
 
     /**
      * Create a new SMS message
      */
     public SmsMessageDto createMessage(SmsMessageDto messageDto) {
+        long arrivalNanos = System.nanoTime();
+
         // Generate unique message ID if not provided
         if (messageDto.getMessageId() == null || messageDto.getMessageId().isEmpty()) {
             messageDto.setMessageId(generateMessageId());
@@ -55,144 +131,260 @@ public class SmsMessageService {
             messageDto.setPriority(SmsMessage.SmsPriority.NORMAL);
         }
 
+        // Validate after defaults are applied so generated fields satisfy the constraints
+        long validationStart = System.nanoTime();
+        Set<ConstraintViolation<SmsMessageDto>> violations = validator.validate(messageDto);
+        pipelineMetrics.recordValidation(System.nanoTime() - validationStart, violations.isEmpty());
+        if (!violations.isEmpty()) {
+            throw new ConstraintViolationException(violations);
+        }
+        trafficCaptureService.record(messageDto, arrivalNanos);
+
         SmsMessage entity = messageDto.toEntity();
-        SmsMessage savedEntity = smsMessageRepository.save(entity);
+        messageContentStore.intern(entity);
+        SmsMessage savedEntity;
+        long insertStart = System.nanoTime();
+        try {
+            claimMessageId(entity.getMessageId());
+            savedEntity = smsMessageRepository.save(entity);
+        } catch (RuntimeException e) {
+            pipelineMetrics.recordDbInsert(System.nanoTime() - insertStart, entity.getPriority(), false);
+            throw e;
+        }
+        pipelineMetrics.recordDbInsert(System.nanoTime() - insertStart, savedEntity.getPriority(), true);
+        eventPublisher.publishEvent(SmsStatusTransitionEvent.created(savedEntity));
 
-        // Trigger async processing
-        processMessageAsync(savedEntity.getId());
+        // Trigger async processing once the row is visible to the dispatch threads
+        dispatchAfterCommit(savedEntity.getId());
 
         return SmsMessageDto.fromEntity(savedEntity);
     }
 
     /**
-     * Get SMS message by ID
+     * Reserve the message id in message_ids; the insert commits or rolls back with the message
      */
-    @Transactional(readOnly = true)
+    private void claimMessageId(String messageId) {
+        try {
+            messageIdKeyRepository.claim(messageId, LocalDateTime.now());
+        } catch (DataIntegrityViolationException e) {
+            throw new DuplicateKeyException("Message ID already exists: " + messageId, e);
+        }
+    }
+
+    private void dispatchAfterCommit(Long messageId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(messageId);
+                }
+            });
+        } else {
+            dispatch(messageId);
+        }
+    }
+
+    /**
+     * Hand a message to the dispatch executor; returns false if the queue is full
+     */
+    private boolean dispatch(Long messageId) {
+        if (!inFlight.add(messageId)) {
+            return true;
+        }
+        try {
+            self.processMessageAsync(messageId);
+            return true;
+        } catch (TaskRejectedException e) {
+            // Left PENDING; the scheduler sweep retries once the queue drains
+            inFlight.remove(messageId);
+            pipelineMetrics.recordDispatchRejected();
+            return false;
+        }
+    }
+
+    /**
+     * Get SMS message by ID (cached; a hit opens no transaction)
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<SmsMessageDto> getMessageById(Long id) {
-        return smsMessageRepository.findById(id)
-                .map(SmsMessageDto::fromEntity);
+        return messageLookupCache.getById(id, self::loadMessageById);
     }
 
     /**
-     * Get SMS message by message ID
+     * Get SMS message by message ID (cached; a hit opens no transaction)
      */
-    @Transactional(readOnly = true)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public Optional<SmsMessageDto> getMessageByMessageId(String messageId) {
-        return smsMessageRepository.findByMessageId(messageId)
-                .map(SmsMessageDto::fromEntity);
+        return messageLookupCache.getByMessageId(messageId, self::loadMessageByMessageId);
+    }
+
+    /**
+     * Load SMS message by ID, falling back to the cold archive
+     */
+    @Transactional(readOnly = true)
+    public Optional<SmsMessageDto> loadMessageById(Long id) {
+        Optional<SmsMessage> message = smsMessageRepository.findById(id).map(messageContentStore::resolve);
+        if (message.isEmpty()) {
+            message = archiveService.findById(id);
+        }
+        return message.map(SmsMessageDto::fromEntity);
+    }
+
+    /**
+     * Load SMS message by message ID, falling back to the cold archive
+     */
+    @Transactional(readOnly = true)
+    public Optional<SmsMessageDto> loadMessageByMessageId(String messageId) {
+        Optional<SmsMessage> message = smsMessageRepository.findFirstByMessageIdOrderByIdAsc(messageId)
+                .map(messageContentStore::resolve);
+        if (message.isEmpty()) {
+            message = archiveService.findByMessageId(messageId);
+        }
+        return message.map(SmsMessageDto::fromEntity);
     }
 
     /**
-     * Get all SMS messages with pagination
+     * Get all SMS messages with pagination (summaries without content)
      */
     @Transactional(readOnly = true)
-    public Page<SmsMessageDto> getAllMessages(Pageable pageable) {
-        return smsMessageRepository.findAll(pageable)
-                .map(SmsMessageDto::fromEntity);
+    public Page<SmsMessageSummaryDto> getAllMessages(Pageable pageable) {
+        return smsMessageRepository.findSummaries(pageable);
     }
 
     /**
-     * Get SMS messages by operator
+     * List message summaries by keyset: limit rows after the cursor, with an exact total only on request
      */
     @Transactional(readOnly = true)
-    public Page<SmsMessageDto> getMessagesByOperator(Long operatorId, Pageable pageable) {
-        return smsMessageRepository.findByOperatorId(operatorId, pageable)
-                .map(SmsMessageDto::fromEntity);
+    public CursorPageDto<SmsMessageSummaryDto> listMessages(String cursor, int limit, Long operatorId,
+                                                            SmsMessage.SmsStatus status, boolean ascending,
+                                                            boolean includeTotal) {
+        MessageCursor after = cursor != null && !cursor.isBlank() ? MessageCursor.decode(cursor) : null;
+        int pageSize = Math.max(1, Math.min(limit, maxCursorPageSize));
+
+        // One extra row tells whether another page follows
+        List<SmsMessageSummaryDto> rows = smsMessageRepository.findSummariesAfter(after, operatorId, status,
+                ascending, pageSize + 1);
+        String nextCursor = null;
+        if (rows.size() > pageSize) {
+            rows = rows.subList(0, pageSize);
+            nextCursor = MessageCursor.of(rows.get(pageSize - 1)).encode();
+        }
+        Long total = includeTotal ? smsMessageRepository.countSummaries(operatorId, status) : null;
+        return new CursorPageDto<>(rows, nextCursor, pageSize, total);
     }
 
     /**
-     * Get SMS messages by status
+     * Get SMS messages by operator (summaries without content)
      */
     @Transactional(readOnly = true)
-    public List<SmsMessageDto> getMessagesByStatus(SmsMessage.SmsStatus status) {
-        return smsMessageRepository.findByStatus(status)
-                .stream()
-                .map(SmsMessageDto::fromEntity)
-                .collect(Collectors.toList());
+    public Page<SmsMessageSummaryDto> getMessagesByOperator(Long operatorId, Pageable pageable) {
+        return smsMessageRepository.findSummariesByOperatorId(operatorId, pageable);
     }
 
     /**
-     * Update message status
+     * Update message status, returning the full message
      */
     public SmsMessageDto updateMessageStatus(Long id, SmsMessage.SmsStatus status) {
-        Optional<SmsMessage> messageOpt = smsMessageRepository.findById(id);
-        if (messageOpt.isPresent()) {
-            SmsMessage message = messageOpt.get();
-            message.setStatus(status);
-
-            // Set timestamps based on status
-            LocalDateTime now = LocalDateTime.now();
-            switch (status) {
-                case SENT:
-                    message.setSentAt(now);
-                    break;
-                case DELIVERED:
-                    message.setDeliveredAt(now);
-                    break;
-                case FAILED:
-                case EXPIRED:
-                    // Keep existing timestamps
-                    break;
-            }
+        transitionStatus(id, status);
+        return loadMessageById(id)
+                .orElseThrow(() -> new RuntimeException("SMS message not found with id: " + id));
+    }
+
+    /**
+     * Move a message to a new status. Reads and writes only the delivery state
+     * columns, so a transition never reads or rewrites the content.
+     */
+    public SmsMessageStateDto transitionStatus(Long id, SmsMessage.SmsStatus status) {
+        SmsMessageStateDto previous = smsMessageRepository.findStateById(id)
+                .orElseThrow(() -> new RuntimeException("SMS message not found with id: " + id));
+        // Stored precision, so the event carries exactly what the row holds
+        LocalDateTime now = SmsMessage.toStoredPrecision(LocalDateTime.now());
+        SmsMessageStateDto next = previous.transitionTo(status, now);
 
-            SmsMessage updatedMessage = smsMessageRepository.save(message);
-            return SmsMessageDto.fromEntity(updatedMessage);
+        long flushStart = System.nanoTime();
+        int updated = smsMessageRepository.updateState(next.id(), next.createdAt(), previous.status(), next.status(),
+                next.sentAt(), next.deliveredAt(), now);
+        pipelineMetrics.recordStatusFlush(System.nanoTime() - flushStart, status);
+        if (updated == 0) {
+            // Archived, deleted or transitioned by someone else since it was read; publishing would
+            // double-count in the rollups and resurrect the row in caches and the search index
+            throw new OptimisticLockingFailureException("SMS message " + id + " changed concurrently; status "
+                    + previous.status() + " -> " + status + " not applied");
         }
-        throw new RuntimeException("SMS message not found with id: " + id);
+        eventPublisher.publishEvent(SmsStatusTransitionEvent.transitioned(next, previous.status()));
+        return next;
     }
 
     /**
      * Delete SMS message
      */
     public void deleteMessage(Long id) {
-        if (!smsMessageRepository.existsById(id)) {
-            throw new RuntimeException("SMS message not found with id: " + id);
-        }
-        smsMessageRepository.deleteById(id);
+        SmsMessage message = smsMessageRepository.findById(id)
+                .orElseThrow(() -> new RuntimeException("SMS message not found with id: " + id));
+        smsMessageRepository.delete(message);
+        messageIdKeyRepository.deleteById(message.getMessageId());
+        eventPublisher.publishEvent(SmsStatusTransitionEvent.deleted(message));
     }
 
     /**
-     * Get delivery statistics for date range
+     * Get delivery statistics for date range (served from rollups)
      */
     @Transactional(readOnly = true)
     public List<Object[]> getDeliveryStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        return smsMessageRepository.getDeliveryStatistics(startDate, endDate);
+        return statisticsRollupService.getDeliveryStatistics(startDate, endDate);
     }
 
     /**
-     * Get operator performance statistics
+     * Get operator performance statistics (served from rollups)
      */
     @Transactional(readOnly = true)
     public List<Object[]> getOperatorPerformanceStatistics(LocalDateTime startDate, LocalDateTime endDate) {
-        return smsMessageRepository.getOperatorPerformanceStatistics(startDate, endDate);
+        return statisticsRollupService.getOperatorPerformanceStatistics(startDate, endDate);
     }
 
     /**
-     * Process pending messages asynchronously
+     * Process pending messages asynchronously on the dispatch executor.
+     * Runs outside a transaction so no connection is held during the operator
+     * call; each status update commits on its own.
      */
-    @Async
+    @Async(DispatchExecutorConfig.DISPATCH_EXECUTOR)
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     public CompletableFuture<Void> processMessageAsync(Long messageId) {
         try {
             Optional<SmsMessage> messageOpt = smsMessageRepository.findById(messageId);
             if (messageOpt.isPresent()) {
-                SmsMessage message = messageOpt.get();
+                // The delivery model draws from the content, so shared content is resolved first
+                SmsMessage message = messageContentStore.resolve(messageOpt.get());
                 
                 // Simulate network processing
-                boolean success = networkSimulationService.simulateMessageDelivery(message);
+                long callStart = System.nanoTime();
+                DeliveryOutcome outcome = networkSimulationService.simulateDelivery(message);
+                boolean success = outcome.isDelivered();
+                pipelineMetrics.recordOperatorCall(System.nanoTime() - callStart,
+                        message.getOperatorId(), message.getPriority(), success);
+                if (!success) {
+                    pipelineMetrics.recordOperatorError(message.getOperatorId(), outcome.getErrorCode());
+                    logger.debug("Operator rejected message {}: {}", messageId, outcome.getErrorCode());
+                }
                 
                 if (success) {
-                    updateMessageStatus(messageId, SmsMessage.SmsStatus.SENT);
+                    self.transitionStatus(messageId, SmsMessage.SmsStatus.SENT);
                     
-                    // Simulate delivery confirmation after delay
-                    Thread.sleep(2000);
-                    updateMessageStatus(messageId, SmsMessage.SmsStatus.DELIVERED);
+                    // Simulate delivery confirmation after the modelled receipt delay
+                    Thread.sleep(outcome.getConfirmationDelayMillis());
+                    self.transitionStatus(messageId, SmsMessage.SmsStatus.DELIVERED);
                 } else {
-                    updateMessageStatus(messageId, SmsMessage.SmsStatus.FAILED);
+                    self.transitionStatus(messageId, SmsMessage.SmsStatus.FAILED);
                 }
             }
+        } catch (OptimisticLockingFailureException e) {
+            // Someone else moved the message on; its state is theirs now
+            logger.debug("Processing of message {} stopped: {}", messageId, e.getMessage());
         } catch (Exception e) {
-            // Log error and update status
-            updateMessageStatus(messageId, SmsMessage.SmsStatus.FAILED);
+            logger.warn("Processing of message {} failed: {}", messageId, e.getMessage());
+            self.transitionStatus(messageId, SmsMessage.SmsStatus.FAILED);
+        } finally {
+            inFlight.remove(messageId);
         }
         
         return CompletableFuture.completedFuture(null);
@@ -203,19 +395,25 @@ public class SmsMessageService {
      */
     @Scheduled(fixedDelay = 30000) // Run every 30 seconds
     public void processPendingMessages() {
+        long sweepStart = System.nanoTime();
         LocalDateTime now = LocalDateTime.now();
-        List<SmsMessage> pendingMessages = smsMessageRepository.findPendingMessagesForSending(now);
+        List<SmsMessage> pendingMessages = smsMessageRepository.findPendingMessagesForSending(
+                now, now.minusDays(pendingLookbackDays));
         
         for (SmsMessage message : pendingMessages) {
-            processMessageAsync(message.getId());
+            if (!dispatch(message.getId())) {
+                break;
+            }
         }
+        pipelineMetrics.recordSchedulerSweep(System.nanoTime() - sweepStart, pendingMessages.size());
     }
 
     /**
      * Generate unique message ID
      */
-    private String generateMessageId() {
-        return "SMS-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    public static String generateMessageId() {
+        // All 122 random bits of the UUID; a truncated UUID collides after tens of thousands of messages
+        return "SMS-" + UUID.randomUUID().toString().replace("-", "").toUpperCase();
     }
 }
 
@@ -0,0 +1,400 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.archive.ArchiveFileReader;
+import com.smsplatform.sms.event.SmsStatusTransitionEvent;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.model.SmsMessageRollup;
+import com.smsplatform.sms.repository.SmsMessageRepository;
+import com.smsplatform.sms.repository.SmsMessageRollupRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Statistics Rollup Service
+ * 
+ * Maintains minute and hour rollups of message counts keyed by operator, status
+ * and priority, and answers delivery statistics from them. Status transitions are
+ * folded into an in-memory delta map and flushed as one batched upsert, so a busy
+ * bucket costs one write per flush instead of one per message. Range queries read
+ * hour rollups for whole hours, minute rollups for whole minutes at the edges and
+ * raw sms_messages rows only for the sub-minute remainder. Rows moved to the
+ * cold archive stay counted: rollups are not touched by archiving, and raw
+ * segments and backfills add the archived rows in their range.
+ */
+@Service
+public class StatisticsRollupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatisticsRollupService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO sms_message_rollups (resolution, bucket_start, operator_id, status, priority, message_count) " +
+            "VALUES (?, ?, ?, ?, ?, ?) " +
+            "ON DUPLICATE KEY UPDATE message_count = message_count + VALUES(message_count)";
+
+    private static final String DELETE_RANGE_SQL =
+            "DELETE FROM sms_message_rollups WHERE bucket_start >= ? AND bucket_start < ?";
+
+    private final SmsMessageRepository smsMessageRepository;
+    private final SmsMessageRollupRepository rollupRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ArchiveService archiveService;
+
+    private final ConcurrentHashMap<RollupKey, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+    @Value("${sms.platform.statistics.rollup.backfill-parallelism:4}")
+    private int backfillParallelism;
+
+    @Value("${sms.platform.statistics.rollup.backfill-chunk-hours:24}")
+    private int backfillChunkHours;
+
+    @Autowired
+    public StatisticsRollupService(SmsMessageRepository smsMessageRepository,
+                                   SmsMessageRollupRepository rollupRepository,
+                                   JdbcTemplate jdbcTemplate,
+                                   TransactionTemplate transactionTemplate,
+                                   ArchiveService archiveService) {
+        this.smsMessageRepository = smsMessageRepository;
+        this.rollupRepository = rollupRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.archiveService = archiveService;
+    }
+
+    /**
+     * Fold a committed status transition into the pending rollup deltas
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onStatusTransition(SmsStatusTransitionEvent event) {
+        if (event.getCreatedAt() == null || event.getPriority() == null) {
+            return;
+        }
+        long operatorId = event.getOperatorId() != null ? event.getOperatorId() : SmsMessageRollup.NO_OPERATOR;
+        if (event.getPreviousStatus() != null) {
+            addDelta(event.getCreatedAt(), operatorId, event.getPreviousStatus(), event.getPriority(), -1L);
+        }
+        if (event.getNewStatus() != null) {
+            addDelta(event.getCreatedAt(), operatorId, event.getNewStatus(), event.getPriority(), 1L);
+        }
+    }
+
+    /**
+     * Fold counts of rows written outside the transition path (e.g. bulk seeding) into the pending deltas
+     */
+    public void addCounts(LocalDateTime createdAt, Long operatorId, SmsMessage.SmsStatus status,
+                          SmsMessage.SmsPriority priority, long count) {
+        addDelta(createdAt, operatorId != null ? operatorId : SmsMessageRollup.NO_OPERATOR, status, priority, count);
+    }
+
+    private void addDelta(LocalDateTime createdAt, long operatorId, SmsMessage.SmsStatus status,
+                          SmsMessage.SmsPriority priority, long delta) {
+        pendingDeltas.merge(new RollupKey(SmsMessageRollup.Resolution.MINUTE,
+                createdAt.truncatedTo(ChronoUnit.MINUTES), operatorId, status, priority), delta, Long::sum);
+        pendingDeltas.merge(new RollupKey(SmsMessageRollup.Resolution.HOUR,
+                createdAt.truncatedTo(ChronoUnit.HOURS), operatorId, status, priority), delta, Long::sum);
+    }
+
+    /**
+     * Scheduled task to flush pending deltas as one batched upsert
+     */
+    @Scheduled(fixedDelayString = "${sms.platform.statistics.rollup.flush-interval-ms:5000}")
+    public void flushPendingDeltas() {
+        if (pendingDeltas.isEmpty()) {
+            return;
+        }
+
+        // remove() hands each delta to exactly one flusher; concurrent merges start a fresh entry
+        Map<RollupKey, Long> drained = new HashMap<>();
+        for (RollupKey key : pendingDeltas.keySet()) {
+            Long delta = pendingDeltas.remove(key);
+            if (delta != null && delta != 0L) {
+                drained.put(key, delta);
+            }
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> batch = new ArrayList<>(drained.size());
+        drained.forEach((key, delta) -> batch.add(new Object[] {
+                key.resolution().name(), Timestamp.valueOf(key.bucketStart()), key.operatorId(),
+                key.status().name(), key.priority().name(), delta
+        }));
+
+        try {
+            transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch));
+        } catch (RuntimeException e) {
+            logger.warn("Rollup flush of {} deltas failed, re-queueing: {}", drained.size(), e.getMessage());
+            drained.forEach((key, delta) -> pendingDeltas.merge(key, delta, Long::sum));
+        }
+    }
+
+    /**
+     * Get delivery statistics (status, count) for an inclusive date range
+     */
+    public List<Object[]> getDeliveryStatistics(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<SmsMessage.SmsStatus, Long> totals = new EnumMap<>(SmsMessage.SmsStatus.class);
+        for (Segment segment : planSegments(startDate, endDate)) {
+            List<Object[]> rows;
+            switch (segment.kind()) {
+                case RAW:
+                    rows = smsMessageRepository.getDeliveryStatisticsInRange(segment.from(), segment.to());
+                    break;
+                case RAW_INCLUSIVE:
+                    rows = smsMessageRepository.getDeliveryStatistics(segment.from(), segment.to());
+                    break;
+                default:
+                    rows = rollupRepository.sumByStatus(segment.resolution(), segment.from(), segment.to());
+            }
+            for (Object[] row : rows) {
+                totals.merge((SmsMessage.SmsStatus) row[0], ((Number) row[1]).longValue(), Long::sum);
+            }
+            addArchived(segment, (createdAt, operatorId, status, priority) -> totals.merge(status, 1L, Long::sum));
+        }
+
+        List<Object[]> result = new ArrayList<>(totals.size());
+        totals.forEach((status, count) -> {
+            if (count > 0) {
+                result.add(new Object[] {status, count});
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Get operator performance statistics (operatorId, status, count) for an inclusive date range
+     */
+    public List<Object[]> getOperatorPerformanceStatistics(LocalDateTime startDate, LocalDateTime endDate) {
+        Map<Long, Map<SmsMessage.SmsStatus, Long>> totals = new HashMap<>();
+        for (Segment segment : planSegments(startDate, endDate)) {
+            List<Object[]> rows;
+            switch (segment.kind()) {
+                case RAW:
+                    rows = smsMessageRepository.getOperatorPerformanceStatisticsInRange(segment.from(), segment.to());
+                    break;
+                case RAW_INCLUSIVE:
+                    rows = smsMessageRepository.getOperatorPerformanceStatistics(segment.from(), segment.to());
+                    break;
+                default:
+                    rows = rollupRepository.sumByOperatorAndStatus(segment.resolution(), segment.from(), segment.to());
+            }
+            for (Object[] row : rows) {
+                Long operatorId = (Long) row[0];
+                if (operatorId != null && operatorId == SmsMessageRollup.NO_OPERATOR) {
+                    operatorId = null;
+                }
+                totals.computeIfAbsent(operatorId, id -> new EnumMap<>(SmsMessage.SmsStatus.class))
+                      .merge((SmsMessage.SmsStatus) row[1], ((Number) row[2]).longValue(), Long::sum);
+            }
+            addArchived(segment, (createdAt, operatorId, status, priority) ->
+                    totals.computeIfAbsent(operatorId, id -> new EnumMap<>(SmsMessage.SmsStatus.class))
+                          .merge(status, 1L, Long::sum));
+        }
+
+        List<Object[]> result = new ArrayList<>();
+        totals.forEach((operatorId, byStatus) -> byStatus.forEach((status, count) -> {
+            if (count > 0) {
+                result.add(new Object[] {operatorId, status, count});
+            }
+        }));
+        return result;
+    }
+
+    /**
+     * Visit archived rows of a raw segment; rollup segments already count them
+     */
+    private void addArchived(Segment segment, ArchiveFileReader.SummaryVisitor visitor) {
+        if (segment.kind() != SegmentKind.ROLLUP) {
+            archiveService.forEachInRange(segment.from(), segment.to(), segment.kind() == SegmentKind.RAW_INCLUSIVE, visitor);
+        }
+    }
+
+    /**
+     * Split an inclusive range into hour rollups, minute rollups and raw edges
+     */
+    private List<Segment> planSegments(LocalDateTime startDate, LocalDateTime endDate) {
+        List<Segment> segments = new ArrayList<>();
+        if (startDate.isAfter(endDate)) {
+            return segments;
+        }
+
+        LocalDateTime firstMinute = ceil(startDate, ChronoUnit.MINUTES);
+        LocalDateTime lastMinute = endDate.truncatedTo(ChronoUnit.MINUTES);
+        if (!firstMinute.isBefore(lastMinute)) {
+            segments.add(new Segment(SegmentKind.RAW_INCLUSIVE, null, startDate, endDate));
+            return segments;
+        }
+
+        if (startDate.isBefore(firstMinute)) {
+            segments.add(new Segment(SegmentKind.RAW, null, startDate, firstMinute));
+        }
+
+        LocalDateTime firstHour = ceil(startDate, ChronoUnit.HOURS);
+        LocalDateTime lastHour = endDate.truncatedTo(ChronoUnit.HOURS);
+        if (firstHour.isBefore(lastHour)) {
+            if (firstMinute.isBefore(firstHour)) {
+                segments.add(new Segment(SegmentKind.ROLLUP, SmsMessageRollup.Resolution.MINUTE, firstMinute, firstHour));
+            }
+            segments.add(new Segment(SegmentKind.ROLLUP, SmsMessageRollup.Resolution.HOUR, firstHour, lastHour));
+            if (lastHour.isBefore(lastMinute)) {
+                segments.add(new Segment(SegmentKind.ROLLUP, SmsMessageRollup.Resolution.MINUTE, lastHour, lastMinute));
+            }
+        } else {
+            segments.add(new Segment(SegmentKind.ROLLUP, SmsMessageRollup.Resolution.MINUTE, firstMinute, lastMinute));
+        }
+
+        // End bound stays inclusive to match the original BETWEEN semantics
+        segments.add(new Segment(SegmentKind.RAW_INCLUSIVE, null, lastMinute, endDate));
+        return segments;
+    }
+
+    private static LocalDateTime ceil(LocalDateTime time, ChronoUnit unit) {
+        LocalDateTime truncated = time.truncatedTo(unit);
+        return truncated.equals(time) ? truncated : truncated.plus(1, unit);
+    }
+
+    /**
+     * Rebuild rollups for a date range from sms_messages, in parallel hour-aligned chunks.
+     * Each chunk is replaced atomically; transitions committed while a chunk is being
+     * rebuilt may be counted twice, so run it for ranges that are no longer hot.
+     */
+    public BackfillResult backfill(LocalDateTime startDate, LocalDateTime endDate) {
+        LocalDateTime from = startDate.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime to = ceil(endDate, ChronoUnit.HOURS);
+        long started = System.currentTimeMillis();
+
+        flushPendingDeltas();
+
+        List<Future<int[]>> futures = new ArrayList<>();
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, backfillParallelism));
+        try {
+            for (LocalDateTime chunkStart = from; chunkStart.isBefore(to); ) {
+                LocalDateTime chunkEnd = chunkStart.plusHours(Math.max(1, backfillChunkHours));
+                if (chunkEnd.isAfter(to)) {
+                    chunkEnd = to;
+                }
+                LocalDateTime chunkFrom = chunkStart;
+                LocalDateTime chunkTo = chunkEnd;
+                futures.add(executor.submit(() -> transactionTemplate.execute(status -> rebuildChunk(chunkFrom, chunkTo))));
+                chunkStart = chunkEnd;
+            }
+
+            BackfillResult result = new BackfillResult();
+            result.setStartDate(from);
+            result.setEndDate(to);
+            result.setChunks(futures.size());
+            for (Future<int[]> future : futures) {
+                int[] rows = future.get();
+                result.setMinuteRows(result.getMinuteRows() + rows[0]);
+                result.setHourRows(result.getHourRows() + rows[1]);
+            }
+            result.setDurationMs(System.currentTimeMillis() - started);
+            logger.info("Rollup backfill {} - {}: {} chunks, {} minute rows, {} hour rows in {} ms",
+                    from, to, result.getChunks(), result.getMinuteRows(), result.getHourRows(), result.getDurationMs());
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Rollup backfill interrupted", e);
+        } catch (ExecutionException e) {
+            throw new RuntimeException("Rollup backfill failed: " + e.getCause().getMessage(), e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private int[] rebuildChunk(LocalDateTime from, LocalDateTime to) {
+        Timestamp fromTs = Timestamp.valueOf(from);
+        Timestamp toTs = Timestamp.valueOf(to);
+        jdbcTemplate.update(DELETE_RANGE_SQL, fromTs, toTs);
+        int minuteRows = jdbcTemplate.update(backfillSql(SmsMessageRollup.Resolution.MINUTE,
+                "DATE_FORMAT(created_at, '%Y-%m-%d %H:%i:00')"), fromTs, toTs);
+        int hourRows = jdbcTemplate.update(backfillSql(SmsMessageRollup.Resolution.HOUR,
+                "DATE_FORMAT(created_at, '%Y-%m-%d %H:00:00')"), fromTs, toTs);
+
+        // Archived rows are no longer in sms_messages; add them on top of the rebuilt buckets
+        Map<RollupKey, Long> archived = new HashMap<>();
+        archiveService.forEachInRange(from, to, false, (createdAt, operatorId, status, priority) -> {
+            long operator = operatorId != null ? operatorId : SmsMessageRollup.NO_OPERATOR;
+            archived.merge(new RollupKey(SmsMessageRollup.Resolution.MINUTE,
+                    createdAt.truncatedTo(ChronoUnit.MINUTES), operator, status, priority), 1L, Long::sum);
+            archived.merge(new RollupKey(SmsMessageRollup.Resolution.HOUR,
+                    createdAt.truncatedTo(ChronoUnit.HOURS), operator, status, priority), 1L, Long::sum);
+        });
+        if (!archived.isEmpty()) {
+            List<Object[]> batch = new ArrayList<>(archived.size());
+            archived.forEach((key, count) -> batch.add(new Object[] {
+                    key.resolution().name(), Timestamp.valueOf(key.bucketStart()), key.operatorId(),
+                    key.status().name(), key.priority().name(), count
+            }));
+            jdbcTemplate.batchUpdate(UPSERT_SQL, batch);
+        }
+        return new int[] {minuteRows, hourRows};
+    }
+
+    private static String backfillSql(SmsMessageRollup.Resolution resolution, String bucketExpression) {
+        return "INSERT INTO sms_message_rollups (resolution, bucket_start, operator_id, status, priority, message_count) " +
+               "SELECT '" + resolution.name() + "', " + bucketExpression + ", COALESCE(operator_id, 0), status, priority, COUNT(*) " +
+               "FROM sms_messages WHERE created_at >= ? AND created_at < ? " +
+               "GROUP BY " + bucketExpression + ", COALESCE(operator_id, 0), status, priority";
+    }
+
+    private record RollupKey(SmsMessageRollup.Resolution resolution, LocalDateTime bucketStart, long operatorId,
+                             SmsMessage.SmsStatus status, SmsMessage.SmsPriority priority) {}
+
+    private enum SegmentKind { ROLLUP, RAW, RAW_INCLUSIVE }
+
+    private record Segment(SegmentKind kind, SmsMessageRollup.Resolution resolution,
+                           LocalDateTime from, LocalDateTime to) {}
+
+    /**
+     * Backfill Result DTO
+     */
+    public static class BackfillResult {
+        private LocalDateTime startDate;
+        private LocalDateTime endDate;
+        private int chunks;
+        private int minuteRows;
+        private int hourRows;
+        private long durationMs;
+
+        // Getters and Setters
+        public LocalDateTime getStartDate() { return startDate; }
+        public void setStartDate(LocalDateTime startDate) { this.startDate = startDate; }
+
+        public LocalDateTime getEndDate() { return endDate; }
+        public void setEndDate(LocalDateTime endDate) { this.endDate = endDate; }
+
+        public int getChunks() { return chunks; }
+        public void setChunks(int chunks) { this.chunks = chunks; }
+
+        public int getMinuteRows() { return minuteRows; }
+        public void setMinuteRows(int minuteRows) { this.minuteRows = minuteRows; }
+
+        public int getHourRows() { return hourRows; }
+        public void setHourRows(int hourRows) { this.hourRows = hourRows; }
+
+        public long getDurationMs() { return durationMs; }
+        public void setDurationMs(long durationMs) { this.durationMs = durationMs; }
+    }
+}
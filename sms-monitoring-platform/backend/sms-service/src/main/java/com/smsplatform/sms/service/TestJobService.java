@@ -0,0 +1,352 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.config.SimulationJobExecutorConfig;
+import com.smsplatform.sms.dto.TestJobDto;
+import com.smsplatform.sms.dto.TestJobProgressDto;
+import com.smsplatform.sms.metrics.TestRunRecorder;
+import com.smsplatform.sms.model.NetworkTest;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+/**
+ * Test Job Service
+ *
+ * Runs load and stress tests as asynchronous jobs on a dedicated executor.
+ * Each job gets an id, can be cancelled (the run thread is interrupted and
+ * the partial run is persisted as cancelled), and publishes one progress
+ * sample per second over server-sent events. Late subscribers first receive
+ * the samples recorded so far, then live samples, then a "complete" event
+ * carrying the final job state.
+ */
+@Service
+public class TestJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TestJobService.class);
+
+    public static final String PROGRESS_EVENT = "progress";
+    public static final String COMPLETE_EVENT = "complete";
+
+    private final NetworkTestService networkTestService;
+    private final ThreadPoolTaskExecutor jobExecutor;
+
+    private final Map<String, TestJob> jobs = new ConcurrentHashMap<>();
+
+    @Value("${sms.platform.simulation.jobs.retained:50}")
+    private int retainedJobs;
+
+    @Value("${sms.platform.simulation.jobs.max-samples:3600}")
+    private int maxSamples;
+
+    @Value("${sms.platform.simulation.jobs.sse-timeout-ms:1800000}")
+    private long sseTimeoutMillis;
+
+    @Autowired
+    public TestJobService(NetworkTestService networkTestService,
+                          @Qualifier(SimulationJobExecutorConfig.SIMULATION_JOB_EXECUTOR) ThreadPoolTaskExecutor jobExecutor) {
+        this.networkTestService = networkTestService;
+        this.jobExecutor = jobExecutor;
+    }
+
+    /**
+     * Submit a load test job
+     */
+    public TestJobDto submitLoadTest(String testName, LoadGeneratorService.LoadTestConfig config) {
+        return submit(NetworkTest.TestType.LOAD, testName,
+                onStart -> networkTestService.runLoadTest(testName, config, onStart));
+    }
+
+    /**
+     * Submit a stress test job
+     */
+    public TestJobDto submitStressTest(String testName, int maxLoad, int duration) {
+        return submit(NetworkTest.TestType.STRESS, testName,
+                onStart -> networkTestService.runStressTest(testName, maxLoad, duration, onStart));
+    }
+
+    /**
+     * Submit a traffic capture replay job
+     */
+    public TestJobDto submitReplay(String testName, TrafficReplayService.ReplayConfig config) {
+        return submit(NetworkTest.TestType.REPLAY, testName,
+                onStart -> networkTestService.runReplay(testName, config, onStart));
+    }
+
+    private TestJobDto submit(NetworkTest.TestType testType, String testName,
+                              Function<Consumer<TestRunRecorder>, ? extends NetworkSimulationService.SimulationResult> body) {
+        evictFinishedJobs();
+        TestJob job = new TestJob(UUID.randomUUID().toString(), testType, testName);
+        jobs.put(job.id, job);
+        // TaskRejectedException propagates to the caller when the job queue is full
+        try {
+            job.future = jobExecutor.submit(() -> execute(job, body));
+        } catch (RuntimeException e) {
+            jobs.remove(job.id);
+            throw e;
+        }
+        return job.toDto();
+    }
+
+    private void execute(TestJob job,
+                         Function<Consumer<TestRunRecorder>, ? extends NetworkSimulationService.SimulationResult> body) {
+        synchronized (job) {
+            if (job.status != TestJobDto.JobStatus.QUEUED || job.cancelRequested) {
+                return;
+            }
+            job.status = TestJobDto.JobStatus.RUNNING;
+            job.startedAt = LocalDateTime.now();
+        }
+        try {
+            NetworkSimulationService.SimulationResult result = body.apply(recorder -> job.recorder = recorder);
+            job.result = result;
+            job.testRunId = result.getTestRunId();
+            finish(job, job.cancelRequested ? TestJobDto.JobStatus.CANCELLED : TestJobDto.JobStatus.COMPLETED, null);
+        } catch (RuntimeException e) {
+            logger.warn("Test job {} failed: {}", job.id, e.getMessage());
+            finish(job, job.cancelRequested ? TestJobDto.JobStatus.CANCELLED : TestJobDto.JobStatus.FAILED, e.getMessage());
+        }
+    }
+
+    /**
+     * Cancel a queued or running job
+     */
+    public TestJobDto cancelJob(String jobId) {
+        TestJob job = findJob(jobId);
+        boolean notStarted;
+        synchronized (job) {
+            if (job.isFinished()) {
+                return job.toDto();
+            }
+            job.cancelRequested = true;
+            notStarted = job.status == TestJobDto.JobStatus.QUEUED;
+        }
+        if (job.future != null) {
+            job.future.cancel(true);
+        }
+        if (notStarted) {
+            finish(job, TestJobDto.JobStatus.CANCELLED, null);
+        }
+        return job.toDto();
+    }
+
+    /**
+     * Get a job by id
+     */
+    public Optional<TestJobDto> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(TestJob::toDto);
+    }
+
+    /**
+     * Get all retained jobs, newest first
+     */
+    public List<TestJobDto> getJobs() {
+        return jobs.values().stream()
+                .sorted(Comparator.comparing((TestJob job) -> job.submittedAt).reversed())
+                .map(TestJob::toDto)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Subscribe to a job's progress; replays samples recorded so far, or only
+     * those after lastEventId when an EventSource reconnects
+     */
+    public SseEmitter subscribe(String jobId, Long lastEventId) {
+        TestJob job = findJob(jobId);
+        SseEmitter emitter = new SseEmitter(sseTimeoutMillis);
+        emitter.onCompletion(() -> job.emitters.remove(emitter));
+        emitter.onTimeout(() -> job.emitters.remove(emitter));
+        emitter.onError(e -> job.emitters.remove(emitter));
+
+        synchronized (job) {
+            try {
+                for (TestJobProgressDto sample : job.samples) {
+                    if (lastEventId == null || sample.getSecond() > lastEventId) {
+                        emitter.send(progressEvent(sample));
+                    }
+                }
+                if (job.isFinished()) {
+                    emitter.send(SseEmitter.event().name(COMPLETE_EVENT).data(job.toDto()));
+                    emitter.complete();
+                } else {
+                    job.emitters.add(emitter);
+                }
+            } catch (IOException e) {
+                emitter.completeWithError(e);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Take a progress sample of every running job and push it to subscribers
+     */
+    @Scheduled(fixedRate = 1000)
+    public void publishProgress() {
+        for (TestJob job : jobs.values()) {
+            TestRunRecorder recorder = job.recorder;
+            if (recorder == null || job.status != TestJobDto.JobStatus.RUNNING) {
+                continue;
+            }
+            TestJobProgressDto sample = sample(job, recorder);
+            synchronized (job) {
+                if (job.isFinished()) {
+                    continue;
+                }
+                job.samples.addLast(sample);
+                while (job.samples.size() > maxSamples) {
+                    job.samples.removeFirst();
+                }
+                send(job, () -> progressEvent(sample));
+            }
+        }
+    }
+
+    private TestJobProgressDto sample(TestJob job, TestRunRecorder recorder) {
+        long elapsedMillis = recorder.getElapsedMillis();
+        Histogram interval = recorder.takeIntervalHistogram();
+        double intervalSeconds = Math.max(0.001, (elapsedMillis - job.lastSampleMillis) / 1000.0);
+        job.lastSampleMillis = elapsedMillis;
+
+        TestJobProgressDto sample = new TestJobProgressDto();
+        sample.setSecond(elapsedMillis / 1000L);
+        sample.setElapsedMillis(elapsedMillis);
+        sample.setCompleted(recorder.getTotalCount());
+        sample.setSuccessCount(recorder.getSuccessCount());
+        sample.setFailureCount(recorder.getFailureCount());
+        sample.setIntervalCount(interval.getTotalCount());
+        sample.setThroughput(interval.getTotalCount() / intervalSeconds);
+        if (interval.getTotalCount() > 0) {
+            sample.setP50Latency(interval.getValueAtPercentile(50.0));
+            sample.setP99Latency(interval.getValueAtPercentile(99.0));
+            sample.setMaxLatency(interval.getMaxValue());
+        }
+        return sample;
+    }
+
+    private void finish(TestJob job, TestJobDto.JobStatus status, String error) {
+        synchronized (job) {
+            if (job.isFinished()) {
+                return;
+            }
+            job.status = status;
+            job.error = error;
+            job.finishedAt = LocalDateTime.now();
+            job.recorder = null;
+            TestJobDto finished = job.toDto();
+            send(job, () -> SseEmitter.event().name(COMPLETE_EVENT).data(finished));
+            for (SseEmitter emitter : job.emitters) {
+                emitter.complete();
+            }
+            job.emitters.clear();
+        }
+    }
+
+    private static SseEmitter.SseEventBuilder progressEvent(TestJobProgressDto sample) {
+        return SseEmitter.event().id(String.valueOf(sample.getSecond())).name(PROGRESS_EVENT).data(sample);
+    }
+
+    // Event builders are single-use, so each subscriber gets a freshly built event
+    private void send(TestJob job, Supplier<SseEmitter.SseEventBuilder> event) {
+        for (SseEmitter emitter : job.emitters) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; drop the subscription
+                job.emitters.remove(emitter);
+            }
+        }
+    }
+
+    private void evictFinishedJobs() {
+        List<TestJob> finished = jobs.values().stream()
+                .filter(TestJob::isFinished)
+                .sorted(Comparator.comparing((TestJob job) -> job.finishedAt))
+                .collect(Collectors.toList());
+        for (int i = 0; i < finished.size() - retainedJobs + 1; i++) {
+            jobs.remove(finished.get(i).id);
+        }
+    }
+
+    private TestJob findJob(String jobId) {
+        TestJob job = jobs.get(jobId);
+        if (job == null) {
+            throw new RuntimeException("Test job not found with id: " + jobId);
+        }
+        return job;
+    }
+
+    /**
+     * Mutable job state; status transitions and subscriber changes happen under the job's monitor
+     */
+    private static class TestJob {
+        private final String id;
+        private final NetworkTest.TestType testType;
+        private final String testName;
+        private final LocalDateTime submittedAt = LocalDateTime.now();
+        private final Deque<TestJobProgressDto> samples = new ArrayDeque<>();
+        private final List<SseEmitter> emitters = new CopyOnWriteArrayList<>();
+
+        private volatile TestJobDto.JobStatus status = TestJobDto.JobStatus.QUEUED;
+        private volatile boolean cancelRequested;
+        private volatile TestRunRecorder recorder;
+        private volatile Future<?> future;
+        private long lastSampleMillis;
+        private LocalDateTime startedAt;
+        private LocalDateTime finishedAt;
+        private Long testRunId;
+        private NetworkSimulationService.SimulationResult result;
+        private String error;
+
+        private TestJob(String id, NetworkTest.TestType testType, String testName) {
+            this.id = id;
+            this.testType = testType;
+            this.testName = testName;
+        }
+
+        private boolean isFinished() {
+            return status == TestJobDto.JobStatus.COMPLETED
+                    || status == TestJobDto.JobStatus.FAILED
+                    || status == TestJobDto.JobStatus.CANCELLED;
+        }
+
+        private synchronized TestJobDto toDto() {
+            TestJobDto dto = new TestJobDto();
+            dto.setJobId(id);
+            dto.setTestType(testType);
+            dto.setTestName(testName);
+            dto.setStatus(status);
+            dto.setTestRunId(testRunId);
+            dto.setSubmittedAt(submittedAt);
+            dto.setStartedAt(startedAt);
+            dto.setFinishedAt(finishedAt);
+            dto.setLastProgress(samples.peekLast());
+            dto.setResult(result);
+            dto.setError(error);
+            return dto;
+        }
+    }
+}
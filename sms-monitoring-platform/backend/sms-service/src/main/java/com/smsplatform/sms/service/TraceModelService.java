@@ -0,0 +1,122 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.dto.TraceModelSummaryDto;
+import com.smsplatform.sms.model.SmsMessage;
+import com.smsplatform.sms.simulation.TraceNetworkModel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * Trace Model Service
+ * 
+ * Fits a {@link TraceNetworkModel} from delivery history in sms_messages.
+ * Rows are streamed in a single forward-only pass and folded into per-key
+ * histograms as they arrive, so memory stays flat however much history is
+ * read. Load test traffic is excluded so the simulator does not learn from
+ * its own output. Latencies are differences of the millisecond timestamp
+ * columns; databases created before them need timestamp-millis.sql.
+ * created_at (the partitioning column) keeps whole seconds, so the send
+ * latency of an unscheduled message reads up to a second high.
+ */
+@Service
+public class TraceModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TraceModelService.class);
+
+    private static final String HISTORY_SQL =
+            "SELECT operator_id, HOUR(created_at), priority, status, " +
+            "TIMESTAMPDIFF(MICROSECOND, COALESCE(scheduled_at, created_at), sent_at) DIV 1000, " +
+            "TIMESTAMPDIFF(MICROSECOND, sent_at, delivered_at) DIV 1000 " +
+            "FROM sms_messages " +
+            "WHERE created_at >= ? AND status IN ('SENT', 'DELIVERED', 'FAILED', 'EXPIRED') AND sender_number <> ?";
+
+    private final NetworkSimulationService networkSimulationService;
+    private final JdbcTemplate streamingJdbcTemplate;
+
+    @Value("${sms.platform.simulation.trace.lookback-days:30}")
+    private int defaultLookbackDays;
+
+    @Value("${sms.platform.simulation.trace.min-samples:50}")
+    private int minSamples;
+
+    @Autowired
+    public TraceModelService(NetworkSimulationService networkSimulationService, DataSource dataSource) {
+        this.networkSimulationService = networkSimulationService;
+        // MySQL Connector/J streams rows one at a time only with fetch size Integer.MIN_VALUE
+        this.streamingJdbcTemplate = new JdbcTemplate(dataSource);
+        this.streamingJdbcTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    /**
+     * Fit a trace model over the last lookbackDays of history, optionally making it the active network model
+     */
+    public TraceModelSummaryDto fit(Integer lookbackDays, boolean activate, Long seed) {
+        int days = lookbackDays != null && lookbackDays > 0 ? lookbackDays : defaultLookbackDays;
+        LocalDateTime from = LocalDateTime.now().minusDays(days);
+        long started = System.currentTimeMillis();
+
+        TraceNetworkModel.Builder builder = new TraceNetworkModel.Builder();
+        streamingJdbcTemplate.query(HISTORY_SQL, rs -> {
+            long operatorId = rs.getLong(1);
+            builder.record(rs.wasNull() ? null : operatorId,
+                    rs.getInt(2),
+                    SmsMessage.SmsPriority.valueOf(rs.getString(3)),
+                    SmsMessage.SmsStatus.valueOf(rs.getString(4)),
+                    nullableLong(rs.getObject(5)),
+                    nullableLong(rs.getObject(6)));
+        }, Timestamp.valueOf(from), LoadGeneratorService.LOAD_TEST_SENDER);
+
+        if (builder.getRows() == 0) {
+            throw new IllegalStateException("No delivery history since " + from + " to fit a trace model from");
+        }
+        long modelSeed = seed != null ? seed : new SplittableRandom().nextLong();
+        TraceNetworkModel model = builder.build(minSamples, modelSeed, from);
+        if (activate) {
+            networkSimulationService.setNetworkModel(model);
+        }
+        long fitMillis = System.currentTimeMillis() - started;
+        logger.info("Fitted trace model from {} rows since {} in {} ms", builder.getRows(), from, fitMillis);
+
+        TraceModelSummaryDto summary = new TraceModelSummaryDto();
+        summary.setFrom(from);
+        summary.setFittedAt(model.getFittedAt());
+        summary.setRows(model.getRows());
+        summary.setProfiles(((Number) model.describe().get("profiles")).intValue());
+        summary.setSeed(modelSeed);
+        summary.setActivated(activate);
+        summary.setFitMillis(fitMillis);
+        summary.setOverall(toOperatorTrace(null, model.getGlobalProfile()));
+        for (Map.Entry<Long, TraceNetworkModel.TraceProfile> entry : model.getOperatorProfiles().entrySet()) {
+            summary.getOperators().add(toOperatorTrace(entry.getKey(), entry.getValue()));
+        }
+        summary.getOperators().sort((a, b) -> Long.compare(a.getOperatorId(), b.getOperatorId()));
+        return summary;
+    }
+
+    private static TraceModelSummaryDto.OperatorTrace toOperatorTrace(Long operatorId, TraceNetworkModel.TraceProfile profile) {
+        TraceModelSummaryDto.OperatorTrace trace = new TraceModelSummaryDto.OperatorTrace();
+        trace.setOperatorId(operatorId);
+        trace.setSamples(profile.getSamples());
+        trace.setFailureRate(profile.failureRate());
+        trace.setExpiryRate(profile.expiryRate());
+        trace.setSubmitP50(profile.getSubmitLatency().getValueAtQuantile(0.50));
+        trace.setSubmitP99(profile.getSubmitLatency().getValueAtQuantile(0.99));
+        trace.setDeliveryP50(profile.getDeliveryLatency().getValueAtQuantile(0.50));
+        trace.setDeliveryP99(profile.getDeliveryLatency().getValueAtQuantile(0.99));
+        return trace;
+    }
+
+    private static Long nullableLong(Object value) {
+        return value != null ? ((Number) value).longValue() : null;
+    }
+}
@@ -0,0 +1,250 @@
+package com.smsplatform.sms.service;
+
+import com.smsplatform.sms.capture.TrafficCaptureFormat;
+import com.smsplatform.sms.capture.TrafficCaptureWriter;
+import com.smsplatform.sms.capture.TrafficRecord;
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.dto.TrafficCaptureDto;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Traffic Capture Service
+ * 
+ * Records the stream of accepted createMessage submissions into a compact
+ * binary capture file (see {@link TrafficCaptureFormat}): arrival time,
+ * priority, operator, content length and scheduling offset, but no content
+ * or phone numbers. Captures are replayed by {@link TrafficReplayService}.
+ * Load test and replay traffic is never captured.
+ */
+@Service
+public class TrafficCaptureService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficCaptureService.class);
+
+    private static final Pattern NAME_PATTERN = Pattern.compile("[A-Za-z0-9][A-Za-z0-9._-]{0,100}");
+    private static final DateTimeFormatter NAME_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+    @Value("${sms.platform.capture.directory:captures}")
+    private String captureDirectory;
+
+    @Value("${sms.platform.capture.max-records:50000000}")
+    private long maxRecords;
+
+    private final Object lock = new Object();
+    private volatile ActiveCapture active;
+
+    /**
+     * Start capturing to a new file; fails if a capture is already running
+     */
+    public TrafficCaptureDto startCapture(String name) {
+        synchronized (lock) {
+            if (active != null) {
+                throw new IllegalStateException("Capture '" + active.name + "' is already running");
+            }
+            String captureName = name != null && !name.isBlank()
+                    ? name : "capture-" + LocalDateTime.now().format(NAME_FORMAT);
+            Path file = resolve(captureName);
+            try {
+                Files.createDirectories(file.getParent());
+                TrafficCaptureWriter writer = new TrafficCaptureWriter(
+                        Files.newOutputStream(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE),
+                        System.currentTimeMillis());
+                active = new ActiveCapture(captureName, file, writer);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot create capture " + captureName + ": " + e.getMessage(), e);
+            }
+            logger.info("Traffic capture '{}' started at {}", captureName, file);
+            return toDto(active);
+        }
+    }
+
+    /**
+     * Stop the running capture, if any
+     */
+    @PreDestroy
+    public TrafficCaptureDto stopCapture() {
+        synchronized (lock) {
+            ActiveCapture capture = active;
+            if (capture == null) {
+                return null;
+            }
+            active = null;
+            try {
+                capture.writer.close();
+            } catch (IOException e) {
+                logger.warn("Failed to close capture '{}': {}", capture.name, e.getMessage());
+            }
+            logger.info("Traffic capture '{}' stopped after {} records", capture.name, capture.writer.getRecords());
+            TrafficCaptureDto dto = toDto(capture);
+            dto.setActive(false);
+            return dto;
+        }
+    }
+
+    /**
+     * Record an accepted submission; arrivalNanos is System.nanoTime() when the request arrived
+     */
+    public void record(SmsMessageDto message, long arrivalNanos) {
+        ActiveCapture capture = active;
+        if (capture == null || LoadGeneratorService.LOAD_TEST_SENDER.equals(message.getSenderNumber())) {
+            return;
+        }
+        Long scheduledDelay = message.getScheduledAt() != null
+                ? Duration.between(LocalDateTime.now(), message.getScheduledAt()).toMillis() : null;
+        TrafficRecord record = new TrafficRecord(Math.max(0, (arrivalNanos - capture.startNanos) / 1000L),
+                message.getPriority(), message.getOperatorId(),
+                message.getMessageContent() != null ? message.getMessageContent().length() : 0, scheduledDelay);
+
+        boolean full;
+        synchronized (lock) {
+            if (active != capture) {
+                return;
+            }
+            try {
+                capture.writer.write(record);
+            } catch (IOException e) {
+                logger.warn("Traffic capture '{}' failed, stopping: {}", capture.name, e.getMessage());
+                stopCapture();
+                return;
+            }
+            full = capture.writer.getRecords() >= maxRecords;
+        }
+        if (full) {
+            logger.info("Traffic capture '{}' reached {} records", capture.name, maxRecords);
+            stopCapture();
+        }
+    }
+
+    /**
+     * Push buffered records to disk so a crash loses at most a second of capture
+     */
+    @Scheduled(fixedDelay = 1000)
+    public void flush() {
+        synchronized (lock) {
+            if (active != null) {
+                try {
+                    active.writer.flush();
+                } catch (IOException e) {
+                    logger.warn("Failed to flush capture '{}': {}", active.name, e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * The running capture, or null
+     */
+    public TrafficCaptureDto getActiveCapture() {
+        synchronized (lock) {
+            return active != null ? toDto(active) : null;
+        }
+    }
+
+    /**
+     * Capture files on disk, newest first
+     */
+    public List<TrafficCaptureDto> getCaptures() {
+        Path directory = Paths.get(captureDirectory);
+        if (!Files.isDirectory(directory)) {
+            return new ArrayList<>();
+        }
+        ActiveCapture current = active;
+        List<TrafficCaptureDto> captures = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(TrafficCaptureFormat.FILE_EXTENSION))
+                    .forEach(file -> {
+                        String fileName = file.getFileName().toString();
+                        String name = fileName.substring(0, fileName.length() - TrafficCaptureFormat.FILE_EXTENSION.length());
+                        if (current != null && current.name.equals(name)) {
+                            captures.add(toDto(current));
+                            return;
+                        }
+                        TrafficCaptureDto dto = new TrafficCaptureDto();
+                        dto.setName(name);
+                        try {
+                            dto.setSizeBytes(Files.size(file));
+                            dto.setLastModified(LocalDateTime.ofInstant(
+                                    Files.getLastModifiedTime(file).toInstant(), ZoneId.systemDefault()));
+                        } catch (IOException e) {
+                            logger.debug("Cannot stat capture {}: {}", file, e.getMessage());
+                        }
+                        captures.add(dto);
+                    });
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot list captures: " + e.getMessage(), e);
+        }
+        captures.sort(Comparator.comparing(TrafficCaptureDto::getLastModified,
+                Comparator.nullsFirst(Comparator.naturalOrder())).reversed());
+        return captures;
+    }
+
+    /**
+     * Path of an existing capture file
+     */
+    public Path getCaptureFile(String name) {
+        Path file = resolve(name);
+        if (!Files.isRegularFile(file)) {
+            throw new RuntimeException("Traffic capture not found with name: " + name);
+        }
+        return file;
+    }
+
+    private Path resolve(String name) {
+        if (name == null || !NAME_PATTERN.matcher(name).matches()) {
+            throw new IllegalArgumentException("Invalid capture name: " + name);
+        }
+        return Paths.get(captureDirectory).resolve(name + TrafficCaptureFormat.FILE_EXTENSION);
+    }
+
+    private static TrafficCaptureDto toDto(ActiveCapture capture) {
+        TrafficCaptureDto dto = new TrafficCaptureDto();
+        dto.setName(capture.name);
+        dto.setActive(true);
+        dto.setStartedAt(capture.startedAt);
+        dto.setLastModified(LocalDateTime.now());
+        dto.setRecords(capture.writer.getRecords());
+        dto.setDurationMillis(capture.writer.getLastOffsetMicros() / 1000L);
+        try {
+            dto.setSizeBytes(Files.size(capture.file));
+        } catch (IOException e) {
+            dto.setSizeBytes(0);
+        }
+        return dto;
+    }
+
+    private static class ActiveCapture {
+        private final String name;
+        private final Path file;
+        private final TrafficCaptureWriter writer;
+        private final long startNanos = System.nanoTime();
+        private final LocalDateTime startedAt = LocalDateTime.ofInstant(Instant.now(), ZoneId.systemDefault());
+
+        private ActiveCapture(String name, Path file, TrafficCaptureWriter writer) {
+            this.name = name;
+            this.file = file;
+            this.writer = writer;
+        }
+    }
+}
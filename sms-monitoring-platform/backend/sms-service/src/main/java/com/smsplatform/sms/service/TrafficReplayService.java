@@ -0,0 +1,284 @@
+package com.smsplatform.sms.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.smsplatform.sms.capture.TrafficCaptureReader;
+import com.smsplatform.sms.capture.TrafficRecord;
+import com.smsplatform.sms.dto.SmsMessageDto;
+import com.smsplatform.sms.metrics.TestRunRecorder;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * Traffic Replay Service
+ * 
+ * Re-injects a traffic capture at its recorded pace scaled by a speed factor
+ * (1 = real time, 10 = ten times faster, 0 = as fast as the clients can
+ * submit). Messages are rebuilt from the recorded shape with synthetic
+ * content of the recorded length and submitted either in-process through
+ * {@link SmsMessageService#createMessage} or over HTTP to another instance;
+ * only instances listed in sms.platform.capture.replay-targets can be targeted.
+ * Latency is measured from each record's intended send time, so a target
+ * that falls behind shows up as latency rather than as a slower replay.
+ */
+@Service
+public class TrafficReplayService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrafficReplayService.class);
+
+    private static final String MESSAGES_PATH = "/api/v1/sms/messages";
+
+    private final TrafficCaptureService trafficCaptureService;
+    private final SmsMessageService smsMessageService;
+    private final ObjectMapper objectMapper;
+
+    @Value("${sms.platform.load-test.max-concurrent-users:500}")
+    private int maxConcurrentUsers;
+
+    @Value("${sms.platform.capture.replay-targets:}")
+    private List<String> replayTargets;
+
+    @Autowired
+    public TrafficReplayService(TrafficCaptureService trafficCaptureService,
+                                SmsMessageService smsMessageService,
+                                ObjectMapper objectMapper) {
+        this.trafficCaptureService = trafficCaptureService;
+        this.smsMessageService = smsMessageService;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Replay a capture, handing the run's recorder to onStart for progress sampling; one replay at a time
+     */
+    public synchronized ReplayResult replay(ReplayConfig config, Consumer<TestRunRecorder> onStart) {
+        checkTarget(config.getTargetUrl());
+        int users = Math.max(1, Math.min(config.getConcurrentUsers(), maxConcurrentUsers));
+        double speed = Math.max(0.0, config.getSpeed());
+        HttpClient httpClient = config.getTargetUrl() != null && !config.getTargetUrl().isBlank()
+                ? HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build()
+                : null;
+
+        TestRunRecorder recorder = new TestRunRecorder();
+        Histogram scheduleLag = new Histogram(TimeUnit.HOURS.toMillis(1), 2);
+        onStart.accept(recorder);
+
+        // Bounded queue: an as-fast-as-possible replay blocks the reader instead of buffering the whole capture
+        ThreadPoolExecutor clients = new ThreadPoolExecutor(users, users, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(users * 64), runnable -> {
+                    Thread thread = new Thread(runnable);
+                    thread.setName("replay-client-" + thread.getId());
+                    thread.setDaemon(true);
+                    return thread;
+                }, new ThreadPoolExecutor.CallerRunsPolicy());
+
+        AtomicInteger sequence = new AtomicInteger();
+        long replayed = 0;
+        long capturedMicros = 0;
+        long runStart = System.nanoTime();
+        try (TrafficCaptureReader reader = new TrafficCaptureReader(
+                Files.newInputStream(trafficCaptureService.getCaptureFile(config.getCaptureName())))) {
+            TrafficRecord record;
+            while ((record = reader.next()) != null && !Thread.currentThread().isInterrupted()) {
+                if (config.getMaxRecords() > 0 && replayed >= config.getMaxRecords()) {
+                    break;
+                }
+                capturedMicros = record.getOffsetMicros();
+                long intendedStart = speed > 0
+                        ? runStart + (long) (record.getOffsetMicros() * 1000L / speed)
+                        : System.nanoTime();
+                long wait = intendedStart - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+                TrafficRecord current = record;
+                clients.execute(() -> {
+                    long lag = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedStart);
+                    synchronized (scheduleLag) {
+                        scheduleLag.recordValue(Math.min(scheduleLag.getHighestTrackableValue(), Math.max(0, lag)));
+                    }
+                    submit(current, sequence.getAndIncrement(), intendedStart, config, httpClient, recorder);
+                });
+                replayed++;
+            }
+            clients.shutdown();
+            clients.awaitTermination(config.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (IOException e) {
+            // An interrupt while reading closes the capture's channel (ClosedByInterruptException): that is a cancel
+            if (!Thread.currentThread().isInterrupted()) {
+                throw new RuntimeException("Cannot read capture " + config.getCaptureName() + ": " + e.getMessage(), e);
+            }
+        } catch (InterruptedException e) {
+            // Cancelled: return what was replayed so far; the interrupt flag tells the caller
+            Thread.currentThread().interrupt();
+        } finally {
+            clients.shutdownNow();
+        }
+
+        long totalNanos = System.nanoTime() - runStart;
+        logger.info("Replayed {} records of capture '{}' at {}x in {} ms",
+                replayed, config.getCaptureName(), speed, TimeUnit.NANOSECONDS.toMillis(totalNanos));
+
+        ReplayResult result = new ReplayResult();
+        result.applyRecorder(recorder);
+        result.setCaptureName(config.getCaptureName());
+        result.setSpeed(speed);
+        result.setTargetUrl(httpClient != null ? config.getTargetUrl() : null);
+        result.setRecordsReplayed(replayed);
+        result.setCapturedDuration(capturedMicros / 1000L);
+        result.setTotalDuration(TimeUnit.NANOSECONDS.toMillis(totalNanos));
+        result.setThroughput(recorder.getTotalCount() / Math.max(0.001, totalNanos / 1_000_000_000.0));
+        synchronized (scheduleLag) {
+            result.setScheduleLagP99(scheduleLag.getValueAtPercentile(99.0));
+            result.setScheduleLagMax(scheduleLag.getMaxValue());
+        }
+        return result;
+    }
+
+    private void submit(TrafficRecord record, int index, long intendedStart, ReplayConfig config,
+                        HttpClient httpClient, TestRunRecorder recorder) {
+        SmsMessageDto message = new SmsMessageDto();
+        // Replayed traffic uses the load test sender so it is neither captured again nor fitted by the trace model
+        message.setSenderNumber(LoadGeneratorService.LOAD_TEST_SENDER);
+        message.setRecipientNumber(String.format("+1555%07d", index % 10_000_000));
+        message.setMessageContent("R".repeat(Math.max(1, record.getContentLength())));
+        message.setPriority(record.getPriority());
+        message.setOperatorId(record.getOperatorId());
+        if (record.getScheduledDelayMillis() != null && record.getScheduledDelayMillis() > 0) {
+            message.setScheduledAt(LocalDateTime.now().plus(Duration.ofMillis(record.getScheduledDelayMillis())));
+        }
+
+        boolean success;
+        try {
+            success = httpClient != null ? post(httpClient, config, message) : smsMessageService.createMessage(message) != null;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            success = false;
+        } catch (RuntimeException | IOException e) {
+            logger.debug("Replay submission {} failed: {}", index, e.getMessage());
+            success = false;
+        }
+        recorder.record(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - intendedStart), success);
+    }
+
+    /**
+     * Reject a target URL that is not one of the configured replay targets (IllegalArgumentException);
+     * an empty target (replay in-process) is always allowed
+     */
+    public void checkTarget(String targetUrl) {
+        if (targetUrl == null || targetUrl.isBlank()) {
+            return;
+        }
+        String normalized = normalizeTarget(targetUrl);
+        for (String allowed : replayTargets) {
+            if (!allowed.isBlank() && normalizeTarget(allowed).equals(normalized)) {
+                return;
+            }
+        }
+        throw new IllegalArgumentException("Replay target is not in sms.platform.capture.replay-targets: " + targetUrl);
+    }
+
+    private static String normalizeTarget(String url) {
+        return url.trim().replaceAll("/+$", "");
+    }
+
+    private boolean post(HttpClient httpClient, ReplayConfig config, SmsMessageDto message)
+            throws IOException, InterruptedException {
+        String baseUrl = normalizeTarget(config.getTargetUrl());
+        HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + MESSAGES_PATH))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofByteArray(objectMapper.writeValueAsBytes(message)))
+                .build();
+        int status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        return status >= 200 && status < 300;
+    }
+
+    /**
+     * Replay Configuration
+     */
+    public static class ReplayConfig {
+        private String captureName;
+        private double speed = 1.0;
+        private String targetUrl;
+        private int concurrentUsers = 50;
+        private long maxRecords;
+        private int timeoutSeconds = 300;
+
+        // Getters and Setters
+        public String getCaptureName() { return captureName; }
+        public void setCaptureName(String captureName) { this.captureName = captureName; }
+
+        public double getSpeed() { return speed; }
+        public void setSpeed(double speed) { this.speed = speed; }
+
+        public String getTargetUrl() { return targetUrl; }
+        public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+        public int getConcurrentUsers() { return concurrentUsers; }
+        public void setConcurrentUsers(int concurrentUsers) { this.concurrentUsers = concurrentUsers; }
+
+        public long getMaxRecords() { return maxRecords; }
+        public void setMaxRecords(long maxRecords) { this.maxRecords = maxRecords; }
+
+        public int getTimeoutSeconds() { return timeoutSeconds; }
+        public void setTimeoutSeconds(int timeoutSeconds) { this.timeoutSeconds = timeoutSeconds; }
+    }
+
+    /**
+     * Replay Result
+     */
+    public static class ReplayResult extends NetworkSimulationService.SimulationResult {
+        private String captureName;
+        private double speed;
+        private String targetUrl;
+        private long recordsReplayed;
+        private long capturedDuration;
+        private long totalDuration;
+        private long scheduleLagP99;
+        private long scheduleLagMax;
+
+        // Getters and Setters
+        public String getCaptureName() { return captureName; }
+        public void setCaptureName(String captureName) { this.captureName = captureName; }
+
+        public double getSpeed() { return speed; }
+        public void setSpeed(double speed) { this.speed = speed; }
+
+        public String getTargetUrl() { return targetUrl; }
+        public void setTargetUrl(String targetUrl) { this.targetUrl = targetUrl; }
+
+        public long getRecordsReplayed() { return recordsReplayed; }
+        public void setRecordsReplayed(long recordsReplayed) { this.recordsReplayed = recordsReplayed; }
+
+        public long getCapturedDuration() { return capturedDuration; }
+        public void setCapturedDuration(long capturedDuration) { this.capturedDuration = capturedDuration; }
+
+        public long getTotalDuration() { return totalDuration; }
+        public void setTotalDuration(long totalDuration) { this.totalDuration = totalDuration; }
+
+        public long getScheduleLagP99() { return scheduleLagP99; }
+        public void setScheduleLagP99(long scheduleLagP99) { this.scheduleLagP99 = scheduleLagP99; }
+
+        public long getScheduleLagMax() { return scheduleLagMax; }
+        public void setScheduleLagMax(long scheduleLagMax) { this.scheduleLagMax = scheduleLagMax; }
+    }
+}
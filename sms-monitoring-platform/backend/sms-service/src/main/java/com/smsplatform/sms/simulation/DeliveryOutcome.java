@@ -0,0 +1,44 @@
+package com.smsplatform.sms.simulation;
+
+/**
+ * Outcome of one simulated operator submission: how long the operator took
+ * and whether it accepted the message, with an error code when it did not.
+ * Accepted messages carry the delay until the delivery receipt arrives.
+ */
+public class DeliveryOutcome {
+
+    public static final String DELIVERY_FAILED = "DELIVERY_FAILED";
+    public static final long DEFAULT_CONFIRMATION_DELAY_MILLIS = 2000L;
+
+    private final long latencyMillis;
+    private final boolean delivered;
+    private final String errorCode;
+    private final long confirmationDelayMillis;
+
+    private DeliveryOutcome(long latencyMillis, boolean delivered, String errorCode, long confirmationDelayMillis) {
+        this.latencyMillis = latencyMillis;
+        this.delivered = delivered;
+        this.errorCode = errorCode;
+        this.confirmationDelayMillis = confirmationDelayMillis;
+    }
+
+    public static DeliveryOutcome delivered(long latencyMillis) {
+        return delivered(latencyMillis, DEFAULT_CONFIRMATION_DELAY_MILLIS);
+    }
+
+    public static DeliveryOutcome delivered(long latencyMillis, long confirmationDelayMillis) {
+        return new DeliveryOutcome(latencyMillis, true, null, confirmationDelayMillis);
+    }
+
+    public static DeliveryOutcome failed(long latencyMillis, String errorCode) {
+        return new DeliveryOutcome(latencyMillis, false, errorCode != null ? errorCode : DELIVERY_FAILED, 0L);
+    }
+
+    public long getLatencyMillis() { return latencyMillis; }
+
+    public long getConfirmationDelayMillis() { return confirmationDelayMillis; }
+
+    public boolean isDelivered() { return delivered; }
+
+    public String getErrorCode() { return errorCode; }
+}
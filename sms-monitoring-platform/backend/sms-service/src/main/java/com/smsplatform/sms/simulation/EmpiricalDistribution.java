@@ -0,0 +1,75 @@
+package com.smsplatform.sms.simulation;
+
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.HistogramIterationValue;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * Empirical Distribution
+ * 
+ * Immutable sampler over the recorded values of a histogram: one entry per
+ * non-empty histogram bucket (its median-equivalent value and the cumulative
+ * count), so sampling is a binary search and memory is bounded by the
+ * histogram's precision rather than by the number of observations.
+ */
+public class EmpiricalDistribution {
+
+    private static final EmpiricalDistribution EMPTY = new EmpiricalDistribution(new long[0], new long[0]);
+
+    private final long[] values;
+    private final long[] cumulativeCounts;
+
+    private EmpiricalDistribution(long[] values, long[] cumulativeCounts) {
+        this.values = values;
+        this.cumulativeCounts = cumulativeCounts;
+    }
+
+    public static EmpiricalDistribution of(Histogram histogram) {
+        if (histogram.getTotalCount() == 0) {
+            return EMPTY;
+        }
+        long[] values = new long[64];
+        long[] cumulative = new long[64];
+        int size = 0;
+        long running = 0;
+        for (HistogramIterationValue bucket : histogram.recordedValues()) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+                cumulative = Arrays.copyOf(cumulative, size * 2);
+            }
+            running += bucket.getCountAddedInThisIterationStep();
+            values[size] = histogram.medianEquivalentValue(bucket.getValueIteratedTo());
+            cumulative[size] = running;
+            size++;
+        }
+        return new EmpiricalDistribution(Arrays.copyOf(values, size), Arrays.copyOf(cumulative, size));
+    }
+
+    public boolean isEmpty() {
+        return values.length == 0;
+    }
+
+    public long getTotalCount() {
+        return values.length == 0 ? 0 : cumulativeCounts[cumulativeCounts.length - 1];
+    }
+
+    public long sample(SplittableRandom random) {
+        if (values.length == 0) {
+            return 0L;
+        }
+        long target = random.nextLong(getTotalCount());
+        int index = Arrays.binarySearch(cumulativeCounts, target + 1);
+        return values[index >= 0 ? index : -index - 1];
+    }
+
+    public long getValueAtQuantile(double quantile) {
+        if (values.length == 0) {
+            return 0L;
+        }
+        long target = Math.max(1, (long) Math.ceil(quantile * getTotalCount()));
+        int index = Arrays.binarySearch(cumulativeCounts, target);
+        return values[Math.min(values.length - 1, index >= 0 ? index : -index - 1)];
+    }
+}
@@ -0,0 +1,90 @@
+package com.smsplatform.sms.simulation;
+
+import java.util.SplittableRandom;
+
+/**
+ * Operator latency distribution in milliseconds
+ * 
+ * - CONSTANT: always value
+ * - UNIFORM: between min and max
+ * - LOGNORMAL: median * e^(sigma * N(0,1)), the usual shape of network latency
+ * - BIMODAL: lognormal around median, or with slowProbability around
+ *   slowMedian (slowSigma), e.g. cache hit vs. upstream retry
+ * Samples are clamped to [min, max] when max is positive.
+ */
+public class LatencyDistribution {
+
+    public enum Type {
+        CONSTANT, UNIFORM, LOGNORMAL, BIMODAL
+    }
+
+    private Type type = Type.UNIFORM;
+    private long value;
+    private long min;
+    private long max;
+    private double median = 200;
+    private double sigma = 0.5;
+    private double slowMedian = 1500;
+    private double slowSigma = 0.5;
+    private double slowProbability = 0.1;
+
+    public static LatencyDistribution uniform(long min, long max) {
+        LatencyDistribution distribution = new LatencyDistribution();
+        distribution.setType(Type.UNIFORM);
+        distribution.setMin(min);
+        distribution.setMax(max);
+        return distribution;
+    }
+
+    public long sample(SplittableRandom random) {
+        double latency;
+        switch (type) {
+            case CONSTANT:
+                latency = value;
+                break;
+            case UNIFORM:
+                latency = max > min ? min + random.nextLong(max - min + 1) : min;
+                break;
+            case LOGNORMAL:
+                latency = median * Math.exp(sigma * random.nextGaussian());
+                break;
+            case BIMODAL:
+                latency = random.nextDouble() < slowProbability
+                        ? slowMedian * Math.exp(slowSigma * random.nextGaussian())
+                        : median * Math.exp(sigma * random.nextGaussian());
+                break;
+            default:
+                latency = min;
+        }
+        long millis = Math.max(min, Math.round(latency));
+        return max > 0 ? Math.min(millis, max) : millis;
+    }
+
+    // Getters and Setters
+    public Type getType() { return type; }
+    public void setType(Type type) { this.type = type; }
+
+    public long getValue() { return value; }
+    public void setValue(long value) { this.value = value; }
+
+    public long getMin() { return min; }
+    public void setMin(long min) { this.min = min; }
+
+    public long getMax() { return max; }
+    public void setMax(long max) { this.max = max; }
+
+    public double getMedian() { return median; }
+    public void setMedian(double median) { this.median = median; }
+
+    public double getSigma() { return sigma; }
+    public void setSigma(double sigma) { this.sigma = sigma; }
+
+    public double getSlowMedian() { return slowMedian; }
+    public void setSlowMedian(double slowMedian) { this.slowMedian = slowMedian; }
+
+    public double getSlowSigma() { return slowSigma; }
+    public void setSlowSigma(double slowSigma) { this.slowSigma = slowSigma; }
+
+    public double getSlowProbability() { return slowProbability; }
+    public void setSlowProbability(double slowProbability) { this.slowProbability = slowProbability; }
+}
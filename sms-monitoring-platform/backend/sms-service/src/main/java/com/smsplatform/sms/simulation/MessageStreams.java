@@ -0,0 +1,50 @@
+package com.smsplatform.sms.simulation;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.util.SplittableRandom;
+
+/**
+ * Message Streams
+ * 
+ * Random stream for one message derived from a seed and the message's own
+ * content (sender, recipient, body, priority, operator) rather than from a
+ * shared generator, so a message gets the same draws no matter which dispatch
+ * thread picks it up or in what order.
+ */
+public final class MessageStreams {
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private static final long NO_OPERATOR = 0L;
+
+    private MessageStreams() {
+    }
+
+    public static SplittableRandom streamFor(long seed, SmsMessage message) {
+        long h = mix64(seed + GOLDEN_GAMMA);
+        h = mix64(h ^ hash(message.getSenderNumber()));
+        h = mix64(h ^ hash(message.getRecipientNumber()));
+        h = mix64(h ^ hash(message.getMessageContent()));
+        h = mix64(h ^ (message.getPriority() != null ? message.getPriority().ordinal() + 1 : 0));
+        h = mix64(h ^ (message.getOperatorId() != null ? message.getOperatorId() : NO_OPERATOR));
+        return new SplittableRandom(h);
+    }
+
+    private static long hash(String value) {
+        if (value == null) {
+            return 0L;
+        }
+        long h = 1125899906842597L;
+        for (int i = 0; i < value.length(); i++) {
+            h = 31 * h + value.charAt(i);
+        }
+        return h;
+    }
+
+    // MurmurHash3 64-bit finalizer
+    private static long mix64(long z) {
+        z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+        z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+        return z ^ (z >>> 33);
+    }
+}
@@ -0,0 +1,41 @@
+package com.smsplatform.sms.simulation;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.util.Map;
+
+/**
+ * Network Model
+ * 
+ * Decides latency and outcome of simulated operator submissions. Implementations
+ * must be thread-safe; dispatch threads call evaluate concurrently.
+ */
+public interface NetworkModel {
+
+    /**
+     * Evaluate one submission of the message to its operator
+     */
+    DeliveryOutcome evaluate(SmsMessage message);
+
+    /**
+     * Base probability that a message of this priority is accepted by the operator
+     */
+    double getSuccessRate(SmsMessage.SmsPriority priority, Long operatorId);
+
+    /**
+     * Seed all random draws derive from
+     */
+    long getSeed();
+
+    /**
+     * What the model is, for the active-model endpoint and persisted test run configurations
+     */
+    Map<String, Object> describe();
+
+    /**
+     * Fresh instance of the same model with its clock and counters reset, for a new test run
+     */
+    default NetworkModel restart() {
+        return this;
+    }
+}
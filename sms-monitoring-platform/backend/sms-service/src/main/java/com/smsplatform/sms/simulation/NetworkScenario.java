@@ -0,0 +1,67 @@
+package com.smsplatform.sms.simulation;
+
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Network Scenario
+ * 
+ * Declarative description of simulated operator behaviour, loaded from YAML
+ * or JSON. A message's operator profile is the explicit entry in operators,
+ * otherwise operatorTiers[operatorId mod size], otherwise defaults. The seed
+ * makes every run of the scenario reproducible.
+ */
+public class NetworkScenario {
+
+    private String name = "default";
+    private Long seed;
+    private Map<SmsMessage.SmsPriority, Double> prioritySuccessRates = new EnumMap<>(SmsMessage.SmsPriority.class);
+    private OperatorProfile defaults = new OperatorProfile();
+    private Map<Long, OperatorProfile> operators = new LinkedHashMap<>();
+    private List<OperatorProfile> operatorTiers = new ArrayList<>();
+
+    /**
+     * Built-in scenario matching the original simulation: 50-2000 ms uniform
+     * latency, success rate by priority and three operator tiers
+     */
+    public static NetworkScenario defaultScenario() {
+        NetworkScenario scenario = new NetworkScenario();
+        scenario.getPrioritySuccessRates().put(SmsMessage.SmsPriority.URGENT, 0.98);
+        scenario.getPrioritySuccessRates().put(SmsMessage.SmsPriority.HIGH, 0.95);
+        scenario.getPrioritySuccessRates().put(SmsMessage.SmsPriority.NORMAL, 0.90);
+        scenario.getPrioritySuccessRates().put(SmsMessage.SmsPriority.LOW, 0.85);
+        scenario.getDefaults().setLatency(LatencyDistribution.uniform(50, 2000));
+
+        // High-performance, average and lower-performance operators
+        OperatorProfile lowTier = OperatorProfile.adjusted(-0.10);
+        lowTier.setMinSuccessRate(0.5);
+        scenario.getOperatorTiers().add(OperatorProfile.adjusted(0.05));
+        scenario.getOperatorTiers().add(OperatorProfile.adjusted(0.0));
+        scenario.getOperatorTiers().add(lowTier);
+        return scenario;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public Long getSeed() { return seed; }
+    public void setSeed(Long seed) { this.seed = seed; }
+
+    public Map<SmsMessage.SmsPriority, Double> getPrioritySuccessRates() { return prioritySuccessRates; }
+    public void setPrioritySuccessRates(Map<SmsMessage.SmsPriority, Double> prioritySuccessRates) { this.prioritySuccessRates = prioritySuccessRates; }
+
+    public OperatorProfile getDefaults() { return defaults; }
+    public void setDefaults(OperatorProfile defaults) { this.defaults = defaults; }
+
+    public Map<Long, OperatorProfile> getOperators() { return operators; }
+    public void setOperators(Map<Long, OperatorProfile> operators) { this.operators = operators; }
+
+    public List<OperatorProfile> getOperatorTiers() { return operatorTiers; }
+    public void setOperatorTiers(List<OperatorProfile> operatorTiers) { this.operatorTiers = operatorTiers; }
+}
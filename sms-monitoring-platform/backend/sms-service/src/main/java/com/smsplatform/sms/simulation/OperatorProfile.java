@@ -0,0 +1,100 @@
+package com.smsplatform.sms.simulation;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operator Profile
+ * 
+ * Network behaviour of one operator (or operator tier) in a scenario. Unset
+ * fields fall back to the scenario defaults. errorCodes are relative weights
+ * of the codes returned for ordinary delivery failures.
+ */
+public class OperatorProfile {
+
+    private LatencyDistribution latency;
+    private Double successRate;
+    private Double successRateAdjustment;
+    private Double minSuccessRate;
+    private Double maxSuccessRate;
+    private Map<String, Double> errorCodes = new LinkedHashMap<>();
+    private List<Window> outages = new ArrayList<>();
+    private List<Window> throttling = new ArrayList<>();
+
+    public static OperatorProfile adjusted(double successRateAdjustment) {
+        OperatorProfile profile = new OperatorProfile();
+        profile.setSuccessRateAdjustment(successRateAdjustment);
+        return profile;
+    }
+
+    // Getters and Setters
+    public LatencyDistribution getLatency() { return latency; }
+    public void setLatency(LatencyDistribution latency) { this.latency = latency; }
+
+    public Double getSuccessRate() { return successRate; }
+    public void setSuccessRate(Double successRate) { this.successRate = successRate; }
+
+    public Double getSuccessRateAdjustment() { return successRateAdjustment; }
+    public void setSuccessRateAdjustment(Double successRateAdjustment) { this.successRateAdjustment = successRateAdjustment; }
+
+    public Double getMinSuccessRate() { return minSuccessRate; }
+    public void setMinSuccessRate(Double minSuccessRate) { this.minSuccessRate = minSuccessRate; }
+
+    public Double getMaxSuccessRate() { return maxSuccessRate; }
+    public void setMaxSuccessRate(Double maxSuccessRate) { this.maxSuccessRate = maxSuccessRate; }
+
+    public Map<String, Double> getErrorCodes() { return errorCodes; }
+    public void setErrorCodes(Map<String, Double> errorCodes) { this.errorCodes = errorCodes; }
+
+    public List<Window> getOutages() { return outages; }
+    public void setOutages(List<Window> outages) { this.outages = outages; }
+
+    public List<Window> getThrottling() { return throttling; }
+    public void setThrottling(List<Window> throttling) { this.throttling = throttling; }
+
+    /**
+     * Time window relative to scenario start, optionally recurring. During an
+     * outage every submission fails; during throttling submissions beyond
+     * maxPerSecond fail. latencyMillis replaces the sampled latency when set.
+     */
+    public static class Window {
+        private long startSecond;
+        private long durationSeconds;
+        private long repeatEverySeconds;
+        private int maxPerSecond;
+        private String errorCode;
+        private Long latencyMillis;
+
+        public boolean isActive(double elapsedSeconds) {
+            if (elapsedSeconds < startSecond) {
+                return false;
+            }
+            double offset = elapsedSeconds - startSecond;
+            if (repeatEverySeconds > 0) {
+                offset = offset % repeatEverySeconds;
+            }
+            return offset < durationSeconds;
+        }
+
+        // Getters and Setters
+        public long getStartSecond() { return startSecond; }
+        public void setStartSecond(long startSecond) { this.startSecond = startSecond; }
+
+        public long getDurationSeconds() { return durationSeconds; }
+        public void setDurationSeconds(long durationSeconds) { this.durationSeconds = durationSeconds; }
+
+        public long getRepeatEverySeconds() { return repeatEverySeconds; }
+        public void setRepeatEverySeconds(long repeatEverySeconds) { this.repeatEverySeconds = repeatEverySeconds; }
+
+        public int getMaxPerSecond() { return maxPerSecond; }
+        public void setMaxPerSecond(int maxPerSecond) { this.maxPerSecond = maxPerSecond; }
+
+        public String getErrorCode() { return errorCode; }
+        public void setErrorCode(String errorCode) { this.errorCode = errorCode; }
+
+        public Long getLatencyMillis() { return latencyMillis; }
+        public void setLatencyMillis(Long latencyMillis) { this.latencyMillis = latencyMillis; }
+    }
+}
@@ -0,0 +1,220 @@
+package com.smsplatform.sms.simulation;
+
+import com.smsplatform.sms.metrics.SlidingWindowCounter;
+import com.smsplatform.sms.model.SmsMessage;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Scenario Network Model
+ *
+ * Network model driven by a {@link NetworkScenario}. Randomness is drawn from
+ * {@link MessageStreams}, so a message gets the same latency, outcome and
+ * error code no matter which dispatch thread picks it up or in what order.
+ * Outage and throttling windows are timed from the moment the model was created.
+ */
+public class ScenarioNetworkModel implements NetworkModel {
+
+    private static final double DEFAULT_SUCCESS_RATE = 0.90;
+    private static final long NO_OPERATOR_PROFILE_KEY = Long.MIN_VALUE;
+
+    private final NetworkScenario scenario;
+    private final long seed;
+    private final long startNanos;
+    private final Map<Long, ResolvedProfile> profiles = new ConcurrentHashMap<>();
+
+    public ScenarioNetworkModel(NetworkScenario scenario) {
+        this.scenario = scenario;
+        this.seed = scenario.getSeed() != null ? scenario.getSeed() : 0L;
+        this.startNanos = System.nanoTime();
+    }
+
+    public NetworkScenario getScenario() {
+        return scenario;
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("type", "scenario");
+        description.put("name", scenario.getName());
+        description.put("seed", seed);
+        description.put("scenario", scenario);
+        return description;
+    }
+
+    @Override
+    public NetworkModel restart() {
+        return new ScenarioNetworkModel(scenario);
+    }
+
+    @Override
+    public DeliveryOutcome evaluate(SmsMessage message) {
+        ResolvedProfile profile = profileFor(message.getOperatorId());
+        SplittableRandom random = MessageStreams.streamFor(seed, message);
+        long latency = profile.latency.sample(random);
+        double successDraw = random.nextDouble();
+        double errorDraw = random.nextDouble();
+
+        double elapsedSeconds = (System.nanoTime() - startNanos) / 1_000_000_000.0;
+        for (OperatorProfile.Window outage : profile.outages) {
+            if (outage.isActive(elapsedSeconds)) {
+                return DeliveryOutcome.failed(windowLatency(outage, latency),
+                        outage.getErrorCode() != null ? outage.getErrorCode() : "OPERATOR_UNAVAILABLE");
+            }
+        }
+        for (Throttle throttle : profile.throttles) {
+            if (throttle.window.isActive(elapsedSeconds) && !throttle.tryAcquire()) {
+                return DeliveryOutcome.failed(windowLatency(throttle.window, latency),
+                        throttle.window.getErrorCode() != null ? throttle.window.getErrorCode() : "THROTTLED");
+            }
+        }
+
+        if (successDraw < successRate(message.getPriority(), profile)) {
+            return DeliveryOutcome.delivered(latency);
+        }
+        return DeliveryOutcome.failed(latency, pickErrorCode(profile.errorCodes, errorDraw));
+    }
+
+    @Override
+    public double getSuccessRate(SmsMessage.SmsPriority priority, Long operatorId) {
+        return successRate(priority, profileFor(operatorId));
+    }
+
+    private double successRate(SmsMessage.SmsPriority priority, ResolvedProfile profile) {
+        double rate = profile.successRate != null
+                ? profile.successRate
+                : scenario.getPrioritySuccessRates().getOrDefault(priority, DEFAULT_SUCCESS_RATE);
+        rate += profile.successRateAdjustment;
+        return Math.max(profile.minSuccessRate, Math.min(profile.maxSuccessRate, rate));
+    }
+
+    private static long windowLatency(OperatorProfile.Window window, long sampled) {
+        return window.getLatencyMillis() != null ? window.getLatencyMillis() : sampled;
+    }
+
+    private static String pickErrorCode(Map<String, Double> weights, double draw) {
+        if (weights.isEmpty()) {
+            return DeliveryOutcome.DELIVERY_FAILED;
+        }
+        double total = 0.0;
+        for (Double weight : weights.values()) {
+            total += Math.max(0.0, weight);
+        }
+        double target = draw * total;
+        String last = DeliveryOutcome.DELIVERY_FAILED;
+        for (Map.Entry<String, Double> entry : weights.entrySet()) {
+            last = entry.getKey();
+            target -= Math.max(0.0, entry.getValue());
+            if (target < 0) {
+                return last;
+            }
+        }
+        return last;
+    }
+
+    private ResolvedProfile profileFor(Long operatorId) {
+        long key = operatorId != null ? operatorId : NO_OPERATOR_PROFILE_KEY;
+        ResolvedProfile profile = profiles.get(key);
+        if (profile == null) {
+            profile = profiles.computeIfAbsent(key, k -> new ResolvedProfile(selectProfile(operatorId), defaults()));
+        }
+        return profile;
+    }
+
+    private OperatorProfile selectProfile(Long operatorId) {
+        if (operatorId == null) {
+            return null;
+        }
+        OperatorProfile explicit = scenario.getOperators() != null ? scenario.getOperators().get(operatorId) : null;
+        if (explicit != null) {
+            return explicit;
+        }
+        List<OperatorProfile> tiers = scenario.getOperatorTiers();
+        if (tiers != null && !tiers.isEmpty()) {
+            return tiers.get((int) Math.floorMod(operatorId, (long) tiers.size()));
+        }
+        return null;
+    }
+
+    private OperatorProfile defaults() {
+        return scenario.getDefaults() != null ? scenario.getDefaults() : new OperatorProfile();
+    }
+
+    /**
+     * Operator profile merged with the scenario defaults; windows of both apply
+     */
+    private static class ResolvedProfile {
+        private final LatencyDistribution latency;
+        private final Double successRate;
+        private final double successRateAdjustment;
+        private final double minSuccessRate;
+        private final double maxSuccessRate;
+        private final Map<String, Double> errorCodes;
+        private final List<OperatorProfile.Window> outages = new ArrayList<>();
+        private final List<Throttle> throttles = new ArrayList<>();
+
+        private ResolvedProfile(OperatorProfile profile, OperatorProfile defaults) {
+            OperatorProfile own = profile != null ? profile : defaults;
+            this.latency = first(own.getLatency(), defaults.getLatency(), LatencyDistribution.uniform(50, 2000));
+            this.successRate = own.getSuccessRate() != null ? own.getSuccessRate() : defaults.getSuccessRate();
+            this.successRateAdjustment = first(own.getSuccessRateAdjustment(), defaults.getSuccessRateAdjustment(), 0.0);
+            this.minSuccessRate = first(own.getMinSuccessRate(), defaults.getMinSuccessRate(), 0.0);
+            this.maxSuccessRate = first(own.getMaxSuccessRate(), defaults.getMaxSuccessRate(), 1.0);
+            this.errorCodes = own.getErrorCodes() != null && !own.getErrorCodes().isEmpty()
+                    ? own.getErrorCodes()
+                    : defaults.getErrorCodes() != null ? defaults.getErrorCodes() : Collections.emptyMap();
+
+            addWindows(own);
+            if (own != defaults) {
+                addWindows(defaults);
+            }
+        }
+
+        private void addWindows(OperatorProfile profile) {
+            if (profile.getOutages() != null) {
+                outages.addAll(profile.getOutages());
+            }
+            if (profile.getThrottling() != null) {
+                for (OperatorProfile.Window window : profile.getThrottling()) {
+                    throttles.add(new Throttle(window));
+                }
+            }
+        }
+
+        private static <T> T first(T value, T fallback, T otherwise) {
+            return value != null ? value : fallback != null ? fallback : otherwise;
+        }
+    }
+
+    /**
+     * Per-operator admission counter for one throttling window
+     */
+    private static class Throttle {
+        private final OperatorProfile.Window window;
+        private final SlidingWindowCounter admitted = new SlidingWindowCounter(100, 1000);
+
+        private Throttle(OperatorProfile.Window window) {
+            this.window = window;
+        }
+
+        private synchronized boolean tryAcquire() {
+            if (admitted.sum(1000) >= window.getMaxPerSecond()) {
+                return false;
+            }
+            admitted.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,270 @@
+package com.smsplatform.sms.simulation;
+
+import com.smsplatform.sms.model.SmsMessage;
+import org.HdrHistogram.Histogram;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+
+/**
+ * Trace Network Model
+ *
+ * Network model fitted from delivery history. For every operator, hour of
+ * day and priority it keeps the empirical submit latency (scheduled or
+ * created -> sent), delivery receipt latency (sent -> delivered) and failure
+ * and expiry rates. Sparse keys fall back to coarser ones with enough
+ * samples: operator/hour/priority, operator/priority, operator, then all
+ * traffic. Draws come from {@link MessageStreams}, so runs replay from the seed.
+ */
+public class TraceNetworkModel implements NetworkModel {
+
+    public static final String EXPIRED = "EXPIRED";
+    public static final String FAILED = "FAILED";
+
+    private static final long ANY = Long.MIN_VALUE;
+    private static final int ANY_HOUR = -1;
+    private static final int ANY_PRIORITY = -1;
+
+    private final Map<TraceKey, TraceProfile> profiles;
+    private final TraceProfile global;
+    private final long seed;
+    private final LocalDateTime fittedAt;
+    private final LocalDateTime from;
+    private final long rows;
+
+    private TraceNetworkModel(Map<TraceKey, TraceProfile> profiles, long seed,
+                              LocalDateTime fittedAt, LocalDateTime from, long rows) {
+        this.profiles = profiles;
+        this.global = profiles.get(new TraceKey(ANY, ANY_HOUR, ANY_PRIORITY));
+        this.seed = seed;
+        this.fittedAt = fittedAt;
+        this.from = from;
+        this.rows = rows;
+    }
+
+    @Override
+    public DeliveryOutcome evaluate(SmsMessage message) {
+        int hour = (message.getCreatedAt() != null ? message.getCreatedAt() : LocalDateTime.now()).getHour();
+        TraceProfile profile = resolve(message.getOperatorId(), hour, message.getPriority());
+        SplittableRandom random = MessageStreams.streamFor(seed, message);
+        long latency = profile.submitLatency.sample(random);
+        double outcomeDraw = random.nextDouble();
+        long confirmationDelay = profile.deliveryLatency.isEmpty()
+                ? DeliveryOutcome.DEFAULT_CONFIRMATION_DELAY_MILLIS
+                : profile.deliveryLatency.sample(random);
+
+        if (outcomeDraw < profile.expiryRate()) {
+            return DeliveryOutcome.failed(latency, EXPIRED);
+        }
+        if (outcomeDraw < profile.expiryRate() + profile.failureRate()) {
+            return DeliveryOutcome.failed(latency, FAILED);
+        }
+        return DeliveryOutcome.delivered(latency, confirmationDelay);
+    }
+
+    @Override
+    public double getSuccessRate(SmsMessage.SmsPriority priority, Long operatorId) {
+        TraceProfile profile = resolve(operatorId, LocalDateTime.now().getHour(), priority);
+        return 1.0 - profile.failureRate() - profile.expiryRate();
+    }
+
+    @Override
+    public long getSeed() {
+        return seed;
+    }
+
+    @Override
+    public Map<String, Object> describe() {
+        Map<String, Object> description = new LinkedHashMap<>();
+        description.put("type", "trace");
+        description.put("seed", seed);
+        description.put("fittedAt", fittedAt);
+        description.put("from", from);
+        description.put("rows", rows);
+        description.put("profiles", profiles.size());
+        return description;
+    }
+
+    public LocalDateTime getFittedAt() { return fittedAt; }
+
+    public LocalDateTime getFrom() { return from; }
+
+    public long getRows() { return rows; }
+
+    /**
+     * Fitted profiles per operator across hours and priorities
+     */
+    public Map<Long, TraceProfile> getOperatorProfiles() {
+        Map<Long, TraceProfile> operators = new LinkedHashMap<>();
+        profiles.forEach((key, profile) -> {
+            if (key.operatorId != ANY && key.hour == ANY_HOUR && key.priority == ANY_PRIORITY) {
+                operators.put(key.operatorId, profile);
+            }
+        });
+        return operators;
+    }
+
+    public TraceProfile getGlobalProfile() {
+        return global;
+    }
+
+    private TraceProfile resolve(Long operatorId, int hour, SmsMessage.SmsPriority priority) {
+        long operator = operatorId != null ? operatorId : ANY;
+        int priorityIndex = priority != null ? priority.ordinal() : ANY_PRIORITY;
+        TraceProfile profile = profiles.get(new TraceKey(operator, hour, priorityIndex));
+        if (profile == null) {
+            profile = profiles.get(new TraceKey(operator, ANY_HOUR, priorityIndex));
+        }
+        if (profile == null) {
+            profile = profiles.get(new TraceKey(operator, ANY_HOUR, ANY_PRIORITY));
+        }
+        return profile != null ? profile : global;
+    }
+
+    /**
+     * Fitted behaviour for one key
+     */
+    public static class TraceProfile {
+        private final EmpiricalDistribution submitLatency;
+        private final EmpiricalDistribution deliveryLatency;
+        private final long samples;
+        private final long failures;
+        private final long expired;
+
+        private TraceProfile(EmpiricalDistribution submitLatency, EmpiricalDistribution deliveryLatency,
+                             long samples, long failures, long expired) {
+            this.submitLatency = submitLatency;
+            this.deliveryLatency = deliveryLatency;
+            this.samples = samples;
+            this.failures = failures;
+            this.expired = expired;
+        }
+
+        public double failureRate() {
+            return samples > 0 ? failures / (double) samples : 0.0;
+        }
+
+        public double expiryRate() {
+            return samples > 0 ? expired / (double) samples : 0.0;
+        }
+
+        public EmpiricalDistribution getSubmitLatency() { return submitLatency; }
+
+        public EmpiricalDistribution getDeliveryLatency() { return deliveryLatency; }
+
+        public long getSamples() { return samples; }
+    }
+
+    /**
+     * Streaming accumulator: rows are folded into per-key histograms at every
+     * fallback level, then frozen into a model. Not thread-safe.
+     */
+    public static class Builder {
+        // Latencies above an hour are clamped; two significant digits keep each histogram a few KB
+        private static final long MAX_LATENCY_MILLIS = 3_600_000L;
+
+        private final Map<TraceKey, Accumulator> accumulators = new HashMap<>();
+        private long rows;
+
+        public void record(Long operatorId, int hour, SmsMessage.SmsPriority priority, SmsMessage.SmsStatus status,
+                           Long submitLatencyMillis, Long deliveryLatencyMillis) {
+            rows++;
+            long operator = operatorId != null ? operatorId : ANY;
+            int priorityIndex = priority != null ? priority.ordinal() : ANY_PRIORITY;
+            accumulate(new TraceKey(operator, hour, priorityIndex), status, submitLatencyMillis, deliveryLatencyMillis);
+            accumulate(new TraceKey(operator, ANY_HOUR, priorityIndex), status, submitLatencyMillis, deliveryLatencyMillis);
+            accumulate(new TraceKey(operator, ANY_HOUR, ANY_PRIORITY), status, submitLatencyMillis, deliveryLatencyMillis);
+            if (operator != ANY) {
+                accumulate(new TraceKey(ANY, ANY_HOUR, ANY_PRIORITY), status, submitLatencyMillis, deliveryLatencyMillis);
+            }
+        }
+
+        private void accumulate(TraceKey key, SmsMessage.SmsStatus status, Long submitLatency, Long deliveryLatency) {
+            Accumulator accumulator = accumulators.computeIfAbsent(key, k -> new Accumulator());
+            accumulator.samples++;
+            if (status == SmsMessage.SmsStatus.FAILED) {
+                accumulator.failures++;
+            } else if (status == SmsMessage.SmsStatus.EXPIRED) {
+                accumulator.expired++;
+            }
+            if (submitLatency != null) {
+                accumulator.submitLatency.recordValue(clamp(submitLatency));
+            }
+            if (deliveryLatency != null) {
+                accumulator.deliveryLatency.recordValue(clamp(deliveryLatency));
+            }
+        }
+
+        private static long clamp(long millis) {
+            return Math.max(0L, Math.min(MAX_LATENCY_MILLIS, millis));
+        }
+
+        public long getRows() {
+            return rows;
+        }
+
+        /**
+         * Freeze into a model, dropping keys with fewer than minSamples rows (all traffic is always kept)
+         */
+        public TraceNetworkModel build(long minSamples, long seed, LocalDateTime from) {
+            Map<TraceKey, TraceProfile> profiles = new HashMap<>();
+            TraceKey globalKey = new TraceKey(ANY, ANY_HOUR, ANY_PRIORITY);
+            accumulators.forEach((key, accumulator) -> {
+                if (accumulator.samples >= minSamples || key.equals(globalKey)) {
+                    profiles.put(key, accumulator.freeze());
+                }
+            });
+            if (!profiles.containsKey(globalKey)) {
+                throw new IllegalStateException("No delivery history to fit a trace model from");
+            }
+            return new TraceNetworkModel(Collections.unmodifiableMap(profiles), seed, LocalDateTime.now(), from, rows);
+        }
+    }
+
+    private static class Accumulator {
+        private final Histogram submitLatency = new Histogram(2);
+        private final Histogram deliveryLatency = new Histogram(2);
+        private long samples;
+        private long failures;
+        private long expired;
+
+        private TraceProfile freeze() {
+            return new TraceProfile(EmpiricalDistribution.of(submitLatency), EmpiricalDistribution.of(deliveryLatency),
+                    samples, failures, expired);
+        }
+    }
+
+    private static final class TraceKey {
+        private final long operatorId;
+        private final int hour;
+        private final int priority;
+
+        private TraceKey(long operatorId, int hour, int priority) {
+            this.operatorId = operatorId;
+            this.hour = hour;
+            this.priority = priority;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof TraceKey)) {
+                return false;
+            }
+            TraceKey other = (TraceKey) o;
+            return operatorId == other.operatorId && hour == other.hour && priority == other.priority;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(operatorId, hour, priority);
+        }
+    }
+}
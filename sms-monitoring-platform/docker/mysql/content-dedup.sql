@@ -0,0 +1,20 @@
+-- Prepare an existing database for shared message content (sms.platform.content-dedup.enabled).
+-- Existing rows keep their inline message_content; only new repeated content is moved out.
+-- Run before starting this version: Hibernate's ddl-auto would add the table and column but never
+-- relaxes the NOT NULL on message_content.
+USE sms_monitoring;
+
+CREATE TABLE IF NOT EXISTS sms_message_contents (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_hash BINARY(32) NOT NULL,
+    encoding VARCHAR(10) NOT NULL,
+    content BLOB NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_content_hash (content_hash)
+);
+
+-- One in-place rebuild (making a column nullable needs one) that does not block writes
+ALTER TABLE sms_messages
+    ADD COLUMN content_id BIGINT NULL AFTER message_content,
+    MODIFY message_content TEXT NULL,
+    ALGORITHM = INPLACE, LOCK = NONE;
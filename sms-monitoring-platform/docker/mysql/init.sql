@@ -27,22 +27,66 @@ CREATE TABLE operators (
     created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
--- SMS messages table
+-- SMS messages table, RANGE-partitioned by created_at. The service creates upcoming
+-- partitions out of p_future and drops expired ones (sms.platform.partitioning.*).
+-- Partitioned tables allow no foreign keys, and every unique key must include created_at.
 CREATE TABLE sms_messages (
-    id BIGINT AUTO_INCREMENT PRIMARY KEY,
-    message_id VARCHAR(100) UNIQUE NOT NULL,
+    id BIGINT AUTO_INCREMENT,
+    message_id VARCHAR(100) NOT NULL,
     operator_id BIGINT,
     sender_number VARCHAR(20) NOT NULL,
     recipient_number VARCHAR(20) NOT NULL,
-    message_content TEXT NOT NULL,
+    -- Inline content; NULL when content_id points at shared campaign content
+    message_content TEXT NULL,
+    content_id BIGINT NULL,
     status ENUM('PENDING', 'SENT', 'DELIVERED', 'FAILED', 'EXPIRED') DEFAULT 'PENDING',
     priority ENUM('LOW', 'NORMAL', 'HIGH', 'URGENT') DEFAULT 'NORMAL',
-    scheduled_at TIMESTAMP NULL,
-    sent_at TIMESTAMP NULL,
-    delivered_at TIMESTAMP NULL,
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
-    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
-    FOREIGN KEY (operator_id) REFERENCES operators(id)
+    -- Millisecond timestamps: delivery latencies (TraceModelService) are differences of these.
+    -- created_at stays whole seconds: UNIX_TIMESTAMP() of a fractional column is not an integer,
+    -- which the partitioning expression below must be
+    scheduled_at TIMESTAMP(3) NULL,
+    sent_at TIMESTAMP(3) NULL,
+    delivered_at TIMESTAMP(3) NULL,
+    created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3),
+    PRIMARY KEY (id, created_at),
+    INDEX idx_sms_message_id (message_id)
+)
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2025-01-01 00:00:00')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
+
+-- Uniqueness of sms_messages.message_id, which the partitioned table cannot enforce itself;
+-- each message claims its id here in the same transaction. Purged with expired partitions.
+CREATE TABLE message_ids (
+    message_id VARCHAR(100) NOT NULL PRIMARY KEY,
+    created_at DATETIME NOT NULL,
+    INDEX idx_message_ids_created_at (created_at)
+);
+
+-- Content shared by repeated (campaign) messages, keyed by the SHA-256 of its UTF-8 text;
+-- DEFLATE rows hold the deflate-compressed text (sms.platform.content-dedup.*)
+CREATE TABLE sms_message_contents (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    content_hash BINARY(32) NOT NULL,
+    encoding VARCHAR(10) NOT NULL,
+    content BLOB NOT NULL,
+    created_at DATETIME(6) NOT NULL,
+    UNIQUE KEY uk_content_hash (content_hash)
+);
+
+-- Pre-aggregated message counts per minute/hour bucket (operator_id 0 = no operator)
+CREATE TABLE sms_message_rollups (
+    id BIGINT AUTO_INCREMENT PRIMARY KEY,
+    resolution ENUM('MINUTE', 'HOUR') NOT NULL,
+    bucket_start DATETIME NOT NULL,
+    operator_id BIGINT NOT NULL DEFAULT 0,
+    status ENUM('PENDING', 'SENT', 'DELIVERED', 'FAILED', 'EXPIRED') NOT NULL,
+    priority ENUM('LOW', 'NORMAL', 'HIGH', 'URGENT') NOT NULL,
+    message_count BIGINT NOT NULL DEFAULT 0,
+    UNIQUE KEY uk_rollup_bucket (resolution, bucket_start, operator_id, status, priority),
+    INDEX idx_rollup_resolution_bucket (resolution, bucket_start)
 );
 
 -- Network simulation tests table
@@ -50,7 +94,7 @@ CREATE TABLE network_tests (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     test_name VARCHAR(100) NOT NULL,
     operator_id BIGINT,
-    test_type ENUM('LOAD', 'STRESS', 'LATENCY', 'THROUGHPUT') NOT NULL,
+    test_type ENUM('LOAD', 'STRESS', 'LATENCY', 'THROUGHPUT', 'REPLAY') NOT NULL,
     configuration JSON,
     status ENUM('PENDING', 'RUNNING', 'COMPLETED', 'FAILED') DEFAULT 'PENDING',
     start_time TIMESTAMP NULL,
@@ -69,15 +113,19 @@ CREATE TABLE system_metrics (
     metric_name VARCHAR(100) NOT NULL,
     metric_value DECIMAL(15,4) NOT NULL,
     unit VARCHAR(20),
+    resolution ENUM('RAW', 'FIVE_MINUTE', 'HOUR') NOT NULL DEFAULT 'RAW',
     timestamp TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
     INDEX idx_service_metric (service_name, metric_name),
-    INDEX idx_timestamp (timestamp)
+    INDEX idx_timestamp (timestamp),
+    INDEX idx_metric_resolution_time (service_name, metric_name, resolution, timestamp),
+    INDEX idx_service_resolution_time (service_name, resolution, timestamp)
 );
 
 -- Alerts table
 CREATE TABLE alerts (
     id BIGINT AUTO_INCREMENT PRIMARY KEY,
     alert_type ENUM('ERROR', 'WARNING', 'INFO') NOT NULL,
+    alert_key VARCHAR(150),
     service_name VARCHAR(50) NOT NULL,
     message TEXT NOT NULL,
     details JSON,
@@ -101,10 +149,12 @@ INSERT INTO operators (name, code, country, api_endpoint) VALUES
 ('Network Gamma', 'NGM', 'Egypt', 'https://api.networkgamma.eg');
 
 -- Create indexes for better performance
-CREATE INDEX idx_sms_status ON sms_messages(status);
-CREATE INDEX idx_sms_created_at ON sms_messages(created_at);
-CREATE INDEX idx_sms_operator ON sms_messages(operator_id);
+-- (created_at, id) trails each so keyset listings are index range scans without a filesort
+CREATE INDEX idx_sms_status ON sms_messages(status, created_at, id);
+CREATE INDEX idx_sms_created_at ON sms_messages(created_at, id);
+CREATE INDEX idx_sms_operator ON sms_messages(operator_id, created_at, id);
 CREATE INDEX idx_test_status ON network_tests(status);
 CREATE INDEX idx_alert_status ON alerts(status);
 CREATE INDEX idx_alert_created_at ON alerts(created_at);
+CREATE INDEX idx_alert_key_status ON alerts(alert_key, status);
 
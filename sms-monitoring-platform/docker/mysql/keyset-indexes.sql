@@ -0,0 +1,11 @@
+-- Extend the sms_messages list indexes of an existing database to the keyset layout of init.sql.
+-- Online DDL: each index is rebuilt in place without blocking writes. idx_sms_created_at (created_at)
+-- already ends in the primary key (id, created_at) inside InnoDB, so it needs no change.
+USE sms_monitoring;
+
+ALTER TABLE sms_messages
+    DROP INDEX idx_sms_status,
+    ADD INDEX idx_sms_status (status, created_at, id),
+    DROP INDEX idx_sms_operator,
+    ADD INDEX idx_sms_operator (operator_id, created_at, id),
+    ALGORITHM = INPLACE, LOCK = NONE;
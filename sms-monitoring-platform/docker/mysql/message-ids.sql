@@ -0,0 +1,14 @@
+-- Add message_id uniqueness to a database partitioned with partition-sms-messages.sql.
+-- Partitioned tables only allow unique keys that include created_at, so message ids are
+-- claimed in message_ids in the same transaction as the message.
+-- Run before starting this version; ids that are already duplicated keep their oldest row.
+USE sms_monitoring;
+
+CREATE TABLE IF NOT EXISTS message_ids (
+    message_id VARCHAR(100) NOT NULL PRIMARY KEY,
+    created_at DATETIME NOT NULL,
+    INDEX idx_message_ids_created_at (created_at)
+);
+
+INSERT IGNORE INTO message_ids (message_id, created_at)
+SELECT message_id, created_at FROM sms_messages ORDER BY id;
@@ -0,0 +1,22 @@
+-- Convert an existing, unpartitioned sms_messages table to the partitioned layout of init.sql.
+-- Rebuilds the table (copies every row): run it in a maintenance window.
+-- The service then splits p_future into daily/monthly partitions on startup.
+USE sms_monitoring;
+
+-- Partitioned tables cannot have foreign keys; the generated name is usually sms_messages_ibfk_1
+-- (check SHOW CREATE TABLE sms_messages)
+ALTER TABLE sms_messages DROP FOREIGN KEY sms_messages_ibfk_1;
+
+-- Every unique key must contain the partitioning column: message_id becomes a plain index
+ALTER TABLE sms_messages
+    MODIFY created_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    DROP INDEX message_id,
+    ADD INDEX idx_sms_message_id (message_id),
+    DROP PRIMARY KEY,
+    ADD PRIMARY KEY (id, created_at);
+
+ALTER TABLE sms_messages
+PARTITION BY RANGE (UNIX_TIMESTAMP(created_at)) (
+    PARTITION p_history VALUES LESS THAN (UNIX_TIMESTAMP('2025-01-01 00:00:00')),
+    PARTITION p_future VALUES LESS THAN MAXVALUE
+);
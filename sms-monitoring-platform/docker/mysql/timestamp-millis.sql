@@ -0,0 +1,13 @@
+-- Widen the sms_messages delivery timestamps of an existing database to the millisecond columns of init.sql.
+-- Second-resolution columns turn every sub-second delivery latency into 0 or 1000 ms, which
+-- TraceModelService would fit as-is. created_at keeps whole seconds: it is the partitioning column,
+-- and UNIX_TIMESTAMP() of a fractional column is not an integer.
+-- Rebuilds the table (copies every row): run it in a maintenance window.
+-- Rows written before the change keep their whole-second values; fit trace models from history written after it.
+USE sms_monitoring;
+
+ALTER TABLE sms_messages
+    MODIFY scheduled_at TIMESTAMP(3) NULL,
+    MODIFY sent_at TIMESTAMP(3) NULL,
+    MODIFY delivered_at TIMESTAMP(3) NULL,
+    MODIFY updated_at TIMESTAMP(3) DEFAULT CURRENT_TIMESTAMP(3) ON UPDATE CURRENT_TIMESTAMP(3);
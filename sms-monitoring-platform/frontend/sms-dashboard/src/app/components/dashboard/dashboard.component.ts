@@ -1,6 +1,6 @@
 import { Component, OnInit } from '@angular/core';
 import { SmsService } from '../../services/sms.service';
-import { SmsMessage, SmsStatus } from '../../models/sms-message.model';
+import { SmsMessageSummary, SmsStatus } from '../../models/sms-message.model';
 import { ChartConfiguration, ChartData, ChartType } from 'chart.js';
 
 @Component({
@@ -18,7 +18,7 @@ export class DashboardComponent implements OnInit {
   failedMessages = 0;
   
   // Recent messages
-  recentMessages: SmsMessage[] = [];
+  recentMessages: SmsMessageSummary[] = [];
   
   // Chart data
   public statusChartData: ChartData<'doughnut'> = {
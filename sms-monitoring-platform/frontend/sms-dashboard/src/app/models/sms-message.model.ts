@@ -14,6 +14,19 @@ export interface SmsMessage {
   updatedAt?: Date;
 }
 
+// List row: message lists omit the content and per-stage timestamps
+export interface SmsMessageSummary {
+  id: number;
+  messageId: string;
+  operatorId?: number;
+  senderNumber: string;
+  recipientNumber: string;
+  status: SmsStatus;
+  priority: SmsPriority;
+  createdAt?: Date;
+  updatedAt?: Date;
+}
+
 export enum SmsStatus {
   PENDING = 'PENDING',
   SENT = 'SENT',
@@ -40,24 +53,80 @@ export interface OperatorStatistics {
   count: number;
 }
 
-export interface LoadTestResult {
+export interface SimulationResult {
+  testRunId?: number;
   totalMessages: number;
-  concurrentUsers: number;
   successCount: number;
   failureCount: number;
   averageLatency: number;
-  totalDuration: number;
+  p50Latency?: number;
+  p90Latency?: number;
+  p99Latency?: number;
+  p999Latency?: number;
+  maxLatency?: number;
   throughput: number;
+  throughputSeries?: number[];
 }
 
-export interface StressTestResult {
+export interface LoadTestResult extends SimulationResult {
+  concurrentUsers: number;
+  totalDuration: number;
+  workloadModel?: 'open' | 'closed';
+  targetArrivalRate?: number;
+  submittedMessages?: number;
+  ingestFailures?: number;
+  ingestThroughput?: number;
+  ingestP50Latency?: number;
+  ingestP99Latency?: number;
+  timedOutMessages?: number;
+}
+
+export interface StressTestResult extends SimulationResult {
   maxLoad: number;
   duration: number;
-  totalMessages: number;
+  peakThroughput: number;
+}
+
+export type TestJobStatus = 'QUEUED' | 'RUNNING' | 'COMPLETED' | 'FAILED' | 'CANCELLED';
+
+export interface TestJobProgress {
+  second: number;
+  elapsedMillis: number;
+  completed: number;
   successCount: number;
   failureCount: number;
-  averageLatency: number;
-  peakThroughput: number;
+  intervalCount: number;
+  throughput: number;
+  p50Latency: number;
+  p99Latency: number;
+  maxLatency: number;
+}
+
+export interface TestJob<R extends SimulationResult = SimulationResult> {
+  jobId: string;
+  testType: 'LOAD' | 'STRESS' | 'REPLAY';
+  testName?: string;
+  status: TestJobStatus;
+  testRunId?: number;
+  submittedAt: string;
+  startedAt?: string;
+  finishedAt?: string;
+  lastProgress?: TestJobProgress;
+  result?: R;
+  error?: string;
+}
+
+export type TestJobEvent<R extends SimulationResult = SimulationResult> =
+  | { type: 'progress'; progress: TestJobProgress }
+  | { type: 'complete'; job: TestJob<R> };
+
+// Keyset page: pass nextCursor back to continue; total only when requested
+export interface CursorPage<T> {
+  items: T[];
+  nextCursor?: string;
+  hasMore: boolean;
+  limit: number;
+  total?: number;
 }
 
 export interface PageResponse<T> {
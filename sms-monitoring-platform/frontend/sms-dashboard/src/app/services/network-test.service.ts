@@ -1,7 +1,13 @@
-import { Injectable } from '@angular/core';
+import { Injectable, NgZone } from '@angular/core';
 import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
-import { LoadTestResult, StressTestResult } from '../models/sms-message.model';
+import {
+  LoadTestResult,
+  SimulationResult,
+  StressTestResult,
+  TestJob,
+  TestJobEvent
+} from '../models/sms-message.model';
 import { environment } from '../../environments/environment';
 
 @Injectable({
@@ -10,7 +16,7 @@ import { environment } from '../../environments/environment';
 export class NetworkTestService {
   private apiUrl = `${environment.apiUrl}/api/v1/sms/simulation`;
 
-  constructor(private http: HttpClient) { }
+  constructor(private http: HttpClient, private zone: NgZone) { }
 
   /**
    * Run load test simulation
@@ -34,6 +40,72 @@ export class NetworkTestService {
     return this.http.post<StressTestResult>(`${this.apiUrl}/stress-test`, null, { params });
   }
 
+  /**
+   * Submit a load test job; returns immediately with the queued job
+   */
+  submitLoadTestJob(messageCount: number = 1000, concurrentUsers: number = 10,
+                    arrivalRate: number = 0): Observable<TestJob<LoadTestResult>> {
+    const params = new HttpParams()
+      .set('messageCount', messageCount.toString())
+      .set('concurrentUsers', concurrentUsers.toString())
+      .set('arrivalRate', arrivalRate.toString());
+
+    return this.http.post<TestJob<LoadTestResult>>(`${this.apiUrl}/jobs/load-test`, null, { params });
+  }
+
+  /**
+   * Submit a stress test job; returns immediately with the queued job
+   */
+  submitStressTestJob(maxLoad: number = 5000, duration: number = 60): Observable<TestJob<StressTestResult>> {
+    const params = new HttpParams()
+      .set('maxLoad', maxLoad.toString())
+      .set('duration', duration.toString());
+
+    return this.http.post<TestJob<StressTestResult>>(`${this.apiUrl}/jobs/stress-test`, null, { params });
+  }
+
+  /**
+   * Get a test job
+   */
+  getJob<R extends SimulationResult = SimulationResult>(jobId: string): Observable<TestJob<R>> {
+    return this.http.get<TestJob<R>>(`${this.apiUrl}/jobs/${jobId}`);
+  }
+
+  /**
+   * Cancel a queued or running test job
+   */
+  cancelJob(jobId: string): Observable<TestJob> {
+    return this.http.delete<TestJob>(`${this.apiUrl}/jobs/${jobId}`);
+  }
+
+  /**
+   * Follow a test job's per-second progress; completes after the 'complete' event
+   */
+  watchJob<R extends SimulationResult = SimulationResult>(jobId: string): Observable<TestJobEvent<R>> {
+    return new Observable<TestJobEvent<R>>(subscriber => {
+      const source = new EventSource(`${this.apiUrl}/jobs/${jobId}/events`);
+
+      source.addEventListener('progress', (event: MessageEvent) => {
+        this.zone.run(() => subscriber.next({ type: 'progress', progress: JSON.parse(event.data) }));
+      });
+      source.addEventListener('complete', (event: MessageEvent) => {
+        source.close();
+        this.zone.run(() => {
+          subscriber.next({ type: 'complete', job: JSON.parse(event.data) });
+          subscriber.complete();
+        });
+      });
+      source.onerror = () => {
+        // EventSource reconnects on its own while open; a closed source will not recover
+        if (source.readyState === EventSource.CLOSED) {
+          this.zone.run(() => subscriber.error(new Error(`Progress stream for job ${jobId} closed`)));
+        }
+      };
+
+      return () => source.close();
+    });
+  }
+
   /**
    * Format test duration
    */
@@ -3,10 +3,12 @@ import { HttpClient, HttpParams } from '@angular/common/http';
 import { Observable } from 'rxjs';
 import { 
   SmsMessage, 
+  SmsMessageSummary, 
   SmsStatus, 
   SmsStatistics, 
   OperatorStatistics, 
-  PageResponse 
+  PageResponse, 
+  CursorPage 
 } from '../models/sms-message.model';
 import { environment } from '../../environments/environment';
 
@@ -42,32 +44,58 @@ export class SmsService {
   /**
    * Get all SMS messages with pagination
    */
-  getAllMessages(page: number = 0, size: number = 20, sortBy: string = 'createdAt', sortDir: string = 'desc'): Observable<PageResponse<SmsMessage>> {
+  getAllMessages(page: number = 0, size: number = 20, sortBy: string = 'createdAt', sortDir: string = 'desc'): Observable<PageResponse<SmsMessageSummary>> {
     const params = new HttpParams()
       .set('page', page.toString())
       .set('size', size.toString())
       .set('sortBy', sortBy)
       .set('sortDir', sortDir);
 
-    return this.http.get<PageResponse<SmsMessage>>(`${this.apiUrl}/messages`, { params });
+    return this.http.get<PageResponse<SmsMessageSummary>>(`${this.apiUrl}/messages`, { params });
+  }
+
+  /**
+   * List SMS messages by cursor (keyset pagination)
+   */
+  listMessagesByCursor(cursor?: string, limit: number = 20, filters: { operatorId?: number; status?: SmsStatus } = {},
+                       includeTotal: boolean = false): Observable<CursorPage<SmsMessageSummary>> {
+    let params = new HttpParams()
+      .set('limit', limit.toString())
+      .set('includeTotal', includeTotal.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+    if (filters.operatorId != null) {
+      params = params.set('operatorId', filters.operatorId.toString());
+    }
+    if (filters.status) {
+      params = params.set('status', filters.status);
+    }
+
+    return this.http.get<CursorPage<SmsMessageSummary>>(`${this.apiUrl}/messages/cursor`, { params });
   }
 
   /**
    * Get SMS messages by operator
    */
-  getMessagesByOperator(operatorId: number, page: number = 0, size: number = 20): Observable<PageResponse<SmsMessage>> {
+  getMessagesByOperator(operatorId: number, page: number = 0, size: number = 20): Observable<PageResponse<SmsMessageSummary>> {
     const params = new HttpParams()
       .set('page', page.toString())
       .set('size', size.toString());
 
-    return this.http.get<PageResponse<SmsMessage>>(`${this.apiUrl}/messages/operator/${operatorId}`, { params });
+    return this.http.get<PageResponse<SmsMessageSummary>>(`${this.apiUrl}/messages/operator/${operatorId}`, { params });
   }
 
   /**
-   * Get SMS messages by status
+   * Get SMS messages by status, newest first, one page at a time
    */
-  getMessagesByStatus(status: SmsStatus): Observable<SmsMessage[]> {
-    return this.http.get<SmsMessage[]>(`${this.apiUrl}/messages/status/${status}`);
+  getMessagesByStatus(status: SmsStatus, cursor?: string, limit: number = 20): Observable<CursorPage<SmsMessageSummary>> {
+    let params = new HttpParams().set('limit', limit.toString());
+    if (cursor) {
+      params = params.set('cursor', cursor);
+    }
+
+    return this.http.get<CursorPage<SmsMessageSummary>>(`${this.apiUrl}/messages/status/${status}`, { params });
   }
 
   /**